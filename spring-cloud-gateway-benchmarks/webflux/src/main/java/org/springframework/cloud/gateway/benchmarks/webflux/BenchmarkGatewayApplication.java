@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webflux;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Gateway started in-process by {@link ProxyBenchmark}. Only the routes of the
+ * configured {@link Scenario} are registered so every scenario measures its own
+ * routing table.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class BenchmarkGatewayApplication {
+
+	static final String SCENARIO_PROPERTY = "benchmark.scenario";
+
+	static final String BACKEND_URI_PROPERTY = "benchmark.backend-uri";
+
+	@Bean
+	public RouteLocator benchmarkRoutes(RouteLocatorBuilder builder,
+			@Value("${" + SCENARIO_PROPERTY + "}") Scenario scenario,
+			@Value("${" + BACKEND_URI_PROPERTY + "}") String backendUri) {
+		RouteLocatorBuilder.Builder routes = builder.routes();
+		switch (scenario) {
+			case PLAIN -> routes.route("plain", r -> r.path("/plain/**").uri(backendUri));
+			case FILTER_CHAIN_25 -> routes.route("filters", r -> r.path("/filters/**").filters(f -> {
+				for (int i = 0; i < 25; i++) {
+					f.addRequestHeader("X-Benchmark-" + i, "value-" + i);
+				}
+				return f;
+			}).uri(backendUri));
+			case ROUTES_1K -> addRoutes(routes, 1_000, backendUri);
+			case ROUTES_10K -> addRoutes(routes, 10_000, backendUri);
+			case BODY_REWRITE -> routes.route("rewrite",
+					r -> r.path("/rewrite/**")
+						.filters(f -> f.modifyResponseBody(String.class, String.class,
+								(exchange, body) -> Mono.just(body.toUpperCase(Locale.ROOT))))
+						.uri(backendUri));
+			case RESPONSE_CACHE_HIT -> routes.route("cached", r -> r.path("/cached/**")
+				.filters(f -> f.localResponseCache(Duration.ofHours(1), DataSize.ofMegabytes(16)))
+				.uri(backendUri));
+			// the in-memory limiter and key resolver below are the filter defaults
+			case RATE_LIMITER -> routes.route("limited",
+					r -> r.path("/limited/**").filters(f -> f.requestRateLimiter().and()).uri(backendUri));
+		}
+		return routes.build();
+	}
+
+	private static void addRoutes(RouteLocatorBuilder.Builder routes, int count, String backendUri) {
+		for (int i = 0; i < count; i++) {
+			String path = "/route-" + i + "/**";
+			routes.route("route-" + i, r -> r.path(path).uri(backendUri));
+		}
+	}
+
+	@Bean
+	public InMemoryRateLimiter inMemoryRateLimiter() {
+		return new InMemoryRateLimiter();
+	}
+
+	@Bean
+	public KeyResolver benchmarkKeyResolver() {
+		return exchange -> Mono.just("benchmark");
+	}
+
+}
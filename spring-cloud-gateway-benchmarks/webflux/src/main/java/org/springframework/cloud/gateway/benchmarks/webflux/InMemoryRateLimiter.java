@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webflux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+/**
+ * Token bucket held in memory, standing in for the Redis rate limiter so that the cost
+ * of the {@code RequestRateLimiter} filter can be measured without external services.
+ * The default capacity is large enough to never reject benchmark traffic.
+ */
+class InMemoryRateLimiter implements RateLimiter<InMemoryRateLimiter.Config> {
+
+	private final Map<String, Config> config = new ConcurrentHashMap<>();
+
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+	private final Config defaultConfig = new Config();
+
+	@Override
+	public Mono<Response> isAllowed(String routeId, String id) {
+		Config routeConfig = this.config.getOrDefault(routeId, this.defaultConfig);
+		Bucket bucket = this.buckets.computeIfAbsent(routeId + ":" + id, key -> new Bucket(routeConfig));
+		long remaining = bucket.tryConsume();
+		return Mono.just(new Response(remaining >= 0,
+				Map.of("X-RateLimit-Remaining", String.valueOf(Math.max(remaining, 0)))));
+	}
+
+	@Override
+	public Map<String, Config> getConfig() {
+		return this.config;
+	}
+
+	@Override
+	public Class<Config> getConfigClass() {
+		return Config.class;
+	}
+
+	@Override
+	public Config newConfig() {
+		return new Config();
+	}
+
+	static class Config {
+
+		private long capacity = Long.MAX_VALUE / 2;
+
+		private long tokensPerSecond = Long.MAX_VALUE / 2;
+
+		public long getCapacity() {
+			return this.capacity;
+		}
+
+		public void setCapacity(long capacity) {
+			this.capacity = capacity;
+		}
+
+		public long getTokensPerSecond() {
+			return this.tokensPerSecond;
+		}
+
+		public void setTokensPerSecond(long tokensPerSecond) {
+			this.tokensPerSecond = tokensPerSecond;
+		}
+
+	}
+
+	private static final class Bucket {
+
+		private final long capacity;
+
+		private final double tokensPerNano;
+
+		private long tokens;
+
+		private long lastRefill = System.nanoTime();
+
+		Bucket(Config config) {
+			this.capacity = config.getCapacity();
+			this.tokensPerNano = config.getTokensPerSecond() / 1_000_000_000d;
+			this.tokens = this.capacity;
+		}
+
+		/**
+		 * @return the remaining tokens, or {@code -1} if the request is rejected
+		 */
+		synchronized long tryConsume() {
+			long now = System.nanoTime();
+			long refill = (long) ((now - this.lastRefill) * this.tokensPerNano);
+			if (refill > 0) {
+				this.tokens += Math.min(this.capacity - this.tokens, refill);
+				this.lastRefill = now;
+			}
+			if (this.tokens > 0) {
+				return --this.tokens;
+			}
+			return -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webflux;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end benchmark of the WebFlux proxy path: a request travels from a Reactor Netty
+ * client through an in-process gateway to a {@link BackendServer} on loopback. Run
+ * through {@link WebFluxBenchmarks} to get allocation rates and JSON results.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ProxyBenchmark {
+
+	@Param({ "PLAIN", "FILTER_CHAIN_25", "ROUTES_1K", "ROUTES_10K", "BODY_REWRITE", "RESPONSE_CACHE_HIT",
+			"RATE_LIMITER" })
+	public Scenario scenario;
+
+	private BackendServer backend;
+
+	private ConfigurableApplicationContext gateway;
+
+	private ConnectionProvider connectionProvider;
+
+	private HttpClient client;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.backend = new BackendServer();
+		this.gateway = new SpringApplicationBuilder(BenchmarkGatewayApplication.class)
+			.web(WebApplicationType.REACTIVE)
+			.properties("server.address=127.0.0.1", "server.port=0",
+					BenchmarkGatewayApplication.SCENARIO_PROPERTY + "=" + this.scenario,
+					BenchmarkGatewayApplication.BACKEND_URI_PROPERTY + "=" + this.backend.uri())
+			.run();
+		String port = this.gateway.getEnvironment().getRequiredProperty("local.server.port");
+		this.connectionProvider = ConnectionProvider.builder("benchmark-client").maxConnections(1024).build();
+		this.client = HttpClient.create(this.connectionProvider).baseUrl("http://127.0.0.1:" + port);
+
+		// fail fast on a broken scenario, and fill the response cache
+		int status = exchange();
+		if (status != 200) {
+			throw new IllegalStateException("Scenario " + this.scenario + " answered with status " + status);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.connectionProvider.disposeLater().block();
+		this.gateway.close();
+		this.backend.dispose();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public int throughput() {
+		return exchange();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int latency() {
+		return exchange();
+	}
+
+	private int exchange() {
+		HttpClient.RequestSender request = this.client.request(this.scenario.getMethod())
+			.uri(this.scenario.getPath());
+		HttpClient.ResponseReceiver<?> receiver = (this.scenario == Scenario.BODY_REWRITE)
+				? request.send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(BackendServer.PAYLOAD))) : request;
+		Integer status = receiver
+			.responseSingle((response, body) -> body.asByteArray()
+				.map(bytes -> response.status().code())
+				.defaultIfEmpty(response.status().code()))
+			.block();
+		return (status != null) ? status : -1;
+	}
+
+}
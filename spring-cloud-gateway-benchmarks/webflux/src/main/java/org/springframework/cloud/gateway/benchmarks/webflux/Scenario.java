@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webflux;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+/**
+ * Gateway configurations exercised by {@link ProxyBenchmark}, each with the request
+ * sent through the gateway.
+ */
+public enum Scenario {
+
+	/**
+	 * A single route without filters.
+	 */
+	PLAIN(HttpMethod.GET, "/plain/get"),
+
+	/**
+	 * A single route with 25 {@code AddRequestHeader} filters.
+	 */
+	FILTER_CHAIN_25(HttpMethod.GET, "/filters/get"),
+
+	/**
+	 * 1,000 path routes, requesting the last one.
+	 */
+	ROUTES_1K(HttpMethod.GET, "/route-999/get"),
+
+	/**
+	 * 10,000 path routes, requesting the last one.
+	 */
+	ROUTES_10K(HttpMethod.GET, "/route-9999/get"),
+
+	/**
+	 * A {@code POST} whose echoed response body is rewritten.
+	 */
+	BODY_REWRITE(HttpMethod.POST, "/rewrite/post"),
+
+	/**
+	 * A route served from the local response cache after the first request.
+	 */
+	RESPONSE_CACHE_HIT(HttpMethod.GET, "/cached/get"),
+
+	/**
+	 * A route guarded by {@code RequestRateLimiter} backed by
+	 * {@link InMemoryRateLimiter}.
+	 */
+	RATE_LIMITER(HttpMethod.GET, "/limited/get");
+
+	private final HttpMethod method;
+
+	private final String path;
+
+	Scenario(HttpMethod method, String path) {
+		this.method = method;
+		this.path = path;
+	}
+
+	public HttpMethod getMethod() {
+		return this.method;
+	}
+
+	public String getPath() {
+		return this.path;
+	}
+
+}
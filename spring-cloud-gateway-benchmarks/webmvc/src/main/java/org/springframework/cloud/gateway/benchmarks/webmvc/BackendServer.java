@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webmvc;
+
+import java.nio.charset.StandardCharsets;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Reactor Netty backend on loopback: echoes request bodies of {@code POST} requests and
+ * answers everything else with a fixed JSON payload.
+ */
+final class BackendServer {
+
+	static final byte[] PAYLOAD = payload(1024);
+
+	private final DisposableServer server;
+
+	BackendServer() {
+		this.server = HttpServer.create().host("127.0.0.1").port(0).handle((request, response) -> {
+			if ("POST".equals(request.method().name())) {
+				return response.header("Content-Type", "application/json").send(request.receive().retain());
+			}
+			return response.header("Content-Type", "application/json")
+				.header("Content-Length", String.valueOf(PAYLOAD.length))
+				.sendByteArray(Mono.just(PAYLOAD));
+		}).bindNow();
+	}
+
+	String uri() {
+		return "http://127.0.0.1:" + this.server.port();
+	}
+
+	void dispose() {
+		this.server.disposeNow();
+	}
+
+	static byte[] payload(int size) {
+		StringBuilder json = new StringBuilder(size).append("{\"data\":\"");
+		while (json.length() < size - 2) {
+			json.append((char) ('a' + json.length() % 26));
+		}
+		return json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
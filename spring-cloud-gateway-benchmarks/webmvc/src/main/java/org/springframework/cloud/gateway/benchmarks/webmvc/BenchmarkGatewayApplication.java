@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webmvc;
+
+import java.net.http.HttpClient;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.server.mvc.config.GatewayMvcProperties;
+import org.springframework.cloud.gateway.server.mvc.handler.ClientHttpRequestFactoryProxyExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.JettyClientHttpRequestFactory;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import static org.springframework.cloud.gateway.server.mvc.filter.AfterFilterFunctions.modifyResponseBody;
+import static org.springframework.cloud.gateway.server.mvc.filter.BeforeFilterFunctions.addRequestHeader;
+import static org.springframework.cloud.gateway.server.mvc.filter.BeforeFilterFunctions.uri;
+import static org.springframework.cloud.gateway.server.mvc.handler.GatewayRouterFunctions.route;
+import static org.springframework.cloud.gateway.server.mvc.handler.HandlerFunctions.http;
+import static org.springframework.web.servlet.function.RequestPredicates.path;
+
+/**
+ * Gateway started in-process by {@link ProxyBenchmark}. Only the routes of the
+ * configured {@link Scenario} are registered, and the {@link ProxyExchangeType proxy
+ * exchange} and {@link RequestFactoryType request factory} are selected by properties.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class BenchmarkGatewayApplication {
+
+	static final String SCENARIO_PROPERTY = "benchmark.scenario";
+
+	static final String BACKEND_URI_PROPERTY = "benchmark.backend-uri";
+
+	static final String PROXY_EXCHANGE_PROPERTY = "benchmark.proxy-exchange";
+
+	static final String REQUEST_FACTORY_PROPERTY = "benchmark.request-factory";
+
+	@Bean
+	public RouterFunction<ServerResponse> benchmarkRoutes(@Value("${" + SCENARIO_PROPERTY + "}") Scenario scenario,
+			@Value("${" + BACKEND_URI_PROPERTY + "}") String backendUri) {
+		return switch (scenario) {
+			case PLAIN -> route("plain").route(path("/plain/**"), http()).before(uri(backendUri)).build();
+			case FILTER_CHAIN_25 -> {
+				RouterFunctions.Builder builder = route("filters").route(path("/filters/**"), http())
+					.before(uri(backendUri));
+				for (int i = 0; i < 25; i++) {
+					builder.before(addRequestHeader("X-Benchmark-" + i, "value-" + i));
+				}
+				yield builder.build();
+			}
+			case ROUTES_1K -> routes(1_000, backendUri);
+			case ROUTES_10K -> routes(10_000, backendUri);
+			case BODY_REWRITE -> route("rewrite").route(path("/rewrite/**"), http())
+				.before(uri(backendUri))
+				.after(modifyResponseBody(String.class, String.class, "application/json",
+						(request, response, body) -> body.toUpperCase(Locale.ROOT)))
+				.build();
+		};
+	}
+
+	// a single builder keeps matching iterative, combining 10,000 router functions with
+	// andOther() would nest as deep as the number of routes
+	private static RouterFunction<ServerResponse> routes(int count, String backendUri) {
+		RouterFunctions.Builder builder = route("routes");
+		for (int i = 0; i < count; i++) {
+			builder.route(path("/route-" + i + "/**"), http());
+		}
+		return builder.before(uri(backendUri)).build();
+	}
+
+	@Bean
+	public ClientHttpRequestFactory benchmarkRequestFactory(
+			@Value("${" + REQUEST_FACTORY_PROPERTY + "}") RequestFactoryType requestFactory) {
+		return switch (requestFactory) {
+			case SIMPLE -> new SimpleClientHttpRequestFactory();
+			case JDK -> new JdkClientHttpRequestFactory(
+					HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+			case JETTY -> new JettyClientHttpRequestFactory();
+			case REACTOR -> new ReactorClientHttpRequestFactory();
+		};
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = PROXY_EXCHANGE_PROPERTY, havingValue = "REQUEST_FACTORY")
+	public ClientHttpRequestFactoryProxyExchange benchmarkProxyExchange(ClientHttpRequestFactory requestFactory,
+			GatewayMvcProperties properties) {
+		return new ClientHttpRequestFactoryProxyExchange(requestFactory, properties);
+	}
+
+	/**
+	 * The {@code ProxyExchange} used by {@code ProxyExchangeHandlerFunction}.
+	 */
+	public enum ProxyExchangeType {
+
+		/**
+		 * The default {@code RestClientProxyExchange}.
+		 */
+		REST_CLIENT,
+
+		/**
+		 * {@code ClientHttpRequestFactoryProxyExchange}.
+		 */
+		REQUEST_FACTORY
+
+	}
+
+	/**
+	 * The {@link ClientHttpRequestFactory} used for upstream requests.
+	 */
+	public enum RequestFactoryType {
+
+		/**
+		 * {@code HttpURLConnection}.
+		 */
+		SIMPLE,
+
+		/**
+		 * The JDK {@code HttpClient}, forced to HTTP/1.1.
+		 */
+		JDK,
+
+		/**
+		 * The Jetty {@code HttpClient}.
+		 */
+		JETTY,
+
+		/**
+		 * The Reactor Netty {@code HttpClient}.
+		 */
+		REACTOR
+
+	}
+
+}
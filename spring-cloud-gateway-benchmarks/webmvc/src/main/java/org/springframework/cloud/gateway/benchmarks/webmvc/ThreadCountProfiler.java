@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webmvc;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports the live and peak platform thread counts of the benchmark JVM after each
+ * iteration. Virtual threads are not included, only the carriers they run on.
+ */
+public class ThreadCountProfiler implements InternalProfiler {
+
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+	@Override
+	public String getDescription() {
+		return "Live and peak platform thread counts";
+	}
+
+	@Override
+	public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+		this.threads.resetPeakThreadCount();
+	}
+
+	@Override
+	public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+			IterationParams iterationParams, IterationResult result) {
+		return Arrays.asList(
+				new ScalarResult("threads.live", this.threads.getThreadCount(), "threads", AggregationPolicy.MAX),
+				new ScalarResult("threads.peak", this.threads.getPeakThreadCount(), "threads",
+						AggregationPolicy.MAX));
+	}
+
+}
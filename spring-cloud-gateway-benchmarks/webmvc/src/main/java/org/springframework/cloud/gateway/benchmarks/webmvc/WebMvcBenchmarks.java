@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.benchmarks.webmvc;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the WebMVC benchmarks. Accepts the regular JMH command line options; unless
+ * overridden it runs every {@link ProxyBenchmark} combination with the GC and
+ * {@link ThreadCountProfiler thread count} profilers and writes JSON results to
+ * {@code target/jmh-webmvc.json}.
+ */
+public final class WebMvcBenchmarks {
+
+	private WebMvcBenchmarks() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+		if (commandLine.getIncludes().isEmpty()) {
+			options.include(ProxyBenchmark.class.getName());
+		}
+		if (commandLine.getProfilers().isEmpty()) {
+			options.addProfiler(GCProfiler.class);
+			options.addProfiler(ThreadCountProfiler.class);
+		}
+		if (!commandLine.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if (!commandLine.getResult().hasValue()) {
+			options.result("target/jmh-webmvc.json");
+		}
+		new Runner(options.build()).run();
+	}
+
+}
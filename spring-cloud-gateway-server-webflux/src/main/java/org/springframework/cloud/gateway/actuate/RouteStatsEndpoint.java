@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.actuate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.web.annotation.RestControllerEndpoint;
+import org.springframework.cloud.gateway.route.RouteStats;
+import org.springframework.cloud.gateway.route.RouteStatsRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Live per-route traffic statistics. Without a {@code sort} parameter the statistics of
+ * every route are streamed as they are computed; with one, only the top {@code limit}
+ * routes are kept while streaming.
+ */
+@RestControllerEndpoint(id = "gatewayroutestats", defaultAccess = Access.READ_ONLY)
+public class RouteStatsEndpoint {
+
+	static final int DEFAULT_LIMIT = 10;
+
+	private final RouteStatsRegistry registry;
+
+	public RouteStatsEndpoint(RouteStatsRegistry registry) {
+		this.registry = registry;
+	}
+
+	@GetMapping
+	public Flux<Map<String, Object>> stats(@RequestParam(required = false) @Nullable String sort,
+			@RequestParam(required = false) @Nullable Integer limit) {
+		if (limit != null && limit < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+		}
+		if (sort == null) {
+			long now = System.nanoTime();
+			Flux<RouteStats.Snapshot> snapshots = Flux.fromIterable(this.registry.getAll())
+				.map(stats -> stats.snapshot(now));
+			return ((limit != null) ? snapshots.take(limit) : snapshots).map(this::serialize);
+		}
+		Comparator<RouteStats.Snapshot> comparator = SortOrder.from(sort).comparator;
+		int max = (limit != null) ? limit : DEFAULT_LIMIT;
+		return Flux.defer(() -> Flux.fromIterable(top(comparator, max))).map(this::serialize);
+	}
+
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<Map<String, Object>>> route(@PathVariable String id) {
+		RouteStats stats = this.registry.get(id);
+		if (stats == null) {
+			return Mono.just(ResponseEntity.notFound().build());
+		}
+		return Mono.just(ResponseEntity.ok(serialize(stats.snapshot(System.nanoTime()))));
+	}
+
+	private List<RouteStats.Snapshot> top(Comparator<RouteStats.Snapshot> comparator, int limit) {
+		// min-heap of the best routes seen so far, memory stays bounded by the limit
+		PriorityQueue<RouteStats.Snapshot> heap = new PriorityQueue<>(limit + 1, comparator);
+		long now = System.nanoTime();
+		for (RouteStats stats : this.registry.getAll()) {
+			heap.offer(stats.snapshot(now));
+			if (heap.size() > limit) {
+				heap.poll();
+			}
+		}
+		List<RouteStats.Snapshot> top = new ArrayList<>(heap);
+		top.sort(comparator.reversed());
+		return top;
+	}
+
+	Map<String, Object> serialize(RouteStats.Snapshot snapshot) {
+		Map<String, Object> r = new LinkedHashMap<>();
+		r.put("route_id", snapshot.routeId());
+		r.put("rps", snapshot.requestsPerSecond());
+		r.put("in_flight", snapshot.inFlight());
+		r.put("requests", snapshot.requests());
+		r.put("error_ratio", snapshot.errorRatio());
+		r.put("latency_p50_ms", snapshot.latencyP50Millis());
+		r.put("latency_p99_ms", snapshot.latencyP99Millis());
+		r.put("bytes_in", snapshot.bytesIn());
+		r.put("bytes_out", snapshot.bytesOut());
+		return r;
+	}
+
+	private enum SortOrder {
+
+		LATENCY(Comparator.comparingDouble(RouteStats.Snapshot::latencyP99Millis)),
+
+		TRAFFIC(Comparator.comparingDouble(RouteStats.Snapshot::requestsPerSecond));
+
+		private final Comparator<RouteStats.Snapshot> comparator;
+
+		SortOrder(Comparator<RouteStats.Snapshot> comparator) {
+			this.comparator = comparator;
+		}
+
+		static SortOrder from(String sort) {
+			try {
+				return valueOf(sort.toUpperCase(Locale.ROOT));
+			}
+			catch (IllegalArgumentException ex) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+						"sort must be one of latency or traffic, was " + sort);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.config;
+
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration for per-request deadlines.
+ */
+@ConfigurationProperties(GatewayProperties.PREFIX + ".deadline")
+@Validated
+public class DeadlineProperties {
+
+	/**
+	 * Enables per-request deadlines, bounding the upstream calls, retries and fallbacks
+	 * of a request by the time it has left.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Header carrying the remaining budget of a request in milliseconds. It is read from
+	 * incoming requests and set on upstream requests.
+	 */
+	private String header = "X-Request-Deadline";
+
+	/**
+	 * Whether to honor and update the gRPC 'grpc-timeout' header.
+	 */
+	private boolean grpcTimeoutEnabled = true;
+
+	/**
+	 * Budget of requests whose route and headers do not define one. If not set, such
+	 * requests have no deadline.
+	 */
+	private @Nullable Duration defaultBudget;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getHeader() {
+		return header;
+	}
+
+	public void setHeader(String header) {
+		this.header = header;
+	}
+
+	public boolean isGrpcTimeoutEnabled() {
+		return grpcTimeoutEnabled;
+	}
+
+	public void setGrpcTimeoutEnabled(boolean grpcTimeoutEnabled) {
+		this.grpcTimeoutEnabled = grpcTimeoutEnabled;
+	}
+
+	public @Nullable Duration getDefaultBudget() {
+		return defaultBudget;
+	}
+
+	public void setDefaultBudget(@Nullable Duration defaultBudget) {
+		this.defaultBudget = defaultBudget;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringCreator(this).append("enabled", enabled)
+			.append("header", header)
+			.append("grpcTimeoutEnabled", grpcTimeoutEnabled)
+			.append("defaultBudget", defaultBudget)
+			.toString();
+	}
+
+}
@@ -34,9 +34,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
+import reactor.netty.http.HttpResources;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.WebsocketClientSpec;
 import reactor.netty.http.server.WebsocketServerSpec;
+import reactor.netty.resources.LoopResources;
 
 import org.springframework.aot.hint.MemberCategory;
 import org.springframework.aot.hint.RuntimeHints;
@@ -51,6 +53,7 @@ import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
@@ -70,17 +73,22 @@ import org.springframework.boot.webflux.autoconfigure.WebFluxProperties;
 import org.springframework.boot.webflux.autoconfigure.WebFluxProperties.Apiversion;
 import org.springframework.cloud.gateway.actuate.GatewayControllerEndpoint;
 import org.springframework.cloud.gateway.actuate.GatewayLegacyControllerEndpoint;
+import org.springframework.cloud.gateway.actuate.RouteStatsEndpoint;
 import org.springframework.cloud.gateway.config.conditional.ConditionalOnEnabledFilter;
 import org.springframework.cloud.gateway.config.conditional.ConditionalOnEnabledGlobalFilter;
 import org.springframework.cloud.gateway.config.conditional.ConditionalOnEnabledPredicate;
 import org.springframework.cloud.gateway.filter.AdaptCachedBodyGlobalFilter;
+import org.springframework.cloud.gateway.filter.DeadlineFilter;
 import org.springframework.cloud.gateway.filter.FilterDefinition;
 import org.springframework.cloud.gateway.filter.ForwardPathFilter;
 import org.springframework.cloud.gateway.filter.ForwardRoutingFilter;
+import org.springframework.cloud.gateway.filter.GatewayExchangeContextWebFilter;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.LoadSheddingWebFilter;
 import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
 import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
 import org.springframework.cloud.gateway.filter.RemoveCachedBodyFilter;
+import org.springframework.cloud.gateway.filter.RouteStatsFilter;
 import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
 import org.springframework.cloud.gateway.filter.WebsocketRoutingFilter;
 import org.springframework.cloud.gateway.filter.WeightCalculatorWebFilter;
@@ -127,6 +135,7 @@ import org.springframework.cloud.gateway.filter.factory.rewrite.MessageBodyDecod
 import org.springframework.cloud.gateway.filter.factory.rewrite.MessageBodyEncoder;
 import org.springframework.cloud.gateway.filter.factory.rewrite.ModifyRequestBodyGatewayFilterFactory;
 import org.springframework.cloud.gateway.filter.factory.rewrite.ModifyResponseBodyGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.DeadlineHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.ForwardedHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.GRPCRequestHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.GRPCResponseHeadersFilter;
@@ -170,8 +179,12 @@ import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
 import org.springframework.cloud.gateway.route.RouteDefinitionWriter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.RouteRefreshListener;
+import org.springframework.cloud.gateway.route.RouteStatsRegistry;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.EventLoopLagMonitor;
+import org.springframework.cloud.gateway.support.PendingAcquireMonitor;
+import org.springframework.cloud.gateway.support.RetryBudgetRegistry;
 import org.springframework.cloud.gateway.support.StringToZonedDateTimeConverter;
 import org.springframework.cloud.gateway.support.config.KeyValueConverter;
 import org.springframework.context.ApplicationEventPublisher;
@@ -184,6 +197,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.client.ReactorResourceFactory;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
@@ -272,8 +286,9 @@ public class GatewayAutoConfiguration {
 	@Primary
 	@ConditionalOnMissingBean(name = "cachedCompositeRouteLocator")
 	// TODO: property to disable composite?
-	public RouteLocator cachedCompositeRouteLocator(List<RouteLocator> routeLocators) {
-		return new CachingRouteLocator(new CompositeRouteLocator(Flux.fromIterable(routeLocators)));
+	public RouteLocator cachedCompositeRouteLocator(List<RouteLocator> routeLocators, GatewayProperties properties) {
+		return new CachingRouteLocator(new CompositeRouteLocator(Flux.fromIterable(routeLocators)),
+				properties.getRouteRefreshQuietPeriod(), properties.getRouteRefreshMaxDelay());
 	}
 
 	@Bean
@@ -322,6 +337,11 @@ public class GatewayAutoConfiguration {
 		return new GatewayProperties();
 	}
 
+	@Bean
+	public DeadlineProperties deadlineProperties() {
+		return new DeadlineProperties();
+	}
+
 	@Bean
 	public SecureHeadersProperties secureHeadersProperties() {
 		return new SecureHeadersProperties();
@@ -338,7 +358,7 @@ public class GatewayAutoConfiguration {
 			GatewayProperties properties) {
 		boolean forwardedByEnabled = env.getProperty("spring.cloud.gateway.server.webflux.forwarded.by.enabled",
 				Boolean.class, false);
-		ForwardedHeadersFilter forwardedHeadersFilter = new ForwardedHeadersFilter(properties.getTrustedProxies());
+		ForwardedHeadersFilter forwardedHeadersFilter = new ForwardedHeadersFilter(TrustedProxies.from(properties));
 		forwardedHeadersFilter.setForwardedByEnabled(forwardedByEnabled);
 		forwardedHeadersFilter.setServerPort(serverProperties.getPort());
 		return forwardedHeadersFilter;
@@ -360,7 +380,7 @@ public class GatewayAutoConfiguration {
 	@Bean
 	@Conditional(TrustedProxies.XForwardedTrustedProxiesCondition.class)
 	public XForwardedHeadersFilter xForwardedHeadersFilter(GatewayProperties properties) {
-		return new XForwardedHeadersFilter(properties.getTrustedProxies());
+		return new XForwardedHeadersFilter(TrustedProxies.from(properties));
 	}
 
 	@Bean
@@ -412,6 +432,18 @@ public class GatewayAutoConfiguration {
 
 	// GlobalFilter beans
 
+	@Bean
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".deadline.enabled")
+	public DeadlineFilter deadlineFilter(DeadlineProperties properties) {
+		return new DeadlineFilter(properties);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".deadline.enabled")
+	public DeadlineHeadersFilter deadlineHeadersFilter(DeadlineProperties properties) {
+		return new DeadlineHeadersFilter(properties.getHeader(), properties.isGrpcTimeoutEnabled());
+	}
+
 	@Bean
 	@ConditionalOnEnabledGlobalFilter
 	public AdaptCachedBodyGlobalFilter adaptCachedBodyGlobalFilter() {
@@ -455,6 +487,12 @@ public class GatewayAutoConfiguration {
 		return new WebsocketRoutingFilter(webSocketClient, webSocketService, headersFilters);
 	}
 
+	@Bean
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".exchange-context.enabled", matchIfMissing = false)
+	public GatewayExchangeContextWebFilter gatewayExchangeContextWebFilter() {
+		return new GatewayExchangeContextWebFilter();
+	}
+
 	@Bean
 	@ConditionalOnEnabledPredicate(WeightRoutePredicateFactory.class)
 	public WeightCalculatorWebFilter weightCalculatorWebFilter(ConfigurationService configurationService,
@@ -687,10 +725,16 @@ public class GatewayAutoConfiguration {
 		return new RewritePathGatewayFilterFactory();
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public RetryBudgetRegistry retryBudgetRegistry() {
+		return new RetryBudgetRegistry();
+	}
+
 	@Bean
 	@ConditionalOnEnabledFilter
-	public RetryGatewayFilterFactory retryGatewayFilterFactory() {
-		return new RetryGatewayFilterFactory();
+	public RetryGatewayFilterFactory retryGatewayFilterFactory(RetryBudgetRegistry retryBudgetRegistry) {
+		return new RetryGatewayFilterFactory(retryBudgetRegistry);
 	}
 
 	@Bean
@@ -841,6 +885,10 @@ public class GatewayAutoConfiguration {
 	@ConditionalOnClass({ HttpClient.class, NettyServerProperties.class })
 	protected static class NettyConfiguration {
 
+		static final String SATURATION_MONITORING_ENABLED = "'${" + GatewayProperties.PREFIX
+				+ ".metrics.saturation-enabled:false}' == 'true' || '${" + GatewayProperties.PREFIX
+				+ ".load-shedding.enabled:false}' == 'true'";
+
 		protected final Log logger = LogFactory.getLog(getClass());
 
 		@Bean
@@ -859,7 +907,7 @@ public class GatewayAutoConfiguration {
 		@Bean
 		@Conditional(TrustedProxies.NettyServerCustomizerEnabledCondition.class)
 		public NettyServerCustomizer gatewayNettyServerCustomizer(GatewayProperties gatewayProperties) {
-			TrustedProxies trustedProxies = TrustedProxies.from(gatewayProperties.getTrustedProxies());
+			TrustedProxies trustedProxies = TrustedProxies.from(gatewayProperties);
 
 			return httpServer -> httpServer.forwarded((connectionInfo, httpRequest) -> {
 				InetSocketAddress remoteAddress = connectionInfo.getRemoteAddress();
@@ -882,8 +930,40 @@ public class GatewayAutoConfiguration {
 		@ConditionalOnMissingBean({ HttpClient.class, HttpClientFactory.class })
 		public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
 				ServerProperties serverProperties, List<HttpClientCustomizer> customizers,
-				HttpClientSslConfigurer sslConfigurer) {
-			return new HttpClientFactory(properties, serverProperties, sslConfigurer, customizers);
+				HttpClientSslConfigurer sslConfigurer, ObjectProvider<PendingAcquireMonitor> pendingAcquireMonitor) {
+			HttpClientFactory factory = new HttpClientFactory(properties, serverProperties, sslConfigurer,
+					customizers);
+			factory.setPendingAcquireMonitor(pendingAcquireMonitor.getIfAvailable());
+			return factory;
+		}
+
+		@Bean
+		public LoadSheddingProperties loadSheddingProperties() {
+			return new LoadSheddingProperties();
+		}
+
+		@Bean
+		@ConditionalOnExpression(SATURATION_MONITORING_ENABLED)
+		public EventLoopLagMonitor eventLoopLagMonitor(ObjectProvider<ReactorResourceFactory> resourceFactory) {
+			// the server and the gateway client share the global loops unless a
+			// ReactorResourceFactory provides dedicated ones
+			ReactorResourceFactory factory = resourceFactory.getIfAvailable();
+			LoopResources loopResources = (factory != null) ? factory.getLoopResources() : HttpResources.get();
+			return new EventLoopLagMonitor(loopResources.onServer(LoopResources.DEFAULT_NATIVE));
+		}
+
+		@Bean
+		@ConditionalOnExpression(SATURATION_MONITORING_ENABLED)
+		public PendingAcquireMonitor pendingAcquireMonitor() {
+			return new PendingAcquireMonitor();
+		}
+
+		@Bean
+		@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".load-shedding.enabled")
+		public LoadSheddingWebFilter loadSheddingWebFilter(ObjectProvider<EventLoopLagMonitor> eventLoopLagMonitor,
+				ObjectProvider<PendingAcquireMonitor> pendingAcquireMonitor, LoadSheddingProperties properties) {
+			return new LoadSheddingWebFilter(eventLoopLagMonitor.getIfAvailable(),
+					pendingAcquireMonitor.getIfAvailable(), properties);
 		}
 
 		@Bean
@@ -960,6 +1040,25 @@ public class GatewayAutoConfiguration {
 					routeLocator, routeDefinitionLocator, webEndpointProperties);
 		}
 
+		@Bean
+		@ConditionalOnAvailableEndpoint(endpoint = RouteStatsEndpoint.class)
+		public RouteStatsRegistry routeStatsRegistry() {
+			return new RouteStatsRegistry();
+		}
+
+		@Bean
+		@ConditionalOnAvailableEndpoint(endpoint = RouteStatsEndpoint.class)
+		// statistics are only collected while the endpoint can be queried
+		public RouteStatsFilter routeStatsFilter(RouteStatsRegistry routeStatsRegistry) {
+			return new RouteStatsFilter(routeStatsRegistry);
+		}
+
+		@Bean
+		@ConditionalOnAvailableEndpoint
+		public RouteStatsEndpoint routeStatsEndpoint(RouteStatsRegistry routeStatsRegistry) {
+			return new RouteStatsEndpoint(routeStatsRegistry);
+		}
+
 		@Bean
 		@Conditional(OnVerboseDisabledCondition.class)
 		@ConditionalOnAvailableEndpoint
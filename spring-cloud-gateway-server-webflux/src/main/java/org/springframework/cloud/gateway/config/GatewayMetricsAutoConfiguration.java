@@ -18,7 +18,10 @@ package org.springframework.cloud.gateway.config;
 
 import java.util.List;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.observation.ObservationRegistry;
 
 import org.springframework.beans.factory.ObjectProvider;
@@ -35,12 +38,20 @@ import org.springframework.boot.micrometer.metrics.autoconfigure.MetricsAutoConf
 import org.springframework.boot.micrometer.observation.autoconfigure.ObservationAutoConfiguration;
 import org.springframework.boot.webflux.autoconfigure.HttpHandlerAutoConfiguration;
 import org.springframework.cloud.gateway.filter.GatewayMetricsFilter;
+import org.springframework.cloud.gateway.filter.GatewayPhaseMetricsFilter;
+import org.springframework.cloud.gateway.filter.LoadSheddingWebFilter;
 import org.springframework.cloud.gateway.filter.headers.observation.GatewayObservationConvention;
 import org.springframework.cloud.gateway.filter.headers.observation.ObservationClosingWebExceptionHandler;
 import org.springframework.cloud.gateway.filter.headers.observation.ObservedRequestHttpHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.observation.ObservedResponseHttpHeadersFilter;
 import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
 import org.springframework.cloud.gateway.route.RouteDefinitionMetrics;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.RouteRefreshMetrics;
+import org.springframework.cloud.gateway.support.EventLoopLagMonitor;
+import org.springframework.cloud.gateway.support.PendingAcquireMonitor;
+import org.springframework.cloud.gateway.support.RetryBudgetMetrics;
+import org.springframework.cloud.gateway.support.RetryBudgetRegistry;
 import org.springframework.cloud.gateway.support.tagsprovider.GatewayHttpTagsProvider;
 import org.springframework.cloud.gateway.support.tagsprovider.GatewayPathTagsProvider;
 import org.springframework.cloud.gateway.support.tagsprovider.GatewayRouteTagsProvider;
@@ -94,6 +105,44 @@ public class GatewayMetricsAutoConfiguration {
 		return new GatewayMetricsFilter(meterRegistry, tagsProviders, properties.getPrefix());
 	}
 
+	@Bean
+	@ConditionalOnBean(MeterRegistry.class)
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".metrics.phase-timings-enabled")
+	// RoutePredicateHandlerMapping reads the same property to start the timings
+	public GatewayPhaseMetricsFilter gatewayPhaseMetricsFilter(MeterRegistry meterRegistry,
+			GatewayMetricsProperties properties) {
+		return new GatewayPhaseMetricsFilter(meterRegistry, properties.getPrefix());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".metrics.saturation-enabled")
+	public MeterBinder gatewaySaturationMeterBinder(ObjectProvider<EventLoopLagMonitor> eventLoopLagMonitor,
+			ObjectProvider<PendingAcquireMonitor> pendingAcquireMonitor,
+			ObjectProvider<LoadSheddingWebFilter> loadSheddingWebFilter, GatewayMetricsProperties properties) {
+		return meterRegistry -> {
+			String prefix = properties.getPrefix();
+			eventLoopLagMonitor.ifAvailable(monitor -> {
+				for (int i = 0; i < monitor.getEventLoopCount(); i++) {
+					int index = i;
+					Gauge.builder(prefix + ".eventloop.lag", monitor, m -> m.getLagNanos(index) / 1e9)
+						.description("Scheduling lag of the event loop")
+						.baseUnit("seconds")
+						.tag("eventloop", String.valueOf(index))
+						.register(meterRegistry);
+				}
+			});
+			pendingAcquireMonitor.ifAvailable(monitor -> Gauge
+				.builder(prefix + ".httpclient.pending.acquires", monitor,
+						PendingAcquireMonitor::getPendingAcquireCount)
+				.description("Requests waiting for an upstream connection")
+				.register(meterRegistry));
+			loadSheddingWebFilter.ifAvailable(filter -> FunctionCounter
+				.builder(prefix + ".requests.shed", filter, LoadSheddingWebFilter::getShedRequests)
+				.description("Requests rejected while the gateway was saturated")
+				.register(meterRegistry));
+		};
+	}
+
 	@Bean
 	@ConditionalOnBean(MeterRegistry.class)
 	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".metrics.enabled", matchIfMissing = true)
@@ -102,6 +151,22 @@ public class GatewayMetricsAutoConfiguration {
 		return new RouteDefinitionMetrics(meterRegistry, routeDefinitionLocator, properties.getPrefix());
 	}
 
+	@Bean
+	@ConditionalOnBean(MeterRegistry.class)
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".metrics.enabled", matchIfMissing = true)
+	public RouteRefreshMetrics routeRefreshMetrics(MeterRegistry meterRegistry, RouteLocator routeLocator,
+			GatewayMetricsProperties properties) {
+		return new RouteRefreshMetrics(meterRegistry, routeLocator, properties.getPrefix());
+	}
+
+	@Bean
+	@ConditionalOnBean(MeterRegistry.class)
+	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".metrics.enabled", matchIfMissing = true)
+	public RetryBudgetMetrics retryBudgetMetrics(MeterRegistry meterRegistry, RetryBudgetRegistry retryBudgetRegistry,
+			GatewayMetricsProperties properties) {
+		return new RetryBudgetMetrics(meterRegistry, retryBudgetRegistry, properties.getPrefix());
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@ConditionalOnBean(ObservationRegistry.class)
 	@ConditionalOnProperty(name = GatewayProperties.PREFIX + ".observability.enabled", matchIfMissing = true)
@@ -53,6 +53,18 @@ public class GatewayMetricsProperties {
 	@NotNull
 	private Map<String, String> tags = new HashMap<>();
 
+	/**
+	 * Enables per-route histograms of the time spent in each phase of the proxy
+	 * pipeline, such as route matching, connection acquisition and upstream response.
+	 */
+	private boolean phaseTimingsEnabled;
+
+	/**
+	 * Enables gauges for the scheduling lag of the event loops and for the number of
+	 * requests waiting for an upstream connection.
+	 */
+	private boolean saturationEnabled;
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -77,11 +89,29 @@ public class GatewayMetricsProperties {
 		this.tags = tags;
 	}
 
+	public boolean isPhaseTimingsEnabled() {
+		return phaseTimingsEnabled;
+	}
+
+	public void setPhaseTimingsEnabled(boolean phaseTimingsEnabled) {
+		this.phaseTimingsEnabled = phaseTimingsEnabled;
+	}
+
+	public boolean isSaturationEnabled() {
+		return saturationEnabled;
+	}
+
+	public void setSaturationEnabled(boolean saturationEnabled) {
+		this.saturationEnabled = saturationEnabled;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringCreator(this).append("enabled", enabled)
 			.append("prefix", prefix)
 			.append("tags", tags)
+			.append("phaseTimingsEnabled", phaseTimingsEnabled)
+			.append("saturationEnabled", saturationEnabled)
 			.toString();
 
 	}
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.gateway.config;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -73,12 +74,50 @@ public class GatewayProperties {
 	 */
 	private boolean routeFilterCacheEnabled = false;
 
+	/**
+	 * Enables reuse of compiled routes whose definition and default filters did not
+	 * change since the previous refresh, defaults to false.
+	 */
+	private boolean compiledRouteCacheEnabled = false;
+
+	/**
+	 * Enables sharing of identical route filters and predicates, whose configuration
+	 * does not implement HasRouteId, by the routes of a single load, defaults to false.
+	 * Only enable it when no filter or predicate factory keeps per-route state.
+	 */
+	private boolean routeComponentSharingEnabled = false;
+
+	/**
+	 * Number of threads used to compile routes on startup and refresh, defaults to 1
+	 * (sequential compilation on the subscribing thread). Route order is preserved.
+	 */
+	private int routeCompilationParallelism = 1;
+
+	/**
+	 * Quiet period during which route refresh events are coalesced into a single
+	 * rebuild, defaults to zero (refresh immediately).
+	 */
+	private Duration routeRefreshQuietPeriod = Duration.ZERO;
+
+	/**
+	 * Maximum time a route refresh may be deferred by the quiet period, defaults to 5
+	 * seconds.
+	 */
+	private Duration routeRefreshMaxDelay = Duration.ofSeconds(5);
+
 	/**
 	 * Regular expression defining proxies that are trusted when they appear in a
 	 * Forwarded or X-Forwarded header.
 	 */
 	private String trustedProxies;
 
+	/**
+	 * CIDRs (such as 10.0.0.0/8 or 2001:db8::/32) of proxies that are trusted when they
+	 * appear in a Forwarded or X-Forwarded header. Can be combined with trustedProxies
+	 * and is matched without regular expressions.
+	 */
+	private List<String> trustedProxyCidrs = new ArrayList<>();
+
 	public boolean isRouteFilterCacheEnabled() {
 		return routeFilterCacheEnabled;
 	}
@@ -87,6 +126,46 @@ public class GatewayProperties {
 		this.routeFilterCacheEnabled = routeFilterCacheEnabled;
 	}
 
+	public boolean isCompiledRouteCacheEnabled() {
+		return compiledRouteCacheEnabled;
+	}
+
+	public void setCompiledRouteCacheEnabled(boolean compiledRouteCacheEnabled) {
+		this.compiledRouteCacheEnabled = compiledRouteCacheEnabled;
+	}
+
+	public boolean isRouteComponentSharingEnabled() {
+		return routeComponentSharingEnabled;
+	}
+
+	public void setRouteComponentSharingEnabled(boolean routeComponentSharingEnabled) {
+		this.routeComponentSharingEnabled = routeComponentSharingEnabled;
+	}
+
+	public int getRouteCompilationParallelism() {
+		return routeCompilationParallelism;
+	}
+
+	public void setRouteCompilationParallelism(int routeCompilationParallelism) {
+		this.routeCompilationParallelism = routeCompilationParallelism;
+	}
+
+	public Duration getRouteRefreshQuietPeriod() {
+		return routeRefreshQuietPeriod;
+	}
+
+	public void setRouteRefreshQuietPeriod(Duration routeRefreshQuietPeriod) {
+		this.routeRefreshQuietPeriod = routeRefreshQuietPeriod;
+	}
+
+	public Duration getRouteRefreshMaxDelay() {
+		return routeRefreshMaxDelay;
+	}
+
+	public void setRouteRefreshMaxDelay(Duration routeRefreshMaxDelay) {
+		this.routeRefreshMaxDelay = routeRefreshMaxDelay;
+	}
+
 	public List<RouteDefinition> getRoutes() {
 		return routes;
 	}
@@ -130,6 +209,14 @@ public class GatewayProperties {
 		this.trustedProxies = trustedProxies;
 	}
 
+	public List<String> getTrustedProxyCidrs() {
+		return trustedProxyCidrs;
+	}
+
+	public void setTrustedProxyCidrs(List<String> trustedProxyCidrs) {
+		this.trustedProxyCidrs = trustedProxyCidrs;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringCreator(this).append("routes", routes)
@@ -137,7 +224,13 @@ public class GatewayProperties {
 			.append("streamingMediaTypes", streamingMediaTypes)
 			.append("failOnRouteDefinitionError", failOnRouteDefinitionError)
 			.append("routeFilterCacheEnabled", routeFilterCacheEnabled)
+			.append("compiledRouteCacheEnabled", compiledRouteCacheEnabled)
+			.append("routeComponentSharingEnabled", routeComponentSharingEnabled)
+			.append("routeCompilationParallelism", routeCompilationParallelism)
+			.append("routeRefreshQuietPeriod", routeRefreshQuietPeriod)
+			.append("routeRefreshMaxDelay", routeRefreshMaxDelay)
 			.append("trustedProxies", trustedProxies)
+			.append("trustedProxyCidrs", trustedProxyCidrs)
 			.toString();
 
 	}
@@ -16,20 +16,25 @@
 
 package org.springframework.cloud.gateway.config;
 
+import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 
 import io.netty.channel.ChannelOption;
+import org.jspecify.annotations.Nullable;
 import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpResponseDecoderSpec;
+import reactor.netty.resources.ConnectionPoolMetrics;
 import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.transport.ProxyProvider;
 
 import org.springframework.beans.factory.config.AbstractFactoryBean;
 import org.springframework.boot.context.properties.PropertyMapper;
 import org.springframework.boot.web.server.autoconfigure.ServerProperties;
+import org.springframework.cloud.gateway.support.ConnectionPoolMeterRegistrar;
+import org.springframework.cloud.gateway.support.PendingAcquireMonitor;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -55,6 +60,8 @@ public class HttpClientFactory extends AbstractFactoryBean<HttpClient> {
 
 	protected final List<HttpClientCustomizer> customizers;
 
+	protected @Nullable PendingAcquireMonitor pendingAcquireMonitor;
+
 	public HttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
 			List<HttpClientCustomizer> customizers) {
 		this.properties = properties;
@@ -71,6 +78,15 @@ public class HttpClientFactory extends AbstractFactoryBean<HttpClient> {
 		this.customizers = customizers;
 	}
 
+	/**
+	 * Registers a monitor with the connection pools. The Reactor Netty pool meters are
+	 * still registered when pool metrics are enabled.
+	 * @param pendingAcquireMonitor the monitor tracking pending connection acquires
+	 */
+	public void setPendingAcquireMonitor(@Nullable PendingAcquireMonitor pendingAcquireMonitor) {
+		this.pendingAcquireMonitor = pendingAcquireMonitor;
+	}
+
 	@Override
 	public Class<?> getObjectType() {
 		return HttpClient.class;
@@ -190,7 +206,17 @@ public class HttpClientFactory extends AbstractFactoryBean<HttpClient> {
 				builder.maxLifeTime(pool.getMaxLifeTime());
 			}
 			builder.evictInBackground(pool.getEvictionInterval());
-			builder.metrics(pool.isMetrics());
+			if (this.pendingAcquireMonitor != null) {
+				// a custom registrar replaces the one registering the Reactor Netty pool
+				// meters, so those are registered alongside when pool metrics are on
+				ConnectionProvider.MeterRegistrar registrar = pool.isMetrics()
+						? new CompositeMeterRegistrar(this.pendingAcquireMonitor, new ConnectionPoolMeterRegistrar())
+						: this.pendingAcquireMonitor;
+				builder.metrics(true, () -> registrar);
+			}
+			else {
+				builder.metrics(pool.isMetrics());
+			}
 
 			// Define the pool leasing strategy
 			if (pool.getLeasingStrategy() == FIFO) {
@@ -206,4 +232,29 @@ public class HttpClientFactory extends AbstractFactoryBean<HttpClient> {
 		return connectionProvider;
 	}
 
+	private static final class CompositeMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+		private final ConnectionProvider.MeterRegistrar[] registrars;
+
+		private CompositeMeterRegistrar(ConnectionProvider.MeterRegistrar... registrars) {
+			this.registrars = registrars;
+		}
+
+		@Override
+		public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+				ConnectionPoolMetrics metrics) {
+			for (ConnectionProvider.MeterRegistrar registrar : this.registrars) {
+				registrar.registerMetrics(poolName, id, remoteAddress, metrics);
+			}
+		}
+
+		@Override
+		public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+			for (ConnectionProvider.MeterRegistrar registrar : this.registrars) {
+				registrar.deRegisterMetrics(poolName, id, remoteAddress);
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration for shedding low priority requests while the gateway is saturated.
+ */
+@ConfigurationProperties(GatewayProperties.PREFIX + ".load-shedding")
+@Validated
+public class LoadSheddingProperties {
+
+	/**
+	 * Enables rejecting low priority requests with 503 while the gateway is saturated.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Event loop scheduling lag above which the gateway is considered saturated.
+	 */
+	private Duration maxEventLoopLag = Duration.ofMillis(500);
+
+	/**
+	 * Number of requests waiting for an upstream connection, across all pools, above
+	 * which the gateway is considered saturated.
+	 */
+	private int maxPendingAcquires = 1000;
+
+	/**
+	 * Routes with a lower 'priority' metadata value are shed while saturated. Routes
+	 * without the metadata are never shed.
+	 */
+	private int minimumPriority = 1;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getMaxEventLoopLag() {
+		return maxEventLoopLag;
+	}
+
+	public void setMaxEventLoopLag(Duration maxEventLoopLag) {
+		this.maxEventLoopLag = maxEventLoopLag;
+	}
+
+	public int getMaxPendingAcquires() {
+		return maxPendingAcquires;
+	}
+
+	public void setMaxPendingAcquires(int maxPendingAcquires) {
+		this.maxPendingAcquires = maxPendingAcquires;
+	}
+
+	public int getMinimumPriority() {
+		return minimumPriority;
+	}
+
+	public void setMinimumPriority(int minimumPriority) {
+		this.minimumPriority = minimumPriority;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringCreator(this).append("enabled", enabled)
+			.append("maxEventLoopLag", maxEventLoopLag)
+			.append("maxPendingAcquires", maxPendingAcquires)
+			.append("minimumPriority", minimumPriority)
+			.toString();
+	}
+
+}
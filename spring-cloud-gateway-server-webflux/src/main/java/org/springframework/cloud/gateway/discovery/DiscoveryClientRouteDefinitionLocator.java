@@ -17,11 +17,15 @@
 package org.springframework.cloud.gateway.discovery;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
@@ -39,6 +43,8 @@ import org.springframework.core.style.ToStringCreator;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.util.StringUtils;
@@ -60,6 +66,8 @@ public class DiscoveryClientRouteDefinitionLocator implements RouteDefinitionLoc
 
 	private @Nullable Flux<List<ServiceInstance>> serviceInstances;
 
+	private volatile @Nullable Templates templates;
+
 	public DiscoveryClientRouteDefinitionLocator(ReactiveDiscoveryClient discoveryClient,
 			DiscoveryLocatorProperties properties) {
 		this(discoveryClient.getClass().getSimpleName(), properties);
@@ -80,10 +88,7 @@ public class DiscoveryClientRouteDefinitionLocator implements RouteDefinitionLoc
 
 	@Override
 	public Flux<RouteDefinition> getRouteDefinitions() {
-
-		SpelExpressionParser parser = new SpelExpressionParser();
-		Expression includeExpr = parser.parseExpression(properties.getIncludeExpression());
-		Expression urlExpr = parser.parseExpression(properties.getUrlExpression());
+		Templates templates = getTemplates();
 
 		Predicate<ServiceInstance> includePredicate;
 		if (properties.getIncludeExpression() == null || "true".equalsIgnoreCase(properties.getIncludeExpression())) {
@@ -91,7 +96,7 @@ public class DiscoveryClientRouteDefinitionLocator implements RouteDefinitionLoc
 		}
 		else {
 			includePredicate = instance -> {
-				Boolean include = includeExpr.getValue(evalCtxt, instance, Boolean.class);
+				Boolean include = templates.includeExpr.getValue(evalCtxt, instance, Boolean.class);
 				if (include == null) {
 					return false;
 				}
@@ -104,42 +109,65 @@ public class DiscoveryClientRouteDefinitionLocator implements RouteDefinitionLoc
 			.filter(includePredicate)
 			.collectMap(instance -> instance.getServiceId())
 			// remove duplicates
-			.flatMapMany(map -> Flux.fromIterable(map.values()))
-			.map(instance -> {
-				RouteDefinition routeDefinition = buildRouteDefinition(urlExpr, instance);
-
-				final ServiceInstance instanceForEval = new DelegatingServiceInstance(instance, properties);
-
-				for (PredicateDefinition original : this.properties.getPredicates()) {
-					PredicateDefinition predicate = new PredicateDefinition();
-					if (original.getName() != null) {
-						predicate.setName(original.getName());
-					}
-					for (Map.Entry<String, String> entry : original.getArgs().entrySet()) {
-						String value = getValueFromExpr(evalCtxt, parser, instanceForEval, entry);
-						if (value != null) {
-							predicate.addArg(entry.getKey(), value);
-						}
-					}
-					routeDefinition.getPredicates().add(predicate);
+			.flatMapMany(map -> {
+				Map<String, GeneratedRouteDefinition> previous = templates.routeDefinitions;
+				Map<String, GeneratedRouteDefinition> generated = new ConcurrentHashMap<>();
+				return Flux.fromIterable(map.entrySet())
+					.map(entry -> getRouteDefinition(templates, previous, generated, entry.getKey(), entry.getValue()))
+					// services that are gone are dropped with the previous generation
+					.doOnComplete(() -> templates.routeDefinitions = generated);
+			});
+	}
+
+	/**
+	 * Returns the definition generated for the same service instance by the previous
+	 * load, if any, so that only services whose instance changed are regenerated.
+	 */
+	private RouteDefinition getRouteDefinition(Templates templates, Map<String, GeneratedRouteDefinition> previous,
+			Map<String, GeneratedRouteDefinition> generated, String serviceId, ServiceInstance instance) {
+		List<@Nullable Object> instanceKey = instanceKey(instance);
+		GeneratedRouteDefinition routeDefinition = previous.get(serviceId);
+		if (routeDefinition == null || !routeDefinition.instanceKey().equals(instanceKey)) {
+			routeDefinition = new GeneratedRouteDefinition(instanceKey, generateRouteDefinition(templates, instance));
+		}
+		generated.put(serviceId, routeDefinition);
+		return routeDefinition.routeDefinition();
+	}
+
+	private RouteDefinition generateRouteDefinition(Templates templates, ServiceInstance instance) {
+		RouteDefinition routeDefinition = buildRouteDefinition(templates.urlExpr, instance);
+
+		final ServiceInstance instanceForEval = new DelegatingServiceInstance(instance, properties);
+
+		for (DefinitionTemplate template : templates.predicates) {
+			PredicateDefinition predicate = new PredicateDefinition();
+			if (template.name() != null) {
+				predicate.setName(template.name());
+			}
+			for (ArgTemplate arg : template.args()) {
+				String value = arg.getValue(evalCtxt, instanceForEval);
+				if (value != null) {
+					predicate.addArg(arg.name(), value);
 				}
+			}
+			routeDefinition.getPredicates().add(predicate);
+		}
 
-				for (FilterDefinition original : this.properties.getFilters()) {
-					FilterDefinition filter = new FilterDefinition();
-					if (original.getName() != null) {
-						filter.setName(original.getName());
-					}
-					for (Map.Entry<String, String> entry : original.getArgs().entrySet()) {
-						String value = getValueFromExpr(evalCtxt, parser, instanceForEval, entry);
-						if (value != null) {
-							filter.addArg(entry.getKey(), value);
-						}
-					}
-					routeDefinition.getFilters().add(filter);
+		for (DefinitionTemplate template : templates.filters) {
+			FilterDefinition filter = new FilterDefinition();
+			if (template.name() != null) {
+				filter.setName(template.name());
+			}
+			for (ArgTemplate arg : template.args()) {
+				String value = arg.getValue(evalCtxt, instanceForEval);
+				if (value != null) {
+					filter.addArg(arg.name(), value);
 				}
+			}
+			routeDefinition.getFilters().add(filter);
+		}
 
-				return routeDefinition;
-			});
+		return routeDefinition;
 	}
 
 	protected RouteDefinition buildRouteDefinition(Expression urlExpr, ServiceInstance serviceInstance) {
@@ -155,18 +183,136 @@ public class DiscoveryClientRouteDefinitionLocator implements RouteDefinitionLoc
 		return routeDefinition;
 	}
 
-	private @Nullable String getValueFromExpr(SimpleEvaluationContext evalCtxt, SpelExpressionParser parser,
-			ServiceInstance instance, Map.Entry<String, String> entry) {
-		try {
-			Expression valueExpr = parser.parseExpression(entry.getValue());
-			return valueExpr.getValue(evalCtxt, instance, String.class);
+	/**
+	 * Returns the templates of the current properties, parsing them again only when the
+	 * properties changed since the previous load.
+	 */
+	private Templates getTemplates() {
+		List<@Nullable Object> source = Templates.describe(this.properties);
+		Templates current = this.templates;
+		if (current == null || !current.source.equals(source)) {
+			current = new Templates(source, this.properties);
+			this.templates = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Content of a service instance that expressions are evaluated against.
+	 */
+	private static List<@Nullable Object> instanceKey(ServiceInstance instance) {
+		Map<String, String> metadata = instance.getMetadata();
+		return Arrays.asList(instance.getInstanceId(), instance.getHost(), instance.getPort(), instance.isSecure(),
+				instance.getUri(), instance.getScheme(), (metadata != null) ? new HashMap<>(metadata) : null);
+	}
+
+	private record GeneratedRouteDefinition(List<@Nullable Object> instanceKey, RouteDefinition routeDefinition) {
+	}
+
+	private record DefinitionTemplate(@Nullable String name, List<ArgTemplate> args) {
+	}
+
+	/**
+	 * Predicate or filter argument whose expression is parsed once. A parse failure is
+	 * kept and thrown when the argument is evaluated, so that it only fails loads that
+	 * generate a route definition.
+	 */
+	private record ArgTemplate(String name, String expressionString, @Nullable Expression expression,
+			@Nullable ParseException parseException) {
+
+		static ArgTemplate parse(SpelExpressionParser parser, String name, String expressionString) {
+			try {
+				return new ArgTemplate(name, expressionString, parser.parseExpression(expressionString), null);
+			}
+			catch (ParseException e) {
+				return new ArgTemplate(name, expressionString, null, e);
+			}
 		}
-		catch (ParseException | EvaluationException e) {
-			if (log.isDebugEnabled()) {
-				log.debug("Unable to parse " + entry.getValue(), e);
+
+		@Nullable String getValue(SimpleEvaluationContext evalCtxt, ServiceInstance instance) {
+			try {
+				if (this.parseException != null) {
+					throw this.parseException;
+				}
+				return Objects.requireNonNull(this.expression).getValue(evalCtxt, instance, String.class);
+			}
+			catch (ParseException | EvaluationException e) {
+				if (log.isDebugEnabled()) {
+					log.debug("Unable to parse " + this.expressionString, e);
+				}
+				throw e;
 			}
-			throw e;
 		}
+
+	}
+
+	/**
+	 * Parsed expressions of the {@link DiscoveryLocatorProperties} and the route
+	 * definitions generated with them by the last complete load. Expressions are compiled
+	 * to bytecode once they have been evaluated often enough, falling back to
+	 * interpretation whenever compiled code fails.
+	 */
+	private static final class Templates {
+
+		private final List<@Nullable Object> source;
+
+		private final Expression includeExpr;
+
+		private final Expression urlExpr;
+
+		private final List<DefinitionTemplate> predicates = new ArrayList<>();
+
+		private final List<DefinitionTemplate> filters = new ArrayList<>();
+
+		private volatile Map<String, GeneratedRouteDefinition> routeDefinitions = Map.of();
+
+		Templates(List<@Nullable Object> source, DiscoveryLocatorProperties properties) {
+			this.source = source;
+			SpelExpressionParser parser = new SpelExpressionParser(
+					new SpelParserConfiguration(SpelCompilerMode.MIXED, Templates.class.getClassLoader()));
+			this.includeExpr = parser.parseExpression(properties.getIncludeExpression());
+			this.urlExpr = parser.parseExpression(properties.getUrlExpression());
+			for (PredicateDefinition predicate : properties.getPredicates()) {
+				this.predicates.add(template(parser, predicate.getName(), predicate.getArgs()));
+			}
+			for (FilterDefinition filter : properties.getFilters()) {
+				this.filters.add(template(parser, filter.getName(), filter.getArgs()));
+			}
+		}
+
+		private static DefinitionTemplate template(SpelExpressionParser parser, @Nullable String name,
+				Map<String, String> args) {
+			List<ArgTemplate> argTemplates = new ArrayList<>(args.size());
+			for (Map.Entry<String, String> entry : args.entrySet()) {
+				argTemplates.add(ArgTemplate.parse(parser, entry.getKey(), entry.getValue()));
+			}
+			return new DefinitionTemplate(name, argTemplates);
+		}
+
+		/**
+		 * Copies everything the templates and generated definitions depend on, keeping
+		 * the order of the arguments.
+		 */
+		static List<@Nullable Object> describe(DiscoveryLocatorProperties properties) {
+			List<@Nullable Object> source = new ArrayList<>();
+			source.add(properties.getIncludeExpression());
+			source.add(properties.getUrlExpression());
+			source.add(properties.isLowerCaseServiceId());
+			for (PredicateDefinition predicate : properties.getPredicates()) {
+				source.add(predicate.getName());
+				source.add(new ArrayList<>(predicate.getArgs().keySet()));
+				source.add(new ArrayList<>(predicate.getArgs().values()));
+			}
+			// separates predicates from filters
+			source.add(properties.getPredicates().size());
+			for (FilterDefinition filter : properties.getFilters()) {
+				source.add(filter.getName());
+				source.add(new ArrayList<>(filter.getArgs().keySet()));
+				source.add(new ArrayList<>(filter.getArgs().values()));
+			}
+			return source;
+		}
+
 	}
 
 	private static class DelegatingServiceInstance implements ServiceInstance {
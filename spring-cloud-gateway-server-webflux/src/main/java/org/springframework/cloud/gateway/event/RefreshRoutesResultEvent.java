@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.gateway.event;
 
+import java.util.Set;
+
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.context.ApplicationEvent;
@@ -27,6 +29,10 @@ public class RefreshRoutesResultEvent extends ApplicationEvent {
 
 	private @Nullable Throwable throwable;
 
+	private Set<String> changedRouteIds = Set.of();
+
+	private Set<String> removedRouteIds = Set.of();
+
 	public RefreshRoutesResultEvent(Object source, Throwable throwable) {
 		super(source);
 		this.throwable = throwable;
@@ -36,6 +42,18 @@ public class RefreshRoutesResultEvent extends ApplicationEvent {
 		super(source);
 	}
 
+	/**
+	 * Create a new successful result event describing which routes changed.
+	 * @param source the object on which the event initially occurred
+	 * @param changedRouteIds ids of routes that were added or recompiled
+	 * @param removedRouteIds ids of routes that are no longer present
+	 */
+	public RefreshRoutesResultEvent(Object source, Set<String> changedRouteIds, Set<String> removedRouteIds) {
+		super(source);
+		this.changedRouteIds = changedRouteIds;
+		this.removedRouteIds = removedRouteIds;
+	}
+
 	public @Nullable Throwable getThrowable() {
 		return throwable;
 	}
@@ -44,4 +62,19 @@ public class RefreshRoutesResultEvent extends ApplicationEvent {
 		return throwable == null;
 	}
 
+	/**
+	 * @return ids of routes that were added or recompiled by the refresh, empty if the
+	 * refresh failed
+	 */
+	public Set<String> getChangedRouteIds() {
+		return changedRouteIds;
+	}
+
+	/**
+	 * @return ids of routes that were removed by the refresh
+	 */
+	public Set<String> getRemovedRouteIds() {
+		return removedRouteIds;
+	}
+
 }
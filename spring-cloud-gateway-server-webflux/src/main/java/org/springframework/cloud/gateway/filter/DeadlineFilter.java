@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.time.Duration;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.config.DeadlineProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.Deadline;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.DEADLINE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Sets the {@link Deadline} of a request to the tightest of the route {@code deadline}
+ * metadata, the deadline header and the {@code grpc-timeout} header. Routing filters,
+ * retries and fallbacks then only use the time that is left.
+ */
+public class DeadlineFilter implements GlobalFilter, Ordered {
+
+	/**
+	 * Order of the filter, ahead of the route filters so retries see the deadline.
+	 */
+	public static final int DEADLINE_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+	/**
+	 * gRPC timeout header name.
+	 */
+	public static final String GRPC_TIMEOUT = "grpc-timeout";
+
+	private static final Log log = LogFactory.getLog(DeadlineFilter.class);
+
+	private final String header;
+
+	private final boolean grpcTimeoutEnabled;
+
+	private final @Nullable Duration defaultBudget;
+
+	public DeadlineFilter(DeadlineProperties properties) {
+		this.header = properties.getHeader();
+		this.grpcTimeoutEnabled = properties.isGrpcTimeoutEnabled();
+		this.defaultBudget = properties.getDefaultBudget();
+	}
+
+	@Override
+	public int getOrder() {
+		return DEADLINE_FILTER_ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Duration budget = getBudget(exchange);
+		if (budget != null) {
+			Deadline.tighten(exchange, Deadline.after(budget));
+		}
+		return chain.filter(exchange);
+	}
+
+	private @Nullable Duration getBudget(ServerWebExchange exchange) {
+		Duration budget = null;
+		Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+		if (route != null) {
+			budget = toDuration(route.getMetadata().get(DEADLINE_ATTR));
+		}
+		HttpHeaders headers = exchange.getRequest().getHeaders();
+		budget = min(budget, toDuration(headers.getFirst(this.header)));
+		if (this.grpcTimeoutEnabled) {
+			budget = min(budget, Deadline.parseGrpcTimeout(headers.getFirst(GRPC_TIMEOUT)));
+		}
+		return (budget != null) ? budget : this.defaultBudget;
+	}
+
+	private static @Nullable Duration toDuration(@Nullable Object millis) {
+		if (millis instanceof Number number) {
+			return Duration.ofMillis(number.longValue());
+		}
+		if (millis != null) {
+			try {
+				return Duration.ofMillis(Long.parseLong(millis.toString().trim()));
+			}
+			catch (NumberFormatException ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Ignoring invalid deadline budget '" + millis + "'");
+				}
+			}
+		}
+		return null;
+	}
+
+	private static @Nullable Duration min(@Nullable Duration current, @Nullable Duration candidate) {
+		if (candidate == null || candidate.isNegative()) {
+			return current;
+		}
+		return (current == null || candidate.compareTo(current) < 0) ? candidate : current;
+	}
+
+}
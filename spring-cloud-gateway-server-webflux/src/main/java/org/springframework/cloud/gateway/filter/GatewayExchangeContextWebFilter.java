@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.util.Objects;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.support.GatewayExchangeContext;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Installs a {@link GatewayExchangeContext} on every exchange before any other filter
+ * runs, so the attributes written by the gateway for every request are kept in fields of
+ * the context instead of entries of the exchange attribute map. The attributes are
+ * copied to the original exchange whenever the request terminates, successfully, with an
+ * error or by cancellation.
+ */
+public class GatewayExchangeContextWebFilter implements WebFilter, Ordered {
+
+	/**
+	 * Order of the filter, first, so every later filter and handler sees the context.
+	 */
+	public static final int EXCHANGE_CONTEXT_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		if (GatewayExchangeContext.get(exchange) != null) {
+			return chain.filter(exchange);
+		}
+		ServerWebExchange decorated = GatewayExchangeContext.decorate(exchange);
+		GatewayExchangeContext context = Objects.requireNonNull(GatewayExchangeContext.get(decorated),
+				"GatewayExchangeContext is required");
+		// exception handlers, and code that kept the undecorated exchange, only see the
+		// original attributes, copied before an error is handled downstream
+		return chain.filter(decorated)
+			.doOnTerminate(context::exportAttributes)
+			.doOnCancel(context::exportAttributes);
+	}
+
+	@Override
+	public int getOrder() {
+		return EXCHANGE_CONTEXT_FILTER_ORDER;
+	}
+
+}
@@ -17,6 +17,9 @@
 package org.springframework.cloud.gateway.filter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -24,27 +27,66 @@ import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Timer.Sample;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayHttpTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayPathTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayRouteTagsProvider;
 import org.springframework.cloud.gateway.support.tagsprovider.GatewayTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.PropertiesTagsProvider;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
 /**
  * @author Tony Clarke
  * @author Ingyu Hwang
  */
-public class GatewayMetricsFilter implements GlobalFilter, Ordered {
+public class GatewayMetricsFilter implements GlobalFilter, Ordered, ApplicationListener<RefreshRoutesResultEvent> {
 
 	private static final Log log = LogFactory.getLog(GatewayMetricsFilter.class);
 
+	/**
+	 * Maximum number of timers kept in the meter cache. Tag combinations beyond that are
+	 * looked up in the registry on every request, as they would be without the cache.
+	 */
+	static final int MAX_CACHED_TIMERS = 10_000;
+
+	// key of requests without a matched path or without a response status
+	private static final Object NONE = new Object();
+
 	private final MeterRegistry meterRegistry;
 
 	private GatewayTagsProvider compositeTagsProvider;
 
 	private final String metricsPrefix;
 
+	private final String timerName;
+
+	// only built-in providers are used, whose tags are fully determined by the route,
+	// request method, matched path and response status
+	private final boolean cacheable;
+
+	private final boolean pathTagsEnabled;
+
+	// keyed by route id, the timers of a route are dropped when its id maps to a new route
+	// or the route is removed
+	private final Map<String, RouteTimers> routeTimers = new ConcurrentHashMap<>();
+
+	private final RouteTimers noRouteTimers = new RouteTimers(null);
+
+	private final AtomicInteger cachedTimers = new AtomicInteger();
+
 	public GatewayMetricsFilter(MeterRegistry meterRegistry, List<GatewayTagsProvider> tagsProviders,
 			String metricsPrefix) {
 		this.meterRegistry = meterRegistry;
@@ -55,6 +97,17 @@ public class GatewayMetricsFilter implements GlobalFilter, Ordered {
 		else {
 			this.metricsPrefix = metricsPrefix;
 		}
+		this.timerName = this.metricsPrefix + ".requests";
+		this.cacheable = tagsProviders.stream().allMatch(GatewayMetricsFilter::isBuiltInTagsProvider);
+		this.pathTagsEnabled = tagsProviders.stream()
+			.anyMatch(provider -> provider.getClass() == GatewayPathTagsProvider.class);
+	}
+
+	private static boolean isBuiltInTagsProvider(GatewayTagsProvider provider) {
+		// exact class match, subclasses may override apply()
+		Class<?> type = provider.getClass();
+		return type == GatewayHttpTagsProvider.class || type == GatewayRouteTagsProvider.class
+				|| type == GatewayPathTagsProvider.class || type == PropertiesTagsProvider.class;
 	}
 
 	public String getMetricsPrefix() {
@@ -92,12 +145,129 @@ public class GatewayMetricsFilter implements GlobalFilter, Ordered {
 	}
 
 	private void endTimerInner(ServerWebExchange exchange, Sample sample) {
+		if (this.cacheable && !log.isTraceEnabled()) {
+			sample.stop(getTimer(exchange));
+			return;
+		}
 		Tags tags = compositeTagsProvider.apply(exchange);
 
 		if (log.isTraceEnabled()) {
 			log.trace(metricsPrefix + ".requests tags: " + tags);
 		}
-		sample.stop(meterRegistry.timer(metricsPrefix + ".requests", tags));
+		sample.stop(meterRegistry.timer(timerName, tags));
+	}
+
+	/* for testing */ Timer getTimer(ServerWebExchange exchange) {
+		Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+		Map<Object, Timer> timers = getStatusTimers(exchange, route);
+		HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+		Object statusKey = (statusCode != null) ? statusCode : NONE;
+		Timer timer = (timers != null) ? timers.get(statusKey) : null;
+		if (timer != null) {
+			return timer;
+		}
+		timer = meterRegistry.timer(timerName, compositeTagsProvider.apply(exchange));
+		if (timers != null && this.cachedTimers.get() < MAX_CACHED_TIMERS
+				&& timers.putIfAbsent(statusKey, timer) == null) {
+			this.cachedTimers.incrementAndGet();
+		}
+		return timer;
+	}
+
+	/**
+	 * Returns the timers of the route, request method and matched path of the exchange,
+	 * keyed by response status, or {@code null} if the cache is full. The lookup does not
+	 * allocate: routes, methods and statuses are mostly shared instances whose hash codes
+	 * are cached.
+	 */
+	private @Nullable Map<Object, Timer> getStatusTimers(ServerWebExchange exchange, @Nullable Route route) {
+		boolean full = this.cachedTimers.get() >= MAX_CACHED_TIMERS;
+		RouteTimers routeTimers = this.noRouteTimers;
+		if (route != null) {
+			routeTimers = this.routeTimers.get(route.getId());
+			if (routeTimers == null || routeTimers.route != route) {
+				if (full) {
+					return null;
+				}
+				routeTimers = this.routeTimers.compute(route.getId(), (id, existing) -> {
+					if (existing != null && existing.route == route) {
+						return existing;
+					}
+					if (existing != null) {
+						this.cachedTimers.addAndGet(-existing.size());
+					}
+					return new RouteTimers(route);
+				});
+			}
+		}
+		Object pathKey = NONE;
+		if (this.pathTagsEnabled && route != null
+				&& route.getId().equals(exchange.getAttribute(GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR))) {
+			String path = exchange.getAttribute(GATEWAY_PREDICATE_MATCHED_PATH_ATTR);
+			if (path != null) {
+				pathKey = path;
+			}
+		}
+		Map<Object, Map<Object, Timer>> pathTimers = routeTimers.timers.get(exchange.getRequest().getMethod());
+		if (pathTimers == null) {
+			if (full) {
+				return null;
+			}
+			pathTimers = routeTimers.timers.computeIfAbsent(exchange.getRequest().getMethod(),
+					method -> new ConcurrentHashMap<>());
+		}
+		Map<Object, Timer> statusTimers = pathTimers.get(pathKey);
+		if (statusTimers == null) {
+			if (full) {
+				return null;
+			}
+			statusTimers = pathTimers.computeIfAbsent(pathKey, key -> new ConcurrentHashMap<>());
+		}
+		return statusTimers;
+	}
+
+	@Override
+	public void onApplicationEvent(RefreshRoutesResultEvent event) {
+		if (event.isSuccess()) {
+			// release the cache budget held by the timers of removed routes
+			for (String routeId : event.getRemovedRouteIds()) {
+				this.routeTimers.computeIfPresent(routeId, (id, existing) -> {
+					this.cachedTimers.addAndGet(-existing.size());
+					return null;
+				});
+			}
+		}
+	}
+
+	/* for testing */ int getCachedTimerCount() {
+		return this.cachedTimers.get();
+	}
+
+	/**
+	 * The cached timers of a route instance, keyed by request method, matched path and
+	 * response status: everything else the built-in tags providers derive their tags from
+	 * belongs to the route.
+	 */
+	private static final class RouteTimers {
+
+		private final @Nullable Route route;
+
+		private final Map<HttpMethod, Map<Object, Map<Object, Timer>>> timers = new ConcurrentHashMap<>();
+
+		RouteTimers(@Nullable Route route) {
+			this.route = route;
+		}
+
+		int size() {
+			int size = 0;
+			for (Map<Object, Map<Object, Timer>> pathTimers : this.timers.values()) {
+				for (Map<Object, Timer> statusTimers : pathTimers.values()) {
+					size += statusTimers.size();
+				}
+			}
+			return size;
+		}
+
 	}
 
 }
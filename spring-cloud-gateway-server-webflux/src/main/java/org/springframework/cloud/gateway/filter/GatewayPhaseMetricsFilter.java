@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.PhaseTimings;
+import org.springframework.cloud.gateway.support.PhaseTimings.Phase;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Publishes the {@link PhaseTimings} collected for an exchange as per-route
+ * {@code <prefix>.requests.phases} histograms, tagged with the {@code routeId} and the
+ * {@code phase} of the pipeline.
+ */
+public class GatewayPhaseMetricsFilter implements GlobalFilter, Ordered {
+
+	private static final PhaseInterval[] INTERVALS = PhaseInterval.values();
+
+	private final MeterRegistry meterRegistry;
+
+	private final String timerName;
+
+	private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+	public GatewayPhaseMetricsFilter(MeterRegistry meterRegistry, String metricsPrefix) {
+		this.meterRegistry = meterRegistry;
+		if (metricsPrefix.endsWith(".")) {
+			metricsPrefix = metricsPrefix.substring(0, metricsPrefix.length() - 1);
+		}
+		this.timerName = metricsPrefix + ".requests.phases";
+	}
+
+	@Override
+	public int getOrder() {
+		// wrap NettyWriteResponseFilter so the response body is included
+		return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		PhaseTimings timings = PhaseTimings.get(exchange);
+		if (timings == null) {
+			return chain.filter(exchange);
+		}
+		return chain.filter(exchange).doFinally(signalType -> record(exchange, timings));
+	}
+
+	private void record(ServerWebExchange exchange, PhaseTimings timings) {
+		Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+		if (route == null) {
+			return;
+		}
+		Timer[] routeTimers = this.timers.get(route.getId());
+		if (routeTimers == null) {
+			routeTimers = this.timers.computeIfAbsent(route.getId(), this::createTimers);
+		}
+		for (PhaseInterval interval : INTERVALS) {
+			long nanos = timings.between(interval.from, interval.to);
+			if (nanos >= 0) {
+				routeTimers[interval.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private Timer[] createTimers(String routeId) {
+		Timer[] routeTimers = new Timer[INTERVALS.length];
+		for (PhaseInterval interval : INTERVALS) {
+			routeTimers[interval.ordinal()] = Timer.builder(this.timerName)
+				.tag("routeId", routeId)
+				.tag("phase", interval.tag)
+				.publishPercentileHistogram()
+				.register(this.meterRegistry);
+		}
+		return routeTimers;
+	}
+
+	/* for testing */ int getCachedRouteCount() {
+		return this.timers.size();
+	}
+
+	/**
+	 * Intervals between {@link Phase phases} that are published. Intervals whose
+	 * phases were not both reached, for example the load balancer on a route with a
+	 * static uri, are skipped.
+	 */
+	private enum PhaseInterval {
+
+		ROUTE_MATCH("route_match", Phase.START, Phase.ROUTE_MATCHED),
+
+		PRE_FILTERS("pre_filters", Phase.FILTERS_STARTED, Phase.REQUEST_STARTED),
+
+		LOADBALANCER("loadbalancer", Phase.LOADBALANCER_STARTED, Phase.LOADBALANCER_CHOSEN),
+
+		CONNECTION_ACQUIRE("connection_acquire", Phase.REQUEST_STARTED, Phase.CONNECTION_ACQUIRED),
+
+		UPSTREAM_FIRST_BYTE("upstream_first_byte", Phase.CONNECTION_ACQUIRED, Phase.RESPONSE_HEADERS_RECEIVED),
+
+		RESPONSE_BODY("response_body", Phase.RESPONSE_HEADERS_RECEIVED, Phase.RESPONSE_COMPLETED);
+
+		private final String tag;
+
+		private final Phase from;
+
+		private final Phase to;
+
+		PhaseInterval(String tag, Phase from, Phase to) {
+			this.tag = tag;
+			this.from = from;
+			this.to = to;
+		}
+
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.config.LoadSheddingProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.EventLoopLagMonitor;
+import org.springframework.cloud.gateway.support.PendingAcquireMonitor;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.WebHandler;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOAD_SHEDDING_ATTR;
+
+/**
+ * Sheds low priority requests while the gateway is saturated, that is while an event loop
+ * lags behind or too many requests wait for an upstream connection. The saturation check
+ * runs before routing; as the priority of a request is the {@link #PRIORITY_METADATA}
+ * of its route, the {@link org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping}
+ * asks {@link #shouldShed(Route)} once the route is matched and maps shed requests to
+ * {@link #getRejectingHandler()} instead of running the gateway filters.
+ */
+public class LoadSheddingWebFilter implements WebFilter, Ordered {
+
+	/**
+	 * Order of the filter, after the server observation filter so shed requests are
+	 * still observed.
+	 */
+	public static final int LOAD_SHEDDING_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+	/**
+	 * Route metadata key holding the priority of the route.
+	 */
+	public static final String PRIORITY_METADATA = "priority";
+
+	private static final Log log = LogFactory.getLog(LoadSheddingWebFilter.class);
+
+	private static final long CHECK_INTERVAL_NANOS = 10_000_000L;
+
+	private final @Nullable EventLoopLagMonitor eventLoopLagMonitor;
+
+	private final @Nullable PendingAcquireMonitor pendingAcquireMonitor;
+
+	private final long maxEventLoopLagNanos;
+
+	private final int maxPendingAcquires;
+
+	private final int minimumPriority;
+
+	private final LongAdder shedRequests = new LongAdder();
+
+	private final WebHandler rejectingHandler = this::reject;
+
+	private volatile boolean saturated;
+
+	private volatile long nextCheck = System.nanoTime();
+
+	public LoadSheddingWebFilter(@Nullable EventLoopLagMonitor eventLoopLagMonitor,
+			@Nullable PendingAcquireMonitor pendingAcquireMonitor, LoadSheddingProperties properties) {
+		this.eventLoopLagMonitor = eventLoopLagMonitor;
+		this.pendingAcquireMonitor = pendingAcquireMonitor;
+		this.maxEventLoopLagNanos = properties.getMaxEventLoopLag().toNanos();
+		this.maxPendingAcquires = properties.getMaxPendingAcquires();
+		this.minimumPriority = properties.getMinimumPriority();
+	}
+
+	@Override
+	public int getOrder() {
+		return LOAD_SHEDDING_FILTER_ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		if (isSaturated()) {
+			exchange.getAttributes().put(GATEWAY_LOAD_SHEDDING_ATTR, this);
+		}
+		return chain.filter(exchange);
+	}
+
+	/**
+	 * @return whether the gateway is saturated, re-evaluated at most every 10ms
+	 */
+	public boolean isSaturated() {
+		long now = System.nanoTime();
+		if (now - this.nextCheck < 0) {
+			return this.saturated;
+		}
+		this.nextCheck = now + CHECK_INTERVAL_NANOS;
+		boolean saturated = (this.eventLoopLagMonitor != null
+				&& this.eventLoopLagMonitor.getMaxLagNanos() > this.maxEventLoopLagNanos)
+				|| (this.pendingAcquireMonitor != null
+						&& this.pendingAcquireMonitor.getPendingAcquireCount() > this.maxPendingAcquires);
+		if (saturated != this.saturated && log.isWarnEnabled()) {
+			log.warn(saturated ? "Gateway is saturated, shedding requests below priority " + this.minimumPriority
+					: "Gateway is no longer saturated");
+		}
+		this.saturated = saturated;
+		return saturated;
+	}
+
+	/**
+	 * Routes without a valid {@link #PRIORITY_METADATA} are never shed, so only routes
+	 * that opted in with a priority below the minimum are.
+	 * @param route the matched route
+	 * @return whether the request routed to the route must be shed
+	 */
+	public boolean shouldShed(Route route) {
+		Integer priority = getPriority(route);
+		return priority != null && priority < this.minimumPriority;
+	}
+
+	/**
+	 * @return the handler answering shed requests with 503
+	 */
+	public WebHandler getRejectingHandler() {
+		return this.rejectingHandler;
+	}
+
+	/**
+	 * @return the number of requests shed so far
+	 */
+	public long getShedRequests() {
+		return this.shedRequests.sum();
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange) {
+		this.shedRequests.increment();
+		exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+		exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+		return exchange.getResponse().setComplete();
+	}
+
+	static @Nullable Integer getPriority(Route route) {
+		Object priority = route.getMetadata().get(PRIORITY_METADATA);
+		if (priority instanceof Number number) {
+			return number.intValue();
+		}
+		if (priority != null) {
+			try {
+				return Integer.parseInt(priority.toString().trim());
+			}
+			catch (NumberFormatException ex) {
+				if (log.isDebugEnabled()) {
+					log.debug("Ignoring invalid priority '" + priority + "' of route " + route.getId());
+				}
+			}
+		}
+		return null;
+	}
+
+}
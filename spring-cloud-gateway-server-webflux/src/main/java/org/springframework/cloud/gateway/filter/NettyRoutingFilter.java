@@ -39,6 +39,9 @@ import org.springframework.cloud.gateway.config.HttpClientProperties;
 import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter.Type;
 import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.Deadline;
+import org.springframework.cloud.gateway.support.PhaseTimings;
+import org.springframework.cloud.gateway.support.RequestTarget;
 import org.springframework.cloud.gateway.support.TimeoutException;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -61,6 +64,7 @@ import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.C
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.getRequestTarget;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
@@ -111,18 +115,32 @@ public class NettyRoutingFilter implements GlobalFilter, Ordered {
 	@Override
 	@SuppressWarnings("Duplicates")
 	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-		URI requestUrl = exchange.getRequiredAttribute(GATEWAY_REQUEST_URL_ATTR);
+		// the target avoids building a URI only to turn it back into a string
+		RequestTarget target = getRequestTarget(exchange);
+		if (target == null) {
+			URI requestUrl = exchange.getRequiredAttribute(GATEWAY_REQUEST_URL_ATTR);
+			// opaque URLs, such as mailto:, have no target to route to
+			if (log.isTraceEnabled()) {
+				log.trace("Not routing opaque URL " + requestUrl);
+			}
+			return chain.filter(exchange);
+		}
 
-		String scheme = requestUrl.getScheme();
+		String scheme = target.getScheme();
 		if (isAlreadyRouted(exchange) || (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme))) {
 			return chain.filter(exchange);
 		}
 		setAlreadyRouted(exchange);
+		if (Deadline.isExpired(exchange)) {
+			// the budget is spent, don't start an upstream call whose answer comes too late
+			return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded"));
+		}
+		PhaseTimings.mark(exchange, PhaseTimings.Phase.REQUEST_STARTED);
 
 		ServerHttpRequest request = exchange.getRequest();
 
 		final HttpMethod method = HttpMethod.valueOf(request.getMethod().name());
-		final String url = requestUrl.toASCIIString();
+		final String url = target.toASCIIString();
 
 		HttpHeaders filtered = filterRequest(getHeadersFilters(), exchange);
 
@@ -142,12 +160,15 @@ public class NettyRoutingFilter implements GlobalFilter, Ordered {
 					headers.add(HttpHeaders.HOST, host);
 				}
 			}).request(method).uri(url).send((req, nettyOutbound) -> {
+				// only invoked once a connection has been acquired
+				PhaseTimings.mark(exchange, PhaseTimings.Phase.CONNECTION_ACQUIRED);
 				if (log.isTraceEnabled()) {
 					nettyOutbound.withConnection(connection -> log.trace("outbound route: "
 							+ connection.channel().id().asShortText() + ", inbound: " + exchange.getLogPrefix()));
 				}
 				return nettyOutbound.send(request.getBody().map(this::getByteBuf));
 			}).responseConnection((res, connection) -> {
+				PhaseTimings.mark(exchange, PhaseTimings.Phase.RESPONSE_HEADERS_RECEIVED);
 
 				// Defer committing the response until all route filters have run
 				// Put client response as ServerWebExchange attribute and write
@@ -190,11 +211,20 @@ public class NettyRoutingFilter implements GlobalFilter, Ordered {
 			}));
 
 		Duration responseTimeout = getResponseTimeout(route);
+		Deadline deadline = Deadline.get(exchange);
+		if (deadline != null) {
+			// never wait past the deadline, whatever the route timeout
+			Duration remaining = deadline.remaining();
+			if (responseTimeout == null || remaining.compareTo(responseTimeout) < 0) {
+				responseTimeout = remaining;
+			}
+		}
 		if (responseTimeout != null) {
+			Duration timeout = responseTimeout;
 			responseFlux = responseFlux
-				.timeout(responseTimeout,
+				.timeout(timeout,
 						Mono.defer(() -> Mono
-							.error(new TimeoutException("Response took longer than timeout: " + responseTimeout))))
+							.error(new TimeoutException("Response took longer than timeout: " + timeout))))
 				.onErrorMap(TimeoutException.class,
 						th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th));
 		}
@@ -31,6 +31,7 @@ import reactor.netty.http.client.HttpClientResponse;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.TrailerHeadersFilter;
+import org.springframework.cloud.gateway.support.PhaseTimings;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -120,7 +121,9 @@ public class NettyWriteResponseFilter implements GlobalFilter, Ordered {
 					Mono<Void> write = (isStreamingMediaType(contentType)
 							? response.writeAndFlushWith(body.map(Flux::just))
 							: response.writeWith(body));
-					return write.then(TrailerHeadersFilter.filter(getHeadersFilters(), exchange, httpClientResponse)).then();
+					return write.then(TrailerHeadersFilter.filter(getHeadersFilters(), exchange, httpClientResponse))
+							.then()
+							.doOnSuccess(aVoid -> PhaseTimings.mark(exchange, PhaseTimings.Phase.RESPONSE_COMPLETED));
 				}))
 				.doFinally(signalType -> {
 					if (signalType == SignalType.CANCEL || signalType == SignalType.ON_ERROR) {
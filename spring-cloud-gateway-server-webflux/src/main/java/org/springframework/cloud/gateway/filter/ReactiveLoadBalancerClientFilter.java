@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.client.ServiceInstance;
@@ -40,6 +41,8 @@ import org.springframework.cloud.client.loadbalancer.ResponseData;
 import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
 import org.springframework.cloud.gateway.support.DelegatingServiceInstance;
 import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.PhaseTimings;
+import org.springframework.cloud.gateway.support.RequestTarget;
 import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
 import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
@@ -50,6 +53,7 @@ import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.G
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setRequestTarget;
 
 /**
  * A {@link GlobalFilter} implementation that routes requests using reactive Spring Cloud
@@ -106,7 +110,9 @@ public class ReactiveLoadBalancerClientFilter implements GlobalFilter, Ordered {
 					RequestDataContext.class, ResponseData.class, ServiceInstance.class);
 		DefaultRequest<RequestDataContext> lbRequest = new DefaultRequest<>(new RequestDataContext(
 				new RequestData(exchange.getRequest(), exchange.getAttributes()), getHint(serviceId)));
+		PhaseTimings.mark(exchange, PhaseTimings.Phase.LOADBALANCER_STARTED);
 		return choose(lbRequest, serviceId, supportedLifecycleProcessors).doOnNext(response -> {
+			PhaseTimings.mark(exchange, PhaseTimings.Phase.LOADBALANCER_CHOSEN);
 
 			if (!response.hasServer()) {
 				supportedLifecycleProcessors.forEach(lifecycle -> lifecycle
@@ -116,8 +122,6 @@ public class ReactiveLoadBalancerClientFilter implements GlobalFilter, Ordered {
 
 			ServiceInstance retrievedInstance = response.getServer();
 
-			URI uri = exchange.getRequest().getURI();
-
 			// if the `lb:<scheme>` mechanism was used, use `<scheme>` as the default,
 			// if the loadbalancer doesn't provide one.
 			Objects.requireNonNull(retrievedInstance, "retrievedInstance can not be null");
@@ -129,12 +133,22 @@ public class ReactiveLoadBalancerClientFilter implements GlobalFilter, Ordered {
 			DelegatingServiceInstance serviceInstance = new DelegatingServiceInstance(retrievedInstance,
 					overrideScheme);
 
-			URI requestUrl = reconstructURI(serviceInstance, uri);
+			RequestTarget target = RequestTarget.from(exchange.getRequest());
+			target = target.isRebuiltVerbatim() ? reconstructTarget(serviceInstance, target) : null;
+			if (target != null) {
+				if (log.isTraceEnabled()) {
+					log.trace("LoadBalancerClientFilter url chosen: " + target);
+				}
+				setRequestTarget(exchange, target);
+			}
+			else {
+				URI requestUrl = reconstructURI(serviceInstance, exchange.getRequest().getURI());
 
-			if (log.isTraceEnabled()) {
-				log.trace("LoadBalancerClientFilter url chosen: " + requestUrl);
+				if (log.isTraceEnabled()) {
+					log.trace("LoadBalancerClientFilter url chosen: " + requestUrl);
+				}
+				exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, requestUrl);
 			}
-			exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, requestUrl);
 			exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, response);
 			supportedLifecycleProcessors.forEach(lifecycle -> lifecycle.onStartRequest(lbRequest, response));
 		})
@@ -151,10 +165,36 @@ public class ReactiveLoadBalancerClientFilter implements GlobalFilter, Ordered {
 								new RequestData(exchange.getRequest(), exchange.getAttributes()))))));
 	}
 
+	/**
+	 * Reconstructs the URI of the request for the chosen instance. Only called when
+	 * {@link #reconstructTarget(ServiceInstance, RequestTarget)} returns {@code null}.
+	 * @param serviceInstance the chosen instance
+	 * @param original the URI of the request
+	 * @return the URI to route to
+	 */
 	protected URI reconstructURI(ServiceInstance serviceInstance, URI original) {
 		return LoadBalancerUriTools.reconstructURI(serviceInstance, original);
 	}
 
+	/**
+	 * Reconstructs the target of the request for the chosen instance in place, which
+	 * gives the same result as {@link LoadBalancerUriTools#reconstructURI} without
+	 * building a URI. Subclasses that override
+	 * {@link #reconstructURI(ServiceInstance, URI)} must also override this method and
+	 * return {@code null}, so that their {@code reconstructURI} is called.
+	 * @param serviceInstance the chosen instance
+	 * @param target a copy of the target of the request, free to edit
+	 * @return the target to route to, or {@code null} to call {@code reconstructURI}
+	 */
+	protected @Nullable RequestTarget reconstructTarget(ServiceInstance serviceInstance, RequestTarget target) {
+		String scheme = serviceInstance.getScheme();
+		if (scheme == null || serviceInstance.getPort() < 0) {
+			// leave default schemes and ports to LoadBalancerUriTools
+			return null;
+		}
+		return target.scheme(scheme).host(serviceInstance.getHost()).port(serviceInstance.getPort());
+	}
+
 	private Mono<Response<ServiceInstance>> choose(Request<RequestDataContext> lbRequest, String serviceId,
 			Set<LoadBalancerLifecycle> supportedLifecycleProcessors) {
 		ReactorLoadBalancer<ServiceInstance> loadBalancer = this.clientFactory.getInstance(serviceId,
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteStats;
+import org.springframework.cloud.gateway.route.RouteStatsRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Records per-route live traffic statistics into a {@link RouteStatsRegistry}. Latency
+ * is measured until the response is committed, which for proxied requests is when the
+ * upstream response headers have been processed. Body bytes are counted as they are
+ * read from the client and written to it, so chunked bodies are included.
+ */
+public class RouteStatsFilter implements GlobalFilter, Ordered {
+
+	private final RouteStatsRegistry registry;
+
+	public RouteStatsFilter(RouteStatsRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public int getOrder() {
+		// wrap NettyWriteResponseFilter so in-flight requests include body streaming
+		return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+		if (route == null) {
+			return chain.filter(exchange);
+		}
+		RouteStats stats = this.registry.getOrCreate(route.getId());
+		long start = System.nanoTime();
+		stats.requestStarted(start);
+		ServerHttpResponse response = exchange.getResponse();
+		response.beforeCommit(() -> {
+			long now = System.nanoTime();
+			stats.recordLatency(now, now - start);
+			return Mono.empty();
+		});
+		ServerWebExchange counting = exchange.mutate()
+			.request(new ByteCountingRequest(exchange.getRequest(), stats))
+			.response(new ByteCountingResponse(response, stats))
+			.build();
+		return chain.filter(counting)
+			.doFinally(signalType -> stats.requestCompleted(System.nanoTime(), isError(signalType, response)));
+	}
+
+	private static boolean isError(SignalType signalType, ServerHttpResponse response) {
+		if (signalType == SignalType.ON_ERROR) {
+			return true;
+		}
+		HttpStatusCode statusCode = response.getStatusCode();
+		return statusCode != null && statusCode.is5xxServerError();
+	}
+
+	private static final class ByteCountingRequest extends ServerHttpRequestDecorator {
+
+		private final RouteStats stats;
+
+		ByteCountingRequest(ServerHttpRequest delegate, RouteStats stats) {
+			super(delegate);
+			this.stats = stats;
+		}
+
+		@Override
+		public Flux<DataBuffer> getBody() {
+			return super.getBody().doOnNext(buffer -> this.stats.addBytesIn(buffer.readableByteCount()));
+		}
+
+	}
+
+	private static final class ByteCountingResponse extends ServerHttpResponseDecorator {
+
+		private final RouteStats stats;
+
+		ByteCountingResponse(ServerHttpResponse delegate, RouteStats stats) {
+			super(delegate);
+			this.stats = stats;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			return super.writeWith(count(body));
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			return super.writeAndFlushWith(Flux.from(body).map(this::count));
+		}
+
+		private Flux<? extends DataBuffer> count(Publisher<? extends DataBuffer> body) {
+			return Flux.from(body).doOnNext(buffer -> this.stats.addBytesOut(buffer.readableByteCount()));
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RequestTarget;
 import org.springframework.core.Ordered;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -32,6 +33,7 @@ import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.G
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.containsEncodedParts;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setRequestTarget;
 
 /**
  * @author Spencer Gibb
@@ -66,8 +68,6 @@ public class RouteToRequestUrlFilter implements GlobalFilter, Ordered {
 			return chain.filter(exchange);
 		}
 		log.trace("RouteToRequestUrlFilter start");
-		URI uri = exchange.getRequest().getURI();
-		boolean encoded = containsEncodedParts(uri);
 		URI routeUri = route.getUri();
 
 		if (hasAnotherScheme(routeUri)) {
@@ -84,6 +84,16 @@ public class RouteToRequestUrlFilter implements GlobalFilter, Ordered {
 			throw new IllegalStateException("Invalid host: " + routeUri.toString());
 		}
 
+		RequestTarget target = RequestTarget.from(exchange.getRequest());
+		if (target.isRebuiltVerbatim()) {
+			// same result as the builder below, without building a URI
+			setRequestTarget(exchange,
+					target.scheme(routeUri.getScheme()).host(routeUri.getHost()).port(routeUri.getPort()));
+			return chain.filter(exchange);
+		}
+
+		URI uri = exchange.getRequest().getURI();
+		boolean encoded = containsEncodedParts(uri);
 		URI mergedUrl = UriComponentsBuilder.fromUri(uri)
 			// .uri(routeUri)
 			.scheme(routeUri.getScheme())
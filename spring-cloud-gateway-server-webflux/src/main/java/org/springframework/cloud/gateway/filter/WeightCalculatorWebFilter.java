@@ -175,7 +175,7 @@ public class WeightCalculatorWebFilter implements WebFilter, Ordered, SmartAppli
 		return args.keySet().stream().anyMatch(key -> key.startsWith(WeightConfig.CONFIG_PREFIX + "."));
 	}
 
-	/* for testing */ void addWeightConfig(WeightConfig weightConfig) {
+	/* for testing */ synchronized void addWeightConfig(WeightConfig weightConfig) {
 		String group = weightConfig.getGroup();
 		GroupWeightConfig config;
 		// only create new GroupWeightConfig rather than modify
@@ -230,7 +230,7 @@ public class WeightCalculatorWebFilter implements WebFilter, Ordered, SmartAppli
 		groupWeights.put(group, config);
 	}
 
-	private void removeWeightConfig(String routeId) {
+	private synchronized void removeWeightConfig(String routeId) {
 		log.trace(LogMessage.format("Removing weight config for route %s", routeId));
 		groupWeights.forEach((group, weightConfig) -> {
 			if (weightConfig.normalizedWeights.containsKey(routeId)) {
@@ -22,6 +22,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
@@ -35,12 +36,13 @@ public class AddRequestHeaderGatewayFilterFactory extends AbstractNameValueGatew
 
 	@Override
 	public GatewayFilter apply(NameValueConfig config) {
+		CompiledTemplate template = (config.getValue() != null) ? CompiledTemplate.compile(config.getValue()) : null;
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 				String name = Objects.requireNonNull(config.getName(), "name must not be null");
-				String rawValue = Objects.requireNonNull(config.getValue(), "value must not be null");
-				String value = ServerWebExchangeUtils.expand(exchange, rawValue);
+				String value = ServerWebExchangeUtils.expand(exchange,
+						Objects.requireNonNull(template, "value must not be null"));
 				ServerHttpRequest request = exchange.getRequest()
 					.mutate()
 					.headers(httpHeaders -> httpHeaders.add(name, value))
@@ -19,6 +19,7 @@ package org.springframework.cloud.gateway.filter.factory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,6 +28,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.cloud.gateway.support.config.KeyValue;
 import org.springframework.cloud.gateway.support.config.KeyValueConfig;
@@ -47,27 +49,26 @@ public class AddRequestHeadersIfNotPresentGatewayFilterFactory extends AbstractG
 
 	@Override
 	public GatewayFilter apply(KeyValueConfig config) {
+		// values are aggregated by header name and compiled once
+		Map<String, List<CompiledTemplate>> aggregatedHeaders = new LinkedHashMap<>();
+		for (KeyValue keyValue : config.getKeyValues()) {
+			aggregatedHeaders.computeIfAbsent(keyValue.getKey(), key -> new ArrayList<>())
+				.add(CompiledTemplate.compile(keyValue.getValue()));
+		}
+		// headers with constant values are added without expanding them
+		Map<String, List<String>> constantHeaders = new HashMap<>();
+		aggregatedHeaders.forEach((headerName, templates) -> {
+			if (templates.stream().allMatch(CompiledTemplate::isConstant)) {
+				constantHeaders.put(headerName, templates.stream().map(template -> template.expand(null)).toList());
+			}
+		});
+
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 				ServerHttpRequest.Builder requestBuilder = null;
 
-				Map<String, List<String>> aggregatedHeaders = new HashMap<>();
-
-				for (KeyValue keyValue : config.getKeyValues()) {
-					String key = keyValue.getKey();
-					List<String> candidateValue = aggregatedHeaders.get(key);
-					if (candidateValue == null) {
-						candidateValue = new ArrayList<>();
-						candidateValue.add(keyValue.getValue());
-					}
-					else {
-						candidateValue.add(keyValue.getValue());
-					}
-					aggregatedHeaders.put(key, candidateValue);
-				}
-
-				for (Map.Entry<String, List<String>> kv : aggregatedHeaders.entrySet()) {
+				for (Map.Entry<String, List<CompiledTemplate>> kv : aggregatedHeaders.entrySet()) {
 					String headerName = kv.getKey();
 
 					boolean headerIsMissingOrBlank = exchange.getRequest()
@@ -81,11 +82,13 @@ public class AddRequestHeadersIfNotPresentGatewayFilterFactory extends AbstractG
 							requestBuilder = exchange.getRequest().mutate();
 						}
 						ServerWebExchange finalExchange = exchange;
+						List<String> constantValues = constantHeaders.get(headerName);
 						requestBuilder.headers(httpHeaders -> {
-							List<String> replacedValues = kv.getValue()
-								.stream()
-								.map(value -> ServerWebExchangeUtils.expand(finalExchange, value))
-								.collect(Collectors.toList());
+							List<String> replacedValues = (constantValues != null) ? constantValues
+									: kv.getValue()
+										.stream()
+										.map(template -> ServerWebExchangeUtils.expand(finalExchange, template))
+										.collect(Collectors.toList());
 							httpHeaders.addAll(headerName, replacedValues);
 						});
 					}
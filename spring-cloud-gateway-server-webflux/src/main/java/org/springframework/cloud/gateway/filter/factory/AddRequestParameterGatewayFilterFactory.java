@@ -23,6 +23,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.util.StringUtils;
@@ -39,11 +40,11 @@ public class AddRequestParameterGatewayFilterFactory extends AbstractNameValueGa
 
 	@Override
 	public GatewayFilter apply(NameValueConfig config) {
+		CompiledTemplate template = (config.getValue() != null) ? CompiledTemplate.compile(config.getValue()) : null;
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 				String name = Objects.requireNonNull(config.getName(), "name must not be null");
-				String rawValue = Objects.requireNonNull(config.getValue(), "value must not be null");
 				URI uri = exchange.getRequest().getURI();
 				StringBuilder query = new StringBuilder();
 				String originalQuery = uri.getRawQuery();
@@ -55,7 +56,8 @@ public class AddRequestParameterGatewayFilterFactory extends AbstractNameValueGa
 					}
 				}
 
-				String value = ServerWebExchangeUtils.expand(exchange, rawValue);
+				String value = ServerWebExchangeUtils.expand(exchange,
+						Objects.requireNonNull(template, "value must not be null"));
 				// TODO urlencode?
 				query.append(name);
 				query.append('=');
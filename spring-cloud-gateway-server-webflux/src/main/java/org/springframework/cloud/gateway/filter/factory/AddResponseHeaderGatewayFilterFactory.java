@@ -20,10 +20,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.http.HttpHeaders;
@@ -56,10 +58,11 @@ public class AddResponseHeaderGatewayFilterFactory extends AbstractNameValueGate
 
 	@Override
 	public GatewayFilter apply(NameValueConfig config) {
+		CompiledTemplate template = (config.getValue() != null) ? CompiledTemplate.compile(config.getValue()) : null;
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-				return chain.filter(exchange).then(Mono.fromRunnable(() -> addHeader(exchange, config)));
+				return chain.filter(exchange).then(Mono.fromRunnable(() -> addHeader(exchange, config, template)));
 			}
 
 			@Override
@@ -80,12 +83,12 @@ public class AddResponseHeaderGatewayFilterFactory extends AbstractNameValueGate
 		};
 	}
 
-	void addHeader(ServerWebExchange exchange, NameValueConfig config) {
+	void addHeader(ServerWebExchange exchange, NameValueConfig config, @Nullable CompiledTemplate template) {
 		// if response has been commited, no more response headers will bee added.
 		if (!exchange.getResponse().isCommitted()) {
 			String name = Objects.requireNonNull(config.getName(), "name must not be null");
-			String rawValue = Objects.requireNonNull(config.getValue(), "value must not be null");
-			final String value = ServerWebExchangeUtils.expand(exchange, rawValue);
+			final String value = ServerWebExchangeUtils.expand(exchange,
+					Objects.requireNonNull(template, "value must not be null"));
 			HttpHeaders headers = exchange.getResponse().getHeaders();
 
 			boolean override = true; // default is true
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link RewritePathGatewayFilterFactory} rewrite whose regexp is a literal, so that
+ * it can be applied with {@link String#regionMatches} and substrings instead of
+ * {@code Matcher.replaceAll}. The supported regexps are, with {@code L} a literal
+ * and {@code c?} an optional literal character:
+ * <ul>
+ * <li>{@code L}, replacing every occurrence of the literal;</li>
+ * <li>{@code ^L}, {@code ^Lc?} and {@code ^L$}, replacing the literal prefix or the
+ * whole path;</li>
+ * <li>{@code Lc?(.*)}, {@code Lc?(?<name>.*)} and {@code Lc?(?<name>c?.*)}, optionally
+ * anchored with {@code ^} and {@code $}, replacing the first occurrence of the literal
+ * and the rest of the path.</li>
+ * </ul>
+ * Paths are raw URI paths, which can not contain line terminators, so {@code .*}
+ * always matches the rest of the path.
+ */
+final class LiteralPathRewrite {
+
+	private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+	private final String literal;
+
+	private final char optional;
+
+	private final boolean anchored;
+
+	private final boolean exact;
+
+	private final boolean capture;
+
+	// literal strings, or null for the whole match, or "" for the capture
+	private final @Nullable String[] replacement;
+
+	private LiteralPathRewrite(String literal, char optional, boolean anchored, boolean exact, boolean capture,
+			List<@Nullable String> replacement) {
+		this.literal = literal;
+		this.optional = optional;
+		this.anchored = anchored;
+		this.exact = exact;
+		this.capture = capture;
+		this.replacement = replacement.toArray(new String[0]);
+	}
+
+	/**
+	 * Analyzes a regexp and its replacement.
+	 * @param regexp the regexp
+	 * @param replacement the replacement, with {@code $\} already replaced by {@code $}
+	 * @return the literal rewrite, or {@code null} if the regexp has to be used
+	 */
+	static @Nullable LiteralPathRewrite compile(String regexp, String replacement) {
+		int i = 0;
+		boolean anchored = regexp.startsWith("^");
+		if (anchored) {
+			i++;
+		}
+		StringBuilder literal = new StringBuilder();
+		char optional = 0;
+		while (i < regexp.length() && regexp.charAt(i) != '(' && regexp.charAt(i) != '$') {
+			char c = regexp.charAt(i++);
+			if (c == '\\') {
+				if (i == regexp.length() || Character.isLetterOrDigit(regexp.charAt(i))) {
+					// character classes, quotes and back references
+					return null;
+				}
+				c = regexp.charAt(i++);
+			}
+			else if (METACHARACTERS.indexOf(c) != -1) {
+				return null;
+			}
+			if (i < regexp.length() && regexp.charAt(i) == '?') {
+				optional = c;
+				i++;
+				if (i < regexp.length() && regexp.charAt(i) != '(' && regexp.charAt(i) != '$') {
+					// only an optional character right before the capture or the end
+					return null;
+				}
+				break;
+			}
+			literal.append(c);
+		}
+		if (literal.isEmpty()) {
+			return null;
+		}
+		String captureName = null;
+		boolean capture = false;
+		if (i < regexp.length() && regexp.charAt(i) == '(') {
+			int end = regexp.indexOf(')', i);
+			if (end == -1) {
+				return null;
+			}
+			String group = regexp.substring(i + 1, end);
+			if (group.startsWith("?<")) {
+				int nameEnd = group.indexOf('>');
+				if (nameEnd == -1 || !isGroupName(group.substring(2, nameEnd))) {
+					return null;
+				}
+				captureName = group.substring(2, nameEnd);
+				group = group.substring(nameEnd + 1);
+			}
+			if (group.length() == 4 && group.charAt(1) == '?' && group.endsWith(".*")
+					&& METACHARACTERS.indexOf(group.charAt(0)) == -1) {
+				// c?.* matches the same as .*
+				group = group.substring(2);
+			}
+			if (!group.equals(".*")) {
+				return null;
+			}
+			capture = true;
+			i = end + 1;
+		}
+		boolean exact = false;
+		if (i < regexp.length() && regexp.charAt(i) == '$') {
+			exact = true;
+			i++;
+		}
+		if (i != regexp.length() || (!capture && (exact || optional != 0) && !anchored)) {
+			return null;
+		}
+		List<@Nullable String> parts = parseReplacement(replacement, capture, captureName);
+		if (parts == null) {
+			return null;
+		}
+		return new LiteralPathRewrite(literal.toString(), optional, anchored, exact && !capture, capture, parts);
+	}
+
+	private static boolean isGroupName(String name) {
+		if (name.isEmpty() || !isAsciiLetter(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!isAsciiLetter(c) && !(c >= '0' && c <= '9')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	// same references as Matcher.appendReplacement, null if it would fail
+	private static @Nullable List<@Nullable String> parseReplacement(String replacement, boolean capture,
+			@Nullable String captureName) {
+		List<@Nullable String> parts = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int i = 0;
+		while (i < replacement.length()) {
+			char c = replacement.charAt(i++);
+			if (c == '\\') {
+				if (i == replacement.length()) {
+					return null;
+				}
+				literal.append(replacement.charAt(i++));
+				continue;
+			}
+			if (c != '$') {
+				literal.append(c);
+				continue;
+			}
+			if (i == replacement.length()) {
+				return null;
+			}
+			char next = replacement.charAt(i++);
+			boolean group;
+			if (next == '{') {
+				int end = replacement.indexOf('}', i);
+				if (end == -1 || captureName == null || !replacement.substring(i, end).equals(captureName)) {
+					return null;
+				}
+				group = true;
+				i = end + 1;
+			}
+			else if (next == '0' || (next == '1' && capture)) {
+				if (next == '0' && i < replacement.length() && Character.isDigit(replacement.charAt(i))) {
+					// $00 and $01 are group references too
+					return null;
+				}
+				// otherwise a following digit is a literal, there is no group 10 or more
+				group = next == '1';
+			}
+			else {
+				return null;
+			}
+			if (!literal.isEmpty()) {
+				parts.add(literal.toString());
+				literal.setLength(0);
+			}
+			parts.add(group ? "" : null);
+		}
+		if (!literal.isEmpty()) {
+			parts.add(literal.toString());
+		}
+		return parts;
+	}
+
+	/**
+	 * Rewrites a raw path.
+	 * @param path the raw path
+	 * @return the rewritten path, the same as the regexp replacement
+	 */
+	String rewrite(String path) {
+		if (!this.capture && !this.anchored) {
+			// every occurrence, like replaceAll for a literal
+			return path.replace(this.literal, expandReplacement(this.literal, ""));
+		}
+		int start = this.anchored ? (path.startsWith(this.literal) ? 0 : -1) : path.indexOf(this.literal);
+		if (start == -1) {
+			return path;
+		}
+		int end = start + this.literal.length();
+		if (this.optional != 0 && end < path.length() && path.charAt(end) == this.optional) {
+			end++;
+		}
+		if (this.capture) {
+			return path.substring(0, start) + expandReplacement(path.substring(start), path.substring(end));
+		}
+		if (this.exact && end != path.length()) {
+			return path;
+		}
+		return expandReplacement(path.substring(0, end), "") + path.substring(end);
+	}
+
+	private String expandReplacement(String match, String captured) {
+		if (this.replacement.length == 1 && this.replacement[0] != null && !this.replacement[0].isEmpty()) {
+			return this.replacement[0];
+		}
+		StringBuilder expanded = new StringBuilder();
+		for (String part : this.replacement) {
+			if (part == null) {
+				expanded.append(match);
+			}
+			else if (part.isEmpty()) {
+				expanded.append(captured);
+			}
+			else {
+				expanded.append(part);
+			}
+		}
+		return expanded.toString();
+	}
+
+}
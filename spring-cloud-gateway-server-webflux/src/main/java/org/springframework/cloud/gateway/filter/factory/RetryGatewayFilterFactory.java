@@ -40,7 +40,10 @@ import reactor.retry.RetryContext;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.Deadline;
 import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.RetryBudget;
+import org.springframework.cloud.gateway.support.RetryBudgetRegistry;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.cloud.gateway.support.TimeoutException;
 import org.springframework.core.style.ToStringCreator;
@@ -62,8 +65,15 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 
 	private static final Log log = LogFactory.getLog(RetryGatewayFilterFactory.class);
 
+	private final RetryBudgetRegistry retryBudgetRegistry;
+
 	public RetryGatewayFilterFactory() {
+		this(new RetryBudgetRegistry());
+	}
+
+	public RetryGatewayFilterFactory(RetryBudgetRegistry retryBudgetRegistry) {
 		super(RetryConfig.class);
+		this.retryBudgetRegistry = retryBudgetRegistry;
 	}
 
 	private static <T> List<T> toList(T... items) {
@@ -80,11 +90,13 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 	public GatewayFilter apply(RetryConfig retryConfig) {
 		retryConfig.validate();
 
+		RetryBudget retryBudget = getRetryBudget(retryConfig);
+
 		Repeat<ServerWebExchange> statusCodeRepeat = null;
 		if (!retryConfig.getStatuses().isEmpty() || !retryConfig.getSeries().isEmpty()) {
 			Predicate<RepeatContext<ServerWebExchange>> repeatPredicate = context -> {
 				ServerWebExchange exchange = context.applicationContext();
-				if (exceedsMaxIterations(exchange, retryConfig)) {
+				if (exceedsMaxIterations(exchange, retryConfig) || exceedsDeadline(exchange)) {
 					return false;
 				}
 
@@ -117,7 +129,7 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 
 				trace("retryableMethod: %b, httpMethod %s, configured methods %s", () -> retryableMethod,
 						() -> httpMethod, retryConfig::getMethods);
-				return retryableMethod && finalRetryableStatusCode;
+				return retryableMethod && finalRetryableStatusCode && withdraw(retryBudget);
 			};
 
 			statusCodeRepeat = Repeat.onlyIf(repeatPredicate)
@@ -143,7 +155,7 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 
 				ServerWebExchange exchange = context.applicationContext();
 
-				if (exceedsMaxIterations(exchange, retryConfig)) {
+				if (exceedsMaxIterations(exchange, retryConfig) || exceedsDeadline(exchange)) {
 					return false;
 				}
 
@@ -158,7 +170,7 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 						boolean retryableMethod = retryConfig.getMethods().contains(httpMethod);
 						trace("retryableMethod: %b, httpMethod %s, configured methods %s", () -> retryableMethod,
 								() -> httpMethod, retryConfig::getMethods);
-						return retryableMethod;
+						return retryableMethod && withdraw(retryBudget);
 					}
 				}
 				trace("exception or its cause is not retryable %s, configured exceptions %s",
@@ -186,7 +198,15 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-				return gatewayFilter.filter(exchange, chain);
+				if (retryBudget == null) {
+					return gatewayFilter.filter(exchange, chain);
+				}
+				return gatewayFilter.filter(exchange, chain).doOnSuccess(aVoid -> {
+					HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+					if (statusCode == null || !statusCode.is5xxServerError()) {
+						retryBudget.deposit();
+					}
+				});
 			}
 
 			@Override
@@ -200,11 +220,31 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 					.append("backoff", retryConfig.getBackoff())
 					.append("jitter", retryConfig.getJitter())
 					.append("timeout", retryConfig.getTimeout())
+					.append("budget", retryConfig.getBudget())
 					.toString();
 			}
 		};
 	}
 
+	private @Nullable RetryBudget getRetryBudget(RetryConfig retryConfig) {
+		BudgetConfig budget = retryConfig.getBudget();
+		if (budget == null) {
+			return null;
+		}
+		String name = (budget.getName() != null) ? budget.getName() : retryConfig.getRouteId();
+		Assert.hasText(name, "budget.name is required for routes without an id");
+		return this.retryBudgetRegistry.getOrCreate(name, budget.getCapacity(), budget.getRatio());
+	}
+
+	private boolean withdraw(@Nullable RetryBudget retryBudget) {
+		if (retryBudget == null) {
+			return true;
+		}
+		boolean allowed = retryBudget.tryWithdraw();
+		trace("retry budget %s allowed retry %b", () -> retryBudget, () -> allowed);
+		return allowed;
+	}
+
 	private String getExceptionNameWithCause(Throwable exception) {
 		if (exception != null) {
 			StringBuilder builder = new StringBuilder(exception.getClass().getName());
@@ -238,6 +278,16 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 		return exceeds;
 	}
 
+	/**
+	 * @param exchange the current exchange
+	 * @return whether the exchange has no time left for another attempt
+	 */
+	public boolean exceedsDeadline(ServerWebExchange exchange) {
+		boolean exceeds = Deadline.isExpired(exchange);
+		trace("exceedsDeadline %b, deadline %s", () -> exceeds, () -> Deadline.get(exchange));
+		return exceeds;
+	}
+
 	@Deprecated
 	/**
 	 * Use {@link ServerWebExchangeUtils#reset(ServerWebExchange)}
@@ -319,6 +369,8 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 
 		private @Nullable Duration timeout;
 
+		private @Nullable BudgetConfig budget;
+
 		public RetryConfig allMethods() {
 			return setMethods(HttpMethod.values());
 		}
@@ -337,6 +389,23 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 			if (this.timeout != null) {
 				Assert.isTrue(!timeout.isNegative(), "timeout should be >= 0");
 			}
+			if (this.budget != null) {
+				this.budget.validate();
+			}
+		}
+
+		public @Nullable BudgetConfig getBudget() {
+			return budget;
+		}
+
+		public RetryConfig setBudget(BudgetConfig budget) {
+			this.budget = budget;
+			return this;
+		}
+
+		public RetryConfig setBudget(int capacity, double ratio) {
+			this.budget = new BudgetConfig(capacity, ratio);
+			return this;
 		}
 
 		public @Nullable Duration getTimeout() {
@@ -501,6 +570,65 @@ public class RetryGatewayFilterFactory extends AbstractGatewayFilterFactory<Retr
 
 	}
 
+	public static class BudgetConfig {
+
+		private @Nullable String name;
+
+		private int capacity = 10;
+
+		private double ratio = 0.2;
+
+		public BudgetConfig() {
+		}
+
+		public BudgetConfig(int capacity, double ratio) {
+			this.capacity = capacity;
+			this.ratio = ratio;
+		}
+
+		public void validate() {
+			Assert.isTrue(capacity > 0, "budget capacity must be greater than 0");
+			Assert.isTrue(ratio > 0 && ratio <= 1, "budget ratio must be between 0 (exclusive) and 1");
+		}
+
+		/**
+		 * @return the name of the budget, routes with the same name share a budget. The
+		 * route id is used if not set.
+		 */
+		public @Nullable String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public double getRatio() {
+			return ratio;
+		}
+
+		public void setRatio(double ratio) {
+			this.ratio = ratio;
+		}
+
+		@Override
+		public String toString() {
+			return new ToStringCreator(this).append("name", name)
+				.append("capacity", capacity)
+				.append("ratio", ratio)
+				.toString();
+		}
+
+	}
+
 	public static class JitterConfig {
 
 		private double randomFactor = 0.5;
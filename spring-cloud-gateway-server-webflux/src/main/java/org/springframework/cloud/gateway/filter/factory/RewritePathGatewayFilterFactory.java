@@ -64,14 +64,18 @@ public class RewritePathGatewayFilterFactory
 		String replacementValue = Objects.requireNonNull(config.replacement, "replacement must not be null");
 		String replacement = replacementValue.replace("$\\", "$");
 		String regexpValue = Objects.requireNonNull(config.regexp, "regexp must not be null");
-		Pattern pattern = Pattern.compile(regexpValue);
+		// most rewrites swap a literal prefix and do not need a Matcher, literal regexps
+		// are always valid so they are not compiled either
+		LiteralPathRewrite literalRewrite = LiteralPathRewrite.compile(regexpValue, replacement);
+		Pattern pattern = (literalRewrite == null) ? Pattern.compile(regexpValue) : null;
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 				ServerHttpRequest req = exchange.getRequest();
 				addOriginalRequestUrl(exchange, req.getURI());
 				String path = req.getURI().getRawPath();
-				String newPath = pattern.matcher(path).replaceAll(replacement);
+				String newPath = (literalRewrite != null) ? literalRewrite.rewrite(path)
+						: Objects.requireNonNull(pattern).matcher(path).replaceAll(replacement);
 
 				ServerHttpRequest request = req.mutate().path(newPath).build();
 
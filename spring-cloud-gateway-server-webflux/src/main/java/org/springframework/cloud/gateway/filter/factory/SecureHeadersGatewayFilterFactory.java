@@ -17,7 +17,9 @@
 package org.springframework.cloud.gateway.filter.factory;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -98,17 +100,20 @@ public class SecureHeadersGatewayFilterFactory
 	 */
 	@Override
 	public GatewayFilter apply(Config originalConfig) {
+		// the headers only depend on the configuration, so they are resolved once
+		Set<String> headersToAddToResponse = assembleHeaders(originalConfig, properties);
+		Map<String, String> securityHeaders = resolveSecurityHeaders(headersToAddToResponse,
+				originalConfig.withDefaults(properties));
+		String[] headerNames = securityHeaders.keySet().toArray(new String[0]);
+		String[] headerValues = securityHeaders.values().toArray(new String[0]);
+
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 
 				HttpHeaders responseHeaders = exchange.getResponse().getHeaders();
-				Set<String> headersToAddToResponse = assembleHeaders(originalConfig, properties);
-
-				Config config = originalConfig.withDefaults(properties);
 				return chain.filter(exchange)
-					.then(Mono
-						.fromRunnable(() -> applySecurityHeaders(responseHeaders, headersToAddToResponse, config)));
+					.then(Mono.fromRunnable(() -> applySecurityHeaders(responseHeaders, headerNames, headerValues)));
 			}
 
 			@Override
@@ -119,13 +124,31 @@ public class SecureHeadersGatewayFilterFactory
 	}
 
 	/**
-	 * Applies security headers to the response using the given filter configuration.
+	 * Applies the resolved security headers to the response, leaving headers already set
+	 * by the downstream service untouched.
 	 * @param responseHeaders - the http headers of the response
+	 * @param headerNames - the names of the security headers
+	 * @param headerValues - the values of the security headers
+	 */
+	private static void applySecurityHeaders(HttpHeaders responseHeaders, String[] headerNames,
+			String[] headerValues) {
+		for (int i = 0; i < headerNames.length; i++) {
+			if (!responseHeaders.containsHeader(headerNames[i])) {
+				responseHeaders.add(headerNames[i], headerValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Resolves the security headers to add to responses using the given filter
+	 * configuration.
 	 * @param headersToAddToResponse - the security headers that are to be added to the
 	 * response
 	 * @param config - the security filter configuration
+	 * @return the enabled security headers and their values, in the order they are added
 	 */
-	private void applySecurityHeaders(HttpHeaders responseHeaders, Set<String> headersToAddToResponse, Config config) {
+	private Map<String, String> resolveSecurityHeaders(Set<String> headersToAddToResponse, Config config) {
+		Map<String, String> responseHeaders = new LinkedHashMap<>();
 
 		addHeaderIfEnabled(responseHeaders, headersToAddToResponse, SecureHeadersProperties.X_XSS_PROTECTION_HEADER,
 				config.getXssProtectionHeaderValue());
@@ -163,6 +186,7 @@ public class SecureHeadersGatewayFilterFactory
 
 		addHeaderIfEnabled(responseHeaders, headersToAddToResponse, SecureHeadersProperties.PERMISSIONS_POLICY_HEADER,
 				permissionPolicyHeaderValue);
+		return responseHeaders;
 	}
 
 	/**
@@ -186,12 +210,10 @@ public class SecureHeadersGatewayFilterFactory
 		return headersToAddToResponse;
 	}
 
-	private void addHeaderIfEnabled(HttpHeaders headers, Set<String> headersToAdd, String headerName,
+	private void addHeaderIfEnabled(Map<String, String> headers, Set<String> headersToAdd, String headerName,
 			@Nullable String headerValue) {
 		if (headerValue != null && headersToAdd.contains(headerName.toLowerCase(Locale.ROOT))) {
-			if (!headers.containsHeader(headerName)) {
-				headers.add(headerName, headerValue);
-			}
+			headers.put(headerName, headerValue);
 		}
 	}
 
@@ -27,6 +27,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriTemplate;
@@ -34,6 +35,7 @@ import org.springframework.web.util.UriTemplate;
 import static org.springframework.cloud.gateway.support.GatewayToStringStyler.filterToStringCreator;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.expand;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.getUriTemplateVariables;
 
 /**
@@ -58,7 +60,11 @@ public class SetPathGatewayFilterFactory extends AbstractGatewayFilterFactory<Se
 	@Override
 	public GatewayFilter apply(Config config) {
 		String template = Objects.requireNonNull(config.template, "template must not be null");
-		UriTemplate uriTemplate = new UriTemplate(template);
+		// plain path templates are expanded and encoded without a UriTemplate
+		CompiledTemplate pathTemplate = CompiledTemplate.compileEncodedPath(template);
+		UriTemplate uriTemplate = (pathTemplate == null) ? new UriTemplate(template) : null;
+		URI constantUri = (pathTemplate != null && pathTemplate.isConstant())
+				? URI.create(pathTemplate.expand(null)) : null;
 
 		return new GatewayFilter() {
 			@Override
@@ -66,9 +72,17 @@ public class SetPathGatewayFilterFactory extends AbstractGatewayFilterFactory<Se
 				ServerHttpRequest req = exchange.getRequest();
 				addOriginalRequestUrl(exchange, req.getURI());
 
-				Map<String, String> uriVariables = getUriTemplateVariables(exchange);
-
-				URI uri = uriTemplate.expand(uriVariables);
+				URI uri;
+				if (constantUri != null) {
+					uri = constantUri;
+				}
+				else if (pathTemplate != null) {
+					uri = URI.create(expand(exchange, pathTemplate));
+				}
+				else {
+					Map<String, String> uriVariables = getUriTemplateVariables(exchange);
+					uri = Objects.requireNonNull(uriTemplate).expand(uriVariables);
+				}
 				String newPath = uri.getRawPath();
 
 				exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, uri);
@@ -18,12 +18,14 @@ package org.springframework.cloud.gateway.filter.factory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
@@ -48,10 +50,12 @@ public class SetRequestHostHeaderGatewayFilterFactory
 
 	@Override
 	public GatewayFilter apply(Config config) {
+		CompiledTemplate template = (config.getHost() != null) ? CompiledTemplate.compile(config.getHost()) : null;
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-				String value = ServerWebExchangeUtils.expand(exchange, config.getHost());
+				String value = ServerWebExchangeUtils.expand(exchange,
+						Objects.requireNonNull(template, "template may not be null"));
 
 				ServerHttpRequest request = exchange.getRequest().mutate().headers(httpHeaders -> {
 					httpHeaders.remove("Host");
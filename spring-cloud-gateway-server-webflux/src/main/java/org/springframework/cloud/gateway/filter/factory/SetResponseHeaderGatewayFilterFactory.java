@@ -22,6 +22,7 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -34,10 +35,12 @@ public class SetResponseHeaderGatewayFilterFactory extends AbstractNameValueGate
 
 	@Override
 	public GatewayFilter apply(NameValueConfig config) {
+		CompiledTemplate template = (config.getValue() != null) ? CompiledTemplate.compile(config.getValue()) : null;
 		return new GatewayFilter() {
 			@Override
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-				String value = ServerWebExchangeUtils.expand(exchange, config.getValue());
+				String value = ServerWebExchangeUtils.expand(exchange,
+						Objects.requireNonNull(template, "template may not be null"));
 				String name = Objects.requireNonNull(config.name, "name must not be null");
 				return chain.filter(exchange)
 					.then(Mono.fromRunnable(() -> exchange.getResponse().getHeaders().set(name, value)));
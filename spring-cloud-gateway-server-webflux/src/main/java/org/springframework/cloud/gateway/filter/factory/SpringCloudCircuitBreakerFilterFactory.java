@@ -30,6 +30,8 @@ import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.CompiledTemplate;
+import org.springframework.cloud.gateway.support.Deadline;
 import org.springframework.cloud.gateway.support.HasRouteId;
 import org.springframework.cloud.gateway.support.HttpStatusHolder;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
@@ -39,6 +41,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -100,6 +103,9 @@ public abstract class SpringCloudCircuitBreakerFilterFactory
 			.filter(statusHolder -> statusHolder.getHttpStatus() != null)
 			.map(HttpStatusHolder::getHttpStatus)
 			.collect(Collectors.toSet());
+		URI configFallbackUri = config.getFallbackUri();
+		CompiledTemplate fallbackPath = (configFallbackUri != null && configFallbackUri.getPath() != null)
+				? CompiledTemplate.compile(configFallbackUri.getPath()) : null;
 
 		return new GatewayFilter() {
 			@Override
@@ -123,7 +129,7 @@ public abstract class SpringCloudCircuitBreakerFilterFactory
 					boolean encoded = containsEncodedParts(uri);
 
 					String expandedFallbackUri = ServerWebExchangeUtils.expand(exchange,
-							config.getFallbackUri().getPath());
+							java.util.Objects.requireNonNull(fallbackPath, "template may not be null"));
 					String fullFallbackUri = String.format("%s:%s", config.getFallbackUri().getScheme(),
 							expandedFallbackUri);
 					URI requestUrl = UriComponentsBuilder.fromUri(uri)
@@ -141,7 +147,15 @@ public abstract class SpringCloudCircuitBreakerFilterFactory
 					reset(exchange);
 
 					ServerHttpRequest request = exchange.getRequest().mutate().uri(requestUrl).build();
-					return handle(getDispatcherHandler(), exchange.mutate().request(request).build());
+					Mono<Void> fallback = handle(getDispatcherHandler(), exchange.mutate().request(request).build());
+					Deadline deadline = Deadline.get(exchange);
+					if (deadline != null) {
+						// the fallback only gets the time the request has left
+						fallback = fallback.timeout(deadline.remaining(),
+								Mono.error(() -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+										"Request deadline exceeded")));
+					}
+					return fallback;
 				}).onErrorResume(t -> handleErrorWithoutFallback(t, config.isResumeWithoutError()));
 			}
 
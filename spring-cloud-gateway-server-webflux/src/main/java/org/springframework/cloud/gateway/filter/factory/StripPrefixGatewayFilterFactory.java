@@ -23,13 +23,13 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.RequestTarget;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 import static org.springframework.cloud.gateway.support.GatewayToStringStyler.filterToStringCreator;
-import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setRequestTarget;
 
 /**
  * This filter removes the first part of the path, known as the prefix, from the request
@@ -61,27 +61,10 @@ public class StripPrefixGatewayFilterFactory
 			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
 				ServerHttpRequest request = exchange.getRequest();
 				addOriginalRequestUrl(exchange, request.getURI());
-				String path = request.getURI().getRawPath();
-				String[] originalParts = StringUtils.tokenizeToStringArray(path, "/");
-
-				// all new paths start with /
-				StringBuilder newPath = new StringBuilder("/");
-				for (int i = 0; i < originalParts.length; i++) {
-					if (i >= config.getParts()) {
-						// only append slash if this is the second part or greater
-						if (newPath.length() > 1) {
-							newPath.append('/');
-						}
-						newPath.append(originalParts[i]);
-					}
-				}
-				if (newPath.length() > 1 && path.endsWith("/")) {
-					newPath.append('/');
-				}
-
-				ServerHttpRequest newRequest = request.mutate().path(newPath.toString()).build();
-
-				exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, newRequest.getURI());
+				// strip the path in place, the new URI is only built if it is read
+				RequestTarget target = RequestTarget.from(request).stripPrefix(config.getParts());
+				setRequestTarget(exchange, target);
+				ServerHttpRequest newRequest = target.toRequest(request);
 
 				return chain.filter(exchange.mutate().request(newRequest).build());
 			}
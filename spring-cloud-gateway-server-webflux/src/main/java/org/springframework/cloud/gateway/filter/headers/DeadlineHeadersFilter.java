@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.headers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.gateway.filter.DeadlineFilter;
+import org.springframework.cloud.gateway.support.Deadline;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Forwards the time left before the {@link Deadline} of a request, so upstream services
+ * can drop work whose answer would arrive too late. Runs for every attempt, so each
+ * retry announces the budget it actually has.
+ */
+public class DeadlineHeadersFilter implements HttpHeadersFilter, Ordered {
+
+	private final String header;
+
+	private final boolean grpcTimeoutEnabled;
+
+	public DeadlineHeadersFilter(String header, boolean grpcTimeoutEnabled) {
+		this.header = header;
+		this.grpcTimeoutEnabled = grpcTimeoutEnabled;
+	}
+
+	@Override
+	public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+		Deadline deadline = Deadline.get(exchange);
+		if (deadline == null) {
+			return input;
+		}
+		HttpHeaders updated = new HttpHeaders();
+		for (Map.Entry<String, List<String>> entry : input.headerSet()) {
+			updated.addAll(entry.getKey(), entry.getValue());
+		}
+		long remainingMillis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, deadline.remainingNanos()));
+		updated.set(this.header, String.valueOf(remainingMillis));
+		if (this.grpcTimeoutEnabled && updated.containsHeader(DeadlineFilter.GRPC_TIMEOUT)) {
+			updated.set(DeadlineFilter.GRPC_TIMEOUT, deadline.toGrpcTimeout());
+		}
+		return updated;
+	}
+
+	@Override
+	public boolean supports(Type type) {
+		return Type.REQUEST.equals(type);
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+}
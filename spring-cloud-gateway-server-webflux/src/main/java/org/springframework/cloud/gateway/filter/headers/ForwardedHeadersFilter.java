@@ -75,6 +75,10 @@ public class ForwardedHeadersFilter implements HttpHeadersFilter, Ordered {
 		trustedProxies = TrustedProxies.from(trustedProxiesRegex);
 	}
 
+	public ForwardedHeadersFilter(TrustedProxies trustedProxies) {
+		this.trustedProxies = trustedProxies;
+	}
+
 	/* for testing */
 	static List<Forwarded> parse(List<String> values) {
 		ArrayList<Forwarded> forwardeds = new ArrayList<>();
@@ -21,6 +21,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -32,8 +33,11 @@ import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cloud.gateway.config.GatewayProperties;
 import org.springframework.cloud.gateway.config.HttpServerProperties;
+import org.springframework.cloud.gateway.support.CidrTrie;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.core.type.AnnotatedTypeMetadata;
@@ -50,6 +54,11 @@ public interface TrustedProxies {
 	 */
 	String PROPERTY = GatewayProperties.PREFIX + ".trusted-proxies";
 
+	/**
+	 * CIDRs property name.
+	 */
+	String CIDRS_PROPERTY = GatewayProperties.PREFIX + ".trusted-proxy-cidrs";
+
 	boolean isTrusted(String host);
 
 	static TrustedProxies from(String trustedProxies) {
@@ -58,6 +67,49 @@ public interface TrustedProxies {
 		return value -> pattern.matcher(value).matches();
 	}
 
+	/**
+	 * Trusts address literals covered by one of the given CIDRs. Lookups go through a
+	 * {@link CidrTrie}, so large lists cost no more than a single regular expression.
+	 * Host names are never trusted.
+	 * @param cidrs CIDR notations such as {@code 10.0.0.0/8} or {@code 2001:db8::/32}
+	 * @return the trusted proxies
+	 */
+	static TrustedProxies fromCidrs(Collection<String> cidrs) {
+		Assert.notEmpty(cidrs, "cidrs must not be empty");
+		CidrTrie trie = CidrTrie.of(cidrs);
+		return new TrustedProxies() {
+			@Override
+			public boolean isTrusted(String host) {
+				return trie.contains(host);
+			}
+
+			@Override
+			public String toString() {
+				return "cidrs " + cidrs;
+			}
+		};
+	}
+
+	/**
+	 * Trusts proxies matching {@link GatewayProperties#getTrustedProxies()} or covered
+	 * by {@link GatewayProperties#getTrustedProxyCidrs()}.
+	 * @param properties the gateway properties
+	 * @return the trusted proxies
+	 */
+	static TrustedProxies from(GatewayProperties properties) {
+		String regexp = properties.getTrustedProxies();
+		List<String> cidrs = properties.getTrustedProxyCidrs();
+		if (cidrs.isEmpty()) {
+			return from(regexp);
+		}
+		TrustedProxies cidrProxies = fromCidrs(cidrs);
+		if (!StringUtils.hasText(regexp)) {
+			return cidrProxies;
+		}
+		TrustedProxies regexpProxies = from(regexp);
+		return host -> cidrProxies.isTrusted(host) || regexpProxies.isTrusted(host);
+	}
+
 	/**
 	 * Utility method to filter headers based on a predicate.
 	 * @param input HttpHeaders to filter.
@@ -165,10 +217,17 @@ public interface TrustedProxies {
 		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
 			try {
 				String property = context.getEnvironment().getProperty(PROPERTY);
-				if (!StringUtils.hasText(property)) {
-					return ConditionOutcome.noMatch(PROPERTY + " property is not set or is empty.");
+				if (StringUtils.hasText(property)) {
+					return ConditionOutcome.match(PROPERTY + " property is not empty.");
+				}
+				List<String> cidrs = Binder.get(context.getEnvironment())
+					.bind(CIDRS_PROPERTY, Bindable.listOf(String.class))
+					.orElse(List.of());
+				if (!cidrs.isEmpty()) {
+					return ConditionOutcome.match(CIDRS_PROPERTY + " property is not empty.");
 				}
-				return ConditionOutcome.match(PROPERTY + " property is not empty.");
+				return ConditionOutcome
+					.noMatch(PROPERTY + " and " + CIDRS_PROPERTY + " properties are not set or are empty.");
 			}
 			catch (NoSuchElementException e) {
 				return ConditionOutcome.noMatch("Missing required property " + PROPERTY);
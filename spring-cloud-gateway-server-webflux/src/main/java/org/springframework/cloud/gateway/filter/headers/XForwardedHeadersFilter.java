@@ -121,6 +121,10 @@ public class XForwardedHeadersFilter implements HttpHeadersFilter, Ordered {
 		trustedProxies = TrustedProxies.from(trustedProxiesRegex);
 	}
 
+	public XForwardedHeadersFilter(TrustedProxies trustedProxies) {
+		this.trustedProxies = trustedProxies;
+	}
+
 	@Override
 	public int getOrder() {
 		return this.order;
@@ -58,16 +58,26 @@ public class ObservedRequestHttpHeadersFilter implements HttpHeadersFilter {
 
 	@Override
 	public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+		if (this.observationRegistry.isNoop()) {
+			// no handler is interested, skip copying headers and creating the context
+			return input;
+		}
+		// observation predicates see the incoming headers, they are only copied into a
+		// writable carrier once the observation is known to be recorded
+		GatewayContext gatewayContext = new GatewayContext(input, exchange.getRequest(), exchange);
+		Observation childObservation = GatewayDocumentedObservation.GATEWAY_HTTP_CLIENT_OBSERVATION.observation(
+				this.customGatewayObservationConvention, DefaultGatewayObservationConvention.INSTANCE,
+				() -> gatewayContext, this.observationRegistry);
+		if (childObservation.isNoop()) {
+			return input;
+		}
 		HttpHeaders newHeaders = new HttpHeaders();
 		newHeaders.putAll(input);
+		gatewayContext.setCarrier(newHeaders);
 		if (log.isDebugEnabled()) {
 			log.debug("Will instrument the HTTP request headers " + newHeaders);
 		}
 		Observation parentObservation = getParentObservation(exchange);
-		GatewayContext gatewayContext = new GatewayContext(newHeaders, exchange.getRequest(), exchange);
-		Observation childObservation = GatewayDocumentedObservation.GATEWAY_HTTP_CLIENT_OBSERVATION.observation(
-				this.customGatewayObservationConvention, DefaultGatewayObservationConvention.INSTANCE,
-				() -> gatewayContext, this.observationRegistry);
 		if (parentObservation != null) {
 			childObservation.parentObservation(parentObservation);
 		}
@@ -65,6 +65,10 @@ public interface AsyncPredicate<T> extends Function<T, Publisher<Boolean>>, HasC
 			this.delegate = delegate;
 		}
 
+		public Predicate<T> getDelegate() {
+			return this.delegate;
+		}
+
 		@Override
 		public Publisher<Boolean> apply(T t) {
 			return Mono.just(delegate.test(t));
@@ -118,6 +122,14 @@ public interface AsyncPredicate<T> extends Function<T, Publisher<Boolean>>, HasC
 			this.right = right;
 		}
 
+		public AsyncPredicate<? super T> getLeft() {
+			return this.left;
+		}
+
+		public AsyncPredicate<? super T> getRight() {
+			return this.right;
+		}
+
 		@Override
 		public Publisher<Boolean> apply(T t) {
 			return Mono.from(left.apply(t)).flatMap(result -> !result ? Mono.just(false) : Mono.from(right.apply(t)));
@@ -32,6 +32,7 @@ import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.GatewayFilterFactory;
 import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.PhaseTimings;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.Ordered;
@@ -98,6 +99,7 @@ public class FilteringWebHandler implements WebHandler, ApplicationListener<Refr
 	@Override
 	public Mono<Void> handle(ServerWebExchange exchange) {
 		Route route = exchange.getRequiredAttribute(GATEWAY_ROUTE_ATTR);
+		PhaseTimings.mark(exchange, PhaseTimings.Phase.FILTERS_STARTED);
 		List<GatewayFilter> combined = getCombinedFilters(route);
 
 		if (logger.isDebugEnabled()) {
@@ -109,6 +111,10 @@ public class FilteringWebHandler implements WebHandler, ApplicationListener<Refr
 
 	protected List<GatewayFilter> getCombinedFilters(Route route) {
 		if (this.routeFilterCacheEnabled) {
+			List<GatewayFilter> combined = routeFilterMap.get(route);
+			if (combined != null) {
+				return combined;
+			}
 			return routeFilterMap.computeIfAbsent(route, this::getAllFilters);
 		}
 		else {
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.gateway.handler.predicate.GatewayPredicate;
+import org.springframework.cloud.gateway.handler.predicate.HostRoutePredicateFactory.HostPredicate;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteSnapshot;
+import org.springframework.cloud.gateway.support.HostPatternTrie;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Index of the routes of a {@link RouteSnapshot} by the host patterns their predicates
+ * require. A route whose predicate is a conjunction containing a Host predicate can only
+ * match requests for one of its hosts, so its patterns are added to a
+ * {@link HostPatternTrie} shared by all routes; every other route is always a candidate.
+ * Looking up the candidate routes of a request then takes one pass over the labels of
+ * its host rather than one pattern match per route. The route predicates are still
+ * evaluated, the index only skips routes that cannot match.
+ */
+final class HostRouteIndex {
+
+	private final long generation;
+
+	private final Route[] routes;
+
+	private final int[] alwaysCandidates;
+
+	private final List<HostRoutes> hostRoutes;
+
+	private HostRouteIndex(long generation, Route[] routes, int[] alwaysCandidates, List<HostRoutes> hostRoutes) {
+		this.generation = generation;
+		this.routes = routes;
+		this.alwaysCandidates = alwaysCandidates;
+		this.hostRoutes = hostRoutes;
+	}
+
+	static HostRouteIndex build(RouteSnapshot snapshot) {
+		Route[] routes = new Route[snapshot.size()];
+		IntList alwaysCandidates = new IntList();
+		List<HostRoutes> hostRoutes = new ArrayList<>(2);
+		for (int i = 0; i < routes.length; i++) {
+			Route route = snapshot.get(i);
+			routes[i] = route;
+			HostPredicate hostPredicate = findRequiredHostPredicate(route.getPredicate());
+			if (hostPredicate == null) {
+				alwaysCandidates.add(i);
+				continue;
+			}
+			HostRoutes group = null;
+			for (HostRoutes candidate : hostRoutes) {
+				if (candidate.resolver.isIncludePort() == hostPredicate.isIncludePort()) {
+					group = candidate;
+				}
+			}
+			if (group == null) {
+				group = new HostRoutes(hostPredicate);
+				hostRoutes.add(group);
+			}
+			group.add(i, hostPredicate.getPatterns());
+		}
+		return new HostRouteIndex(snapshot.getGeneration(), routes, alwaysCandidates.toArray(), hostRoutes);
+	}
+
+	/**
+	 * Finds a compiled Host predicate that has to match for the whole predicate to match,
+	 * looking only through conjunctions.
+	 */
+	private static @Nullable HostPredicate findRequiredHostPredicate(Object predicate) {
+		if (predicate instanceof HostPredicate hostPredicate) {
+			return hostPredicate.isCompiled() ? hostPredicate : null;
+		}
+		if (predicate instanceof AsyncPredicate.AndAsyncPredicate<?> and) {
+			HostPredicate left = findRequiredHostPredicate(and.getLeft());
+			return (left != null) ? left : findRequiredHostPredicate(and.getRight());
+		}
+		if (predicate instanceof GatewayPredicate.AndGatewayPredicate and) {
+			HostPredicate left = findRequiredHostPredicate(and.getLeft());
+			return (left != null) ? left : findRequiredHostPredicate(and.getRight());
+		}
+		if (predicate instanceof AsyncPredicate.DefaultAsyncPredicate<?> defaultPredicate) {
+			return findRequiredHostPredicate(defaultPredicate.getDelegate());
+		}
+		if (predicate instanceof GatewayPredicate.GatewayPredicateWrapper wrapper) {
+			return findRequiredHostPredicate(wrapper.getDelegate());
+		}
+		return null;
+	}
+
+	long getGeneration() {
+		return this.generation;
+	}
+
+	/**
+	 * @return whether no route is indexed by host, in which case every route is a
+	 * candidate
+	 */
+	boolean isEmpty() {
+		return this.hostRoutes.isEmpty();
+	}
+
+	/**
+	 * @param exchange the current exchange
+	 * @return the routes that may match the request, in route order
+	 */
+	List<Route> getCandidates(ServerWebExchange exchange) {
+		IntList matched = new IntList();
+		for (HostRoutes group : this.hostRoutes) {
+			String host = group.resolver.resolveHost(exchange);
+			// without a host none of the Host predicates can match
+			if (host != null && !group.trie.findAll(host, matched::add)) {
+				matched.addAll(group.routeIndexes.toArray());
+			}
+		}
+		int[] indexed = matched.toSortedArray();
+		List<Route> candidates = new ArrayList<>(this.alwaysCandidates.length + indexed.length);
+		int i = 0;
+		int j = 0;
+		int last = -1;
+		while (i < this.alwaysCandidates.length || j < indexed.length) {
+			int next;
+			if (j >= indexed.length || (i < this.alwaysCandidates.length && this.alwaysCandidates[i] < indexed[j])) {
+				next = this.alwaysCandidates[i++];
+			}
+			else {
+				next = indexed[j++];
+			}
+			if (next != last) {
+				candidates.add(this.routes[next]);
+				last = next;
+			}
+		}
+		return candidates;
+	}
+
+	private static final class HostRoutes {
+
+		private final HostPredicate resolver;
+
+		private final HostPatternTrie<Integer> trie = new HostPatternTrie<>();
+
+		private final IntList routeIndexes = new IntList();
+
+		HostRoutes(HostPredicate resolver) {
+			this.resolver = resolver;
+		}
+
+		void add(int routeIndex, List<String> patterns) {
+			this.routeIndexes.add(routeIndex);
+			for (String pattern : patterns) {
+				this.trie.add(pattern, routeIndex);
+			}
+		}
+
+	}
+
+	private static final class IntList {
+
+		private int[] values = new int[8];
+
+		private int size;
+
+		void add(int value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		void addAll(int[] values) {
+			for (int value : values) {
+				add(value);
+			}
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+
+		int[] toSortedArray() {
+			int[] array = toArray();
+			Arrays.sort(array);
+			return array;
+		}
+
+	}
+
+}
@@ -19,12 +19,17 @@ package org.springframework.cloud.gateway.handler;
 import java.util.function.Function;
 
 import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.config.GatewayProperties;
 import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.filter.LoadSheddingWebFilter;
+import org.springframework.cloud.gateway.route.CachingRouteLocator;
 import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.RouteSnapshot;
+import org.springframework.cloud.gateway.support.PhaseTimings;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.web.cors.CorsConfiguration;
@@ -35,6 +40,7 @@ import static org.springframework.cloud.gateway.handler.RoutePredicateHandlerMap
 import static org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping.ManagementPortType.DISABLED;
 import static org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping.ManagementPortType.SAME;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_HANDLER_MAPPER_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOAD_SHEDDING_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REACTOR_CONTEXT_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
@@ -52,6 +58,12 @@ public class RoutePredicateHandlerMapping extends AbstractHandlerMapping {
 
 	private final ManagementPortType managementPortType;
 
+	private final boolean phaseTimingsEnabled;
+
+	private final boolean hostIndexEnabled;
+
+	private volatile @Nullable HostRouteIndex hostRouteIndex;
+
 	public RoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
 			GlobalCorsProperties globalCorsProperties, Environment environment) {
 		this.webHandler = webHandler;
@@ -59,6 +71,10 @@ public class RoutePredicateHandlerMapping extends AbstractHandlerMapping {
 
 		this.managementPort = getPortProperty(environment, "management.server.");
 		this.managementPortType = getManagementPortType(environment);
+		this.phaseTimingsEnabled = environment.getProperty(GatewayProperties.PREFIX + ".metrics.phase-timings-enabled",
+				Boolean.class, false);
+		this.hostIndexEnabled = environment
+			.getProperty(GatewayProperties.PREFIX + ".handler-mapping.host-index.enabled", Boolean.class, true);
 		setOrder(environment.getProperty(GatewayProperties.PREFIX + ".handler-mapping.order", Integer.class, 1));
 		setCorsConfigurations(globalCorsProperties.getCorsConfigurations());
 	}
@@ -85,6 +101,7 @@ public class RoutePredicateHandlerMapping extends AbstractHandlerMapping {
 			return Mono.empty();
 		}
 		exchange.getAttributes().put(GATEWAY_HANDLER_MAPPER_ATTR, getSimpleName());
+		@Nullable PhaseTimings phaseTimings = this.phaseTimingsEnabled ? PhaseTimings.start(exchange) : null;
 
 		return Mono.deferContextual(contextView -> {
 			exchange.getAttributes().put(GATEWAY_REACTOR_CONTEXT_ATTR, contextView);
@@ -97,6 +114,13 @@ public class RoutePredicateHandlerMapping extends AbstractHandlerMapping {
 					}
 
 					exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, r);
+					LoadSheddingWebFilter loadShedding = exchange.getAttribute(GATEWAY_LOAD_SHEDDING_ATTR);
+					if (loadShedding != null && loadShedding.shouldShed(r)) {
+						return loadShedding.getRejectingHandler();
+					}
+					if (phaseTimings != null) {
+						phaseTimings.mark(PhaseTimings.Phase.ROUTE_MATCHED);
+					}
 					return webHandler;
 				})
 				.switchIfEmpty(Mono.empty().then(Mono.fromRunnable(() -> {
@@ -129,7 +153,7 @@ public class RoutePredicateHandlerMapping extends AbstractHandlerMapping {
 	}
 
 	protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
-		return this.routeLocator.getRoutes().filterWhen(route -> {
+		return getCandidateRoutes(exchange).filterWhen(route -> {
 			// add the current route we are testing
 			exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, route.getId());
 			try {
@@ -156,6 +180,33 @@ public class RoutePredicateHandlerMapping extends AbstractHandlerMapping {
 		 */
 	}
 
+	private Flux<Route> getCandidateRoutes(ServerWebExchange exchange) {
+		// iterate the published snapshot directly rather than replaying the cache
+		if (this.routeLocator instanceof CachingRouteLocator cachingRouteLocator) {
+			RouteSnapshot snapshot = cachingRouteLocator.getSnapshot();
+			if (snapshot != null) {
+				if (this.hostIndexEnabled) {
+					HostRouteIndex index = getHostRouteIndex(snapshot);
+					if (!index.isEmpty()) {
+						return Flux.fromIterable(index.getCandidates(exchange));
+					}
+				}
+				return snapshot.toFlux();
+			}
+		}
+		return this.routeLocator.getRoutes();
+	}
+
+	private HostRouteIndex getHostRouteIndex(RouteSnapshot snapshot) {
+		HostRouteIndex index = this.hostRouteIndex;
+		if (index == null || index.getGeneration() != snapshot.getGeneration()) {
+			// concurrent requests may build the same index, which is cheaper than locking
+			index = HostRouteIndex.build(snapshot);
+			this.hostRouteIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Validate the given handler against the current request.
 	 * <p>
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.handler.predicate;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.PathContainer.Element;
+import org.springframework.http.server.PathContainer.PathSegment;
+import org.springframework.http.server.PathContainer.Separator;
+
+/**
+ * Path pattern made of literal segments, <code>{variable}</code> segments and an
+ * optional trailing <code>/**</code>, the shape of most REST routes. Matching walks the
+ * path elements once and only records which elements were captured; the variables map
+ * is built when it is first read, which for many routes is never.
+ * <p>
+ * Matches like a {@link org.springframework.web.util.pattern.PathPattern} from a default
+ * {@link org.springframework.web.util.pattern.PathPatternParser}. Patterns using any
+ * other syntax are not compiled, see {@link #compile(String)}.
+ */
+final class CompiledPathPattern {
+
+	private final String[] segments;
+
+	private final @Nullable String[] variableNames;
+
+	private final boolean matchTheRest;
+
+	private CompiledPathPattern(String[] segments, @Nullable String[] variableNames, boolean matchTheRest) {
+		this.segments = segments;
+		this.variableNames = variableNames;
+		this.matchTheRest = matchTheRest;
+	}
+
+	/**
+	 * @param pattern the pattern
+	 * @return the compiled pattern, or {@code null} if the pattern uses syntax that is
+	 * not supported
+	 */
+	static @Nullable CompiledPathPattern compile(String pattern) {
+		if (pattern.isEmpty() || pattern.charAt(0) != '/' || (pattern.length() > 1 && pattern.endsWith("/"))) {
+			return null;
+		}
+		String[] segments = (pattern.length() == 1) ? new String[0] : pattern.substring(1).split("/", -1);
+		@Nullable String[] variableNames = new String[segments.length];
+		boolean matchTheRest = false;
+		for (int i = 0; i < segments.length; i++) {
+			String segment = segments[i];
+			if (segment.equals("**") && i == segments.length - 1) {
+				matchTheRest = true;
+			}
+			else if (segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")) {
+				String name = segment.substring(1, segment.length() - 1);
+				if (!isVariableName(name)) {
+					return null;
+				}
+				variableNames[i] = name;
+			}
+			else if (segment.isEmpty() || !isLiteral(segment)) {
+				return null;
+			}
+		}
+		if (segments.length == 0) {
+			// "/" only matches the root path, leave it to PathPattern
+			return null;
+		}
+		return new CompiledPathPattern(segments, variableNames, matchTheRest);
+	}
+
+	private static boolean isVariableName(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			// leave encoded characters and matrix variables to PathPattern
+			if (c == '{' || c == '}' || c == '*' || c == '?' || c == ';' || c == '%') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param path the path to match
+	 * @return the variables of the match, or {@code null} if the path does not match
+	 */
+	@Nullable Map<String, String> match(PathContainer path) {
+		List<Element> elements = path.elements();
+		int size = elements.size();
+		int index = 0;
+		int @Nullable [] captures = null;
+		int last = this.segments.length - 1;
+		for (int i = 0; i <= last; i++) {
+			if (i == last && this.matchTheRest) {
+				// "/**" matches nothing or anything starting with a separator
+				if (index < size && !(elements.get(index) instanceof Separator)) {
+					return null;
+				}
+				index = size;
+				break;
+			}
+			if (index >= size || !(elements.get(index) instanceof Separator)) {
+				return null;
+			}
+			index++;
+			if (index >= size || !(elements.get(index) instanceof PathSegment segment)) {
+				return null;
+			}
+			String value = segment.valueToMatch();
+			if (this.variableNames[i] != null) {
+				if (value.isEmpty()) {
+					return null;
+				}
+				if (captures == null) {
+					captures = new int[this.segments.length];
+				}
+				captures[i] = index;
+			}
+			else if (!value.equals(this.segments[i])) {
+				return null;
+			}
+			index++;
+		}
+		if (index != size) {
+			return null;
+		}
+		return (captures != null) ? new LazyUriVariables(path, this.variableNames, captures) : Collections.emptyMap();
+	}
+
+	/**
+	 * Read-only variables of a match, resolved from the captured path elements on first
+	 * access.
+	 */
+	static final class LazyUriVariables extends AbstractMap<String, String> {
+
+		private final PathContainer path;
+
+		private final @Nullable String[] names;
+
+		private final int[] captures;
+
+		private @Nullable Map<String, String> variables;
+
+		LazyUriVariables(PathContainer path, @Nullable String[] names, int[] captures) {
+			this.path = path;
+			this.names = names;
+			this.captures = captures;
+		}
+
+		private Map<String, String> variables() {
+			Map<String, String> variables = this.variables;
+			if (variables == null) {
+				variables = new LinkedHashMap<>();
+				List<Element> elements = this.path.elements();
+				for (int i = 0; i < this.names.length; i++) {
+					String name = this.names[i];
+					if (name != null) {
+						variables.put(name, ((PathSegment) elements.get(this.captures[i])).valueToMatch());
+					}
+				}
+				variables = Collections.unmodifiableMap(variables);
+				this.variables = variables;
+			}
+			return variables;
+		}
+
+		@Override
+		public @Nullable String get(Object key) {
+			return variables().get(key);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return variables().containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return variables().size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			// only created when at least one variable was captured
+			return false;
+		}
+
+		@Override
+		public Set<Entry<String, String>> entrySet() {
+			return variables().entrySet();
+		}
+
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.function.Predicate;
 import jakarta.validation.constraints.NotEmpty;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.cloud.gateway.support.RegexpMatcher;
 import org.springframework.http.HttpCookie;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -52,14 +53,24 @@ public class CookieRoutePredicateFactory extends AbstractRoutePredicateFactory<C
 
 	@Override
 	public Predicate<ServerWebExchange> apply(Config config) {
+		RegexpMatcher matcher = (config.regexp != null) ? RegexpMatcher.compile(config.regexp) : null;
 		return new GatewayPredicate() {
 			@Override
 			public boolean test(ServerWebExchange exchange) {
+				if (matcher == null) {
+					return false;
+				}
+				// the request parses its cookies once and caches the map
 				List<HttpCookie> cookies = exchange.getRequest().getCookies().get(config.name);
-				if (cookies == null || config.regexp == null) {
+				if (cookies == null) {
 					return false;
 				}
-				return cookies.stream().anyMatch(cookie -> cookie.getValue().matches(config.regexp));
+				for (int i = 0; i < cookies.size(); i++) {
+					if (matcher.test(cookies.get(i).getValue())) {
+						return true;
+					}
+				}
+				return false;
 			}
 
 			@Override
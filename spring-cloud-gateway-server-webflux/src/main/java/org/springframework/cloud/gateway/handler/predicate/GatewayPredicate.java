@@ -65,6 +65,10 @@ public interface GatewayPredicate extends Predicate<ServerWebExchange>, HasConfi
 			this.delegate = delegate;
 		}
 
+		public Predicate<? super ServerWebExchange> getDelegate() {
+			return this.delegate;
+		}
+
 		@Override
 		public boolean test(ServerWebExchange exchange) {
 			return this.delegate.test(exchange);
@@ -123,6 +127,14 @@ public interface GatewayPredicate extends Predicate<ServerWebExchange>, HasConfi
 			this.right = right;
 		}
 
+		public GatewayPredicate getLeft() {
+			return this.left;
+		}
+
+		public GatewayPredicate getRight() {
+			return this.right;
+		}
+
 		@Override
 		public boolean test(ServerWebExchange t) {
 			return (this.left.test(t) && this.right.test(t));
@@ -19,11 +19,11 @@ package org.springframework.cloud.gateway.handler.predicate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
 import jakarta.validation.constraints.NotEmpty;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.cloud.gateway.support.RegexpMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -53,7 +53,7 @@ public class HeaderRoutePredicateFactory extends AbstractRoutePredicateFactory<H
 
 	@Override
 	public Predicate<ServerWebExchange> apply(Config config) {
-		Pattern pattern = (StringUtils.hasText(config.regexp)) ? Pattern.compile(config.regexp) : null;
+		RegexpMatcher matcher = (StringUtils.hasText(config.regexp)) ? RegexpMatcher.compile(config.regexp) : null;
 
 		return new GatewayPredicate() {
 			@Override
@@ -66,11 +66,11 @@ public class HeaderRoutePredicateFactory extends AbstractRoutePredicateFactory<H
 					return false;
 				}
 				// values is now guaranteed to not be empty
-				if (pattern != null) {
+				if (matcher != null) {
 					// check if a header value matches
 					for (int i = 0; i < values.size(); i++) {
 						String value = values.get(i);
-						if (pattern.asMatchPredicate().test(value)) {
+						if (matcher.test(value)) {
 							return true;
 						}
 					}
@@ -23,6 +23,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.gateway.support.HostPatternTrie;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.AntPathMatcher;
@@ -38,6 +41,8 @@ public class HostRoutePredicateFactory extends AbstractRoutePredicateFactory<Hos
 
 	private PathMatcher pathMatcher = new AntPathMatcher(".");
 
+	private boolean customPathMatcher;
+
 	public HostRoutePredicateFactory() {
 		this(true);
 	}
@@ -49,6 +54,8 @@ public class HostRoutePredicateFactory extends AbstractRoutePredicateFactory<Hos
 
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		// only patterns of the default matcher can be compiled
+		this.customPathMatcher = true;
 	}
 
 	/* for testing */ void setIncludePort(boolean includePort) {
@@ -67,55 +74,122 @@ public class HostRoutePredicateFactory extends AbstractRoutePredicateFactory<Hos
 
 	@Override
 	public Predicate<ServerWebExchange> apply(Config config) {
-		return new GatewayPredicate() {
-			@Override
-			public boolean test(ServerWebExchange exchange) {
-				String host;
-				if (includePort) {
-					host = exchange.getRequest().getHeaders().getFirst("Host");
-				}
-				else {
-					InetSocketAddress address = exchange.getRequest().getHeaders().getHost();
-					if (address != null) {
-						host = address.getHostString();
-					}
-					else {
-						return false;
-					}
-				}
+		return new HostPredicate(config, this.includePort, this.pathMatcher, !this.customPathMatcher);
+	}
 
-				if (host == null) {
-					return false;
-				}
+	/**
+	 * Matches the host of a request against the patterns of a {@link Config}. Patterns
+	 * are compiled into a {@link HostPatternTrie} when possible, so matching a host and
+	 * extracting its variables takes one pass over its labels.
+	 */
+	public static class HostPredicate implements GatewayPredicate {
+
+		private final Config config;
+
+		private final boolean includePort;
+
+		private final PathMatcher pathMatcher;
+
+		private final @Nullable HostPatternTrie<String> compiledPatterns;
 
-				String match = null;
-				for (int i = 0; i < config.getPatterns().size(); i++) {
-					String pattern = config.getPatterns().get(i);
-					if (pathMatcher.match(pattern, host)) {
-						match = pattern;
-						break;
-					}
+		HostPredicate(Config config, boolean includePort, PathMatcher pathMatcher, boolean compile) {
+			this.config = config;
+			this.includePort = includePort;
+			this.pathMatcher = pathMatcher;
+			this.compiledPatterns = compile ? compile(config.getPatterns()) : null;
+		}
+
+		private static @Nullable HostPatternTrie<String> compile(List<String> patterns) {
+			HostPatternTrie<String> trie = new HostPatternTrie<>();
+			for (String pattern : patterns) {
+				if (!trie.add(pattern, pattern)) {
+					return null;
 				}
+			}
+			return trie;
+		}
 
+		@Override
+		public boolean test(ServerWebExchange exchange) {
+			String host = resolveHost(exchange);
+			if (host == null) {
+				return false;
+			}
+
+			if (this.compiledPatterns != null) {
+				HostPatternTrie.Match<String> match = this.compiledPatterns.findFirst(host);
 				if (match != null) {
-					Map<String, String> variables = pathMatcher.extractUriTemplateVariables(match, host);
-					ServerWebExchangeUtils.putUriTemplateVariables(exchange, variables);
+					ServerWebExchangeUtils.putUriTemplateVariables(exchange, match.getVariables());
 					return true;
 				}
+				if (!isMalformed(host)) {
+					return false;
+				}
+				// the trie only supports hosts made of non empty labels
+			}
 
-				return false;
+			String match = null;
+			for (int i = 0; i < config.getPatterns().size(); i++) {
+				String pattern = config.getPatterns().get(i);
+				if (pathMatcher.match(pattern, host)) {
+					match = pattern;
+					break;
+				}
 			}
 
-			@Override
-			public Object getConfig() {
-				return config;
+			if (match != null) {
+				Map<String, String> variables = pathMatcher.extractUriTemplateVariables(match, host);
+				ServerWebExchangeUtils.putUriTemplateVariables(exchange, variables);
+				return true;
 			}
 
-			@Override
-			public String toString() {
-				return String.format("Hosts: %s", config.getPatterns());
+			return false;
+		}
+
+		/**
+		 * @param exchange the current exchange
+		 * @return the host matched against the patterns, or {@code null} if the request
+		 * has none
+		 */
+		public @Nullable String resolveHost(ServerWebExchange exchange) {
+			if (this.includePort) {
+				return exchange.getRequest().getHeaders().getFirst("Host");
 			}
-		};
+			InetSocketAddress address = exchange.getRequest().getHeaders().getHost();
+			return (address != null) ? address.getHostString() : null;
+		}
+
+		/**
+		 * @return whether the patterns could be compiled, that is whether they only use
+		 * the syntax supported by {@link HostPatternTrie}
+		 */
+		public boolean isCompiled() {
+			return this.compiledPatterns != null;
+		}
+
+		public boolean isIncludePort() {
+			return this.includePort;
+		}
+
+		public List<String> getPatterns() {
+			return this.config.getPatterns();
+		}
+
+		private static boolean isMalformed(String host) {
+			return host.isEmpty() || host.charAt(0) == '.' || host.charAt(host.length() - 1) == '.'
+					|| host.contains("..");
+		}
+
+		@Override
+		public Object getConfig() {
+			return config;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Hosts: %s", config.getPatterns());
+		}
+
 	}
 
 	public static class Config {
@@ -18,11 +18,15 @@ package org.springframework.cloud.gateway.handler.predicate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.boot.webflux.autoconfigure.WebFluxProperties;
 import org.springframework.core.style.ToStringCreator;
@@ -53,6 +57,8 @@ public class PathRoutePredicateFactory extends AbstractRoutePredicateFactory<Pat
 
 	private PathPatternParser pathPatternParser = new PathPatternParser();
 
+	private boolean customPathPatternParser;
+
 	private final WebFluxProperties webFluxProperties;
 
 	public PathRoutePredicateFactory(WebFluxProperties webFluxProperties) {
@@ -70,6 +76,8 @@ public class PathRoutePredicateFactory extends AbstractRoutePredicateFactory<Pat
 
 	public void setPathPatternParser(PathPatternParser pathPatternParser) {
 		this.pathPatternParser = pathPatternParser;
+		// only patterns of the default parser can be compiled
+		this.customPathPatternParser = true;
 	}
 
 	@Override
@@ -84,24 +92,34 @@ public class PathRoutePredicateFactory extends AbstractRoutePredicateFactory<Pat
 
 	@Override
 	public Predicate<ServerWebExchange> apply(Config config) {
-		final ArrayList<PathPattern> pathPatterns = new ArrayList<>();
-		synchronized (this.pathPatternParser) {
-			// FIXME: 5.0.0 setMatchOptionalTrailingSeparator missing
-			// pathPatternParser.setMatchOptionalTrailingSeparator(config.isMatchTrailingSlash());
-			config.getPatterns().forEach(pattern -> {
-				String basePath = webFluxProperties.getBasePath();
-				boolean basePathIsNotBlank = StringUtils.hasText(basePath);
-				String pathPatternStr = pattern;
-				if (basePathIsNotBlank) {
-					if (pattern.length() > 1 && !pattern.startsWith("/")) {
-						basePath += ("/");
-					}
-					pathPatternStr = basePath + pattern;
+		final ArrayList<String> patternStrings = new ArrayList<>();
+		// parsed patterns are only kept when they can not be compiled, routes generated
+		// for many services then only retain their small compiled patterns
+		final ArrayList<@Nullable PathPattern> pathPatterns = new ArrayList<>();
+		final ArrayList<@Nullable CompiledPathPattern> compiledPatterns = new ArrayList<>();
+		boolean compile = !this.customPathPatternParser;
+		// the parser is not reconfigured per route, so parse is safe to call
+		// concurrently when routes are compiled in parallel
+		// FIXME: 5.0.0 setMatchOptionalTrailingSeparator missing
+		// pathPatternParser.setMatchOptionalTrailingSeparator(config.isMatchTrailingSlash());
+		PathPatternParser parser = this.pathPatternParser;
+		config.getPatterns().forEach(pattern -> {
+			String basePath = webFluxProperties.getBasePath();
+			boolean basePathIsNotBlank = StringUtils.hasText(basePath);
+			String pathPatternStr = pattern;
+			if (basePathIsNotBlank) {
+				if (pattern.length() > 1 && !pattern.startsWith("/")) {
+					basePath += ("/");
 				}
-				PathPattern pathPattern = this.pathPatternParser.parse(pathPatternStr);
-				pathPatterns.add(pathPattern);
-			});
-		}
+				pathPatternStr = basePath + pattern;
+			}
+			PathPattern pathPattern = parser.parse(pathPatternStr);
+			CompiledPathPattern compiledPattern = compile ? CompiledPathPattern.compile(pathPattern.getPatternString())
+					: null;
+			patternStrings.add(pathPattern.getPatternString());
+			pathPatterns.add(compiledPattern == null ? pathPattern : null);
+			compiledPatterns.add(compiledPattern);
+		});
 		return new GatewayPredicate() {
 			@Override
 			public boolean test(ServerWebExchange exchange) {
@@ -109,22 +127,25 @@ public class PathRoutePredicateFactory extends AbstractRoutePredicateFactory<Pat
 					.computeIfAbsent(GATEWAY_PREDICATE_PATH_CONTAINER_ATTR,
 							s -> parsePath(exchange.getRequest().getURI().getRawPath()));
 
-				PathPattern match = null;
-				for (int i = 0; i < pathPatterns.size(); i++) {
-					PathPattern pathPattern = pathPatterns.get(i);
-					if (pathPattern.matches(path)) {
-						match = pathPattern;
+				String match = null;
+				@Nullable Map<String, String> variables = null;
+				for (int i = 0; i < patternStrings.size(); i++) {
+					CompiledPathPattern compiledPattern = compiledPatterns.get(i);
+					// match and extract in a single pass
+					variables = (compiledPattern != null) ? compiledPattern.match(path)
+							: matchAndExtract(Objects.requireNonNull(pathPatterns.get(i)), path);
+					if (variables != null) {
+						match = patternStrings.get(i);
 						break;
 					}
 				}
 
-				if (match != null) {
-					traceMatch("Pattern", match.getPatternString(), path, true);
-					PathMatchInfo pathMatchInfo = match.matchAndExtract(path);
-					if (pathMatchInfo != null) {
-						putUriTemplateVariables(exchange, pathMatchInfo.getUriVariables());
+				if (match != null && variables != null) {
+					traceMatch("Pattern", match, path, true);
+					if (!variables.isEmpty()) {
+						putUriTemplateVariables(exchange, variables);
 					}
-					exchange.getAttributes().put(GATEWAY_PREDICATE_MATCHED_PATH_ATTR, match.getPatternString());
+					exchange.getAttributes().put(GATEWAY_PREDICATE_MATCHED_PATH_ATTR, match);
 					String routeId = (String) exchange.getAttributes().get(GATEWAY_PREDICATE_ROUTE_ATTR);
 					if (routeId != null) {
 						// populated in RoutePredicateHandlerMapping
@@ -151,6 +172,15 @@ public class PathRoutePredicateFactory extends AbstractRoutePredicateFactory<Pat
 		};
 	}
 
+	private static @Nullable Map<String, String> matchAndExtract(PathPattern pathPattern, PathContainer path) {
+		if (pathPattern.getPatternString().indexOf('{') == -1) {
+			// no variables to extract
+			return pathPattern.matches(path) ? Collections.emptyMap() : null;
+		}
+		PathMatchInfo pathMatchInfo = pathPattern.matchAndExtract(path);
+		return (pathMatchInfo != null) ? pathMatchInfo.getUriVariables() : null;
+	}
+
 	public static class Config {
 
 		private List<String> patterns = new ArrayList<>();
@@ -24,6 +24,7 @@ import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotEmpty;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.cloud.gateway.support.RegexpMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -58,10 +59,13 @@ public class QueryRoutePredicateFactory extends AbstractRoutePredicateFactory<Qu
 
 	@Override
 	public Predicate<ServerWebExchange> apply(Config config) {
+		// the regexp is compiled once instead of on every value
+		@Nullable Predicate<String> predicate = StringUtils.hasText(config.regexp)
+				? RegexpMatcher.compile(config.regexp) : config.predicate;
 		return new GatewayPredicate() {
 			@Override
 			public boolean test(ServerWebExchange exchange) {
-				if (!StringUtils.hasText(config.regexp) && config.predicate == null) {
+				if (predicate == null) {
 					// check existence of header
 					return exchange.getRequest().getQueryParams().containsKey(config.param);
 				}
@@ -71,12 +75,8 @@ public class QueryRoutePredicateFactory extends AbstractRoutePredicateFactory<Qu
 					return false;
 				}
 
-				Predicate<String> predicate = config.predicate;
-				if (StringUtils.hasText(config.regexp)) {
-					predicate = value -> value.matches(config.regexp);
-				}
 				for (String value : values) {
-					if (value != null && predicate != null && predicate.test(value)) {
+					if (value != null && predicate.test(value)) {
 						return true;
 					}
 				}
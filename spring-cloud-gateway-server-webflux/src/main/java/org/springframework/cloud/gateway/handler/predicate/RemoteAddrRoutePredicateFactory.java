@@ -23,13 +23,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
-import io.netty.handler.ipfilter.IpFilterRuleType;
-import io.netty.handler.ipfilter.IpSubnetFilterRule;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cloud.gateway.support.CidrTrie;
 import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -58,17 +57,18 @@ public class RemoteAddrRoutePredicateFactory
 	}
 
 	@NotNull
-	private List<IpSubnetFilterRule> convert(List<String> values) {
-		List<IpSubnetFilterRule> sources = new ArrayList<>();
+	private CidrTrie convert(List<String> values) {
+		List<String> sources = new ArrayList<>();
 		for (String arg : values) {
 			addSource(sources, arg);
 		}
-		return sources;
+		return CidrTrie.of(sources);
 	}
 
 	@Override
 	public Predicate<ServerWebExchange> apply(Config config) {
-		List<IpSubnetFilterRule> sources = convert(config.sources);
+		// a trie lookup costs the same for a handful or tens of thousands of sources
+		CidrTrie sources = convert(config.sources);
 
 		return new GatewayPredicate() {
 			@Override
@@ -82,10 +82,8 @@ public class RemoteAddrRoutePredicateFactory
 						log.debug("Remote addresses didn't match " + hostAddress + " != " + host);
 					}
 
-					for (IpSubnetFilterRule source : sources) {
-						if (source.matches(remoteAddress)) {
-							return true;
-						}
+					if (sources.contains(remoteAddress.getAddress())) {
+						return true;
 					}
 				}
 
@@ -104,16 +102,11 @@ public class RemoteAddrRoutePredicateFactory
 		};
 	}
 
-	private void addSource(List<IpSubnetFilterRule> sources, String source) {
+	private void addSource(List<String> sources, String source) {
 		if (!source.contains("/")) { // no netmask, add default
 			source = source + "/32";
 		}
-
-		String[] ipAddressCidrPrefix = source.split("/", 2);
-		String ipAddress = ipAddressCidrPrefix[0];
-		int cidrPrefix = Integer.parseInt(ipAddressCidrPrefix[1]);
-
-		sources.add(new IpSubnetFilterRule(ipAddress, cidrPrefix, IpFilterRuleType.ACCEPT));
+		sources.add(source);
 	}
 
 	public static class Config {
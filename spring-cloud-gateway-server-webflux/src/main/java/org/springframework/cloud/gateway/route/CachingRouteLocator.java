@@ -16,20 +16,31 @@
 
 package org.springframework.cloud.gateway.route;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
-import reactor.cache.CacheFlux;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
 import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
 import org.springframework.context.ApplicationEventPublisher;
@@ -41,24 +52,71 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 /**
  * @author Spencer Gibb
  */
-public class CachingRouteLocator
-		implements Ordered, RouteLocator, ApplicationListener<RefreshRoutesEvent>, ApplicationEventPublisherAware {
+public class CachingRouteLocator implements Ordered, RouteLocator, ApplicationListener<RefreshRoutesEvent>,
+		ApplicationEventPublisherAware, DisposableBean {
 
 	private static final Log log = LogFactory.getLog(CachingRouteLocator.class);
 
-	private static final String CACHE_KEY = "routes";
-
 	private final RouteLocator delegate;
 
 	private final Flux<Route> routes;
 
-	private final Map<String, List> cache = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	private volatile @Nullable RouteSnapshot snapshot;
 
 	private @Nullable ApplicationEventPublisher applicationEventPublisher;
 
+	private final Duration quietPeriod;
+
+	private final Duration maxDelay;
+
+	private final @Nullable Scheduler refreshScheduler;
+
+	private final Object refreshMonitor = new Object();
+
+	private final List<Map<String, Object>> pendingScopes = new ArrayList<>();
+
+	private boolean pendingFullRefresh;
+
+	private int pendingRefreshCount;
+
+	private long firstPendingNanos;
+
+	private boolean refreshing;
+
+	private @Nullable Disposable scheduledRefresh;
+
+	private final LongAdder refreshCount = new LongAdder();
+
+	private final LongAdder refreshTotalTimeNanos = new LongAdder();
+
 	public CachingRouteLocator(RouteLocator delegate) {
+		this(delegate, Duration.ZERO, Duration.ZERO);
+	}
+
+	/**
+	 * Creates a locator that coalesces refresh events received within the quiet period
+	 * into a single rebuild. A refresh is never deferred longer than the max delay after
+	 * the first pending event. A zero quiet period rebuilds immediately on the calling
+	 * thread, still running at most one rebuild at a time.
+	 * @param delegate the route locator to cache
+	 * @param quietPeriod time without new refresh events before a rebuild starts
+	 * @param maxDelay maximum time a rebuild may be deferred
+	 */
+	public CachingRouteLocator(RouteLocator delegate, Duration quietPeriod, Duration maxDelay) {
 		this.delegate = delegate;
-		routes = CacheFlux.lookup(cache, CACHE_KEY, Route.class).onCacheMissResume(this::fetch);
+		this.quietPeriod = quietPeriod;
+		this.maxDelay = maxDelay;
+		this.refreshScheduler = quietPeriod.isZero() || quietPeriod.isNegative() ? null
+				: Schedulers.newSingle("gateway-route-refresh", true);
+		routes = Flux.defer(() -> {
+			RouteSnapshot current = this.snapshot;
+			if (current != null) {
+				return current.toFlux();
+			}
+			return fetch().collectList().map(this::initSnapshot).flatMapMany(RouteSnapshot::toFlux);
+		});
 	}
 
 	private Flux<Route> fetch() {
@@ -74,52 +132,191 @@ public class CachingRouteLocator
 		return this.routes;
 	}
 
+	/**
+	 * Returns the currently published routes without subscribing to the delegate.
+	 * @return the current snapshot or {@code null} if routes have not been loaded yet
+	 */
+	public @Nullable RouteSnapshot getSnapshot() {
+		return this.snapshot;
+	}
+
 	/**
 	 * Clears the routes cache.
 	 * @return routes flux
 	 */
 	public Flux<Route> refresh() {
-		this.cache.remove(CACHE_KEY);
+		this.snapshot = null;
 		return this.routes;
 	}
 
+	private synchronized RouteSnapshot initSnapshot(List<Route> routes) {
+		RouteSnapshot current = this.snapshot;
+		if (current == null) {
+			current = new RouteSnapshot(this.generation.incrementAndGet(), routes);
+			this.snapshot = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Returns the number of refresh events received but not yet picked up by a rebuild.
+	 * @return the number of pending refresh events
+	 */
+	public int getPendingRefreshCount() {
+		synchronized (this.refreshMonitor) {
+			return this.pendingRefreshCount;
+		}
+	}
+
+	/**
+	 * @return the number of completed rebuilds, successful or not
+	 */
+	public long getRefreshCount() {
+		return this.refreshCount.sum();
+	}
+
+	/**
+	 * @return the accumulated duration of all completed rebuilds in nanoseconds
+	 */
+	public long getRefreshTotalTimeNanos() {
+		return this.refreshTotalTimeNanos.sum();
+	}
+
 	@Override
 	public void onApplicationEvent(RefreshRoutesEvent event) {
-		try {
-			if (this.cache.containsKey(CACHE_KEY) && event.isScoped()) {
-				final Mono<List<Route>> scopedRoutes = fetch(event.getMetadata()).collect(Collectors.toList())
-					.onErrorResume(s -> Mono.just(List.of()));
-
-				scopedRoutes.subscribe(scopedRoutesList -> {
-					updateCache(Flux.concat(Flux.fromIterable(scopedRoutesList), getNonScopedRoutes(event))
-						.sort(AnnotationAwareOrderComparator.INSTANCE));
-				}, this::handleRefreshError);
+		synchronized (this.refreshMonitor) {
+			if (event.isScoped()) {
+				this.pendingScopes.add(event.getMetadata());
 			}
 			else {
-				final Mono<List<Route>> allRoutes = fetch().collect(Collectors.toList());
-				allRoutes.subscribe(list -> updateCache(Flux.fromIterable(list)), this::handleRefreshError);
+				this.pendingFullRefresh = true;
+			}
+			if (this.pendingRefreshCount++ == 0) {
+				this.firstPendingNanos = System.nanoTime();
+			}
+			if (this.refreshing) {
+				// coalesced into the next rebuild once the running one completes
+				return;
+			}
+			if (this.refreshScheduler != null) {
+				scheduleRefresh();
+				return;
+			}
+		}
+		startRefresh();
+	}
+
+	// must be called while holding refreshMonitor
+	private void scheduleRefresh() {
+		Objects.requireNonNull(this.refreshScheduler, "refreshScheduler is required");
+		if (this.scheduledRefresh != null) {
+			this.scheduledRefresh.dispose();
+		}
+		long remaining = this.maxDelay.toNanos() - (System.nanoTime() - this.firstPendingNanos);
+		long delay = Math.max(0, Math.min(this.quietPeriod.toNanos(), remaining));
+		this.scheduledRefresh = this.refreshScheduler.schedule(this::startRefresh, delay, TimeUnit.NANOSECONDS);
+	}
+
+	private void startRefresh() {
+		boolean fullRefresh;
+		List<Map<String, Object>> scopes;
+		synchronized (this.refreshMonitor) {
+			if (this.refreshing || this.pendingRefreshCount == 0) {
+				return;
 			}
+			this.refreshing = true;
+			fullRefresh = this.pendingFullRefresh || this.snapshot == null;
+			scopes = new ArrayList<>(this.pendingScopes);
+			this.pendingFullRefresh = false;
+			this.pendingScopes.clear();
+			this.pendingRefreshCount = 0;
+			this.scheduledRefresh = null;
+		}
+		long start = System.nanoTime();
+		try {
+			Flux<Route> routes = fullRefresh ? fetch() : fetchScoped(scopes);
+			routes.collect(Collectors.toList())
+				.doFinally(signal -> completeRefresh(start))
+				.subscribe(this::publishRefreshEvent, this::handleRefreshError);
 		}
 		catch (Throwable e) {
 			handleRefreshError(e);
+			completeRefresh(start);
 		}
 	}
 
-	private synchronized void updateCache(Flux<Route> routes) {
-		routes.materialize()
-			.collect(Collectors.toList())
-			.subscribe(this::publishRefreshEvent, this::handleRefreshError);
+	private void completeRefresh(long start) {
+		this.refreshCount.increment();
+		this.refreshTotalTimeNanos.add(System.nanoTime() - start);
+		boolean startNext = false;
+		synchronized (this.refreshMonitor) {
+			this.refreshing = false;
+			if (this.pendingRefreshCount > 0) {
+				if (this.refreshScheduler != null) {
+					scheduleRefresh();
+				}
+				else {
+					startNext = true;
+				}
+			}
+		}
+		if (startNext) {
+			startRefresh();
+		}
+	}
+
+	private Flux<Route> fetchScoped(List<Map<String, Object>> scopes) {
+		Flux<Route> scopedRoutes = Flux.fromIterable(scopes)
+			.concatMap(metadata -> fetch(metadata).collect(Collectors.toList())
+				.onErrorResume(s -> Mono.just(List.of()))
+				.flatMapIterable(list -> list))
+			.distinct();
+		return Flux.concat(scopedRoutes, getNonScopedRoutes(scopes)).sort(AnnotationAwareOrderComparator.INSTANCE);
 	}
 
-	private void publishRefreshEvent(List<Signal<Route>> signals) {
-		cache.put(CACHE_KEY, signals);
+	private void publishRefreshEvent(List<Route> routes) {
+		RouteSnapshot previous;
+		RouteSnapshot current;
+		synchronized (this) {
+			previous = this.snapshot;
+			current = new RouteSnapshot(this.generation.incrementAndGet(), routes);
+			this.snapshot = current;
+		}
 		Objects.requireNonNull(applicationEventPublisher, "ApplicationEventPublisher is required");
-		applicationEventPublisher.publishEvent(new RefreshRoutesResultEvent(this));
+		applicationEventPublisher.publishEvent(createResultEvent(previous, current));
 	}
 
-	private Flux<Route> getNonScopedRoutes(RefreshRoutesEvent scopedEvent) {
+	/**
+	 * Routes are compared by identity, so a route is only reported unchanged when the
+	 * delegate handed back the very same instance.
+	 */
+	private RefreshRoutesResultEvent createResultEvent(@Nullable RouteSnapshot previous, RouteSnapshot current) {
+		Set<Route> previousRoutes = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (previous != null) {
+			previousRoutes.addAll(previous.getRoutes());
+		}
+		Set<String> currentIds = new HashSet<>();
+		Set<String> changed = new LinkedHashSet<>();
+		for (Route route : current.getRoutes()) {
+			currentIds.add(route.getId());
+			if (!previousRoutes.contains(route)) {
+				changed.add(route.getId());
+			}
+		}
+		Set<String> removed = new LinkedHashSet<>();
+		for (Route route : previousRoutes) {
+			if (!currentIds.contains(route.getId())) {
+				removed.add(route.getId());
+			}
+		}
+		return new RefreshRoutesResultEvent(this, Collections.unmodifiableSet(changed),
+				Collections.unmodifiableSet(removed));
+	}
+
+	private Flux<Route> getNonScopedRoutes(List<Map<String, Object>> scopes) {
 		return this.getRoutes()
-			.filter(route -> !RouteLocator.matchMetadata(route.getMetadata(), scopedEvent.getMetadata()));
+			.filter(route -> scopes.stream()
+				.noneMatch(metadata -> RouteLocator.matchMetadata(route.getMetadata(), metadata)));
 	}
 
 	private void handleRefreshError(Throwable throwable) {
@@ -135,6 +332,13 @@ public class CachingRouteLocator
 		return 0;
 	}
 
+	@Override
+	public void destroy() {
+		if (this.refreshScheduler != null) {
+			this.refreshScheduler.dispose();
+		}
+	}
+
 	@Override
 	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
 		this.applicationEventPublisher = applicationEventPublisher;
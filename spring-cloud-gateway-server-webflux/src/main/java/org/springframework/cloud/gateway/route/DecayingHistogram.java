@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.route;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Log-linear histogram of non-negative values that forgets old samples. Values fall into
+ * buckets of eight per power of two and percentiles report the upper bound of their
+ * bucket, so they overestimate the recorded value by less than 12.5%. Values above
+ * {@link #MAX_VALUE}, over 17 minutes when recording microseconds, share the last
+ * bucket. Samples are kept in two generations that rotate every window, percentiles are
+ * computed over both, covering between one and two windows of history. Both generations
+ * take under 2 KB, so a histogram can be kept for each of many routes.
+ */
+final class DecayingHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	static final long MAX_VALUE = (1L << 30) - 1;
+
+	static final int BUCKETS = index(MAX_VALUE) + 1;
+
+	private final long windowNanos;
+
+	// int counts, a bucket would need over 35 million samples a second to overflow
+	private volatile AtomicIntegerArray current = new AtomicIntegerArray(BUCKETS);
+
+	private volatile AtomicIntegerArray previous = new AtomicIntegerArray(BUCKETS);
+
+	private volatile long windowStart;
+
+	DecayingHistogram(long windowNanos, long now) {
+		this.windowNanos = windowNanos;
+		this.windowStart = now;
+	}
+
+	void record(long now, long value) {
+		rotate(now);
+		this.current.incrementAndGet(index(Math.max(value, 0)));
+	}
+
+	/**
+	 * @param now the current {@link System#nanoTime()}
+	 * @param percentile the percentile between {@code 0} and {@code 1}
+	 * @return the upper bound of the bucket holding the percentile, or {@code -1} when
+	 * there are no samples
+	 */
+	long percentile(long now, double percentile) {
+		rotate(now);
+		AtomicIntegerArray current = this.current;
+		AtomicIntegerArray previous = this.previous;
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += (long) current.get(i) + previous.get(i);
+		}
+		if (total == 0) {
+			return -1;
+		}
+		// counts are read again rather than copied, concurrent updates only shift the
+		// result by a few samples
+		long rank = Math.max(1, (long) Math.ceil(percentile * total));
+		long seen = 0;
+		int last = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			long count = (long) current.get(i) + previous.get(i);
+			if (count > 0) {
+				seen += count;
+				last = i;
+				if (seen >= rank) {
+					return upperBound(i);
+				}
+			}
+		}
+		return upperBound(last);
+	}
+
+	private void rotate(long now) {
+		if (now - this.windowStart < this.windowNanos) {
+			return;
+		}
+		synchronized (this) {
+			long elapsed = now - this.windowStart;
+			if (elapsed < this.windowNanos) {
+				return;
+			}
+			AtomicIntegerArray recycled = this.previous;
+			clear(recycled);
+			if (elapsed >= 2 * this.windowNanos) {
+				// idle for more than a window, nothing recent is left
+				clear(this.current);
+			}
+			this.previous = this.current;
+			this.current = recycled;
+			this.windowStart = now - (elapsed % this.windowNanos);
+		}
+	}
+
+	private static void clear(AtomicIntegerArray counts) {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+	}
+
+	static int index(long value) {
+		long bounded = Math.min(value, MAX_VALUE);
+		if (bounded < SUB_BUCKETS) {
+			return (int) bounded;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(bounded);
+		int subBucket = (int) ((bounded >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		long lowerBound = (SUB_BUCKETS + index % SUB_BUCKETS) * width;
+		return lowerBound + width - 1;
+	}
+
+}
@@ -57,6 +57,10 @@ public class Route implements Ordered {
 
 	private final Map<String, Object> metadata;
 
+	// routes are not modified once built and are used as cache keys on the request
+	// path, so the hash is computed once, the same way String does
+	private int hash;
+
 	private Route(String id, URI uri, int order, AsyncPredicate<ServerWebExchange> predicate,
 			List<GatewayFilter> gatewayFilters, Map<String, Object> metadata) {
 		this.id = id;
@@ -145,7 +149,12 @@ public class Route implements Ordered {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.id, this.uri, this.order, this.predicate, this.gatewayFilters, this.metadata);
+		int h = this.hash;
+		if (h == 0) {
+			h = Objects.hash(this.id, this.uri, this.order, this.predicate, this.gatewayFilters, this.metadata);
+			this.hash = h;
+		}
+		return h;
 	}
 
 	@Override
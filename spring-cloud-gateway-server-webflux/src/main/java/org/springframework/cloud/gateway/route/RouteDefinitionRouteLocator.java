@@ -22,11 +22,20 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.gateway.config.GatewayProperties;
 import org.springframework.cloud.gateway.event.FilterArgsEvent;
 import org.springframework.cloud.gateway.event.PredicateArgsEvent;
@@ -39,6 +48,7 @@ import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
 import org.springframework.cloud.gateway.handler.predicate.RoutePredicateFactory;
 import org.springframework.cloud.gateway.support.ConfigurationService;
 import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.CollectionUtils;
@@ -49,7 +59,7 @@ import org.springframework.web.server.ServerWebExchange;
  *
  * @author Spencer Gibb
  */
-public class RouteDefinitionRouteLocator implements RouteLocator {
+public class RouteDefinitionRouteLocator implements RouteLocator, DisposableBean {
 
 	/**
 	 * Default filters name.
@@ -68,6 +78,10 @@ public class RouteDefinitionRouteLocator implements RouteLocator {
 
 	private final GatewayProperties gatewayProperties;
 
+	private final Map<String, CompiledRoute> compiledRoutes = new ConcurrentHashMap<>();
+
+	private volatile @Nullable Scheduler compilationScheduler;
+
 	public RouteDefinitionRouteLocator(RouteDefinitionLocator routeDefinitionLocator,
 			List<RoutePredicateFactory> predicates, List<GatewayFilterFactory> gatewayFilterFactories,
 			GatewayProperties gatewayProperties, ConfigurationService configurationService) {
@@ -104,20 +118,62 @@ public class RouteDefinitionRouteLocator implements RouteLocator {
 
 	@Override
 	public Flux<Route> getRoutes() {
-		return getRoutes(this.routeDefinitionLocator.getRouteDefinitions());
+		if (!this.gatewayProperties.isCompiledRouteCacheEnabled()) {
+			return getRoutes(this.routeDefinitionLocator.getRouteDefinitions());
+		}
+		return Flux.defer(() -> {
+			// a full load is the only place where removed definitions can be detected
+			Set<String> loadedIds = ConcurrentHashMap.newKeySet();
+			return getRoutes(this.routeDefinitionLocator.getRouteDefinitions().doOnNext(routeDefinition -> {
+				if (routeDefinition.getId() != null) {
+					loadedIds.add(routeDefinition.getId());
+				}
+			}).doOnComplete(() -> this.compiledRoutes.keySet().retainAll(loadedIds)));
+		});
 	}
 
 	private Flux<Route> getRoutes(Flux<RouteDefinition> routeDefinitions) {
-		Flux<Route> routes = routeDefinitions.map(this::convertToRoute);
-
-		if (!gatewayProperties.isFailOnRouteDefinitionError()) {
-			// instead of letting error bubble up, continue
-			routes = routes.onErrorContinue((error, obj) -> {
-				if (logger.isWarnEnabled()) {
-					logger.warn("RouteDefinition id " + ((RouteDefinition) obj).getId()
-							+ " will be ignored. Definition has invalid configs, " + error.getMessage());
+		return Flux.defer(() -> {
+			// default filters are compiled at most once per load and shared by its routes
+			DefaultFilters defaultFilters = new DefaultFilters(
+					new ArrayList<>(this.gatewayProperties.getDefaultFilters()));
+			// so are identical route filters and predicates when enabled
+			SharedDefinitions sharedDefinitions = this.gatewayProperties.isRouteComponentSharingEnabled()
+					? new SharedDefinitions() : null;
+			return getRoutes(routeDefinitions, defaultFilters, sharedDefinitions);
+		});
+	}
+
+	private Flux<Route> getRoutes(Flux<RouteDefinition> routeDefinitions, DefaultFilters defaultFilters,
+			@Nullable SharedDefinitions sharedDefinitions) {
+		Function<RouteDefinition, Route> converter = this.gatewayProperties.isCompiledRouteCacheEnabled()
+				? routeDefinition -> getOrConvertToRoute(routeDefinition, defaultFilters, sharedDefinitions)
+				: routeDefinition -> convertToRoute(routeDefinition, defaultFilters, sharedDefinitions);
+		int parallelism = this.gatewayProperties.getRouteCompilationParallelism();
+		Flux<Route> routes;
+
+		if (parallelism > 1) {
+			Scheduler scheduler = getCompilationScheduler(parallelism);
+			// flatMapSequential keeps the definition order regardless of completion order
+			routes = routeDefinitions.flatMapSequential(routeDefinition -> {
+				Mono<Route> route = Mono.fromCallable(() -> converter.apply(routeDefinition)).subscribeOn(scheduler);
+				if (!gatewayProperties.isFailOnRouteDefinitionError()) {
+					route = route.onErrorResume(error -> {
+						warnInvalidRouteDefinition(routeDefinition, error);
+						return Mono.empty();
+					});
 				}
-			});
+				return route;
+			}, parallelism);
+		}
+		else {
+			routes = routeDefinitions.map(converter);
+
+			if (!gatewayProperties.isFailOnRouteDefinitionError()) {
+				// instead of letting error bubble up, continue
+				routes = routes
+					.onErrorContinue((error, obj) -> warnInvalidRouteDefinition((RouteDefinition) obj, error));
+			}
 		}
 
 		return routes.map(route -> {
@@ -128,75 +184,169 @@ public class RouteDefinitionRouteLocator implements RouteLocator {
 		});
 	}
 
-	private Route convertToRoute(RouteDefinition routeDefinition) {
-		AsyncPredicate<ServerWebExchange> predicate = combinePredicates(routeDefinition);
-		List<GatewayFilter> gatewayFilters = getFilters(routeDefinition);
+	private void warnInvalidRouteDefinition(RouteDefinition routeDefinition, Throwable error) {
+		if (logger.isWarnEnabled()) {
+			logger.warn("RouteDefinition id " + routeDefinition.getId()
+					+ " will be ignored. Definition has invalid configs, " + error.getMessage());
+		}
+	}
+
+	private Scheduler getCompilationScheduler(int parallelism) {
+		Scheduler scheduler = this.compilationScheduler;
+		if (scheduler == null) {
+			synchronized (this) {
+				scheduler = this.compilationScheduler;
+				if (scheduler == null) {
+					scheduler = Schedulers.newParallel("gateway-route-compiler", parallelism, true);
+					this.compilationScheduler = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	@Override
+	public void destroy() {
+		Scheduler scheduler = this.compilationScheduler;
+		if (scheduler != null) {
+			scheduler.dispose();
+		}
+	}
+
+	/**
+	 * Returns the previously compiled route when neither the definition nor the default
+	 * filters changed, otherwise compiles and caches a new one.
+	 */
+	private Route getOrConvertToRoute(RouteDefinition routeDefinition, DefaultFilters defaultFilters,
+			@Nullable SharedDefinitions sharedDefinitions) {
+		String id = routeDefinition.getId();
+		if (id == null) {
+			return convertToRoute(routeDefinition, defaultFilters, sharedDefinitions);
+		}
+		RouteDefinitionKey key = new RouteDefinitionKey(routeDefinition, defaultFilters.definitions);
+		CompiledRoute compiled = this.compiledRoutes.get(id);
+		if (compiled != null && compiled.key().equals(key)) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("RouteDefinition " + id + " unchanged, reusing compiled route");
+			}
+			return compiled.route();
+		}
+		Route route = convertToRoute(routeDefinition, defaultFilters, sharedDefinitions);
+		this.compiledRoutes.put(id, new CompiledRoute(key, route));
+		return route;
+	}
+
+	private Route convertToRoute(RouteDefinition routeDefinition, DefaultFilters defaultFilters,
+			@Nullable SharedDefinitions sharedDefinitions) {
+		AsyncPredicate<ServerWebExchange> predicate = combinePredicates(routeDefinition, sharedDefinitions);
+		List<GatewayFilter> gatewayFilters = getFilters(routeDefinition, defaultFilters, sharedDefinitions);
 
 		return Route.async(routeDefinition).asyncPredicate(predicate).replaceFilters(gatewayFilters).build();
 	}
 
-	@SuppressWarnings("unchecked")
 	List<GatewayFilter> loadGatewayFilters(String id, List<FilterDefinition> filterDefinitions) {
 		ArrayList<GatewayFilter> ordered = new ArrayList<>(filterDefinitions.size());
 		for (int i = 0; i < filterDefinitions.size(); i++) {
-			FilterDefinition definition = filterDefinitions.get(i);
-			GatewayFilterFactory factory = this.gatewayFilterFactories.get(definition.getName());
-			if (factory == null) {
-				throw new IllegalArgumentException(
-						"Unable to find GatewayFilterFactory with name " + definition.getName());
-			}
-			if (logger.isDebugEnabled()) {
-				logger.debug("RouteDefinition " + id + " applying filter " + definition.getArgs() + " to "
-						+ definition.getName());
-			}
+			ordered.add(loadGatewayFilter(id, filterDefinitions.get(i), i, null));
+		}
 
-			// @formatter:off
-			Object configuration = this.configurationService.with(factory)
-					.name(definition.getName())
-					.properties(definition.getArgs())
-					.eventFunction((bound, properties) -> new FilterArgsEvent(
-							// TODO: why explicit cast needed or java compile fails
-							RouteDefinitionRouteLocator.this, id, (Map<String, Object>) properties))
-					.bind();
-			// @formatter:on
+		return ordered;
+	}
 
-			// some filters require routeId
-			// TODO: is there a better place to apply this?
-			if (configuration instanceof HasRouteId hasRouteId) {
-				hasRouteId.setRouteId(id);
+	private GatewayFilter loadSharedGatewayFilter(String id, FilterDefinition definition, int index,
+			@Nullable SharedDefinitions sharedDefinitions) {
+		if (sharedDefinitions == null
+				|| HasRouteId.class.isAssignableFrom(getGatewayFilterFactory(definition).getConfigClass())) {
+			return loadGatewayFilter(id, definition, index, null);
+		}
+		List<Object> key = List.of(Objects.toString(definition.getName()), new HashMap<>(definition.getArgs()), index);
+		Shared<GatewayFilter> shared = sharedDefinitions.filters.get(key);
+		if (shared != null) {
+			Map<String, Object> args = shared.args();
+			ApplicationEventPublisher publisher = this.configurationService.getPublisher();
+			if (args != null && publisher != null) {
+				publisher.publishEvent(new FilterArgsEvent(this, id, args));
 			}
+			return shared.value();
+		}
+		Map<String, Object>[] boundArgs = newArgsArray(1);
+		GatewayFilter gatewayFilter = loadGatewayFilter(id, definition, index, args -> boundArgs[0] = args);
+		sharedDefinitions.filters.putIfAbsent(key, new Shared<>(gatewayFilter, boundArgs[0]));
+		return gatewayFilter;
+	}
 
-			GatewayFilter gatewayFilter = factory.apply(configuration);
-			if (gatewayFilter instanceof Ordered) {
-				ordered.add(gatewayFilter);
-			}
-			else {
-				ordered.add(new OrderedGatewayFilter(gatewayFilter, i + 1));
-			}
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object>[] newArgsArray(int size) {
+		return new Map[size];
+	}
+
+	@SuppressWarnings("unchecked")
+	private GatewayFilter loadGatewayFilter(String id, FilterDefinition definition, int index,
+			@Nullable Consumer<Map<String, Object>> boundArgs) {
+		GatewayFilterFactory factory = getGatewayFilterFactory(definition);
+		if (logger.isDebugEnabled()) {
+			logger.debug("RouteDefinition " + id + " applying filter " + definition.getArgs() + " to "
+					+ definition.getName());
 		}
 
-		return ordered;
+		// @formatter:off
+		Object configuration = this.configurationService.with(factory)
+				.name(definition.getName())
+				.properties(definition.getArgs())
+				.eventFunction((bound, properties) -> {
+					if (boundArgs != null) {
+						boundArgs.accept((Map<String, Object>) properties);
+					}
+					// TODO: why explicit cast needed or java compile fails
+					return new FilterArgsEvent(RouteDefinitionRouteLocator.this, id, (Map<String, Object>) properties);
+				})
+				.bind();
+		// @formatter:on
+
+		// some filters require routeId
+		// TODO: is there a better place to apply this?
+		if (configuration instanceof HasRouteId hasRouteId) {
+			hasRouteId.setRouteId(id);
+		}
+
+		GatewayFilter gatewayFilter = factory.apply(configuration);
+		if (gatewayFilter instanceof Ordered) {
+			return gatewayFilter;
+		}
+		return new OrderedGatewayFilter(gatewayFilter, index + 1);
 	}
 
-	private List<GatewayFilter> getFilters(RouteDefinition routeDefinition) {
+	private GatewayFilterFactory getGatewayFilterFactory(FilterDefinition definition) {
+		GatewayFilterFactory factory = this.gatewayFilterFactories.get(definition.getName());
+		if (factory == null) {
+			throw new IllegalArgumentException("Unable to find GatewayFilterFactory with name " + definition.getName());
+		}
+		return factory;
+	}
+
+	private List<GatewayFilter> getFilters(RouteDefinition routeDefinition, DefaultFilters defaultFilters,
+			@Nullable SharedDefinitions sharedDefinitions) {
 		List<GatewayFilter> filters = new ArrayList<>();
 		Objects.requireNonNull(routeDefinition.getId(), "Route id must be set");
 		// TODO: support option to apply defaults after route specific filters?
-		if (!this.gatewayProperties.getDefaultFilters().isEmpty()) {
-			filters.addAll(loadGatewayFilters(routeDefinition.getId(),
-					new ArrayList<>(this.gatewayProperties.getDefaultFilters())));
+		if (!defaultFilters.definitions.isEmpty()) {
+			filters.addAll(defaultFilters.forRoute(routeDefinition.getId()));
 		}
 
 		final List<FilterDefinition> definitionFilters = routeDefinition.getFilters();
 		if (!CollectionUtils.isEmpty(definitionFilters)) {
-			filters.addAll(loadGatewayFilters(routeDefinition.getId(), definitionFilters));
+			for (int i = 0; i < definitionFilters.size(); i++) {
+				filters.add(loadSharedGatewayFilter(routeDefinition.getId(), definitionFilters.get(i), i,
+						sharedDefinitions));
+			}
 		}
 
 		AnnotationAwareOrderComparator.sort(filters);
 		return filters;
 	}
 
-	private AsyncPredicate<ServerWebExchange> combinePredicates(RouteDefinition routeDefinition) {
+	private AsyncPredicate<ServerWebExchange> combinePredicates(RouteDefinition routeDefinition,
+			@Nullable SharedDefinitions sharedDefinitions) {
 		List<PredicateDefinition> predicates = routeDefinition.getPredicates();
 		if (predicates == null || predicates.isEmpty()) {
 			// this is a very rare case, but possible, just match all
@@ -204,16 +354,45 @@ public class RouteDefinitionRouteLocator implements RouteLocator {
 		}
 
 		return predicates.stream()
-			.map(nextPredicate -> lookup(routeDefinition, nextPredicate))
+			.map(nextPredicate -> lookupShared(routeDefinition, nextPredicate, sharedDefinitions))
 			.reduce(AsyncPredicate.from(exchange -> true), AsyncPredicate::and);
 	}
 
+	private AsyncPredicate<ServerWebExchange> lookupShared(RouteDefinition route, PredicateDefinition predicate,
+			@Nullable SharedDefinitions sharedDefinitions) {
+		RoutePredicateFactory<Object> factory = getRoutePredicateFactory(predicate);
+		String routeId = Objects.requireNonNull(route.getId(), "Route id must be set");
+		if (sharedDefinitions == null || HasRouteId.class.isAssignableFrom(factory.getConfigClass())) {
+			return lookup(route, predicate, factory, null);
+		}
+		List<Object> key = List.of(Objects.toString(predicate.getName()), new HashMap<>(predicate.getArgs()));
+		Shared<AsyncPredicate<ServerWebExchange>> shared = sharedDefinitions.predicates.get(key);
+		if (shared != null) {
+			Map<String, Object> args = shared.args();
+			ApplicationEventPublisher publisher = this.configurationService.getPublisher();
+			if (args != null && publisher != null) {
+				publisher.publishEvent(new PredicateArgsEvent(this, routeId, args));
+			}
+			return shared.value();
+		}
+		Map<String, Object>[] boundArgs = newArgsArray(1);
+		AsyncPredicate<ServerWebExchange> asyncPredicate = lookup(route, predicate, factory,
+				args -> boundArgs[0] = args);
+		sharedDefinitions.predicates.putIfAbsent(key, new Shared<>(asyncPredicate, boundArgs[0]));
+		return asyncPredicate;
+	}
+
 	@SuppressWarnings("unchecked")
-	private AsyncPredicate<ServerWebExchange> lookup(RouteDefinition route, PredicateDefinition predicate) {
+	private RoutePredicateFactory<Object> getRoutePredicateFactory(PredicateDefinition predicate) {
 		RoutePredicateFactory<Object> factory = this.predicates.get(predicate.getName());
 		if (factory == null) {
 			throw new IllegalArgumentException("Unable to find RoutePredicateFactory with name " + predicate.getName());
 		}
+		return factory;
+	}
+
+	private AsyncPredicate<ServerWebExchange> lookup(RouteDefinition route, PredicateDefinition predicate,
+			RoutePredicateFactory<Object> factory, @Nullable Consumer<Map<String, Object>> boundArgs) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("RouteDefinition " + route.getId() + " applying " + predicate.getArgs() + " to "
 					+ predicate.getName());
@@ -225,6 +404,9 @@ public class RouteDefinitionRouteLocator implements RouteLocator {
 				.properties(predicate.getArgs())
 				.eventFunction((bound, properties) -> {
 					Objects.requireNonNull(route.getId(), "Route id must be set");
+					if (boundArgs != null) {
+						boundArgs.accept(properties);
+					}
 					return new PredicateArgsEvent(RouteDefinitionRouteLocator.this, route.getId(), properties);
 						}
 				)
@@ -234,4 +416,147 @@ public class RouteDefinitionRouteLocator implements RouteLocator {
 		return factory.applyAsync(config);
 	}
 
+	private record CompiledRoute(RouteDefinitionKey key, Route route) {
+	}
+
+	private record Shared<T>(T value, @Nullable Map<String, Object> args) {
+	}
+
+	/**
+	 * Route filters and predicates of a single load, used when
+	 * {@link GatewayProperties#isRouteComponentSharingEnabled()} is set. Definitions with
+	 * the same name and arguments, such as discovery templates that do not reference the
+	 * service, are bound and applied once when their configuration does not implement
+	 * {@link HasRouteId}, and the result is shared by the routes. Events are still
+	 * published for every route, reusing the bound arguments.
+	 */
+	private static final class SharedDefinitions {
+
+		private final Map<List<Object>, Shared<GatewayFilter>> filters = new ConcurrentHashMap<>();
+
+		private final Map<List<Object>, Shared<AsyncPredicate<ServerWebExchange>>> predicates =
+				new ConcurrentHashMap<>();
+
+	}
+
+	/**
+	 * Default filters of a single load. Filters whose configuration does not implement
+	 * {@link HasRouteId} are bound and applied once, with the first route id, and the
+	 * resulting {@link GatewayFilter} is shared by every route. The others are still
+	 * compiled for each route. A {@link FilterArgsEvent} is published for every route
+	 * either way, reusing the arguments bound for the shared filter.
+	 */
+	private final class DefaultFilters {
+
+		private final List<FilterDefinition> definitions;
+
+		private final @Nullable GatewayFilter[] sharedFilters;
+
+		private final @Nullable Map<String, Object>[] sharedArgs;
+
+		private boolean compiled;
+
+		@SuppressWarnings("unchecked")
+		DefaultFilters(List<FilterDefinition> definitions) {
+			this.definitions = definitions;
+			this.sharedFilters = new GatewayFilter[definitions.size()];
+			this.sharedArgs = new Map[definitions.size()];
+		}
+
+		List<GatewayFilter> forRoute(String routeId) {
+			boolean compiledForThisRoute = compile(routeId);
+			List<GatewayFilter> filters = new ArrayList<>(this.definitions.size());
+			for (int i = 0; i < this.definitions.size(); i++) {
+				GatewayFilter shared = this.sharedFilters[i];
+				if (shared == null) {
+					filters.add(loadGatewayFilter(routeId, this.definitions.get(i), i, null));
+					continue;
+				}
+				filters.add(shared);
+				Map<String, Object> args = this.sharedArgs[i];
+				ApplicationEventPublisher publisher = configurationService.getPublisher();
+				if (!compiledForThisRoute && args != null && publisher != null) {
+					publisher.publishEvent(new FilterArgsEvent(RouteDefinitionRouteLocator.this, routeId, args));
+				}
+			}
+			return filters;
+		}
+
+		/**
+		 * Compiles the shareable filters if not done yet.
+		 * @return whether they were compiled, and their events published, for this route
+		 */
+		private synchronized boolean compile(String routeId) {
+			if (this.compiled) {
+				return false;
+			}
+			for (int i = 0; i < this.definitions.size(); i++) {
+				FilterDefinition definition = this.definitions.get(i);
+				if (!HasRouteId.class.isAssignableFrom(getGatewayFilterFactory(definition).getConfigClass())) {
+					int index = i;
+					this.sharedFilters[i] = loadGatewayFilter(routeId, definition, i,
+							args -> this.sharedArgs[index] = args);
+				}
+			}
+			this.compiled = true;
+			return true;
+		}
+
+	}
+
+	/**
+	 * Content key of a {@link RouteDefinition} and the default filters it was compiled
+	 * with. Definitions are mutable, so their content is copied rather than referenced.
+	 */
+	private static final class RouteDefinitionKey {
+
+		private final List<Object> content;
+
+		private final int hash;
+
+		RouteDefinitionKey(RouteDefinition routeDefinition, List<FilterDefinition> defaultFilters) {
+			List<Object> predicates = new ArrayList<>();
+			if (routeDefinition.getPredicates() != null) {
+				for (PredicateDefinition predicate : routeDefinition.getPredicates()) {
+					predicates.add(predicate.getName());
+					predicates.add(new HashMap<>(predicate.getArgs()));
+				}
+			}
+			this.content = List.of(Objects.toString(routeDefinition.getId()),
+					Objects.toString(routeDefinition.getUri()), routeDefinition.getOrder(),
+					new HashMap<>(routeDefinition.getMetadata()), predicates, describe(routeDefinition.getFilters()),
+					describe(defaultFilters));
+			this.hash = this.content.hashCode();
+		}
+
+		private static List<Object> describe(@Nullable List<FilterDefinition> filters) {
+			List<Object> described = new ArrayList<>();
+			if (filters != null) {
+				for (FilterDefinition filter : filters) {
+					described.add(filter.getName());
+					described.add(new HashMap<>(filter.getArgs()));
+				}
+			}
+			return described;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			RouteDefinitionKey that = (RouteDefinitionKey) o;
+			return this.hash == that.hash && this.content.equals(that.content);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
 }
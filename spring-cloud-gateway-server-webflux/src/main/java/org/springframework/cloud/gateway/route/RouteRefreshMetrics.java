@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.route;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics tracking the route refresh pipeline of a {@link CachingRouteLocator}: the
+ * number of refresh events waiting to be coalesced into a rebuild and the time spent
+ * rebuilding routes. Nothing is registered if the route locator is not a
+ * {@link CachingRouteLocator}.
+ */
+public class RouteRefreshMetrics {
+
+	private final String metricsPrefix;
+
+	public RouteRefreshMetrics(MeterRegistry meterRegistry, RouteLocator routeLocator, String metricsPrefix) {
+		if (metricsPrefix.endsWith(".")) {
+			this.metricsPrefix = metricsPrefix.substring(0, metricsPrefix.length() - 1);
+		}
+		else {
+			this.metricsPrefix = metricsPrefix;
+		}
+		if (routeLocator instanceof CachingRouteLocator cachingRouteLocator) {
+			Gauge.builder(this.metricsPrefix + ".routes.refresh.pending", cachingRouteLocator,
+					CachingRouteLocator::getPendingRefreshCount)
+				.description("Route refresh events waiting for the next rebuild")
+				.register(meterRegistry);
+			FunctionTimer
+				.builder(this.metricsPrefix + ".routes.refresh", cachingRouteLocator,
+						CachingRouteLocator::getRefreshCount, CachingRouteLocator::getRefreshTotalTimeNanos,
+						TimeUnit.NANOSECONDS)
+				.description("Time spent rebuilding the cached routes")
+				.register(meterRegistry);
+		}
+	}
+
+	public String getMetricsPrefix() {
+		return metricsPrefix;
+	}
+
+}
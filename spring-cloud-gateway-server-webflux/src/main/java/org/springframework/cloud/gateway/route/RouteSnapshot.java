@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.route;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Immutable, ordered view of the routes published by a {@link CachingRouteLocator}.
+ * Every successful refresh publishes a new snapshot with a higher generation, so
+ * downstream caches can compare generations instead of hashing routes.
+ */
+public final class RouteSnapshot {
+
+	private final long generation;
+
+	private final Route[] routes;
+
+	private final List<Route> routeList;
+
+	RouteSnapshot(long generation, List<Route> routes) {
+		this.generation = generation;
+		this.routes = routes.toArray(new Route[0]);
+		this.routeList = Collections.unmodifiableList(Arrays.asList(this.routes));
+	}
+
+	/**
+	 * @return the generation of this snapshot, increasing with every refresh
+	 */
+	public long getGeneration() {
+		return this.generation;
+	}
+
+	/**
+	 * @return an unmodifiable, ordered list view of the routes
+	 */
+	public List<Route> getRoutes() {
+		return this.routeList;
+	}
+
+	public int size() {
+		return this.routes.length;
+	}
+
+	public Route get(int index) {
+		return this.routes[index];
+	}
+
+	/**
+	 * @return a flux iterating directly over the backing array
+	 */
+	public Flux<Route> toFlux() {
+		return Flux.fromArray(this.routes);
+	}
+
+	@Override
+	public String toString() {
+		return "RouteSnapshot{generation=" + this.generation + ", size=" + this.routes.length + '}';
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.route;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Holds the {@link RouteStats} of every route that received traffic. Statistics of
+ * routes removed by a refresh are dropped.
+ */
+public class RouteStatsRegistry implements ApplicationListener<RefreshRoutesResultEvent> {
+
+	private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+
+	public RouteStats getOrCreate(String routeId) {
+		RouteStats routeStats = this.stats.get(routeId);
+		if (routeStats != null) {
+			return routeStats;
+		}
+		return this.stats.computeIfAbsent(routeId, id -> new RouteStats(id, System.nanoTime()));
+	}
+
+	public @Nullable RouteStats get(String routeId) {
+		return this.stats.get(routeId);
+	}
+
+	/**
+	 * @return a live, unmodifiable view of the statistics, iterating it does not copy
+	 */
+	public Collection<RouteStats> getAll() {
+		return Collections.unmodifiableCollection(this.stats.values());
+	}
+
+	@Override
+	public void onApplicationEvent(RefreshRoutesResultEvent event) {
+		if (event.isSuccess()) {
+			event.getRemovedRouteIds().forEach(this.stats::remove);
+		}
+	}
+
+}
@@ -16,15 +16,16 @@
 
 package org.springframework.cloud.gateway.support;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.style.ToStringCreator;
 
 public abstract class AbstractStatefulConfigurable<C> extends AbstractConfigurable<C>
 		implements StatefulConfigurable<C> {
 
-	private Map<String, C> config = new HashMap<>();
+	// populated from FilterArgsEvent, which may be published by parallel route compilation
+	private Map<String, C> config = new ConcurrentHashMap<>();
 
 	protected AbstractStatefulConfigurable(Class<C> configClass) {
 		super(configClass);
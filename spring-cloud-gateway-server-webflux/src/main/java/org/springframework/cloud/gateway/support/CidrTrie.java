@@ -0,0 +1,306 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import io.netty.util.NetUtil;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable binary radix trie over IPv4 and IPv6 prefixes. Each address bit selects a
+ * branch, so a lookup visits at most 32 or 128 nodes whatever the number of CIDRs and
+ * stops at the first covering prefix. Nodes are stored in a flat {@code int} array and
+ * lookups on raw address bytes do not allocate.
+ * <p>
+ * Like {@link io.netty.handler.ipfilter.IpSubnetFilterRule}, IPv4 prefixes only match
+ * IPv4 addresses and IPv6 prefixes only match IPv6 addresses.
+ */
+public final class CidrTrie {
+
+	private static final int IPV4_BITS = 32;
+
+	private static final int IPV6_BITS = 128;
+
+	private static final CidrTrie EMPTY = new CidrTrie(Prefixes.EMPTY, Prefixes.EMPTY, 0);
+
+	private final Prefixes ipv4;
+
+	private final Prefixes ipv6;
+
+	private final int size;
+
+	private CidrTrie(Prefixes ipv4, Prefixes ipv6, int size) {
+		this.ipv4 = ipv4;
+		this.ipv6 = ipv6;
+		this.size = size;
+	}
+
+	/**
+	 * Builds a trie from CIDR notations such as {@code 10.0.0.0/8} or
+	 * {@code 2001:db8::/32}. An address without a prefix length is a single host.
+	 * @param cidrs the CIDR notations
+	 * @return the trie
+	 * @throws IllegalArgumentException if a CIDR notation is invalid
+	 */
+	public static CidrTrie of(Collection<String> cidrs) {
+		if (cidrs.isEmpty()) {
+			return EMPTY;
+		}
+		Builder ipv4 = new Builder();
+		Builder ipv6 = new Builder();
+		for (String cidr : cidrs) {
+			String trimmed = cidr.trim();
+			int slash = trimmed.indexOf('/');
+			byte[] address = toAddress((slash == -1) ? trimmed : trimmed.substring(0, slash));
+			int bits = address.length * 8;
+			int prefixLength = bits;
+			if (slash != -1) {
+				try {
+					prefixLength = Integer.parseInt(trimmed.substring(slash + 1));
+				}
+				catch (NumberFormatException ex) {
+					throw new IllegalArgumentException("Invalid prefix length in CIDR " + cidr, ex);
+				}
+			}
+			if (prefixLength < 0 || prefixLength > bits) {
+				throw new IllegalArgumentException(
+						"Prefix length of CIDR " + cidr + " must be between 0 and " + bits);
+			}
+			((bits == IPV4_BITS) ? ipv4 : ipv6).add(address, prefixLength);
+		}
+		return new CidrTrie(ipv4.build(), ipv6.build(), cidrs.size());
+	}
+
+	private static byte[] toAddress(String address) {
+		byte[] bytes = NetUtil.createByteArrayFromIpAddressString(address);
+		if (bytes != null) {
+			return bytes;
+		}
+		try {
+			// host names are resolved once, as IpSubnetFilterRule does
+			return InetAddress.getByName(address).getAddress();
+		}
+		catch (UnknownHostException ex) {
+			throw new IllegalArgumentException("Invalid address " + address, ex);
+		}
+	}
+
+	/**
+	 * @param address the address to look up
+	 * @return {@code true} if a prefix covers the address
+	 */
+	public boolean contains(@Nullable InetAddress address) {
+		return address != null && contains(address.getAddress());
+	}
+
+	/**
+	 * @param address the raw bytes of an IPv4 or IPv6 address
+	 * @return {@code true} if a prefix covers the address
+	 */
+	public boolean contains(byte[] address) {
+		if (address.length == 4) {
+			return this.ipv4.contains(address, IPV4_BITS);
+		}
+		return address.length == 16 && this.ipv6.contains(address, IPV6_BITS);
+	}
+
+	/**
+	 * Looks up an address literal as found in {@code Forwarded} and
+	 * {@code X-Forwarded-For} headers. Quotes, IPv6 brackets and ports are ignored and
+	 * host names are never resolved.
+	 * @param host the address literal
+	 * @return {@code true} if the value is an address literal covered by a prefix
+	 */
+	public boolean contains(@Nullable String host) {
+		if (host == null || host.isEmpty()) {
+			return false;
+		}
+		String address = host;
+		if (address.length() > 1 && address.charAt(0) == '"' && address.charAt(address.length() - 1) == '"') {
+			address = address.substring(1, address.length() - 1);
+		}
+		if (!address.isEmpty() && address.charAt(0) == '[') {
+			int end = address.indexOf(']');
+			if (end == -1) {
+				return false;
+			}
+			address = address.substring(1, end);
+		}
+		else {
+			int colon = address.indexOf(':');
+			if (colon != -1 && colon == address.lastIndexOf(':')) {
+				// IPv4 address with a port
+				address = address.substring(0, colon);
+			}
+		}
+		if (address.indexOf(':') == -1) {
+			long ipv4 = parseIpv4(address);
+			return ipv4 != -1 && this.ipv4.contains((int) ipv4);
+		}
+		byte[] bytes = NetUtil.createByteArrayFromIpAddressString(address);
+		return bytes != null && contains(bytes);
+	}
+
+	private static long parseIpv4(String address) {
+		long value = 0;
+		int octets = 0;
+		int octet = -1;
+		for (int i = 0; i <= address.length(); i++) {
+			char c = (i < address.length()) ? address.charAt(i) : '.';
+			if (c == '.') {
+				if (octet == -1 || ++octets > 4) {
+					return -1;
+				}
+				value = (value << 8) | octet;
+				octet = -1;
+			}
+			else if (c >= '0' && c <= '9') {
+				octet = ((octet == -1) ? 0 : octet * 10) + (c - '0');
+				if (octet > 255) {
+					return -1;
+				}
+			}
+			else {
+				return -1;
+			}
+		}
+		return (octets == 4) ? value : -1;
+	}
+
+	/**
+	 * @return {@code true} if the trie contains no prefix
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "CidrTrie{size=" + this.size + '}';
+	}
+
+	/**
+	 * Prefixes of one address family. Node {@code n} has its children at
+	 * {@code 2n} and {@code 2n + 1}, {@code 0} means no child and {@link #COVERED} means
+	 * a prefix ends there.
+	 */
+	private static final class Prefixes {
+
+		private static final int COVERED = -1;
+
+		private static final Prefixes EMPTY = new Prefixes(new int[2], false);
+
+		private final int[] children;
+
+		private final boolean all;
+
+		private Prefixes(int[] children, boolean all) {
+			this.children = children;
+			this.all = all;
+		}
+
+		private boolean contains(byte[] address, int bits) {
+			if (this.all) {
+				return true;
+			}
+			int node = 0;
+			for (int i = 0; i < bits; i++) {
+				int bit = (address[i >>> 3] >>> (7 - (i & 7))) & 1;
+				int child = this.children[(node << 1) | bit];
+				if (child == COVERED) {
+					return true;
+				}
+				if (child == 0) {
+					return false;
+				}
+				node = child;
+			}
+			return false;
+		}
+
+		private boolean contains(int address) {
+			if (this.all) {
+				return true;
+			}
+			int node = 0;
+			for (int i = 0; i < IPV4_BITS; i++) {
+				int bit = (address >>> (31 - i)) & 1;
+				int child = this.children[(node << 1) | bit];
+				if (child == COVERED) {
+					return true;
+				}
+				if (child == 0) {
+					return false;
+				}
+				node = child;
+			}
+			return false;
+		}
+
+	}
+
+	private static final class Builder {
+
+		private int[] children = new int[64];
+
+		private int nodes = 1;
+
+		private boolean all;
+
+		private void add(byte[] address, int prefixLength) {
+			if (prefixLength == 0) {
+				this.all = true;
+				return;
+			}
+			int node = 0;
+			for (int i = 0; i < prefixLength; i++) {
+				int slot = (node << 1) | ((address[i >>> 3] >>> (7 - (i & 7))) & 1);
+				int child = this.children[slot];
+				if (child == Prefixes.COVERED) {
+					// already covered by a shorter prefix
+					return;
+				}
+				if (i == prefixLength - 1) {
+					// longer prefixes below this node become unreachable
+					this.children[slot] = Prefixes.COVERED;
+					return;
+				}
+				if (child == 0) {
+					child = this.nodes++;
+					if (this.nodes << 1 > this.children.length) {
+						this.children = Arrays.copyOf(this.children, this.children.length << 1);
+					}
+					this.children[slot] = child;
+				}
+				node = child;
+			}
+		}
+
+		private Prefixes build() {
+			if (!this.all && this.nodes == 1 && this.children[0] == 0 && this.children[1] == 0) {
+				return Prefixes.EMPTY;
+			}
+			return new Prefixes(Arrays.copyOf(this.children, this.nodes << 1), this.all);
+		}
+
+	}
+
+}
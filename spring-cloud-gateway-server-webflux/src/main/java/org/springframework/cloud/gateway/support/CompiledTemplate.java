@@ -0,0 +1,220 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.web.util.UriUtils;
+
+/**
+ * A {@code {variable}} template parsed once into literal and variable segments, so that
+ * expanding it is a single pass over the segments. Expansion gives the same result as
+ * {@link ServerWebExchangeUtils#expand(org.springframework.web.server.ServerWebExchange, String)},
+ * and templates without variables are expanded to a precomputed value.
+ */
+public final class CompiledTemplate {
+
+	private final String template;
+
+	private final String[] literals;
+
+	private final String[] names;
+
+	private final boolean encodePath;
+
+	private final @Nullable String constant;
+
+	private final int length;
+
+	private CompiledTemplate(String template, List<String> literals, List<String> names, boolean encodePath) {
+		this.template = template;
+		this.literals = literals.toArray(new String[0]);
+		this.names = names.toArray(new String[0]);
+		this.encodePath = encodePath;
+		this.constant = this.names.length == 0 ? this.literals[0] : null;
+		int length = 0;
+		for (String literal : this.literals) {
+			length += literal.length();
+		}
+		this.length = length;
+	}
+
+	/**
+	 * Compiles a template expanded like
+	 * {@code UriComponentsBuilder.fromPath(template).build().expand(variables).getPath()}.
+	 * Templates without {@code {} are left as they are.
+	 * @param template the template
+	 * @return the compiled template
+	 */
+	public static CompiledTemplate compile(String template) {
+		Objects.requireNonNull(template, "template may not be null");
+		if (template.indexOf('{') == -1) {
+			return new CompiledTemplate(template, Collections.singletonList(template), Collections.emptyList(),
+					false);
+		}
+		return parse(template, false);
+	}
+
+	/**
+	 * Compiles a path template expanded and encoded like
+	 * {@code new UriTemplate(template).expand(variables).getRawPath()}.
+	 * @param template the template
+	 * @return the compiled template, or {@code null} if the template is not a plain path
+	 * starting with a single {@code /}
+	 */
+	public static @Nullable CompiledTemplate compileEncodedPath(String template) {
+		Objects.requireNonNull(template, "template may not be null");
+		if (!template.startsWith("/") || template.startsWith("//") || template.indexOf('?') != -1
+				|| template.indexOf('#') != -1) {
+			// parsed as an authority, a query or a fragment by UriTemplate
+			return null;
+		}
+		return parse(template, true);
+	}
+
+	private static CompiledTemplate parse(String template, boolean encodePath) {
+		String source = removeDuplicateSlashes(template);
+		if (source.indexOf('{') != -1 && source.indexOf(':') != -1) {
+			source = removeNestedBraces(source);
+		}
+		List<String> literals = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		int start = 0;
+		int i = source.indexOf('{');
+		// same matches as \{([^/]+?)\} in UriComponents
+		while (i != -1 && i + 1 < source.length()) {
+			int end = (source.charAt(i + 1) != '/') ? findClosingBrace(source, i + 2) : -1;
+			if (end == -1) {
+				i = source.indexOf('{', i + 1);
+				continue;
+			}
+			literals.add(literal(source.substring(start, i), encodePath));
+			String match = source.substring(i + 1, end);
+			int colon = match.indexOf(':');
+			names.add(colon != -1 ? match.substring(0, colon) : match);
+			start = end + 1;
+			i = source.indexOf('{', start);
+		}
+		literals.add(literal(source.substring(start), encodePath));
+		return new CompiledTemplate(template, literals, names, encodePath);
+	}
+
+	private static int findClosingBrace(String source, int from) {
+		for (int i = from; i < source.length(); i++) {
+			char c = source.charAt(i);
+			if (c == '}') {
+				return i;
+			}
+			if (c == '/') {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	// same as the path sanitizing of UriComponentsBuilder
+	private static String removeDuplicateSlashes(String path) {
+		int index = path.indexOf("//");
+		if (index == -1) {
+			return path;
+		}
+		StringBuilder sanitized = new StringBuilder(path);
+		while (index != -1) {
+			sanitized.deleteCharAt(index);
+			index = sanitized.indexOf("//", index);
+		}
+		return sanitized.toString();
+	}
+
+	// same as UriComponents, drops braces nested in a variable such as {id:[0-9]{2}}
+	private static String removeNestedBraces(String source) {
+		int level = 0;
+		StringBuilder sanitized = new StringBuilder(source.length());
+		for (int i = 0; i < source.length(); i++) {
+			char c = source.charAt(i);
+			if (c == '{') {
+				level++;
+			}
+			if (c == '}') {
+				level--;
+			}
+			if (level > 1 || (level == 1 && c == '}')) {
+				continue;
+			}
+			sanitized.append(c);
+		}
+		return sanitized.toString();
+	}
+
+	private static String literal(String literal, boolean encodePath) {
+		return encodePath ? UriUtils.encodePath(literal, StandardCharsets.UTF_8) : literal;
+	}
+
+	/**
+	 * @return the template this was compiled from
+	 */
+	public String getTemplate() {
+		return this.template;
+	}
+
+	/**
+	 * @return {@code true} if the template has no variables and always expands to the
+	 * same value
+	 */
+	public boolean isConstant() {
+		return this.constant != null;
+	}
+
+	/**
+	 * Expands the template with the given variables.
+	 * @param variables the template variables, may be {@code null} if the template is
+	 * constant
+	 * @return the expanded value
+	 * @throws IllegalArgumentException if a variable of the template is missing
+	 */
+	public String expand(@Nullable Map<String, ?> variables) {
+		if (this.constant != null) {
+			return this.constant;
+		}
+		StringBuilder expanded = new StringBuilder(this.length + 16 * this.names.length);
+		for (int i = 0; i < this.names.length; i++) {
+			expanded.append(this.literals[i]);
+			String name = this.names[i];
+			if (variables == null || !variables.containsKey(name)) {
+				throw new IllegalArgumentException("Map has no value for '" + name + "'");
+			}
+			Object value = variables.get(name);
+			String formatted = (value != null) ? value.toString() : "";
+			expanded.append(this.encodePath ? UriUtils.encodePath(formatted, StandardCharsets.UTF_8) : formatted);
+		}
+		expanded.append(this.literals[this.names.length]);
+		return expanded.toString();
+	}
+
+	@Override
+	public String toString() {
+		return this.template;
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.netty.Metrics;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Registers the {@code reactor.netty.connection.provider.*} gauges that Reactor Netty
+ * registers for a pool with metrics enabled. A custom
+ * {@link ConnectionProvider.MeterRegistrar} replaces Reactor Netty's own one, so this
+ * registrar is used next to the {@link PendingAcquireMonitor} to keep those gauges.
+ */
+public class ConnectionPoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+	private final MeterRegistry registry;
+
+	private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+	public ConnectionPoolMeterRegistrar() {
+		this(Metrics.REGISTRY);
+	}
+
+	public ConnectionPoolMeterRegistrar(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+			ConnectionPoolMetrics metrics) {
+		Tags tags = Tags.of(Metrics.ID, id, Metrics.REMOTE_ADDRESS, Metrics.formatSocketAddress(remoteAddress),
+				Metrics.NAME, poolName);
+		this.meters.put(id, List.of(
+				gauge(Metrics.TOTAL_CONNECTIONS, "Number of active or idle connections", tags, metrics,
+						ConnectionPoolMetrics::allocatedSize),
+				gauge(Metrics.ACTIVE_CONNECTIONS, "Number of acquired connections", tags, metrics,
+						ConnectionPoolMetrics::acquiredSize),
+				gauge(Metrics.IDLE_CONNECTIONS, "Number of idle connections", tags, metrics,
+						ConnectionPoolMetrics::idleSize),
+				gauge(Metrics.PENDING_CONNECTIONS, "Number of requests waiting to acquire a connection", tags,
+						metrics, ConnectionPoolMetrics::pendingAcquireSize),
+				gauge(Metrics.MAX_CONNECTIONS, "Maximum number of connections", tags, metrics,
+						ConnectionPoolMetrics::maxAllocatedSize),
+				gauge(Metrics.MAX_PENDING_CONNECTIONS, "Maximum number of requests waiting to acquire a connection",
+						tags, metrics, ConnectionPoolMetrics::maxPendingAcquireSize)));
+	}
+
+	@Override
+	public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+		List<Meter> removed = this.meters.remove(id);
+		if (removed != null) {
+			removed.forEach(this.registry::remove);
+		}
+	}
+
+	private Meter gauge(String name, String description, Tags tags, ConnectionPoolMetrics metrics,
+			ToDoubleFunction<ConnectionPoolMetrics> value) {
+		// keeps the pool metrics reachable until the pool is deregistered
+		return Gauge.builder(Metrics.CONNECTION_PROVIDER_PREFIX + name, metrics, value)
+			.description(description)
+			.tags(tags)
+			.strongReference(true)
+			.register(this.registry);
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_DEADLINE_ATTR;
+
+/**
+ * Point in time, on the {@link System#nanoTime()} clock, by which a request must be
+ * answered. Retries, upstream calls and fallbacks only get the time that is left.
+ */
+public final class Deadline {
+
+	private static final int GRPC_TIMEOUT_MAX_VALUE = 99_999_999;
+
+	/**
+	 * Longest budget, about 73 years, so that deadlines and the {@code nanoTime} clock
+	 * can be compared by difference without overflowing.
+	 */
+	private static final Duration MAX_BUDGET = Duration.ofNanos(Long.MAX_VALUE / 4);
+
+	private final long deadlineNanos;
+
+	private Deadline(long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * @param budget the time the request may take from now, longer budgets are capped
+	 * @return a deadline expiring after the budget
+	 */
+	public static Deadline after(Duration budget) {
+		// Duration.toNanos() throws past 292 years, which client headers can ask for
+		long budgetNanos;
+		if (budget.compareTo(MAX_BUDGET) > 0) {
+			budgetNanos = MAX_BUDGET.toNanos();
+		}
+		else if (budget.compareTo(MAX_BUDGET.negated()) < 0) {
+			budgetNanos = -MAX_BUDGET.toNanos();
+		}
+		else {
+			budgetNanos = budget.toNanos();
+		}
+		// like nanoTime values, the sum may wrap; it is only ever compared by difference
+		return new Deadline(System.nanoTime() + budgetNanos);
+	}
+
+	/**
+	 * @param exchange the current exchange
+	 * @return the deadline of the exchange, or {@code null} if it has none
+	 */
+	public static @Nullable Deadline get(ServerWebExchange exchange) {
+		return exchange.getAttribute(GATEWAY_DEADLINE_ATTR);
+	}
+
+	/**
+	 * Sets the deadline of the exchange, unless it already has an earlier one. A deadline
+	 * is never extended, so a fallback or forward cannot reset the budget.
+	 * @param exchange the current exchange
+	 * @param deadline the deadline to apply
+	 * @return the effective deadline of the exchange
+	 */
+	public static Deadline tighten(ServerWebExchange exchange, Deadline deadline) {
+		Deadline current = get(exchange);
+		if (current != null && current.deadlineNanos - deadline.deadlineNanos <= 0) {
+			return current;
+		}
+		exchange.getAttributes().put(GATEWAY_DEADLINE_ATTR, deadline);
+		return deadline;
+	}
+
+	/**
+	 * @param exchange the current exchange
+	 * @return whether the exchange has a deadline that has passed
+	 */
+	public static boolean isExpired(ServerWebExchange exchange) {
+		Deadline deadline = get(exchange);
+		return deadline != null && deadline.isExpired();
+	}
+
+	public boolean isExpired() {
+		return remainingNanos() <= 0;
+	}
+
+	/**
+	 * @return the nanoseconds left, negative once the deadline has passed
+	 */
+	public long remainingNanos() {
+		return this.deadlineNanos - System.nanoTime();
+	}
+
+	/**
+	 * @return the time left, {@link Duration#ZERO} once the deadline has passed
+	 */
+	public Duration remaining() {
+		return Duration.ofNanos(Math.max(0, remainingNanos()));
+	}
+
+	/**
+	 * Parses a {@code grpc-timeout} header value, such as {@code 250m} or {@code 3S}.
+	 * @param value the header value
+	 * @return the timeout, or {@code null} if the value is malformed
+	 */
+	public static @Nullable Duration parseGrpcTimeout(@Nullable String value) {
+		if (value == null || value.length() < 2 || value.length() > 9) {
+			return null;
+		}
+		long amount = 0;
+		for (int i = 0; i < value.length() - 1; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return null;
+			}
+			amount = amount * 10 + (c - '0');
+		}
+		return switch (value.charAt(value.length() - 1)) {
+			case 'H' -> Duration.ofHours(amount);
+			case 'M' -> Duration.ofMinutes(amount);
+			case 'S' -> Duration.ofSeconds(amount);
+			case 'm' -> Duration.ofMillis(amount);
+			case 'u' -> Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(amount));
+			case 'n' -> Duration.ofNanos(amount);
+			default -> null;
+		};
+	}
+
+	/**
+	 * @return the time left as a {@code grpc-timeout} header value, using the finest unit
+	 * that fits the eight digits allowed by the gRPC specification
+	 */
+	public String toGrpcTimeout() {
+		long nanos = Math.max(0, remainingNanos());
+		if (nanos <= GRPC_TIMEOUT_MAX_VALUE) {
+			return nanos + "n";
+		}
+		long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+		if (micros <= GRPC_TIMEOUT_MAX_VALUE) {
+			return micros + "u";
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		if (millis <= GRPC_TIMEOUT_MAX_VALUE) {
+			return millis + "m";
+		}
+		long seconds = TimeUnit.NANOSECONDS.toSeconds(nanos);
+		if (seconds <= GRPC_TIMEOUT_MAX_VALUE) {
+			return seconds + "S";
+		}
+		return Math.min(TimeUnit.NANOSECONDS.toMinutes(nanos), GRPC_TIMEOUT_MAX_VALUE) + "M";
+	}
+
+	@Override
+	public String toString() {
+		return "Deadline{remaining=" + remaining() + '}';
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Measures how late each event loop runs a task scheduled on it. A loop that is busy or
+ * blocked runs its probe late, so the lag grows with the backlog of the loop. A probe
+ * that is overdue counts towards the lag even before it runs, so a stuck loop is
+ * reported without waiting for it to recover.
+ */
+public class EventLoopLagMonitor implements DisposableBean {
+
+	/**
+	 * Default interval between two probes of the same event loop.
+	 */
+	public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(100);
+
+	private final List<Probe> probes;
+
+	public EventLoopLagMonitor(EventExecutorGroup eventLoops) {
+		this(eventLoops, DEFAULT_INTERVAL);
+	}
+
+	public EventLoopLagMonitor(EventExecutorGroup eventLoops, Duration interval) {
+		List<Probe> probes = new ArrayList<>();
+		for (EventExecutor eventLoop : eventLoops) {
+			probes.add(new Probe(eventLoop, interval.toNanos()));
+		}
+		this.probes = Collections.unmodifiableList(probes);
+		this.probes.forEach(Probe::schedule);
+	}
+
+	/**
+	 * @return the number of monitored event loops
+	 */
+	public int getEventLoopCount() {
+		return this.probes.size();
+	}
+
+	/**
+	 * @param index the index of the event loop
+	 * @return the current lag of the event loop in nanoseconds
+	 */
+	public long getLagNanos(int index) {
+		return this.probes.get(index).lag(System.nanoTime());
+	}
+
+	/**
+	 * @return the highest current lag across all event loops in nanoseconds
+	 */
+	public long getMaxLagNanos() {
+		long now = System.nanoTime();
+		long max = 0;
+		for (Probe probe : this.probes) {
+			max = Math.max(max, probe.lag(now));
+		}
+		return max;
+	}
+
+	@Override
+	public void destroy() {
+		this.probes.forEach(Probe::cancel);
+	}
+
+	private static final class Probe implements Runnable {
+
+		private final EventExecutor eventLoop;
+
+		private final long intervalNanos;
+
+		private volatile long expected;
+
+		private volatile long lag;
+
+		private volatile boolean cancelled;
+
+		private volatile @Nullable ScheduledFuture<?> future;
+
+		Probe(EventExecutor eventLoop, long intervalNanos) {
+			this.eventLoop = eventLoop;
+			this.intervalNanos = intervalNanos;
+		}
+
+		@Override
+		public void run() {
+			long now = System.nanoTime();
+			this.lag = Math.max(0, now - this.expected);
+			if (!this.cancelled) {
+				schedule();
+			}
+		}
+
+		void schedule() {
+			// reschedule from the actual run rather than at a fixed rate, a late loop
+			// must not be flooded with catch-up probes
+			this.expected = System.nanoTime() + this.intervalNanos;
+			if (!this.eventLoop.isShuttingDown()) {
+				this.future = this.eventLoop.schedule(this, this.intervalNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+
+		long lag(long now) {
+			return Math.max(this.lag, now - this.expected);
+		}
+
+		void cancel() {
+			this.cancelled = true;
+			ScheduledFuture<?> future = this.future;
+			if (future != null) {
+				future.cancel(false);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.URI;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ALREADY_ROUTED_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_HANDLER_MAPPER_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_PATH_CONTAINER_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.URI_TEMPLATE_VARIABLES_ATTRIBUTE;
+
+/**
+ * Typed per-exchange state of the gateway. The attributes written for every proxied
+ * request, such as {@link ServerWebExchangeUtils#GATEWAY_ROUTE_ATTR} and
+ * {@link ServerWebExchangeUtils#GATEWAY_REQUEST_URL_ATTR}, are kept in plain fields
+ * rather than as entries of the exchange attribute map.
+ * <p>
+ * The context is also the attribute map of the exchange returned by
+ * {@link #decorate(ServerWebExchange)}: reads and writes of the gateway keys go to the
+ * fields, and every other key goes to the original attributes, so
+ * {@code exchange.getAttribute(GATEWAY_ROUTE_ATTR)} and friends keep working
+ * unchanged. Like the concurrent map backing the exchange attributes, the fields may be
+ * written and read from different threads.
+ */
+public final class GatewayExchangeContext extends AbstractMap<String, Object> {
+
+	private static final String[] KEYS = { GATEWAY_ROUTE_ATTR, GATEWAY_REQUEST_URL_ATTR,
+			GATEWAY_ORIGINAL_REQUEST_URL_ATTR, GATEWAY_PREDICATE_ROUTE_ATTR, GATEWAY_ALREADY_ROUTED_ATTR,
+			URI_TEMPLATE_VARIABLES_ATTRIBUTE, CLIENT_RESPONSE_ATTR, CLIENT_RESPONSE_CONN_ATTR,
+			CLIENT_RESPONSE_HEADER_NAMES, GATEWAY_HANDLER_MAPPER_ATTR, GATEWAY_SCHEME_PREFIX_ATTR,
+			GATEWAY_PREDICATE_MATCHED_PATH_ATTR, GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR,
+			GATEWAY_PREDICATE_PATH_CONTAINER_ATTR };
+
+	private static final Map<String, Integer> SLOTS;
+
+	static {
+		Map<String, Integer> slots = new HashMap<>();
+		for (int i = 0; i < KEYS.length; i++) {
+			slots.put(KEYS[i], i);
+		}
+		SLOTS = Collections.unmodifiableMap(slots);
+	}
+
+	private final Map<String, Object> attributes;
+
+	// fields are Object typed, since the attribute map accepts any value for a key, and
+	// volatile, since the client response is written on the client event loop while a
+	// timeout may read it from another thread
+
+	private volatile @Nullable Object route;
+
+	private volatile @Nullable Object requestUrl;
+
+	private volatile @Nullable Object originalRequestUrls;
+
+	private volatile @Nullable Object predicateRoute;
+
+	private volatile @Nullable Object alreadyRouted;
+
+	private volatile @Nullable Object uriTemplateVariables;
+
+	private volatile @Nullable Object clientResponse;
+
+	private volatile @Nullable Object clientResponseConnection;
+
+	private volatile @Nullable Object clientResponseHeaderNames;
+
+	private volatile @Nullable Object handlerMapper;
+
+	private volatile @Nullable Object schemePrefix;
+
+	private volatile @Nullable Object predicateMatchedPath;
+
+	private volatile @Nullable Object predicateMatchedPathRouteId;
+
+	private volatile @Nullable Object predicatePathContainer;
+
+	GatewayExchangeContext(Map<String, Object> attributes) {
+		this.attributes = attributes;
+	}
+
+	/**
+	 * Returns an exchange whose attributes are backed by a new context, or the exchange
+	 * itself if it already has one.
+	 * @param exchange the exchange to decorate
+	 * @return the decorated exchange
+	 */
+	public static ServerWebExchange decorate(ServerWebExchange exchange) {
+		if (exchange.getAttributes() instanceof GatewayExchangeContext) {
+			return exchange;
+		}
+		return new ContextServerWebExchange(exchange, new GatewayExchangeContext(exchange.getAttributes()));
+	}
+
+	/**
+	 * @param exchange the current exchange
+	 * @return the context of the exchange, or {@code null} if it was not decorated
+	 */
+	public static @Nullable GatewayExchangeContext get(ServerWebExchange exchange) {
+		return (exchange.getAttributes() instanceof GatewayExchangeContext context) ? context : null;
+	}
+
+	public @Nullable Route getRoute() {
+		return (this.route instanceof Route value) ? value : null;
+	}
+
+	public void setRoute(Route route) {
+		this.route = route;
+	}
+
+	public @Nullable URI getRequestUrl() {
+		if (this.requestUrl instanceof RequestTarget target) {
+			return target.toUri();
+		}
+		return (this.requestUrl instanceof URI value) ? value : null;
+	}
+
+	public void setRequestUrl(URI requestUrl) {
+		this.requestUrl = requestUrl;
+	}
+
+	/**
+	 * Returns the request URL as a target that can be edited in place, converting the
+	 * URI set by other code if needed.
+	 * @return the target, or {@code null} if there is no request URL or it is opaque
+	 */
+	public @Nullable RequestTarget getRequestTarget() {
+		if (this.requestUrl instanceof RequestTarget target) {
+			return target;
+		}
+		if (this.requestUrl instanceof URI uri && !uri.isOpaque()) {
+			RequestTarget target = RequestTarget.from(uri);
+			this.requestUrl = target;
+			return target;
+		}
+		return null;
+	}
+
+	/**
+	 * Sets the request URL, the URI is built when the URL is first read as an attribute.
+	 * @param target the request target
+	 */
+	public void setRequestTarget(RequestTarget target) {
+		this.requestUrl = target;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void addOriginalRequestUrl(URI url) {
+		if (this.originalRequestUrls == null) {
+			this.originalRequestUrls = new LinkedHashSet<URI>();
+		}
+		((Set<URI>) this.originalRequestUrls).add(url);
+	}
+
+	public boolean isAlreadyRouted() {
+		return Boolean.TRUE.equals(this.alreadyRouted);
+	}
+
+	public void setAlreadyRouted(boolean alreadyRouted) {
+		this.alreadyRouted = alreadyRouted ? Boolean.TRUE : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public @Nullable Map<String, String> getUriTemplateVariables() {
+		return (this.uriTemplateVariables instanceof Map<?, ?> value) ? (Map<String, String>) value : null;
+	}
+
+	/**
+	 * Copies the gateway attributes kept in fields to the original attribute map, for
+	 * code that only sees the undecorated exchange, such as
+	 * {@link org.springframework.web.server.WebExceptionHandler}s.
+	 */
+	public void exportAttributes() {
+		for (int slot = 0; slot < KEYS.length; slot++) {
+			Object value = get(slot);
+			if (value != null) {
+				this.attributes.put(KEYS[slot], value);
+			}
+		}
+	}
+
+	private @Nullable Object get(int slot) {
+		Object value = raw(slot);
+		// the request URL slot may hold a target, seen as a URI through the map
+		return (value instanceof RequestTarget target) ? target.toUri() : value;
+	}
+
+	private @Nullable Object raw(int slot) {
+		return switch (slot) {
+			case 0 -> this.route;
+			case 1 -> this.requestUrl;
+			case 2 -> this.originalRequestUrls;
+			case 3 -> this.predicateRoute;
+			case 4 -> this.alreadyRouted;
+			case 5 -> this.uriTemplateVariables;
+			case 6 -> this.clientResponse;
+			case 7 -> this.clientResponseConnection;
+			case 8 -> this.clientResponseHeaderNames;
+			case 9 -> this.handlerMapper;
+			case 10 -> this.schemePrefix;
+			case 11 -> this.predicateMatchedPath;
+			case 12 -> this.predicateMatchedPathRouteId;
+			case 13 -> this.predicatePathContainer;
+			default -> throw new IllegalArgumentException("Unknown slot " + slot);
+		};
+	}
+
+	private @Nullable Object set(int slot, @Nullable Object value) {
+		Object previous = get(slot);
+		store(slot, value);
+		return previous;
+	}
+
+	private void store(int slot, @Nullable Object value) {
+		switch (slot) {
+			case 0 -> this.route = value;
+			case 1 -> this.requestUrl = value;
+			case 2 -> this.originalRequestUrls = value;
+			case 3 -> this.predicateRoute = value;
+			case 4 -> this.alreadyRouted = value;
+			case 5 -> this.uriTemplateVariables = value;
+			case 6 -> this.clientResponse = value;
+			case 7 -> this.clientResponseConnection = value;
+			case 8 -> this.clientResponseHeaderNames = value;
+			case 9 -> this.handlerMapper = value;
+			case 10 -> this.schemePrefix = value;
+			case 11 -> this.predicateMatchedPath = value;
+			case 12 -> this.predicateMatchedPathRouteId = value;
+			case 13 -> this.predicatePathContainer = value;
+			default -> throw new IllegalArgumentException("Unknown slot " + slot);
+		}
+	}
+
+	@Override
+	public @Nullable Object get(Object key) {
+		Integer slot = SLOTS.get(key);
+		return (slot != null) ? get(slot) : this.attributes.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Integer slot = SLOTS.get(key);
+		return (slot != null) ? raw(slot) != null : this.attributes.containsKey(key);
+	}
+
+	@Override
+	public @Nullable Object put(String key, Object value) {
+		// same contract as the ConcurrentHashMap backing the exchange attributes
+		Objects.requireNonNull(value, "value must not be null");
+		Integer slot = SLOTS.get(key);
+		return (slot != null) ? set(slot, value) : this.attributes.put(key, value);
+	}
+
+	@Override
+	public @Nullable Object remove(Object key) {
+		Integer slot = SLOTS.get(key);
+		return (slot != null) ? set(slot, null) : this.attributes.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		for (int slot = 0; slot < KEYS.length; slot++) {
+			store(slot, null);
+		}
+		this.attributes.clear();
+	}
+
+	@Override
+	public int size() {
+		int size = this.attributes.size();
+		for (int slot = 0; slot < KEYS.length; slot++) {
+			if (raw(slot) != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return GatewayExchangeContext.this.size();
+			}
+
+		};
+	}
+
+	private int nextSlot(int from) {
+		int slot = from;
+		while (slot < KEYS.length && raw(slot) == null) {
+			slot++;
+		}
+		return slot;
+	}
+
+	private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+		private final Iterator<Entry<String, Object>> attributeIterator = attributes.entrySet().iterator();
+
+		private int slot = nextSlot(0);
+
+		private int lastSlot = -1;
+
+		@Override
+		public boolean hasNext() {
+			return this.slot < KEYS.length || this.attributeIterator.hasNext();
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (this.slot < KEYS.length) {
+				Object value = get(this.slot);
+				if (value == null) {
+					throw new NoSuchElementException();
+				}
+				this.lastSlot = this.slot;
+				this.slot = nextSlot(this.slot + 1);
+				return new SimpleImmutableEntry<>(KEYS[this.lastSlot], value);
+			}
+			this.lastSlot = -1;
+			return this.attributeIterator.next();
+		}
+
+		@Override
+		public void remove() {
+			if (this.lastSlot >= 0) {
+				store(this.lastSlot, null);
+				this.lastSlot = -1;
+			}
+			else {
+				this.attributeIterator.remove();
+			}
+		}
+
+	}
+
+	private static final class ContextServerWebExchange extends ServerWebExchangeDecorator {
+
+		private final GatewayExchangeContext context;
+
+		ContextServerWebExchange(ServerWebExchange delegate, GatewayExchangeContext context) {
+			super(delegate);
+			this.context = context;
+		}
+
+		@Override
+		public Map<String, Object> getAttributes() {
+			return this.context;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> @Nullable T getAttribute(String name) {
+			return (T) this.context.get(name);
+		}
+
+	}
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Host patterns compiled into a trie of labels, walked from the top level domain down.
+ * Literal labels are looked up in a hash map, {@code *} and {@code {variable}} labels are
+ * a single wildcard branch and {@code **} matches any number of labels, so the
+ * patterns matching a host are found in one pass over its labels, whatever the number
+ * of patterns. Variables are captured during the same pass.
+ * <p>
+ * Matching follows {@link org.springframework.util.AntPathMatcher} with {@code .} as
+ * separator for the supported syntax. Patterns using anything else, such as partial
+ * wildcards ({@code api-*.example.org}), {@code ?} or regular expression variables, are
+ * rejected by {@link #add(String, Object)} so callers can fall back to a
+ * {@link org.springframework.util.PathMatcher}.
+ *
+ * @param <T> the type of the values associated with the patterns
+ */
+public final class HostPatternTrie<T> {
+
+	private static final String WILDCARD = "*";
+
+	private static final String DOUBLE_WILDCARD = "**";
+
+	private final Node<T> root = new Node<>();
+
+	private int size;
+
+	private int maxDepth;
+
+	/**
+	 * Adds a pattern.
+	 * @param pattern the host pattern
+	 * @param value the value returned for hosts matching the pattern
+	 * @return {@code false} if the pattern uses syntax the trie does not support, in
+	 * which case it was not added
+	 */
+	public boolean add(String pattern, T value) {
+		String[] labels = split(pattern);
+		if (labels == null) {
+			return false;
+		}
+		@Nullable String[] variables = new String[labels.length];
+		for (int i = 0; i < labels.length; i++) {
+			String label = labels[i];
+			if (label.startsWith("{") && label.endsWith("}")) {
+				String name = label.substring(1, label.length() - 1);
+				if (name.isEmpty() || !isLiteral(name) || name.indexOf(':') != -1) {
+					return false;
+				}
+				variables[i] = name;
+			}
+			else if (!label.equals(WILDCARD) && !label.equals(DOUBLE_WILDCARD) && !isLiteral(label)) {
+				return false;
+			}
+		}
+		Node<T> node = this.root;
+		// labels are stored from the top level domain down, so hosts of the same domain
+		// share a branch
+		for (int i = labels.length - 1; i >= 0; i--) {
+			String label = labels[i];
+			if (variables[i] != null || label.equals(WILDCARD)) {
+				node = node.single();
+			}
+			else if (label.equals(DOUBLE_WILDCARD)) {
+				node = node.multi();
+			}
+			else {
+				node = node.exact(label);
+			}
+		}
+		int depth = labels.length;
+		@Nullable String[] reversedVariables = new String[depth];
+		for (int i = 0; i < depth; i++) {
+			reversedVariables[i] = variables[depth - 1 - i];
+		}
+		node.addTerminal(new Terminal<>(this.size++, pattern, value, reversedVariables));
+		this.maxDepth = Math.max(this.maxDepth, depth);
+		return true;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Returns the match of the first added pattern matching the host.
+	 * @param host the host, as split on {@code .} by the patterns
+	 * @return the match, or {@code null} if no pattern matches or the host is not a
+	 * sequence of non empty labels
+	 */
+	public @Nullable Match<T> findFirst(String host) {
+		String[] labels = split(host);
+		if (labels == null || this.size == 0) {
+			return null;
+		}
+		FirstMatchCollector<T> collector = new FirstMatchCollector<>(this.maxDepth);
+		walk(this.root, labels, labels.length - 1, 0, collector);
+		Terminal<T> terminal = collector.terminal;
+		if (terminal == null) {
+			return null;
+		}
+		return new Match<>(terminal.pattern, terminal.value, collector.variables(labels));
+	}
+
+	/**
+	 * Passes the value of every pattern matching the host to the consumer, in no
+	 * particular order. A value may be passed more than once when a {@code **} pattern
+	 * matches the host in several ways.
+	 * @param host the host
+	 * @param consumer the consumer of the values
+	 * @return {@code false} if the host is not a sequence of non empty labels, in which
+	 * case no value was passed
+	 */
+	public boolean findAll(String host, Consumer<T> consumer) {
+		String[] labels = split(host);
+		if (labels == null) {
+			return false;
+		}
+		if (this.size > 0) {
+			walk(this.root, labels, labels.length - 1, 0, new AllMatchCollector<>(consumer));
+		}
+		return true;
+	}
+
+	private static <T> void walk(Node<T> node, String[] labels, int index, int depth, Collector<T> collector) {
+		if (index < 0 && node.terminals != null) {
+			collector.accept(node.terminals);
+		}
+		if (node.multi != null) {
+			// ** matches no label at all up to all the remaining labels
+			for (int next = index; next >= -1; next--) {
+				walk(node.multi, labels, next, depth + 1, collector);
+			}
+		}
+		if (index < 0) {
+			return;
+		}
+		if (node.exact != null) {
+			Node<T> child = node.exact.get(labels[index]);
+			if (child != null) {
+				collector.capture(depth, -1);
+				walk(child, labels, index - 1, depth + 1, collector);
+			}
+		}
+		if (node.single != null) {
+			collector.capture(depth, index);
+			walk(node.single, labels, index - 1, depth + 1, collector);
+		}
+	}
+
+	private static String @Nullable [] split(String value) {
+		if (value.isEmpty() || value.charAt(0) == '.' || value.charAt(value.length() - 1) == '.') {
+			return null;
+		}
+		int count = 1;
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) == '.') {
+				if (value.charAt(i - 1) == '.') {
+					return null;
+				}
+				count++;
+			}
+		}
+		String[] labels = new String[count];
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int end = value.indexOf('.', start);
+			if (end == -1) {
+				end = value.length();
+			}
+			labels[i] = value.substring(start, end);
+			start = end + 1;
+		}
+		return labels;
+	}
+
+	private static boolean isLiteral(String label) {
+		for (int i = 0; i < label.length(); i++) {
+			char c = label.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '}') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "HostPatternTrie{size=" + this.size + '}';
+	}
+
+	/**
+	 * A pattern matching a host.
+	 *
+	 * @param <T> the type of the value
+	 */
+	public static final class Match<T> {
+
+		private final String pattern;
+
+		private final T value;
+
+		private final Map<String, String> variables;
+
+		Match(String pattern, T value, Map<String, String> variables) {
+			this.pattern = pattern;
+			this.value = value;
+			this.variables = variables;
+		}
+
+		public String getPattern() {
+			return this.pattern;
+		}
+
+		public T getValue() {
+			return this.value;
+		}
+
+		/**
+		 * @return the variables captured by the pattern, in pattern order
+		 */
+		public Map<String, String> getVariables() {
+			return this.variables;
+		}
+
+	}
+
+	private static final class Node<T> {
+
+		private @Nullable Map<String, Node<T>> exact;
+
+		private @Nullable Node<T> single;
+
+		private @Nullable Node<T> multi;
+
+		private @Nullable List<Terminal<T>> terminals;
+
+		Node<T> exact(String label) {
+			if (this.exact == null) {
+				this.exact = new HashMap<>();
+			}
+			return this.exact.computeIfAbsent(label, key -> new Node<>());
+		}
+
+		Node<T> single() {
+			if (this.single == null) {
+				this.single = new Node<>();
+			}
+			return this.single;
+		}
+
+		Node<T> multi() {
+			if (this.multi == null) {
+				this.multi = new Node<>();
+			}
+			return this.multi;
+		}
+
+		void addTerminal(Terminal<T> terminal) {
+			if (this.terminals == null) {
+				this.terminals = new ArrayList<>(1);
+			}
+			this.terminals.add(terminal);
+		}
+
+	}
+
+	private record Terminal<T>(int order, String pattern, T value, @Nullable String[] variables) {
+
+	}
+
+	private interface Collector<T> {
+
+		void capture(int depth, int labelIndex);
+
+		void accept(List<Terminal<T>> terminals);
+
+	}
+
+	private static final class FirstMatchCollector<T> implements Collector<T> {
+
+		private final int[] captures;
+
+		private int[] matchedCaptures;
+
+		private @Nullable Terminal<T> terminal;
+
+		FirstMatchCollector(int maxDepth) {
+			this.captures = new int[maxDepth];
+			this.matchedCaptures = this.captures;
+		}
+
+		@Override
+		public void capture(int depth, int labelIndex) {
+			this.captures[depth] = labelIndex;
+		}
+
+		@Override
+		public void accept(List<Terminal<T>> terminals) {
+			for (Terminal<T> candidate : terminals) {
+				if (this.terminal == null || candidate.order() < this.terminal.order()) {
+					this.terminal = candidate;
+					this.matchedCaptures = this.captures.clone();
+				}
+			}
+		}
+
+		Map<String, String> variables(String[] labels) {
+			Terminal<T> terminal = this.terminal;
+			if (terminal == null) {
+				return Collections.emptyMap();
+			}
+			@Nullable Map<String, String> variables = null;
+			// terminal variables are in trie order, report them in pattern order
+			for (int depth = terminal.variables().length - 1; depth >= 0; depth--) {
+				String name = terminal.variables()[depth];
+				if (name != null) {
+					if (variables == null) {
+						variables = new LinkedHashMap<>();
+					}
+					variables.put(name, labels[this.matchedCaptures[depth]]);
+				}
+			}
+			return (variables != null) ? variables : Collections.emptyMap();
+		}
+
+	}
+
+	private static final class AllMatchCollector<T> implements Collector<T> {
+
+		private final Consumer<T> consumer;
+
+		AllMatchCollector(Consumer<T> consumer) {
+			this.consumer = consumer;
+		}
+
+		@Override
+		public void capture(int depth, int labelIndex) {
+		}
+
+		@Override
+		public void accept(List<Terminal<T>> terminals) {
+			for (Terminal<T> terminal : terminals) {
+				this.consumer.accept(terminal.value());
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Tracks how many requests are waiting to acquire a connection from the pools of the
+ * gateway {@link reactor.netty.http.client.HttpClient}. Reactor Netty hands every pool it
+ * creates, one per remote address, to this registrar.
+ */
+public class PendingAcquireMonitor implements ConnectionProvider.MeterRegistrar {
+
+	private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+	@Override
+	public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+			ConnectionPoolMetrics metrics) {
+		this.pools.put(id, metrics);
+	}
+
+	@Override
+	public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+		this.pools.remove(id);
+	}
+
+	/**
+	 * @return the number of requests waiting for a connection across all pools
+	 */
+	public int getPendingAcquireCount() {
+		int pending = 0;
+		for (ConnectionPoolMetrics metrics : this.pools.values()) {
+			pending += metrics.pendingAcquireSize();
+		}
+		return pending;
+	}
+
+	/**
+	 * @return the number of connection pools being tracked
+	 */
+	public int getPoolCount() {
+		return this.pools.size();
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PHASE_TIMINGS_ATTR;
+
+/**
+ * Per-exchange {@link System#nanoTime()} timestamps of the phases a proxied request
+ * goes through. Only present on an exchange when phase timings are enabled, so marking
+ * a phase is a single attribute lookup otherwise.
+ */
+public final class PhaseTimings {
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private final long[] timestamps = new long[PHASES.length];
+
+	// nanoTime may legitimately be zero or negative, so track recorded phases separately
+	private int recorded;
+
+	private PhaseTimings() {
+	}
+
+	/**
+	 * Creates the timings for the given exchange and marks {@link Phase#START}.
+	 * @param exchange the current exchange
+	 * @return the timings stored on the exchange
+	 */
+	public static PhaseTimings start(ServerWebExchange exchange) {
+		PhaseTimings timings = new PhaseTimings();
+		timings.mark(Phase.START);
+		exchange.getAttributes().put(GATEWAY_PHASE_TIMINGS_ATTR, timings);
+		return timings;
+	}
+
+	/**
+	 * Marks the given phase if the exchange carries phase timings.
+	 * @param exchange the current exchange
+	 * @param phase the phase that was reached
+	 */
+	public static void mark(ServerWebExchange exchange, Phase phase) {
+		PhaseTimings timings = exchange.getAttribute(GATEWAY_PHASE_TIMINGS_ATTR);
+		if (timings != null) {
+			timings.mark(phase);
+		}
+	}
+
+	public static @Nullable PhaseTimings get(ServerWebExchange exchange) {
+		return exchange.getAttribute(GATEWAY_PHASE_TIMINGS_ATTR);
+	}
+
+	public void mark(Phase phase) {
+		this.timestamps[phase.ordinal()] = System.nanoTime();
+		this.recorded |= 1 << phase.ordinal();
+	}
+
+	public boolean isRecorded(Phase phase) {
+		return (this.recorded & (1 << phase.ordinal())) != 0;
+	}
+
+	/**
+	 * @param from the starting phase
+	 * @param to the ending phase
+	 * @return the nanoseconds elapsed between both phases, or {@code -1} if either was
+	 * not reached
+	 */
+	public long between(Phase from, Phase to) {
+		if (!isRecorded(from) || !isRecorded(to)) {
+			return -1;
+		}
+		return this.timestamps[to.ordinal()] - this.timestamps[from.ordinal()];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder out = new StringBuilder("PhaseTimings{");
+		boolean first = true;
+		for (Phase phase : PHASES) {
+			if (isRecorded(phase) && phase != Phase.START) {
+				out.append(first ? "" : ", ").append(phase).append('=').append(between(Phase.START, phase));
+				first = false;
+			}
+		}
+		return out.append('}').toString();
+	}
+
+	/**
+	 * Points in the proxy pipeline at which a timestamp is taken.
+	 */
+	public enum Phase {
+
+		/**
+		 * The handler mapping started looking up a route.
+		 */
+		START,
+
+		/**
+		 * A route matched the request.
+		 */
+		ROUTE_MATCHED,
+
+		/**
+		 * The gateway filter chain started.
+		 */
+		FILTERS_STARTED,
+
+		/**
+		 * The load balancer was asked for an instance.
+		 */
+		LOADBALANCER_STARTED,
+
+		/**
+		 * The load balancer returned an instance.
+		 */
+		LOADBALANCER_CHOSEN,
+
+		/**
+		 * The routing filter started sending the request.
+		 */
+		REQUEST_STARTED,
+
+		/**
+		 * A connection to the upstream was acquired.
+		 */
+		CONNECTION_ACQUIRED,
+
+		/**
+		 * The upstream response headers were received.
+		 */
+		RESPONSE_HEADERS_RECEIVED,
+
+		/**
+		 * The response body was fully written to the client.
+		 */
+		RESPONSE_COMPLETED
+
+	}
+
+}
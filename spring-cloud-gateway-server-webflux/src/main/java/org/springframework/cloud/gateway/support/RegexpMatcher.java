@@ -0,0 +1,232 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Matches whole values against a regular expression compiled once at route build
+ * time. Literal ({@code abc}), prefix ({@code abc.*}), suffix ({@code .*abc}),
+ * contains ({@code .*abc.*}) and alternation-of-literal ({@code (abc|def)}) expressions
+ * are evaluated with plain {@code String} and {@code Set} checks, any other expression
+ * falls back to a precompiled {@link Pattern}. Results are the same as
+ * {@code value.matches(regexp)}.
+ */
+public final class RegexpMatcher implements Predicate<String> {
+
+	private static final String META_CHARACTERS = "^$.|?*+()[]{}";
+
+	private enum Kind {
+
+		EQUALS, PREFIX, SUFFIX, CONTAINS, ANY_OF, PATTERN
+
+	}
+
+	private final String regexp;
+
+	private final Kind kind;
+
+	private final String literal;
+
+	private final @Nullable Set<String> literals;
+
+	private final @Nullable Predicate<String> pattern;
+
+	private RegexpMatcher(String regexp, Kind kind, String literal, @Nullable Set<String> literals,
+			@Nullable Predicate<String> pattern) {
+		this.regexp = regexp;
+		this.kind = kind;
+		this.literal = literal;
+		this.literals = literals;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * Compiles the given regular expression.
+	 * @param regexp the regular expression values have to match entirely
+	 * @return the matcher
+	 * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+	 */
+	public static RegexpMatcher compile(String regexp) {
+		RegexpMatcher matcher = compileLiteral(regexp);
+		if (matcher != null) {
+			return matcher;
+		}
+		return new RegexpMatcher(regexp, Kind.PATTERN, "", null, Pattern.compile(regexp).asMatchPredicate());
+	}
+
+	private static @Nullable RegexpMatcher compileLiteral(String regexp) {
+		int start = 0;
+		int end = regexp.length();
+		// anchors are redundant when the whole value has to match
+		if (start < end && regexp.charAt(start) == '^') {
+			start++;
+		}
+		if (start < end && regexp.charAt(end - 1) == '$' && !isEscaped(regexp, end - 1)) {
+			end--;
+		}
+		boolean leadingAny = end - start >= 2 && regexp.startsWith(".*", start);
+		if (leadingAny) {
+			start += 2;
+		}
+		boolean trailingAny = end - start >= 2 && regexp.startsWith(".*", end - 2) && !isEscaped(regexp, end - 2);
+		if (trailingAny) {
+			end -= 2;
+		}
+		String body = regexp.substring(start, end);
+		if (!leadingAny && !trailingAny && hasAlternation(body)) {
+			return compileAlternation(regexp, body);
+		}
+		String literal = unescape(body);
+		if (literal == null) {
+			return null;
+		}
+		Kind kind;
+		if (leadingAny && trailingAny) {
+			kind = Kind.CONTAINS;
+		}
+		else if (leadingAny) {
+			kind = Kind.SUFFIX;
+		}
+		else if (trailingAny) {
+			kind = Kind.PREFIX;
+		}
+		else {
+			kind = Kind.EQUALS;
+		}
+		return new RegexpMatcher(regexp, kind, literal, null, null);
+	}
+
+	private static @Nullable RegexpMatcher compileAlternation(String regexp, String body) {
+		String alternatives = body;
+		if (alternatives.startsWith("(?:") && alternatives.endsWith(")")) {
+			alternatives = alternatives.substring(3, alternatives.length() - 1);
+		}
+		else if (alternatives.startsWith("(") && alternatives.endsWith(")")) {
+			alternatives = alternatives.substring(1, alternatives.length() - 1);
+		}
+		Set<String> literals = new HashSet<>();
+		int from = 0;
+		for (int i = 0; i <= alternatives.length(); i++) {
+			if (i == alternatives.length() || (alternatives.charAt(i) == '|' && !isEscaped(alternatives, i))) {
+				// parentheses left in an alternative make unescape reject it
+				String literal = unescape(alternatives.substring(from, i));
+				if (literal == null) {
+					return null;
+				}
+				literals.add(literal);
+				from = i + 1;
+			}
+		}
+		return new RegexpMatcher(regexp, Kind.ANY_OF, "", Set.copyOf(literals), null);
+	}
+
+	private static boolean hasAlternation(String body) {
+		for (int i = 0; i < body.length(); i++) {
+			if (body.charAt(i) == '|' && !isEscaped(body, i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isEscaped(String regexp, int index) {
+		int backslashes = 0;
+		for (int i = index - 1; i >= 0 && regexp.charAt(i) == '\\'; i--) {
+			backslashes++;
+		}
+		return backslashes % 2 == 1;
+	}
+
+	private static @Nullable String unescape(String text) {
+		StringBuilder literal = null;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\\') {
+				// only escaped punctuation is literal, \d, \Q, \1 etc. are constructs
+				if (i + 1 == text.length() || Character.isLetterOrDigit(text.charAt(i + 1))) {
+					return null;
+				}
+				if (literal == null) {
+					literal = new StringBuilder(text.length()).append(text, 0, i);
+				}
+				literal.append(text.charAt(++i));
+			}
+			else if (META_CHARACTERS.indexOf(c) != -1 || isLineTerminator(c)) {
+				return null;
+			}
+			else if (literal != null) {
+				literal.append(c);
+			}
+		}
+		return (literal != null) ? literal.toString() : text;
+	}
+
+	private static boolean isLineTerminator(char c) {
+		// the characters that '.' does not match without DOTALL
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	private static boolean hasLineTerminator(String value, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (isLineTerminator(value.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean test(String value) {
+		return switch (this.kind) {
+			case EQUALS -> this.literal.equals(value);
+			case PREFIX -> value.startsWith(this.literal)
+					&& !hasLineTerminator(value, this.literal.length(), value.length());
+			case SUFFIX -> value.endsWith(this.literal)
+					&& !hasLineTerminator(value, 0, value.length() - this.literal.length());
+			// the literal has no line terminators, so none may appear anywhere
+			case CONTAINS -> value.contains(this.literal) && !hasLineTerminator(value, 0, value.length());
+			case ANY_OF -> this.literals != null && this.literals.contains(value);
+			case PATTERN -> this.pattern != null && this.pattern.test(value);
+		};
+	}
+
+	/**
+	 * @return {@code true} if values are matched without a regular expression engine
+	 */
+	public boolean isRegexFree() {
+		return this.kind != Kind.PATTERN;
+	}
+
+	/**
+	 * @return the original regular expression
+	 */
+	public String getRegexp() {
+		return this.regexp;
+	}
+
+	@Override
+	public String toString() {
+		return this.regexp;
+	}
+
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.URI;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Mutable target of the proxied request: scheme, host, port, raw path and raw query.
+ * URI rewriting filters edit the target in place instead of building and re-parsing a
+ * {@link URI} at every step, and the URI is only built, once, when it is read through
+ * {@link #toUri()}. {@link #toASCIIString()} avoids building it at all for ASCII
+ * targets.
+ * <p>
+ * Filters share the target of {@link ServerWebExchangeUtils#GATEWAY_REQUEST_URL_ATTR}
+ * through
+ * {@link ServerWebExchangeUtils#getRequestTarget(org.springframework.web.server.ServerWebExchange)}.
+ * When the exchange has a {@link GatewayExchangeContext}, the target backs the attribute
+ * and the URI is only built when the attribute is read; otherwise the URI is built each
+ * time the target is set.
+ */
+public final class RequestTarget {
+
+	private @Nullable String scheme;
+
+	private @Nullable String rawUserInfo;
+
+	private @Nullable String host;
+
+	private int port;
+
+	private String rawPath;
+
+	private @Nullable String rawQuery;
+
+	private @Nullable String rawFragment;
+
+	private @Nullable String string;
+
+	private @Nullable URI uri;
+
+	private RequestTarget(@Nullable String scheme, @Nullable String rawUserInfo, @Nullable String host, int port,
+			String rawPath, @Nullable String rawQuery, @Nullable String rawFragment, @Nullable URI uri) {
+		this.scheme = scheme;
+		this.rawUserInfo = rawUserInfo;
+		this.host = host;
+		this.port = port;
+		this.rawPath = rawPath;
+		this.rawQuery = rawQuery;
+		this.rawFragment = rawFragment;
+		this.uri = uri;
+	}
+
+	/**
+	 * @param uri a hierarchical URI
+	 * @return a target with the components of the URI
+	 * @throws IllegalArgumentException if the URI is opaque
+	 */
+	public static RequestTarget from(URI uri) {
+		if (uri.isOpaque()) {
+			throw new IllegalArgumentException("Opaque URI " + uri + " is not a request target");
+		}
+		String rawPath = uri.getRawPath();
+		return new RequestTarget(uri.getScheme(), uri.getRawUserInfo(), uri.getHost(), uri.getPort(),
+				(rawPath != null) ? rawPath : "", uri.getRawQuery(), uri.getRawFragment(), uri);
+	}
+
+	/**
+	 * Returns a target for the URI of the request. Requests returned by
+	 * {@link #toRequest(ServerHttpRequest)} are copied without building their URI.
+	 * @param request the request
+	 * @return a new target
+	 */
+	public static RequestTarget from(ServerHttpRequest request) {
+		if (request instanceof TargetServerHttpRequest targetRequest) {
+			return targetRequest.target.copy();
+		}
+		return from(request.getURI());
+	}
+
+	public RequestTarget copy() {
+		return new RequestTarget(this.scheme, this.rawUserInfo, this.host, this.port, this.rawPath, this.rawQuery,
+				this.rawFragment, this.uri);
+	}
+
+	public @Nullable String getScheme() {
+		return this.scheme;
+	}
+
+	public RequestTarget scheme(@Nullable String scheme) {
+		this.scheme = scheme;
+		return changed();
+	}
+
+	public @Nullable String getHost() {
+		return this.host;
+	}
+
+	public RequestTarget host(@Nullable String host) {
+		this.host = host;
+		return changed();
+	}
+
+	public int getPort() {
+		return this.port;
+	}
+
+	public RequestTarget port(int port) {
+		this.port = port;
+		return changed();
+	}
+
+	public String getRawPath() {
+		return this.rawPath;
+	}
+
+	public RequestTarget rawPath(String rawPath) {
+		this.rawPath = rawPath;
+		return changed();
+	}
+
+	public @Nullable String getRawQuery() {
+		return this.rawQuery;
+	}
+
+	public RequestTarget rawQuery(@Nullable String rawQuery) {
+		this.rawQuery = rawQuery;
+		return changed();
+	}
+
+	/**
+	 * Removes the first {@code parts} segments of the path, see
+	 * {@link #stripPrefix(String, int)}.
+	 * @param parts the number of segments to remove
+	 * @return this target
+	 */
+	public RequestTarget stripPrefix(int parts) {
+		return rawPath(stripPrefix(this.rawPath, parts));
+	}
+
+	private RequestTarget changed() {
+		this.string = null;
+		this.uri = null;
+		return this;
+	}
+
+	/**
+	 * Tells whether rebuilding the URI of this target with
+	 * {@code UriComponentsBuilder.fromUri(uri)...build(containsEncodedParts(uri))}, as
+	 * the gateway filters historically did, returns its components unchanged. That is
+	 * not the case when the builder would collapse {@code //} in the path, regroup
+	 * repeated or drop empty query parameters, or quote the {@code %} of partially
+	 * encoded components, and callers should then keep using the builder.
+	 * @return {@code true} if the target can be edited in place
+	 */
+	public boolean isRebuiltVerbatim() {
+		if (this.rawUserInfo != null || this.rawFragment != null) {
+			return false;
+		}
+		if (!this.rawPath.isEmpty() && (this.rawPath.charAt(0) != '/' || this.rawPath.contains("//"))) {
+			return false;
+		}
+		if (this.rawQuery != null && !isCanonicalQuery(this.rawQuery)) {
+			return false;
+		}
+		if (this.rawPath.indexOf('%') == -1 && (this.rawQuery == null || this.rawQuery.indexOf('%') == -1)) {
+			return true;
+		}
+		try {
+			// partially encoded components are encoded again by the builder
+			UriComponentsBuilder.newInstance().path(this.rawPath).query(this.rawQuery).build(true);
+			return true;
+		}
+		catch (IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isCanonicalQuery(String query) {
+		if (query.isEmpty()) {
+			// the builder drops an empty query
+			return false;
+		}
+		int start = 0;
+		while (start <= query.length()) {
+			int end = query.indexOf('&', start);
+			if (end == -1) {
+				end = query.length();
+			}
+			if (end == start || query.charAt(start) == '=') {
+				return false;
+			}
+			int nameEnd = query.indexOf('=', start);
+			if (nameEnd == -1 || nameEnd > end) {
+				nameEnd = end;
+			}
+			if (hasName(query, start, nameEnd)) {
+				// repeated names are grouped together by the builder
+				return false;
+			}
+			start = end + 1;
+		}
+		return true;
+	}
+
+	private static boolean hasName(String query, int nameStart, int nameEnd) {
+		int length = nameEnd - nameStart;
+		int start = 0;
+		while (start < nameStart) {
+			int end = query.indexOf('&', start);
+			int next = end + 1;
+			if (query.regionMatches(start, query, nameStart, length)
+					&& (start + length == end || query.charAt(start + length) == '=')) {
+				return true;
+			}
+			start = next;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the URI of the target, built on first call after a change
+	 */
+	public URI toUri() {
+		URI uri = this.uri;
+		if (uri == null) {
+			uri = URI.create(toString());
+			this.uri = uri;
+		}
+		return uri;
+	}
+
+	/**
+	 * @param uri a URI
+	 * @return whether the URI is the one built for this target, which then has not been
+	 * changed since
+	 */
+	boolean isBuiltAs(URI uri) {
+		return this.uri == uri;
+	}
+
+	/**
+	 * Same as {@code toUri().toASCIIString()}, without building the URI when the target
+	 * only contains ASCII characters.
+	 * @return the US-ASCII form of the target
+	 */
+	public String toASCIIString() {
+		URI uri = this.uri;
+		if (uri != null) {
+			return uri.toASCIIString();
+		}
+		String string = toString();
+		for (int i = 0; i < string.length(); i++) {
+			if (string.charAt(i) > 0x7F) {
+				return toUri().toASCIIString();
+			}
+		}
+		return string;
+	}
+
+	/**
+	 * Returns a request with the URI and path of this target, computed when they are
+	 * first read. Like {@code request.mutate().uri(...).build()}, without parsing the
+	 * URI up front. Later changes to this target do not affect the request.
+	 * @param request the request to decorate
+	 * @return the decorated request
+	 */
+	public ServerHttpRequest toRequest(ServerHttpRequest request) {
+		return new TargetServerHttpRequest(request, copy());
+	}
+
+	@Override
+	public String toString() {
+		String string = this.string;
+		if (string == null) {
+			string = (this.uri != null) ? this.uri.toString() : buildString();
+			this.string = string;
+		}
+		return string;
+	}
+
+	private String buildString() {
+		StringBuilder builder = new StringBuilder(64);
+		if (this.scheme != null) {
+			builder.append(this.scheme).append(':');
+		}
+		if (this.rawUserInfo != null || this.host != null) {
+			builder.append("//");
+			if (this.rawUserInfo != null) {
+				builder.append(this.rawUserInfo).append('@');
+			}
+			if (this.host != null) {
+				boolean ipv6 = this.host.indexOf(':') != -1 && this.host.charAt(0) != '[';
+				if (ipv6) {
+					builder.append('[').append(this.host).append(']');
+				}
+				else {
+					builder.append(this.host);
+				}
+			}
+			if (this.port != -1) {
+				builder.append(':').append(this.port);
+			}
+		}
+		if (!this.rawPath.isEmpty()) {
+			if (!builder.isEmpty() && this.rawPath.charAt(0) != '/') {
+				builder.append('/');
+			}
+			builder.append(this.rawPath);
+		}
+		if (this.rawQuery != null) {
+			builder.append('?').append(this.rawQuery);
+		}
+		if (this.rawFragment != null) {
+			builder.append('#').append(this.rawFragment);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Removes the first {@code parts} segments of a raw path. Empty segments are ignored
+	 * and a trailing slash is kept, the result always starts with {@code /}.
+	 * @param rawPath the raw path
+	 * @param parts the number of segments to remove
+	 * @return the remaining path
+	 */
+	public static String stripPrefix(String rawPath, int parts) {
+		int index = skipSlashes(rawPath, 0);
+		for (int part = 0; part < parts && index < rawPath.length(); part++) {
+			int end = rawPath.indexOf('/', index);
+			index = (end != -1) ? skipSlashes(rawPath, end) : rawPath.length();
+		}
+		if (index >= rawPath.length()) {
+			return "/";
+		}
+		String remaining = rawPath.substring(index);
+		if (remaining.contains("//")) {
+			// collapse empty segments, as tokenizing the path did
+			StringBuilder path = new StringBuilder(remaining.length() + 1);
+			for (int i = 0; i < remaining.length(); i++) {
+				char c = remaining.charAt(i);
+				if (c != '/' || path.isEmpty() || path.charAt(path.length() - 1) != '/') {
+					path.append(c);
+				}
+			}
+			remaining = path.toString();
+		}
+		return "/" + remaining;
+	}
+
+	private static int skipSlashes(String path, int from) {
+		int index = from;
+		while (index < path.length() && path.charAt(index) == '/') {
+			index++;
+		}
+		return index;
+	}
+
+	private static final class TargetServerHttpRequest extends ServerHttpRequestDecorator {
+
+		private final RequestTarget target;
+
+		private @Nullable RequestPath path;
+
+		TargetServerHttpRequest(ServerHttpRequest delegate, RequestTarget target) {
+			super(delegate);
+			this.target = target;
+		}
+
+		@Override
+		public URI getURI() {
+			return this.target.toUri();
+		}
+
+		@Override
+		public RequestPath getPath() {
+			RequestPath path = this.path;
+			if (path == null) {
+				path = RequestPath.parse(this.target.getRawPath(), getDelegate().getPath().contextPath().value());
+				this.path = path;
+			}
+			return path;
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics of the {@link RetryBudget retry budgets}: the retries denied because a budget
+ * was exhausted and the tokens left, tagged with the budget name. The meters of a replaced
+ * budget are removed so they do not keep reporting it.
+ */
+public class RetryBudgetMetrics {
+
+	private final MeterRegistry meterRegistry;
+
+	private final String metricsPrefix;
+
+	private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+	public RetryBudgetMetrics(MeterRegistry meterRegistry, RetryBudgetRegistry registry, String metricsPrefix) {
+		this.meterRegistry = meterRegistry;
+		if (metricsPrefix.endsWith(".")) {
+			this.metricsPrefix = metricsPrefix.substring(0, metricsPrefix.length() - 1);
+		}
+		else {
+			this.metricsPrefix = metricsPrefix;
+		}
+		registry.addListener(this::register);
+	}
+
+	private void register(RetryBudget budget) {
+		List<Meter> previous = this.meters.remove(budget.getName());
+		if (previous != null) {
+			previous.forEach(this.meterRegistry::remove);
+		}
+		Meter exhausted = FunctionCounter
+			.builder(this.metricsPrefix + ".retry.budget.exhausted", budget, RetryBudget::getExhausted)
+			.description("Retries denied because the retry budget was exhausted")
+			.tag("budget", budget.getName())
+			.register(this.meterRegistry);
+		Meter tokens = Gauge.builder(this.metricsPrefix + ".retry.budget.tokens", budget, RetryBudget::getTokens)
+			.description("Retries the retry budget currently allows")
+			.tag("budget", budget.getName())
+			.register(this.meterRegistry);
+		this.meters.put(budget.getName(), List.of(exhausted, tokens));
+	}
+
+	public String getMetricsPrefix() {
+		return metricsPrefix;
+	}
+
+}
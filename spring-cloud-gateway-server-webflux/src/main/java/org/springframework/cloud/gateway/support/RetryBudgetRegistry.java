@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.log.LogMessage;
+
+/**
+ * Named {@link RetryBudget retry budgets}. Routes using the same budget name, such as
+ * routes targeting the same service, share a single budget.
+ */
+public class RetryBudgetRegistry {
+
+	private static final Log log = LogFactory.getLog(RetryBudgetRegistry.class);
+
+	private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+	private final List<Consumer<RetryBudget>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Returns the budget with the given name, creating it if needed. A budget registered
+	 * with a different capacity or ratio, for example before its route was changed, is
+	 * replaced by a new, full budget.
+	 * @param name the budget name
+	 * @param capacity the maximum number of tokens
+	 * @param ratio the tokens deposited by every successful request
+	 * @return the budget
+	 */
+	public RetryBudget getOrCreate(String name, int capacity, double ratio) {
+		RetryBudget budget = this.budgets.get(name);
+		if (budget != null && budget.hasSettings(capacity, ratio)) {
+			return budget;
+		}
+		return create(name, capacity, ratio);
+	}
+
+	private synchronized RetryBudget create(String name, int capacity, double ratio) {
+		RetryBudget existing = this.budgets.get(name);
+		if (existing != null) {
+			if (existing.hasSettings(capacity, ratio)) {
+				return existing;
+			}
+			log.warn(LogMessage.format("Replacing retry budget '%s' with capacity %s and ratio %s by one with "
+					+ "capacity %s and ratio %s", name, existing.getCapacity(), existing.getRatio(), capacity, ratio));
+		}
+		RetryBudget created = new RetryBudget(name, capacity, ratio);
+		this.budgets.put(name, created);
+		this.listeners.forEach(listener -> listener.accept(created));
+		return created;
+	}
+
+	public @Nullable RetryBudget get(String name) {
+		return this.budgets.get(name);
+	}
+
+	public Collection<RetryBudget> getAll() {
+		return Collections.unmodifiableCollection(this.budgets.values());
+	}
+
+	/**
+	 * @param listener called for every existing and future budget, including budgets
+	 * replacing one with the same name
+	 */
+	public synchronized void addListener(Consumer<RetryBudget> listener) {
+		this.listeners.add(listener);
+		this.budgets.values().forEach(listener);
+	}
+
+}
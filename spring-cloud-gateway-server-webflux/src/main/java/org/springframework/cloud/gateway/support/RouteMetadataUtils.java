@@ -28,6 +28,11 @@ public final class RouteMetadataUtils {
 	 */
 	public static final String CONNECT_TIMEOUT_ATTR = "connect-timeout";
 
+	/**
+	 * Request deadline budget attribute name.
+	 */
+	public static final String DEADLINE_ATTR = "deadline";
+
 	private RouteMetadataUtils() {
 		throw new AssertionError("Must not instantiate utility class.");
 	}
@@ -47,7 +47,7 @@ import org.springframework.core.io.buffer.DefaultDataBuffer;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -106,6 +106,12 @@ public final class ServerWebExchangeUtils {
 	 */
 	public static final String GATEWAY_REQUEST_URL_ATTR = qualify("gatewayRequestUrl");
 
+	/**
+	 * Gateway {@link RequestTarget} attribute name, the editable form of
+	 * {@link #GATEWAY_REQUEST_URL_ATTR}, see {@link #getRequestTarget(ServerWebExchange)}.
+	 */
+	public static final String GATEWAY_REQUEST_TARGET_ATTR = qualify("gatewayRequestTarget");
+
 	/**
 	 * Gateway original request URL attribute name.
 	 */
@@ -191,6 +197,21 @@ public final class ServerWebExchangeUtils {
 	 */
 	public static final String GATEWAY_OBSERVATION_ATTR = qualify("gateway.observation");
 
+	/**
+	 * Gateway {@link PhaseTimings} attribute name.
+	 */
+	public static final String GATEWAY_PHASE_TIMINGS_ATTR = qualify("gatewayPhaseTimings");
+
+	/**
+	 * Gateway load shedding attribute name, set while the gateway is saturated.
+	 */
+	public static final String GATEWAY_LOAD_SHEDDING_ATTR = qualify("gatewayLoadShedding");
+
+	/**
+	 * Gateway request {@link Deadline} attribute name.
+	 */
+	public static final String GATEWAY_DEADLINE_ATTR = qualify("gatewayDeadline");
+
 	private static final byte[] EMPTY_BYTES = {};
 
 	private ServerWebExchangeUtils() {
@@ -202,14 +223,28 @@ public final class ServerWebExchangeUtils {
 	}
 
 	public static void setAlreadyRouted(ServerWebExchange exchange) {
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		if (context != null) {
+			context.setAlreadyRouted(true);
+			return;
+		}
 		exchange.getAttributes().put(GATEWAY_ALREADY_ROUTED_ATTR, true);
 	}
 
 	public static void removeAlreadyRouted(ServerWebExchange exchange) {
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		if (context != null) {
+			context.setAlreadyRouted(false);
+			return;
+		}
 		exchange.getAttributes().remove(GATEWAY_ALREADY_ROUTED_ATTR);
 	}
 
 	public static boolean isAlreadyRouted(ServerWebExchange exchange) {
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		if (context != null) {
+			return context.isAlreadyRouted();
+		}
 		return exchange.getAttributeOrDefault(GATEWAY_ALREADY_ROUTED_ATTR, false);
 	}
 
@@ -249,9 +284,9 @@ public final class ServerWebExchangeUtils {
 		if (statusHolder.getHttpStatus() != null) {
 			return setResponseStatus(exchange, statusHolder.getHttpStatus());
 		}
-		if (statusHolder.getStatus() != null && exchange.getResponse() instanceof AbstractServerHttpResponse) { // non-standard
-			((AbstractServerHttpResponse) exchange.getResponse()).setRawStatusCode(statusHolder.getStatus());
-			return true;
+		if (statusHolder.getStatus() != null) { // non-standard
+			// through the response itself, so decorators see the status
+			return exchange.getResponse().setStatusCode(HttpStatusCode.valueOf(statusHolder.getStatus()));
 		}
 		return false;
 	}
@@ -304,11 +339,59 @@ public final class ServerWebExchangeUtils {
 	}
 
 	public static void addOriginalRequestUrl(ServerWebExchange exchange, URI url) {
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		if (context != null) {
+			context.addOriginalRequestUrl(url);
+			return;
+		}
 		exchange.getAttributes().computeIfAbsent(GATEWAY_ORIGINAL_REQUEST_URL_ATTR, s -> new LinkedHashSet<>());
 		LinkedHashSet<URI> uris = exchange.getRequiredAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
 		uris.add(url);
 	}
 
+	/**
+	 * Returns the {@link RequestTarget} of {@link #GATEWAY_REQUEST_URL_ATTR}. The target
+	 * last set with {@link #setRequestTarget(ServerWebExchange, RequestTarget)} is
+	 * returned as long as the request URL was not replaced since, otherwise a new one is
+	 * created from the URL. Write it back with {@code setRequestTarget} after editing it.
+	 * @param exchange the current exchange
+	 * @return the target, or {@code null} if there is no request URL yet or it is opaque
+	 */
+	public static @Nullable RequestTarget getRequestTarget(ServerWebExchange exchange) {
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		if (context != null) {
+			return context.getRequestTarget();
+		}
+		URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+		if (url == null || url.isOpaque()) {
+			return null;
+		}
+		RequestTarget target = exchange.getAttribute(GATEWAY_REQUEST_TARGET_ATTR);
+		if (target == null || !target.isBuiltAs(url)) {
+			target = RequestTarget.from(url);
+			exchange.getAttributes().put(GATEWAY_REQUEST_TARGET_ATTR, target);
+		}
+		return target;
+	}
+
+	/**
+	 * Sets {@link #GATEWAY_REQUEST_URL_ATTR} to the given target. With a
+	 * {@link GatewayExchangeContext} the URI is only built when the attribute is read,
+	 * otherwise it is built once here and the target is kept in
+	 * {@link #GATEWAY_REQUEST_TARGET_ATTR} for the next filter.
+	 * @param exchange the current exchange
+	 * @param target the request target
+	 */
+	public static void setRequestTarget(ServerWebExchange exchange, RequestTarget target) {
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		if (context != null) {
+			context.setRequestTarget(target);
+			return;
+		}
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, target.toUri());
+		exchange.getAttributes().put(GATEWAY_REQUEST_TARGET_ATTR, target);
+	}
+
 	public static AsyncPredicate<ServerWebExchange> toAsyncPredicate(Predicate<? super ServerWebExchange> predicate) {
 		Objects.requireNonNull(predicate, "predicate must not be null");
 		return AsyncPredicate.from(predicate);
@@ -326,11 +409,32 @@ public final class ServerWebExchangeUtils {
 		return UriComponentsBuilder.fromPath(template).build().expand(variables).getPath();
 	}
 
+	/**
+	 * Expands a template compiled with {@link CompiledTemplate#compile(String)}, the
+	 * template variables are only read if the template is not constant.
+	 * @param exchange the current exchange
+	 * @param template the compiled template
+	 * @return the expanded template
+	 */
+	public static String expand(ServerWebExchange exchange, CompiledTemplate template) {
+		Objects.requireNonNull(exchange, "exchange may not be null");
+		Objects.requireNonNull(template, "template may not be null");
+
+		if (template.isConstant()) {
+			return template.expand(null);
+		}
+		return template.expand(exchange.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+	}
+
 	@SuppressWarnings("unchecked")
 	public static void putUriTemplateVariables(ServerWebExchange exchange, Map<String, String> uriVariables) {
-		if (exchange.getAttributes().containsKey(URI_TEMPLATE_VARIABLES_ATTRIBUTE)) {
-			Map<String, Object> existingVariables = (Map<String, Object>) exchange.getAttributes()
-				.get(URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		Map<String, Object> existingVariables = (Map<String, Object>) exchange.getAttributes()
+			.get(URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		// only merge, and so copy, when both maps have variables; maps may be lazy
+		if (existingVariables != null && !existingVariables.isEmpty()) {
+			if (uriVariables.isEmpty()) {
+				return;
+			}
 			HashMap<String, Object> newVariables = new HashMap<>();
 			newVariables.putAll(existingVariables);
 			newVariables.putAll(uriVariables);
@@ -342,7 +446,8 @@ public final class ServerWebExchangeUtils {
 	}
 
 	public static Map<String, String> getUriTemplateVariables(ServerWebExchange exchange) {
-		return exchange.getAttributeOrDefault(URI_TEMPLATE_VARIABLES_ATTRIBUTE, new HashMap<>());
+		Map<String, String> variables = exchange.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		return (variables != null) ? variables : new HashMap<>();
 	}
 
 	/**
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.actuate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.filter.RouteStatsFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteStatsRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class RouteStatsEndpointTests {
+
+	private final RouteStatsRegistry registry = new RouteStatsRegistry();
+
+	private final RouteStatsFilter filter = new RouteStatsFilter(registry);
+
+	private final RouteStatsEndpoint endpoint = new RouteStatsEndpoint(registry);
+
+	@Test
+	public void filterRecordsRequests() {
+		request("ok", HttpStatus.OK, 10);
+		request("ok", HttpStatus.OK, 10);
+		request("failing", HttpStatus.BAD_GATEWAY, 0);
+
+		Map<String, Object> ok = endpoint.route("ok").block().getBody();
+		assertThat(ok).containsEntry("route_id", "ok")
+			.containsEntry("requests", 2L)
+			.containsEntry("in_flight", 0L)
+			.containsEntry("bytes_out", 4L);
+		assertThat((double) ok.get("latency_p99_ms")).isGreaterThanOrEqualTo(0);
+		assertThat(endpoint.route("missing").block().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	public void filterCountsBodyBytesWithoutContentLength() {
+		MockServerWebExchange exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.post("/post").body(Flux.just(buffer("hello "), buffer("world"))));
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route("chunked"));
+
+		filter.filter(exchange, e -> e.getRequest()
+			.getBody()
+			.map(DataBufferUtils::release)
+			.then(e.getResponse().writeAndFlushWith(Flux.just(Flux.just(buffer("abc")), Flux.just(buffer("de"))))))
+			.block();
+
+		Map<String, Object> chunked = endpoint.route("chunked").block().getBody();
+		assertThat(chunked).containsEntry("bytes_in", 11L).containsEntry("bytes_out", 5L);
+	}
+
+	@Test
+	public void topRoutesBySortOrder() {
+		request("fast", HttpStatus.OK, 0);
+		request("slow", HttpStatus.OK, 50);
+		request("slowest", HttpStatus.OK, 100);
+
+		List<Map<String, Object>> top = endpoint.stats("latency", 2).collectList().block();
+
+		assertThat(top).extracting(stats -> stats.get("route_id")).containsExactly("slowest", "slow");
+		assertThat(endpoint.stats(null, null).collectList().block()).hasSize(3);
+	}
+
+	@Test
+	public void invalidQueryIsRejected() {
+		assertThatThrownBy(() -> endpoint.stats("unknown", null)).isInstanceOf(ResponseStatusException.class);
+		assertThatThrownBy(() -> endpoint.stats("traffic", 0)).isInstanceOf(ResponseStatusException.class);
+	}
+
+	private void request(String routeId, HttpStatus status, long delayMillis) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/get").build());
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route(routeId));
+		filter.filter(exchange, e -> {
+			sleep(delayMillis);
+			e.getResponse().setStatusCode(status);
+			return e.getResponse().writeWith(Mono.just(buffer("ok")));
+		}).block();
+	}
+
+	private static Route route(String routeId) {
+		return Route.async().id(routeId).uri("http://localhost").predicate(e -> true).build();
+	}
+
+	private static DataBuffer buffer(String value) {
+		return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -57,6 +57,7 @@ import org.springframework.cloud.gateway.actuate.GatewayControllerEndpoint;
 import org.springframework.cloud.gateway.actuate.GatewayLegacyControllerEndpoint;
 import org.springframework.cloud.gateway.config.GatewayAutoConfigurationTests.CustomHttpClientFactory.CustomSslConfigurer;
 import org.springframework.cloud.gateway.config.HttpClientProperties.Pool.LeasingStrategy;
+import org.springframework.cloud.gateway.filter.GatewayExchangeContextWebFilter;
 import org.springframework.cloud.gateway.filter.factory.TokenRelayGatewayFilterFactory;
 import org.springframework.cloud.gateway.filter.headers.ForwardedHeadersFilter;
 import org.springframework.cloud.gateway.filter.headers.GRPCRequestHeadersFilter;
@@ -317,6 +318,25 @@ public class GatewayAutoConfigurationTests {
 			});
 	}
 
+	@Test
+	public void exchangeContextFilterNotConfiguredByDefault() {
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(WebFluxAutoConfiguration.class, MetricsAutoConfiguration.class,
+					SimpleMetricsExportAutoConfiguration.class, GatewayAutoConfiguration.class,
+					ServerPropertiesConfig.class))
+			.run(context -> assertThat(context).doesNotHaveBean(GatewayExchangeContextWebFilter.class));
+	}
+
+	@Test
+	public void exchangeContextFilterConfiguredWhenEnabled() {
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(WebFluxAutoConfiguration.class, MetricsAutoConfiguration.class,
+					SimpleMetricsExportAutoConfiguration.class, GatewayAutoConfiguration.class,
+					ServerPropertiesConfig.class))
+			.withPropertyValues("spring.cloud.gateway.server.webflux.exchange-context.enabled=true")
+			.run(context -> assertThat(context).hasSingleBean(GatewayExchangeContextWebFilter.class));
+	}
+
 	@Test
 	public void insecureTrustManagerNotEnabledByDefaultWhenHTTP2Enabled() {
 		new ReactiveWebApplicationContextRunner()
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.discovery;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DiscoveryClientRouteDefinitionLocatorIncrementalTests {
+
+	private final Map<String, ServiceInstance> instances = new ConcurrentHashMap<>();
+
+	private final DiscoveryLocatorProperties properties = new DiscoveryLocatorProperties();
+
+	private DiscoveryClientRouteDefinitionLocator locator;
+
+	@BeforeEach
+	public void setup() {
+		ReactiveDiscoveryClient discoveryClient = mock(ReactiveDiscoveryClient.class);
+		when(discoveryClient.getServices()).thenReturn(Flux.defer(() -> Flux.fromIterable(instances.keySet())));
+		when(discoveryClient.getInstances(anyString()))
+			.thenAnswer(invocation -> Flux.just(instances.get(invocation.<String>getArgument(0))));
+		properties.setRouteIdPrefix("test_");
+		properties.setPredicates(GatewayDiscoveryClientAutoConfiguration.initPredicates());
+		properties.setFilters(GatewayDiscoveryClientAutoConfiguration.initFilters());
+		instances.put("service1", instance("service1", 8001, Map.of("zone", "a")));
+		instances.put("service2", instance("service2", 8002, Map.of("zone", "a")));
+		locator = new DiscoveryClientRouteDefinitionLocator(discoveryClient, properties);
+	}
+
+	@Test
+	public void onlyChangedServicesAreRegenerated() {
+		Map<String, RouteDefinition> first = load();
+		assertThat(first).containsOnlyKeys("test_service1", "test_service2");
+
+		instances.put("service2", instance("service2", 8002, Map.of("zone", "b")));
+		instances.put("service3", instance("service3", 8003, Map.of()));
+		Map<String, RouteDefinition> second = load();
+
+		assertThat(second.get("test_service1")).isSameAs(first.get("test_service1"));
+		assertThat(second.get("test_service2")).isNotSameAs(first.get("test_service2"));
+		assertThat(second.get("test_service2").getMetadata()).containsEntry("zone", "b");
+		assertThat(second.get("test_service3").getPredicates().get(0).getArgs()).containsValue("/service3/**");
+	}
+
+	@Test
+	public void removedServicesAreNotReturned() {
+		load();
+		instances.remove("service1");
+
+		assertThat(load()).containsOnlyKeys("test_service2");
+	}
+
+	@Test
+	public void changedPropertiesRegenerateAllServices() {
+		Map<String, RouteDefinition> first = load();
+		properties.setUrlExpression("'http://'+serviceId");
+		Map<String, RouteDefinition> second = load();
+
+		assertThat(second.get("test_service1")).isNotSameAs(first.get("test_service1"));
+		assertThat(second.get("test_service1").getUri()).hasToString("http://service1");
+		// the generated definitions equal the previous ones apart from the changed uri
+		assertThat(second.get("test_service1").getPredicates())
+			.isEqualTo(first.get("test_service1").getPredicates());
+	}
+
+	@Test
+	public void argumentsAreEvaluatedPerService() {
+		// enough evaluations for the expressions to be compiled
+		for (int i = 0; i < 200; i++) {
+			instances.put("service" + i, instance("service" + i, 8000 + i, Map.of()));
+		}
+		Map<String, RouteDefinition> definitions = load();
+
+		for (int i = 0; i < 200; i++) {
+			RouteDefinition definition = definitions.get("test_service" + i);
+			assertThat(definition.getPredicates().get(0).getArgs()).containsValue("/service" + i + "/**");
+			assertThat(definition.getFilters().get(0).getArgs()).containsValue("/service" + i + "/?(?<remaining>.*)");
+		}
+	}
+
+	private Map<String, RouteDefinition> load() {
+		List<RouteDefinition> definitions = locator.getRouteDefinitions().collectList().block();
+		Map<String, RouteDefinition> byId = new ConcurrentHashMap<>();
+		definitions.forEach(definition -> byId.put(definition.getId(), definition));
+		return byId;
+	}
+
+	private static ServiceInstance instance(String serviceId, int port, Map<String, String> metadata) {
+		return new DefaultServiceInstance(serviceId + "-" + port, serviceId, "localhost", port, false, metadata);
+	}
+
+}
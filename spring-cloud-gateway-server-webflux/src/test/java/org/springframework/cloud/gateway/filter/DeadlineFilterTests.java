@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.config.DeadlineProperties;
+import org.springframework.cloud.gateway.filter.headers.DeadlineHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.Deadline;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class DeadlineFilterTests {
+
+	private final DeadlineProperties properties = new DeadlineProperties();
+
+	@Test
+	public void tightestBudgetWins() {
+		MockServerWebExchange exchange = exchange(
+				MockServerHttpRequest.get("/").header("X-Request-Deadline", "5000").header("grpc-timeout", "200m"),
+				Map.of("deadline", 1000));
+
+		Deadline deadline = filter(exchange);
+
+		assertThat(deadline).isNotNull();
+		assertThat(deadline.remaining()).isBetween(Duration.ofMillis(100), Duration.ofMillis(200));
+	}
+
+	@Test
+	public void routeBudgetIsUsedWithoutHeaders() {
+		Deadline deadline = filter(exchange(MockServerHttpRequest.get("/"), Map.of("deadline", "1000")));
+
+		assertThat(deadline.remaining()).isBetween(Duration.ofMillis(900), Duration.ofMillis(1000));
+	}
+
+	@Test
+	public void grpcTimeoutCanBeIgnored() {
+		this.properties.setGrpcTimeoutEnabled(false);
+
+		Deadline deadline = filter(exchange(MockServerHttpRequest.get("/").header("grpc-timeout", "1m"), Map.of()));
+
+		assertThat(deadline).isNull();
+	}
+
+	@Test
+	public void defaultBudgetAppliesWhenNothingElseIsSet() {
+		assertThat(filter(exchange(MockServerHttpRequest.get("/"), Map.of()))).isNull();
+
+		this.properties.setDefaultBudget(Duration.ofSeconds(3));
+		Deadline deadline = filter(exchange(MockServerHttpRequest.get("/"), Map.of()));
+
+		assertThat(deadline.remaining()).isBetween(Duration.ofMillis(2900), Duration.ofSeconds(3));
+	}
+
+	@Test
+	public void hugeClientBudgetsAreCapped() {
+		MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/")
+			.header("X-Request-Deadline", String.valueOf(Long.MAX_VALUE))
+			.header("grpc-timeout", "99999999H"), Map.of());
+
+		Deadline deadline = filter(exchange);
+
+		assertThat(deadline).isNotNull();
+		assertThat(deadline.isExpired()).isFalse();
+	}
+
+	@Test
+	public void remainingBudgetIsForwarded() {
+		MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/").header("grpc-timeout", "2S"),
+				Map.of());
+		filter(exchange);
+		DeadlineHeadersFilter headersFilter = new DeadlineHeadersFilter("X-Request-Deadline", true);
+
+		HttpHeaders headers = headersFilter.filter(exchange.getRequest().getHeaders(), exchange);
+
+		assertThat(Long.parseLong(headers.getFirst("X-Request-Deadline"))).isBetween(1900L, 2000L);
+		assertThat(Deadline.parseGrpcTimeout(headers.getFirst("grpc-timeout"))).isBetween(Duration.ofMillis(1900),
+				Duration.ofSeconds(2));
+	}
+
+	@Test
+	public void headersAreUntouchedWithoutDeadline() {
+		MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/").header("grpc-timeout", "2S"),
+				Map.of());
+		HttpHeaders input = exchange.getRequest().getHeaders();
+
+		assertThat(new DeadlineHeadersFilter("X-Request-Deadline", true).filter(input, exchange)).isSameAs(input);
+	}
+
+	private Deadline filter(MockServerWebExchange exchange) {
+		new DeadlineFilter(this.properties).filter(exchange, e -> Mono.empty()).block();
+		return Deadline.get(exchange);
+	}
+
+	private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request,
+			Map<String, Object> metadata) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+		exchange.getAttributes()
+			.put(GATEWAY_ROUTE_ATTR,
+					Route.async().id("route").uri("http://localhost").predicate(e -> true).metadata(metadata).build());
+		return exchange;
+	}
+
+}
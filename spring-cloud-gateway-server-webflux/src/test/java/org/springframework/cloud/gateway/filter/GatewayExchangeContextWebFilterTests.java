@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.GatewayExchangeContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class GatewayExchangeContextWebFilterTests {
+
+	private final GatewayExchangeContextWebFilter filter = new GatewayExchangeContextWebFilter();
+
+	private final Route route = Route.async().id("route").uri("http://localhost").predicate(e -> true).build();
+
+	@Test
+	public void attributesAreExportedOnCompletion() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		AtomicReference<ServerWebExchange> decorated = new AtomicReference<>();
+
+		filter.filter(exchange, e -> {
+			decorated.set(e);
+			e.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+			return Mono.empty();
+		}).block();
+
+		assertThat(GatewayExchangeContext.get(decorated.get())).isNotNull();
+		assertThat(exchange.getAttributes()).containsEntry(GATEWAY_ROUTE_ATTR, route);
+	}
+
+	@Test
+	public void attributesAreExportedBeforeErrorIsHandled() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+
+		Mono<Void> result = filter.filter(exchange, e -> {
+			e.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+			return Mono.<Void>error(new IllegalStateException("failed"));
+		}).onErrorResume(ex -> {
+			// exception handlers only see the original exchange
+			assertThat(exchange.getAttributes()).containsEntry(GATEWAY_ROUTE_ATTR, route);
+			return Mono.empty();
+		});
+
+		StepVerifier.create(result).verifyComplete();
+	}
+
+	@Test
+	public void attributesAreExportedOnCancel() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+
+		filter.filter(exchange, e -> {
+			e.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+			return Mono.never();
+		}).subscribe().dispose();
+
+		assertThat(exchange.getAttributes()).containsEntry(GATEWAY_ROUTE_ATTR, route);
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayHttpTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayRouteTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayTagsProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Compares the timer lookup of {@link GatewayMetricsFilter} with the registry lookup it
+ * replaced, which built the tags of every request. Run with {@code -prof gc} to compare
+ * the allocation rates.
+ */
+@State(Scope.Benchmark)
+public class GatewayMetricsFilterBenchMarkTests {
+
+	private static final String TIMER_NAME = "spring.cloud.gateway.requests";
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final List<GatewayTagsProvider> tagsProviders = List.of(new GatewayHttpTagsProvider(),
+			new GatewayRouteTagsProvider());
+
+	private final GatewayTagsProvider compositeTagsProvider = this.tagsProviders.get(0)
+		.and(this.tagsProviders.get(1));
+
+	private final GatewayMetricsFilter filter = new GatewayMetricsFilter(this.meterRegistry, this.tagsProviders,
+			"spring.cloud.gateway");
+
+	private final MockServerWebExchange exchange;
+
+	public GatewayMetricsFilterBenchMarkTests() {
+		Route route = Route.async().id("service").uri("lb://service").predicate(exchange -> true).build();
+		this.exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/service/api").build());
+		this.exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		this.exchange.getResponse().setStatusCode(HttpStatus.OK);
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testCachedTimer(Blackhole blackhole) {
+		blackhole.consume(this.filter.getTimer(this.exchange));
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testRegistryLookup(Blackhole blackhole) {
+		blackhole.consume(this.meterRegistry.timer(TIMER_NAME, this.compositeTagsProvider.apply(this.exchange)));
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+}
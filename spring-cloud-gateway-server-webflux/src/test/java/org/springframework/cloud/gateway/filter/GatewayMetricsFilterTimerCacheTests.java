@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.util.List;
+import java.util.Set;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayHttpTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayRouteTagsProvider;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayTagsProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class GatewayMetricsFilterTimerCacheTests {
+
+	private final Route route = Route.async()
+		.id("test")
+		.uri("http://localhost:8080")
+		.predicate(exchange -> true)
+		.build();
+
+	@Test
+	public void builtInTagsProvidersUseCachedTimers() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		GatewayMetricsFilter filter = new GatewayMetricsFilter(meterRegistry,
+				List.of(new GatewayHttpTagsProvider(), new GatewayRouteTagsProvider()), "spring.cloud.gateway");
+
+		filter(filter, HttpStatus.OK);
+		filter(filter, HttpStatus.OK);
+		filter(filter, HttpStatus.NOT_FOUND);
+
+		assertThat(filter.getCachedTimerCount()).isEqualTo(2);
+		Timer ok = meterRegistry.get("spring.cloud.gateway.requests")
+			.tags("routeId", "test", "status", "OK", "httpMethod", "GET")
+			.timer();
+		assertThat(ok.count()).isEqualTo(2);
+		Timer notFound = meterRegistry.get("spring.cloud.gateway.requests").tags("status", "NOT_FOUND").timer();
+		assertThat(notFound.count()).isEqualTo(1);
+	}
+
+	@Test
+	public void newRouteInstanceReplacesCachedTimers() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		GatewayMetricsFilter filter = new GatewayMetricsFilter(meterRegistry,
+				List.of(new GatewayHttpTagsProvider(), new GatewayRouteTagsProvider()), "spring.cloud.gateway");
+		filter(filter, HttpStatus.OK);
+		filter(filter, HttpStatus.NOT_FOUND);
+		Route refreshed = Route.async().id("test").uri("http://localhost:9090").predicate(exchange -> true).build();
+
+		filter(filter, refreshed, HttpStatus.OK);
+
+		assertThat(filter.getCachedTimerCount()).isEqualTo(1);
+		assertThat(meterRegistry.get("spring.cloud.gateway.requests")
+			.tags("routeUri", "http://localhost:9090", "status", "OK")
+			.timer()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	public void removedRoutesReleaseCachedTimers() {
+		GatewayMetricsFilter filter = new GatewayMetricsFilter(new SimpleMeterRegistry(),
+				List.of(new GatewayHttpTagsProvider(), new GatewayRouteTagsProvider()), "spring.cloud.gateway");
+		Route other = Route.async().id("other").uri("http://localhost:9090").predicate(exchange -> true).build();
+		filter(filter, HttpStatus.OK);
+		filter(filter, HttpStatus.NOT_FOUND);
+		filter(filter, other, HttpStatus.OK);
+		assertThat(filter.getCachedTimerCount()).isEqualTo(3);
+
+		filter.onApplicationEvent(new RefreshRoutesResultEvent(this, new IllegalStateException("failed")));
+		assertThat(filter.getCachedTimerCount()).isEqualTo(3);
+
+		filter.onApplicationEvent(new RefreshRoutesResultEvent(this, Set.of("other"), Set.of("test", "unknown")));
+		assertThat(filter.getCachedTimerCount()).isEqualTo(1);
+
+		filter(filter, HttpStatus.OK);
+		assertThat(filter.getCachedTimerCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void cachedTimerIsReturnedForSameRouteAndStatus() {
+		GatewayMetricsFilter filter = new GatewayMetricsFilter(new SimpleMeterRegistry(),
+				List.of(new GatewayHttpTagsProvider(), new GatewayRouteTagsProvider()), "spring.cloud.gateway");
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/get").build());
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, this.route);
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+
+		Timer timer = filter.getTimer(exchange);
+
+		assertThat(filter.getTimer(exchange)).isSameAs(timer);
+		exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+		assertThat(filter.getTimer(exchange)).isNotSameAs(timer);
+	}
+
+	@Test
+	public void customTagsProviderBypassesCache() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		GatewayTagsProvider custom = exchange -> Tags.of("custom", "value");
+		GatewayMetricsFilter filter = new GatewayMetricsFilter(meterRegistry,
+				List.of(new GatewayHttpTagsProvider(), custom), "spring.cloud.gateway");
+
+		filter(filter, HttpStatus.OK);
+		filter(filter, HttpStatus.OK);
+
+		assertThat(filter.getCachedTimerCount()).isZero();
+		assertThat(meterRegistry.get("spring.cloud.gateway.requests").tags("custom", "value").timer().count())
+			.isEqualTo(2);
+	}
+
+	private void filter(GatewayMetricsFilter filter, HttpStatus status) {
+		filter(filter, this.route, status);
+	}
+
+	private void filter(GatewayMetricsFilter filter, Route route, HttpStatus status) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/get").build());
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		filter.filter(exchange, e -> {
+			e.getResponse().setStatusCode(status);
+			return Mono.empty();
+		}).block();
+		exchange.getResponse().setComplete().block();
+	}
+
+}
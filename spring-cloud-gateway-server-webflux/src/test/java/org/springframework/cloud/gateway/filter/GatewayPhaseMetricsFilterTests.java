@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.PhaseTimings;
+import org.springframework.cloud.gateway.support.PhaseTimings.Phase;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class GatewayPhaseMetricsFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final GatewayPhaseMetricsFilter filter = new GatewayPhaseMetricsFilter(meterRegistry,
+			"spring.cloud.gateway");
+
+	@Test
+	public void reachedPhasesArePublishedPerRoute() {
+		MockServerWebExchange exchange = exchange();
+		PhaseTimings.start(exchange).mark(Phase.ROUTE_MATCHED);
+
+		filter.filter(exchange, e -> Mono.fromRunnable(() -> {
+			for (Phase phase : new Phase[] { Phase.FILTERS_STARTED, Phase.REQUEST_STARTED, Phase.CONNECTION_ACQUIRED,
+					Phase.RESPONSE_HEADERS_RECEIVED, Phase.RESPONSE_COMPLETED }) {
+				PhaseTimings.mark(e, phase);
+			}
+		})).block();
+
+		for (String phase : new String[] { "route_match", "pre_filters", "connection_acquire", "upstream_first_byte",
+				"response_body" }) {
+			assertThat(meterRegistry.get("spring.cloud.gateway.requests.phases")
+				.tags("routeId", "test", "phase", phase)
+				.timer()
+				.count()).as(phase).isEqualTo(1);
+		}
+		// the load balancer was not involved
+		assertThat(meterRegistry.get("spring.cloud.gateway.requests.phases")
+			.tags("routeId", "test", "phase", "loadbalancer")
+			.timer()
+			.count()).isZero();
+		assertThat(filter.getCachedRouteCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void exchangesWithoutTimingsAreIgnored() {
+		filter.filter(exchange(), e -> Mono.empty()).block();
+
+		assertThat(meterRegistry.find("spring.cloud.gateway.requests.phases").timers()).isEmpty();
+	}
+
+	@Test
+	public void unreachedPhaseHasNoDuration() {
+		MockServerWebExchange exchange = exchange();
+		PhaseTimings timings = PhaseTimings.start(exchange);
+
+		assertThat(timings.between(Phase.START, Phase.ROUTE_MATCHED)).isEqualTo(-1);
+		timings.mark(Phase.ROUTE_MATCHED);
+		assertThat(timings.between(Phase.START, Phase.ROUTE_MATCHED)).isGreaterThanOrEqualTo(0);
+	}
+
+	private MockServerWebExchange exchange() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/get").build());
+		exchange.getAttributes()
+			.put(GATEWAY_ROUTE_ATTR,
+					Route.async().id("test").uri("http://localhost:8080").predicate(e -> true).build());
+		return exchange;
+	}
+
+}
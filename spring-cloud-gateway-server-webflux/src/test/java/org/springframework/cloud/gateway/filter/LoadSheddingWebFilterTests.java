@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import org.springframework.cloud.gateway.config.LoadSheddingProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.EventLoopLagMonitor;
+import org.springframework.cloud.gateway.support.PendingAcquireMonitor;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOAD_SHEDDING_ATTR;
+
+public class LoadSheddingWebFilterTests {
+
+	private final DefaultEventLoopGroup eventLoops = new DefaultEventLoopGroup(1);
+
+	@AfterEach
+	public void shutdown() {
+		this.eventLoops.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void blockedEventLoopIsSaturated() throws Exception {
+		EventLoopLagMonitor monitor = new EventLoopLagMonitor(this.eventLoops, Duration.ofMillis(10));
+		LoadSheddingProperties properties = new LoadSheddingProperties();
+		properties.setMaxEventLoopLag(Duration.ofMillis(50));
+		LoadSheddingWebFilter filter = new LoadSheddingWebFilter(monitor, null, properties);
+
+		assertThat(filter.isSaturated()).isFalse();
+
+		this.eventLoops.execute(() -> sleep(300));
+		Thread.sleep(200);
+
+		assertThat(monitor.getMaxLagNanos()).isGreaterThan(Duration.ofMillis(100).toNanos());
+		MockServerWebExchange exchange = exchange();
+		filter.filter(exchange, e -> Mono.empty()).block();
+		assertThat(exchange.getAttributes()).containsEntry(GATEWAY_LOAD_SHEDDING_ATTR, filter);
+		monitor.destroy();
+	}
+
+	@Test
+	public void pendingAcquiresAboveThresholdAreSaturated() {
+		PendingAcquireMonitor monitor = new PendingAcquireMonitor();
+		ConnectionPoolMetrics metrics = mock(ConnectionPoolMetrics.class);
+		given(metrics.pendingAcquireSize()).willReturn(3);
+		monitor.registerMetrics("proxy", "1", InetSocketAddress.createUnresolved("example.org", 80), metrics);
+		monitor.registerMetrics("proxy", "2", InetSocketAddress.createUnresolved("example.com", 80), metrics);
+		LoadSheddingProperties properties = new LoadSheddingProperties();
+		properties.setMaxPendingAcquires(5);
+
+		assertThat(monitor.getPendingAcquireCount()).isEqualTo(6);
+		assertThat(new LoadSheddingWebFilter(null, monitor, properties).isSaturated()).isTrue();
+
+		monitor.deRegisterMetrics("proxy", "2", InetSocketAddress.createUnresolved("example.com", 80));
+		assertThat(new LoadSheddingWebFilter(null, monitor, properties).isSaturated()).isFalse();
+	}
+
+	@Test
+	public void onlyLowPriorityRoutesAreShed() {
+		LoadSheddingWebFilter filter = new LoadSheddingWebFilter(null, null, new LoadSheddingProperties());
+
+		assertThat(filter.shouldShed(route(Map.of("priority", 0)))).isTrue();
+		assertThat(filter.shouldShed(route(Map.of("priority", "-1")))).isTrue();
+		assertThat(filter.shouldShed(route(Map.of("priority", 1)))).isFalse();
+		assertThat(filter.shouldShed(route(Map.of("priority", "2")))).isFalse();
+	}
+
+	@Test
+	public void routesWithoutPriorityAreNotShed() {
+		LoadSheddingWebFilter filter = new LoadSheddingWebFilter(null, null, new LoadSheddingProperties());
+
+		assertThat(filter.shouldShed(route(Map.of()))).isFalse();
+		assertThat(filter.shouldShed(route(Map.of("priority", "high")))).isFalse();
+	}
+
+	@Test
+	public void rejectingHandlerRespondsServiceUnavailable() {
+		LoadSheddingWebFilter filter = new LoadSheddingWebFilter(null, null, new LoadSheddingProperties());
+		MockServerWebExchange exchange = exchange();
+
+		filter.getRejectingHandler().handle(exchange).block();
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(exchange.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("1");
+		assertThat(filter.getShedRequests()).isEqualTo(1);
+	}
+
+	private static MockServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/get").build());
+	}
+
+	private static Route route(Map<String, Object> metadata) {
+		return Route.async()
+			.id("route")
+			.uri("http://localhost")
+			.predicate(exchange -> true)
+			.metadata(metadata)
+			.build();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
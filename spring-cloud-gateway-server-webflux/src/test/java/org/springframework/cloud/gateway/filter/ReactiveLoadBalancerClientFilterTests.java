@@ -42,6 +42,7 @@ import org.springframework.cloud.client.loadbalancer.RequestDataContext;
 import org.springframework.cloud.client.loadbalancer.Response;
 import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
 import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.RequestTarget;
 import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
 import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
@@ -232,6 +233,29 @@ class ReactiveLoadBalancerClientFilterTests {
 		assertThat(uri.getRawQuery()).isEqualTo("a=b&c=d[]");
 	}
 
+	@Test
+	void customReconstructUriIsCalledWhenReconstructTargetReturnsNull() {
+		when(clientFactory.getProperties(any())).thenReturn(loadBalancerProperties);
+		MockServerHttpRequest request = MockServerHttpRequest.get("http://localhost/get?a=b").build();
+		ReactiveLoadBalancerClientFilter customFilter = new ReactiveLoadBalancerClientFilter(clientFactory,
+				properties) {
+			@Override
+			protected URI reconstructURI(ServiceInstance serviceInstance, URI original) {
+				return URI.create("http://custom-host/custom");
+			}
+
+			@Override
+			protected RequestTarget reconstructTarget(ServiceInstance serviceInstance, RequestTarget target) {
+				return null;
+			}
+		};
+
+		ServerWebExchange webExchange = testFilter(customFilter, MockServerWebExchange.from(request),
+				URI.create("lb://service1?a=b"));
+		URI uri = webExchange.getRequiredAttribute(GATEWAY_REQUEST_URL_ATTR);
+		assertThat(uri).isEqualTo(URI.create("http://custom-host/custom"));
+	}
+
 	@Test
 	void happyPathWithAttributeRatherThanScheme() {
 		when(clientFactory.getProperties(any())).thenReturn(loadBalancerProperties);
@@ -434,6 +458,11 @@ class ReactiveLoadBalancerClientFilterTests {
 	}
 
 	private ServerWebExchange testFilter(ServerWebExchange exchange, URI uri) {
+		return testFilter(new ReactiveLoadBalancerClientFilter(clientFactory, properties), exchange, uri);
+	}
+
+	private ServerWebExchange testFilter(ReactiveLoadBalancerClientFilter filter, ServerWebExchange exchange,
+			URI uri) {
 		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, uri);
 
 		ArgumentCaptor<ServerWebExchange> captor = ArgumentCaptor.forClass(ServerWebExchange.class);
@@ -445,7 +474,6 @@ class ReactiveLoadBalancerClientFilterTests {
 				"service1", -1);
 		when(clientFactory.getInstance("service1", ReactorServiceInstanceLoadBalancer.class)).thenReturn(loadBalancer);
 
-		ReactiveLoadBalancerClientFilter filter = new ReactiveLoadBalancerClientFilter(clientFactory, properties);
 		filter.filter(exchange, chain).block();
 
 		return captor.getValue();
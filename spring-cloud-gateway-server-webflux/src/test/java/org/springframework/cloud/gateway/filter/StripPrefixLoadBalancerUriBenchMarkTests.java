@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter;
+
+import java.net.URI;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.gateway.filter.factory.StripPrefixGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.GatewayExchangeContext;
+import org.springframework.cloud.gateway.support.RequestTarget;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.containsEncodedParts;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.getRequestTarget;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setRequestTarget;
+
+/**
+ * Compares the URI rewriting of a {@code StripPrefix=1} route to {@code lb://service}
+ * with the previous implementation that built a URI at every step. The request target
+ * only defers building the URI with the opt-in {@link GatewayExchangeContext}, without
+ * it the URI is still built once per rewrite. Run with {@code -prof gc} to compare the
+ * allocation rates.
+ */
+@State(Scope.Benchmark)
+public class StripPrefixLoadBalancerUriBenchMarkTests {
+
+	private static final String REQUEST_URL = "http://localhost:8080/service/api/v1/users/42?page=1&size=20";
+
+	private static final ServiceInstance INSTANCE = new DefaultServiceInstance("service-1", "service", "10.0.0.1",
+			8080, false);
+
+	private final Route route = Route.async().id("service").uri("lb://service").predicate(exchange -> true).build();
+
+	private final GatewayFilter stripPrefix = new StripPrefixGatewayFilterFactory()
+		.apply(new StripPrefixGatewayFilterFactory.Config());
+
+	private final RouteToRequestUrlFilter routeToRequestUrl = new RouteToRequestUrlFilter();
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testRequestTarget(Blackhole blackhole) {
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(REQUEST_URL).build());
+		rewrite(GatewayExchangeContext.decorate(exchange), blackhole);
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testRequestTargetWithoutContext(Blackhole blackhole) {
+		rewrite(MockServerWebExchange.from(MockServerHttpRequest.get(REQUEST_URL).build()), blackhole);
+	}
+
+	private void rewrite(ServerWebExchange exchange, Blackhole blackhole) {
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, this.route);
+		this.stripPrefix.filter(exchange, stripped -> this.routeToRequestUrl.filter(stripped, routed -> {
+			// what ReactiveLoadBalancerClientFilter and NettyRoutingFilter do with the target
+			RequestTarget target = RequestTarget.from(routed.getRequest())
+				.scheme(INSTANCE.getScheme())
+				.host(INSTANCE.getHost())
+				.port(INSTANCE.getPort());
+			setRequestTarget(routed, target);
+			blackhole.consume(getRequestTarget(routed).toASCIIString());
+			return Mono.empty();
+		}));
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testUriComponentsBuilder(Blackhole blackhole) {
+		ServerHttpRequest request = MockServerHttpRequest.get(REQUEST_URL).build();
+		// StripPrefixGatewayFilterFactory
+		String path = request.getURI().getRawPath();
+		String[] originalParts = StringUtils.tokenizeToStringArray(path, "/");
+		StringBuilder newPath = new StringBuilder("/");
+		for (int i = 1; i < originalParts.length; i++) {
+			if (newPath.length() > 1) {
+				newPath.append('/');
+			}
+			newPath.append(originalParts[i]);
+		}
+		ServerHttpRequest newRequest = request.mutate().path(newPath.toString()).build();
+		blackhole.consume(newRequest.getURI());
+		// RouteToRequestUrlFilter
+		URI uri = newRequest.getURI();
+		URI routeUri = this.route.getUri();
+		URI mergedUrl = UriComponentsBuilder.fromUri(uri)
+			.scheme(routeUri.getScheme())
+			.host(routeUri.getHost())
+			.port(routeUri.getPort())
+			.build(containsEncodedParts(uri))
+			.toUri();
+		blackhole.consume(mergedUrl);
+		// ReactiveLoadBalancerClientFilter and NettyRoutingFilter
+		URI requestUrl = LoadBalancerUriTools.reconstructURI(INSTANCE, uri);
+		blackhole.consume(requestUrl.toASCIIString());
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+}
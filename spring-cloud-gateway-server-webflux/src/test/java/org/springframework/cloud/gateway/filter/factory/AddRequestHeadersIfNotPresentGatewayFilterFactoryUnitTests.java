@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.factory;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.config.KeyValue;
+import org.springframework.cloud.gateway.support.config.KeyValueConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AddRequestHeadersIfNotPresentGatewayFilterFactoryUnitTests {
+
+	private GatewayFilterChain filterChain;
+
+	private ArgumentCaptor<ServerWebExchange> captor;
+
+	@BeforeEach
+	public void setUp() {
+		filterChain = mock(GatewayFilterChain.class);
+		captor = ArgumentCaptor.forClass(ServerWebExchange.class);
+		when(filterChain.filter(captor.capture())).thenReturn(Mono.empty());
+	}
+
+	@Test
+	public void addsConstantValuesOfMissingHeaders() {
+		GatewayFilter filter = filter(new KeyValue("X-Constant", "ValueA"), new KeyValue("X-Constant", "ValueB"));
+
+		HttpHeaders headers = filter(filter, MockServerHttpRequest.get("http://localhost").build());
+
+		assertThat(headers.get("X-Constant")).containsExactly("ValueA", "ValueB");
+	}
+
+	@Test
+	public void doesNotOverrideHeaderSetWithConstantValue() {
+		GatewayFilter filter = filter(new KeyValue("X-Constant", "ValueA"), new KeyValue("X-Other", "ValueB"));
+
+		HttpHeaders headers = filter(filter,
+				MockServerHttpRequest.get("http://localhost").header("X-Constant", "initial").build());
+
+		assertThat(headers.get("X-Constant")).containsExactly("initial");
+		assertThat(headers.get("X-Other")).containsExactly("ValueB");
+	}
+
+	@Test
+	public void constantValuesAreAddedToEveryRequest() {
+		GatewayFilter filter = filter(new KeyValue("X-Constant", "ValueA"));
+
+		HttpHeaders present = filter(filter,
+				MockServerHttpRequest.get("http://localhost").header("X-Constant", "initial").build());
+		HttpHeaders missing = filter(filter, MockServerHttpRequest.get("http://localhost").build());
+
+		assertThat(present.get("X-Constant")).containsExactly("initial");
+		assertThat(missing.get("X-Constant")).containsExactly("ValueA");
+	}
+
+	@Test
+	public void expandsTemplatesOfHeadersWithVariables() {
+		GatewayFilter filter = filter(new KeyValue("X-Template", "ValueA"), new KeyValue("X-Template", "{segment}"));
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost"));
+		ServerWebExchangeUtils.putUriTemplateVariables(exchange, Map.of("segment", "expanded"));
+
+		filter.filter(exchange, filterChain).block();
+
+		assertThat(captor.getValue().getRequest().getHeaders().get("X-Template")).containsExactly("ValueA",
+				"expanded");
+	}
+
+	@Test
+	public void doesNotOverrideHeaderSetWithTemplateValue() {
+		GatewayFilter filter = filter(new KeyValue("X-Template", "{segment}"));
+		MockServerWebExchange exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("http://localhost").header("X-Template", "initial"));
+		ServerWebExchangeUtils.putUriTemplateVariables(exchange, Map.of("segment", "expanded"));
+
+		filter.filter(exchange, filterChain).block();
+
+		assertThat(captor.getValue().getRequest().getHeaders().get("X-Template")).containsExactly("initial");
+	}
+
+	private GatewayFilter filter(KeyValue... keyValues) {
+		KeyValueConfig config = new KeyValueConfig();
+		config.setKeyValues(keyValues);
+		return new AddRequestHeadersIfNotPresentGatewayFilterFactory().apply(config);
+	}
+
+	private HttpHeaders filter(GatewayFilter filter, MockServerHttpRequest request) {
+		filter.filter(MockServerWebExchange.from(request), filterChain).block();
+		return captor.getValue().getRequest().getHeaders();
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.factory;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiteralPathRewriteTests {
+
+	private static final List<String> PATHS = List.of("", "/", "/api", "/api/", "/api/users/42", "/v1/api/users",
+			"/apiusers", "/red", "/red/", "/red/blue", "/redblue", "/foo/bar/foo", "/a.b/c", "/aXb/c", "/api/api/x");
+
+	@Test
+	void literalRegexpsMatchReplaceAll() {
+		assertRewrites("/api", "/v2", "$0/v2", "/x$0$0");
+		assertRewrites("/foo", "/baz", "");
+		assertRewrites("^/api", "/v2", "", "$0/x");
+		assertRewrites("^/api/?", "/v2/", "");
+		assertRewrites("^/api$", "/v2", "$0/");
+		assertRewrites("^/api/?$", "/v2");
+		assertRewrites("/api/(?<segment>.*)", "/${segment}", "/$1", "/x/$0", "$10", "\\$x/${segment}");
+		assertRewrites("/api/?(?<segment>.*)", "/${segment}", "/prefix${segment}/suffix");
+		assertRewrites("/red(?<segment>/?.*)", "${segment}", "/blue${segment}");
+		assertRewrites("^/red/?(.*)$", "/$1", "/$1$1");
+		assertRewrites("/a\\.b/(.*)", "/$1");
+		assertRewrites("/foo", "/baz");
+	}
+
+	@Test
+	void regexpsAreNotLiteral() {
+		assertThat(LiteralPathRewrite.compile("/foo/(?<id>\\d.*)", "/${id}")).isNull();
+		assertThat(LiteralPathRewrite.compile("/a.b/(.*)", "/$1")).isNull();
+		assertThat(LiteralPathRewrite.compile("(.*)", "/$1")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/(.*)/x", "/$1")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/?", "/")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api$", "/")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/(?:.*)", "/")).isNull();
+		assertThat(LiteralPathRewrite.compile("(?i)/api", "/")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/(.*)", "/${segment}")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/(?<segment>.*)", "/${other}")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/(.*)", "/$2")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api/(.*)", "/$01")).isNull();
+		assertThat(LiteralPathRewrite.compile("/api", "/$")).isNull();
+	}
+
+	private static void assertRewrites(String regexp, String... replacements) {
+		for (String replacement : replacements) {
+			LiteralPathRewrite rewrite = LiteralPathRewrite.compile(regexp, replacement);
+			assertThat(rewrite).as("%s -> %s", regexp, replacement).isNotNull();
+			Pattern pattern = Pattern.compile(regexp);
+			for (String path : PATHS) {
+				assertThat(rewrite.rewrite(path)).as("%s -> %s on %s", regexp, replacement, path)
+					.isEqualTo(pattern.matcher(path).replaceAll(replacement));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.factory;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the literal rewrite of {@link RewritePathGatewayFilterFactory} with the
+ * {@code Matcher.replaceAll} it replaces, for a typical prefix rewrite.
+ */
+@State(Scope.Benchmark)
+public class RewritePathBenchMarkTests {
+
+	private static final String REGEXP = "/api/(?<segment>.*)";
+
+	private static final String REPLACEMENT = "/${segment}";
+
+	private static final String[] PATHS = { "/api/users", "/api/users/42/orders/7", "/static/css/site.css" };
+
+	private final Pattern pattern = Pattern.compile(REGEXP);
+
+	private final LiteralPathRewrite literalRewrite = Objects
+		.requireNonNull(LiteralPathRewrite.compile(REGEXP, REPLACEMENT));
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.Throughput)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testLiteralRewrite(Blackhole blackhole) {
+		for (String path : PATHS) {
+			blackhole.consume(this.literalRewrite.rewrite(path));
+		}
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.Throughput)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testReplaceAll(Blackhole blackhole) {
+		for (String path : PATHS) {
+			blackhole.consume(this.pattern.matcher(path).replaceAll(REPLACEMENT));
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+}
@@ -265,4 +265,78 @@ public class SecureHeadersGatewayFilterFactoryUnitTests {
 		assertThat(response.getHeaders().get(PERMISSIONS_POLICY_HEADER)).containsExactly("camera=*");
 	}
 
+	@Test
+	public void disabledHeadersAreResolvedWhenFilterIsApplied() {
+		SecureHeadersProperties properties = new SecureHeadersProperties();
+		properties.setDisable(List.of("x-frame-options"));
+		SecureHeadersGatewayFilterFactory filterFactory = new SecureHeadersGatewayFilterFactory(properties);
+		filter = filterFactory.apply(new Config());
+
+		properties.setDisable(List.of("x-xss-protection"));
+		filter.filter(exchange, filterChain).block();
+
+		assertThat(exchange.getResponse().getHeaders().headerNames()).contains(X_XSS_PROTECTION_HEADER)
+			.doesNotContain(X_FRAME_OPTIONS_HEADER);
+
+		MockServerWebExchange refreshedExchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("http://localhost").build());
+		filterFactory.apply(new Config()).filter(refreshedExchange, filterChain).block();
+
+		assertThat(refreshedExchange.getResponse().getHeaders().headerNames()).contains(X_FRAME_OPTIONS_HEADER)
+			.doesNotContain(X_XSS_PROTECTION_HEADER);
+	}
+
+	@Test
+	public void routePermissionsPolicyOverridesGlobalValue() {
+		SecureHeadersProperties properties = new SecureHeadersProperties();
+		properties.setEnable(List.of("permissions-policy"));
+		properties.setPermissionsPolicy("camera=*");
+		SecureHeadersGatewayFilterFactory filterFactory = new SecureHeadersGatewayFilterFactory(properties);
+
+		Config config = new Config();
+		config.setEnable(Set.of("permissions-policy"));
+		config.setPermissionsPolicy("geolocation=()");
+		filter = filterFactory.apply(config);
+
+		filter.filter(exchange, filterChain).block();
+
+		assertThat(exchange.getResponse().getHeaders().get(PERMISSIONS_POLICY_HEADER))
+			.containsExactly("geolocation=()");
+	}
+
+	@Test
+	public void globalPermissionsPolicyIsUsedWhenRouteDoesNotSetOne() {
+		SecureHeadersProperties properties = new SecureHeadersProperties();
+		properties.setPermissionsPolicy("camera=*");
+		SecureHeadersGatewayFilterFactory filterFactory = new SecureHeadersGatewayFilterFactory(properties);
+
+		Config config = new Config();
+		config.setEnable(Set.of("permissions-policy"));
+		filter = filterFactory.apply(config);
+
+		filter.filter(exchange, filterChain).block();
+
+		assertThat(exchange.getResponse().getHeaders().get(PERMISSIONS_POLICY_HEADER)).containsExactly("camera=*");
+	}
+
+	@Test
+	public void doesNotOverrideHeadersSetDownstreamWhenFilterIsReused() {
+		SecureHeadersGatewayFilterFactory filterFactory = new SecureHeadersGatewayFilterFactory(
+				new SecureHeadersProperties());
+		filter = filterFactory.apply(new Config());
+		GatewayFilterChain downstream = downstreamExchange -> {
+			downstreamExchange.getResponse().getHeaders().set(X_FRAME_OPTIONS_HEADER, "SAMEORIGIN");
+			return Mono.empty();
+		};
+
+		filter.filter(exchange, downstream).block();
+		MockServerWebExchange secondExchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("http://localhost").build());
+		filter.filter(secondExchange, filterChain).block();
+
+		assertThat(exchange.getResponse().getHeaders().get(X_FRAME_OPTIONS_HEADER)).containsExactly("SAMEORIGIN");
+		assertThat(secondExchange.getResponse().getHeaders().get(X_FRAME_OPTIONS_HEADER))
+			.containsExactly(new SecureHeadersProperties().getFrameOptions());
+	}
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.headers.observation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+/**
+ * Overhead of the client observation header filters at different sampling rates, where
+ * sampling is modelled by an observation predicate. Run with {@code -prof gc} to compare
+ * allocations.
+ */
+@State(Scope.Benchmark)
+public class ObservedRequestHttpHeadersFilterBenchMarkTests {
+
+	@Param({ "0", "0.01", "1" })
+	public double samplingRate;
+
+	private ObservedRequestHttpHeadersFilter requestFilter;
+
+	private final ObservedResponseHttpHeadersFilter responseFilter = new ObservedResponseHttpHeadersFilter();
+
+	private final Route route = Route.async().id("foo").uri("http://localhost:8080/").predicate(e -> true).build();
+
+	private final MockServerHttpRequest request = MockServerHttpRequest.get("http://localhost:8080/get")
+		.header("X-A", "aValue")
+		.header("Accept", "application/json")
+		.header("User-Agent", "benchmark")
+		.build();
+
+	@Setup
+	public void setup() {
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new ObservationHandler<>() {
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+		double rate = this.samplingRate;
+		registry.observationConfig()
+			.observationPredicate((name, context) -> rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+		this.requestFilter = new ObservedRequestHttpHeadersFilter(registry);
+	}
+
+	@Benchmark
+	@Fork(1)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 5, time = 1)
+	public HttpHeaders filter() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(this.request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, this.route);
+		HttpHeaders headers = this.requestFilter.filter(this.request.getHeaders(), exchange);
+		return this.responseFilter.filter(headers, exchange);
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+}
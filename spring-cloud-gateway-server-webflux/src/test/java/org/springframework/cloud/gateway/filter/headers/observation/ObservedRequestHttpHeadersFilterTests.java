@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.filter.headers.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObservedRequestHttpHeadersFilterTests {
+
+	@Test
+	public void noopRegistryDoesNotCopyHeaders() {
+		MockServerWebExchange exchange = exchange();
+		HttpHeaders input = exchange.getRequest().getHeaders();
+
+		HttpHeaders headers = new ObservedRequestHttpHeadersFilter(ObservationRegistry.NOOP).filter(input, exchange);
+
+		assertThat(headers).isSameAs(input);
+		assertThat((Object) exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_OBSERVATION_ATTR)).isNull();
+	}
+
+	@Test
+	public void rejectedObservationDoesNotStartClientObservation() {
+		ObservationRegistry registry = registry();
+		registry.observationConfig().observationPredicate((name, context) -> false);
+		MockServerWebExchange exchange = exchange();
+		HttpHeaders input = exchange.getRequest().getHeaders();
+
+		HttpHeaders headers = new ObservedRequestHttpHeadersFilter(registry).filter(input, exchange);
+		headers = new ObservedResponseHttpHeadersFilter().filter(headers, exchange);
+
+		assertThat(headers).isSameAs(input);
+		assertThat((Object) exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_OBSERVATION_ATTR)).isNull();
+		assertThat((Object) exchange.getAttribute(ObservedResponseHttpHeadersFilter.OBSERVATION_STOPPED)).isNull();
+	}
+
+	@Test
+	public void acceptedObservationCopiesHeaders() {
+		MockServerWebExchange exchange = exchange();
+		HttpHeaders input = exchange.getRequest().getHeaders();
+
+		HttpHeaders headers = new ObservedRequestHttpHeadersFilter(registry()).filter(input, exchange);
+
+		assertThat(headers).isNotSameAs(input);
+		assertThat(headers.getFirst("X-A")).isEqualTo("aValue");
+		Observation observation = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_OBSERVATION_ATTR);
+		assertThat(observation).isNotNull();
+		assertThat(observation.getContext()).isInstanceOf(GatewayContext.class);
+	}
+
+	private static ObservationRegistry registry() {
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new ObservationHandler<>() {
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+		return registry;
+	}
+
+	private static MockServerWebExchange exchange() {
+		MockServerWebExchange exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("http://localhost:8080/get").header("X-A", "aValue").build());
+		exchange.getAttributes()
+			.put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+					Route.async().id("foo").uri("http://localhost:8080/").predicate(e -> true).build());
+		return exchange;
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.handler;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.cloud.gateway.handler.predicate.HostRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.CachingRouteLocator;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteSnapshot;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostRouteIndexTests {
+
+	private final HostRoutePredicateFactory factory = new HostRoutePredicateFactory();
+
+	@Test
+	public void skipsRoutesForOtherHosts() {
+		Route tenant = route(1, host("{tenant}.api.example.com").and(AsyncPredicate.from(exchange -> true)));
+		Route any = route(2, AsyncPredicate.from(exchange -> true));
+		Route other = route(3, host("www.other.org"));
+		Route notOther = route(4, host("www.other.org").negate());
+		Route partial = route(5, host("api-*.example.com"));
+		HostRouteIndex index = HostRouteIndex.build(snapshot(tenant, any, other, notOther, partial));
+
+		assertThat(index.isEmpty()).isFalse();
+		assertThat(index.getCandidates(exchange("acme.api.example.com"))).containsExactly(tenant, any, notOther,
+				partial);
+		assertThat(index.getCandidates(exchange("www.other.org"))).containsExactly(any, other, notOther, partial);
+	}
+
+	@Test
+	public void malformedHostKeepsAllHostRoutes() {
+		Route tenant = route(1, host("{tenant}.api.example.com"));
+		Route other = route(2, host("www.other.org"));
+		HostRouteIndex index = HostRouteIndex.build(snapshot(tenant, other));
+
+		assertThat(index.getCandidates(exchange("acme..example.com"))).containsExactly(tenant, other);
+	}
+
+	@Test
+	public void emptyWithoutHostRoutes() {
+		HostRouteIndex index = HostRouteIndex.build(snapshot(route(1, AsyncPredicate.from(exchange -> true))));
+
+		assertThat(index.isEmpty()).isTrue();
+	}
+
+	private AsyncPredicate<ServerWebExchange> host(String pattern) {
+		return factory.applyAsync(new HostRoutePredicateFactory.Config().setPatterns(List.of(pattern)));
+	}
+
+	private static Route route(int order, AsyncPredicate<ServerWebExchange> predicate) {
+		return Route.async().id("route" + order).uri("http://localhost").order(order).asyncPredicate(predicate).build();
+	}
+
+	private static RouteSnapshot snapshot(Route... routes) {
+		CachingRouteLocator locator = new CachingRouteLocator(() -> Flux.just(routes));
+		locator.getRoutes().collectList().block();
+		return locator.getSnapshot();
+	}
+
+	private static ServerWebExchange exchange(String host) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/").header("Host", host).build());
+	}
+
+}
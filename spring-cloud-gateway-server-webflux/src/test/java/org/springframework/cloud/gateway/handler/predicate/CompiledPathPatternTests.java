@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.handler.predicate;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledPathPatternTests {
+
+	private static final List<String> PATTERNS = List.of("/api/users", "/api/users/{id}",
+			"/api/users/{id}/orders/{orderId}", "/api/**", "/**", "/api/{version}/**");
+
+	private static final List<String> PATHS = List.of("", "/", "/api", "/api/", "/api/users", "/api/users/",
+			"/api/users/42", "/api/users/42/", "/api/users//42", "/api/users/42/orders/7", "/api/users/a%2Fb",
+			"/api/users/42;color=red", "/apix/users", "/api/v1/users/42", "/API/users");
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	@Test
+	public void matchesLikePathPattern() {
+		for (String pattern : PATTERNS) {
+			PathPattern pathPattern = parser.parse(pattern);
+			CompiledPathPattern compiled = CompiledPathPattern.compile(pattern);
+			assertThat(compiled).as(pattern).isNotNull();
+			for (String rawPath : PATHS) {
+				PathContainer path = PathContainer.parsePath(rawPath);
+				PathPattern.PathMatchInfo expected = pathPattern.matchAndExtract(path);
+				Map<String, String> actual = compiled.match(path);
+				assertThat(actual != null).as("%s matches %s", pattern, rawPath).isEqualTo(expected != null);
+				if (expected != null) {
+					assertThat(actual).containsExactlyEntriesOf(expected.getUriVariables());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void variablesAreResolvedOnFirstRead() {
+		CompiledPathPattern compiled = CompiledPathPattern.compile("/api/users/{id}");
+		Map<String, String> variables = compiled.match(PathContainer.parsePath("/api/users/42"));
+
+		assertThat(variables).isInstanceOf(CompiledPathPattern.LazyUriVariables.class).isNotEmpty();
+		assertThat(variables.get("id")).isEqualTo("42");
+		assertThat(variables).hasSize(1);
+	}
+
+	@Test
+	public void rejectsUnsupportedPatterns() {
+		assertThat(CompiledPathPattern.compile("/")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/*")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/v?")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/{id:\\d+}")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/{*rest}")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/**/users")).isNull();
+		assertThat(CompiledPathPattern.compile("/api/user-{id}")).isNull();
+		assertThat(CompiledPathPattern.compile("/files/a%20b")).isNull();
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.handler.predicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.boot.webflux.autoconfigure.WebFluxProperties;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Compares compiled Path predicates with predicates matched by {@code PathPattern}
+ * over a typical REST route set.
+ */
+@State(Scope.Benchmark)
+public class PathRoutePredicateMatchBenchMarkTests {
+
+	private static final String HOST = "http://localhost:8080";
+
+	private static final int SERVICES_NUM = 40;
+
+	private static final String[] REQUEST_PATHS = { "/api/v1/service0/users", "/api/v1/service20/users/42",
+			"/api/v1/service39/users/42/orders/7", "/static/service39/css/site.css", "/api/v1/unknown/users" };
+
+	private final List<Predicate<ServerWebExchange>> compiledPredicates = predicates(false);
+
+	private final List<Predicate<ServerWebExchange>> pathPatternPredicates = predicates(true);
+
+	private static List<Predicate<ServerWebExchange>> predicates(boolean customParser) {
+		List<Predicate<ServerWebExchange>> predicates = new ArrayList<>();
+		for (int i = 0; i < SERVICES_NUM; i++) {
+			String prefix = "/api/v1/service" + i;
+			predicates.add(predicate(customParser, prefix + "/users"));
+			predicates.add(predicate(customParser, prefix + "/users/{id}"));
+			predicates.add(predicate(customParser, prefix + "/users/{id}/orders/{orderId}"));
+			predicates.add(predicate(customParser, "/static/service" + i + "/**"));
+		}
+		return predicates;
+	}
+
+	private static Predicate<ServerWebExchange> predicate(boolean customParser, String pattern) {
+		PathRoutePredicateFactory factory = new PathRoutePredicateFactory(new WebFluxProperties());
+		if (customParser) {
+			// a custom parser disables compilation
+			factory.setPathPatternParser(new PathPatternParser());
+		}
+		return factory.apply(new PathRoutePredicateFactory.Config().setPatterns(Collections.singletonList(pattern)));
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.Throughput)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testCompiledPathPattern(Blackhole blackhole) {
+		match(this.compiledPredicates, blackhole);
+	}
+
+	@Benchmark
+	@Threads(2)
+	@Fork(2)
+	@BenchmarkMode(Mode.Throughput)
+	@Warmup(iterations = 2, time = 3)
+	@Measurement(iterations = 10, time = 1)
+	public void testPathPattern(Blackhole blackhole) {
+		match(this.pathPatternPredicates, blackhole);
+	}
+
+	private static void match(List<Predicate<ServerWebExchange>> predicates, Blackhole blackhole) {
+		for (String path : REQUEST_PATHS) {
+			ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(HOST + path).build());
+			for (Predicate<ServerWebExchange> predicate : predicates) {
+				if (predicate.test(exchange)) {
+					break;
+				}
+			}
+			blackhole.consume(exchange.getAttributes());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+}
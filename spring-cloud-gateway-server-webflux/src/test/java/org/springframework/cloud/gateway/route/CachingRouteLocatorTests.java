@@ -16,11 +16,16 @@
 
 package org.springframework.cloud.gateway.route;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
@@ -65,6 +70,160 @@ public class CachingRouteLocatorTests {
 		assertThat(routes).containsExactly(route1, route2);
 	}
 
+	@Test
+	public void snapshotIsPublishedWithIncreasingGeneration() throws InterruptedException {
+		Route route1 = route(1);
+		Route route2 = route(2);
+		CachingRouteLocator locator = new CachingRouteLocator(() -> Flux.just(route2, route1));
+
+		assertThat(locator.getSnapshot()).isNull();
+
+		locator.getRoutes().collectList().block();
+		RouteSnapshot snapshot = locator.getSnapshot();
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.getRoutes()).containsExactly(route1, route2);
+		assertThat(snapshot.size()).isEqualTo(2);
+		assertThat(snapshot.get(0)).isSameAs(route1);
+
+		waitUntilRefreshFinished(locator, new ArrayList<>());
+		RouteSnapshot refreshed = locator.getSnapshot();
+		assertThat(refreshed).isNotNull().isNotSameAs(snapshot);
+		assertThat(refreshed.getGeneration()).isGreaterThan(snapshot.getGeneration());
+		assertThat(refreshed.toFlux().collectList().block()).containsExactly(route1, route2);
+	}
+
+	@Test
+	public void refreshResultEventReportsChangedRoutes() throws InterruptedException {
+		Route route1 = route(1);
+		Route route2 = route(2);
+		Route route3 = route(3);
+		CachingRouteLocator locator = new CachingRouteLocator(new RouteLocator() {
+			int i = 0;
+
+			@Override
+			public Flux<Route> getRoutes() {
+				if (i++ == 0) {
+					return Flux.just(route1, route2);
+				}
+				return Flux.just(route1, route3);
+			}
+		});
+		locator.getRoutes().collectList().block();
+
+		List<RefreshRoutesResultEvent> resultEvents = new ArrayList<>();
+		waitUntilRefreshFinished(locator, resultEvents);
+
+		assertThat(resultEvents).hasSize(1);
+		assertThat(resultEvents.get(0).getChangedRouteIds()).containsExactly("3");
+		assertThat(resultEvents.get(0).getRemovedRouteIds()).containsExactly("2");
+	}
+
+	@Test
+	public void refreshEventsWithinQuietPeriodAreCoalesced() throws InterruptedException {
+		Route route1 = route(1);
+		AtomicInteger fetches = new AtomicInteger();
+		CachingRouteLocator locator = new CachingRouteLocator(() -> {
+			fetches.incrementAndGet();
+			return Flux.just(route1);
+		}, Duration.ofMillis(200), Duration.ofSeconds(5));
+		locator.getRoutes().collectList().block();
+		assertThat(fetches).hasValue(1);
+
+		CountDownLatch cdl = new CountDownLatch(1);
+		List<RefreshRoutesResultEvent> resultEvents = new ArrayList<>();
+		locator.setApplicationEventPublisher(o -> {
+			resultEvents.add((RefreshRoutesResultEvent) o);
+			cdl.countDown();
+		});
+		locator.onApplicationEvent(new RefreshRoutesEvent(this));
+		locator.onApplicationEvent(new RefreshRoutesEvent(this, Map.of("group", "a")));
+		locator.onApplicationEvent(new RefreshRoutesEvent(this));
+		assertThat(locator.getPendingRefreshCount()).isEqualTo(3);
+
+		assertThat(cdl.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(resultEvents).hasSize(1);
+		assertThat(fetches).hasValue(2);
+		assertThat(locator.getPendingRefreshCount()).isZero();
+		assertThat(locator.getRefreshCount()).isEqualTo(1);
+		locator.destroy();
+	}
+
+	@Test
+	public void maxDelayCapsContinuousRefreshEvents() throws InterruptedException {
+		Route route1 = route(1);
+		CachingRouteLocator locator = new CachingRouteLocator(() -> Flux.just(route1), Duration.ofMillis(200),
+				Duration.ofMillis(500));
+		locator.getRoutes().collectList().block();
+
+		CountDownLatch cdl = new CountDownLatch(1);
+		AtomicLong refreshedNanos = new AtomicLong();
+		locator.setApplicationEventPublisher(o -> {
+			refreshedNanos.compareAndSet(0, System.nanoTime());
+			cdl.countDown();
+		});
+		// events arrive faster than the quiet period, so only the max delay ends the wait
+		long start = System.nanoTime();
+		while (cdl.getCount() > 0 && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)) {
+			locator.onApplicationEvent(new RefreshRoutesEvent(this));
+			Thread.sleep(50);
+		}
+
+		assertThat(cdl.getCount()).isZero();
+		assertThat(Duration.ofNanos(refreshedNanos.get() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(400))
+			.isLessThan(Duration.ofSeconds(2));
+		locator.destroy();
+	}
+
+	@Test
+	public void concurrentRefreshEventsRebuildOneAtATime() throws InterruptedException {
+		Route route1 = route(1);
+		AtomicInteger fetches = new AtomicInteger();
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CachingRouteLocator locator = new CachingRouteLocator(() -> Flux.defer(() -> {
+			fetches.incrementAndGet();
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			return Flux.just(route1).delayElements(Duration.ofMillis(10)).doOnTerminate(active::decrementAndGet);
+		}));
+		locator.getRoutes().collectList().block();
+		AtomicInteger published = new AtomicInteger();
+		locator.setApplicationEventPublisher(o -> published.incrementAndGet());
+
+		int threadCount = 8;
+		int eventsPerThread = 25;
+		CountDownLatch startGate = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					startGate.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int j = 0; j < eventsPerThread; j++) {
+					locator.onApplicationEvent(new RefreshRoutesEvent(this));
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		startGate.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Awaitility.await()
+			.atMost(5, TimeUnit.SECONDS)
+			.during(Duration.ofMillis(100))
+			.until(() -> locator.getPendingRefreshCount() == 0 && active.get() == 0
+					&& published.get() == locator.getRefreshCount());
+		assertThat(maxActive).hasValue(1);
+		assertThat(locator.getRefreshCount()).isBetween(1L, (long) threadCount * eventsPerThread - 1);
+		assertThat(fetches).hasValue((int) locator.getRefreshCount() + 1);
+	}
+
 	@Test
 	public void refreshWorksWhenFirstRefreshSuccessAndOtherError() throws InterruptedException {
 		Route route1 = route(1);
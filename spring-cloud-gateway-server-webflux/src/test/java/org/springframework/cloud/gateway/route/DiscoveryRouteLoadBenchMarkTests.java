@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.route;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.webflux.autoconfigure.WebFluxProperties;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.discovery.DiscoveryClientRouteDefinitionLocator;
+import org.springframework.cloud.gateway.discovery.DiscoveryLocatorProperties;
+import org.springframework.cloud.gateway.discovery.GatewayDiscoveryClientAutoConfiguration;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.filter.factory.AddRequestHeaderGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RewritePathGatewayFilterFactory;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+/**
+ * Measures loading the routes of 10,000 discovered services with the default discovery
+ * locator predicates and filters, plus a filter with the same arguments for every
+ * service, with and without route component sharing. Run with {@code -prof gc} to
+ * compare the allocations of a load, and take a heap dump of {@link #routes} to compare
+ * the retained size of the routes.
+ */
+@State(Scope.Benchmark)
+public class DiscoveryRouteLoadBenchMarkTests {
+
+	private static final int SERVICES_NUM = 10_000;
+
+	@Param({ "false", "true" })
+	boolean routeComponentSharingEnabled;
+
+	private RouteDefinitionRouteLocator routeLocator;
+
+	List<Route> routes = List.of();
+
+	@Setup
+	public void setup() {
+		this.routeLocator = routeLocator(this.routeComponentSharingEnabled);
+	}
+
+	private static RouteDefinitionRouteLocator routeLocator(boolean routeComponentSharingEnabled) {
+		DiscoveryLocatorProperties properties = new DiscoveryLocatorProperties();
+		properties.setPredicates(GatewayDiscoveryClientAutoConfiguration.initPredicates());
+		List<FilterDefinition> filters = new ArrayList<>(GatewayDiscoveryClientAutoConfiguration.initFilters());
+		FilterDefinition header = new FilterDefinition();
+		header.setName("AddRequestHeader");
+		header.addArg("name", "'X-Gateway'");
+		header.addArg("value", "'discovery'");
+		filters.add(header);
+		properties.setFilters(filters);
+
+		GatewayProperties gatewayProperties = new GatewayProperties();
+		// compile every route on each load
+		gatewayProperties.setCompiledRouteCacheEnabled(false);
+		gatewayProperties.setRouteComponentSharingEnabled(routeComponentSharingEnabled);
+		return new RouteDefinitionRouteLocator(
+				new DiscoveryClientRouteDefinitionLocator(new ServicesDiscoveryClient(), properties),
+				List.of(new PathRoutePredicateFactory(new WebFluxProperties())),
+				List.of(new RewritePathGatewayFilterFactory(), new AddRequestHeaderGatewayFilterFactory()),
+				gatewayProperties, new ConfigurationService(new DefaultListableBeanFactory(), () -> null, () -> null));
+	}
+
+	@Benchmark
+	@Fork(1)
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 3)
+	@Measurement(iterations = 5)
+	public List<Route> testLoadRoutes() {
+		this.routes = this.routeLocator.getRoutes().collectList().block();
+		return this.routes;
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	private static final class ServicesDiscoveryClient implements ReactiveDiscoveryClient {
+
+		@Override
+		public String description() {
+			return "services";
+		}
+
+		@Override
+		public Flux<ServiceInstance> getInstances(String serviceId) {
+			return Flux.just(new DefaultServiceInstance(serviceId + "-1", serviceId, "10.0.0.1", 8080, false,
+					Map.of("zone", "a")));
+		}
+
+		@Override
+		public Flux<String> getServices() {
+			return Flux.range(0, SERVICES_NUM).map(i -> "service-" + i);
+		}
+
+	}
+
+}
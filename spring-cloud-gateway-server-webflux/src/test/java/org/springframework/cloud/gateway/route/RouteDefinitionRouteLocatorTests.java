@@ -17,6 +17,7 @@
 package org.springframework.cloud.gateway.route;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -200,6 +201,177 @@ public class RouteDefinitionRouteLocatorTests {
 		}).expectComplete().verify();
 	}
 
+	@Test
+	public void compiledRouteCacheReusesUnchangedRoutes() {
+		List<RoutePredicateFactory> predicates = Arrays.asList(new HostRoutePredicateFactory());
+		List<GatewayFilterFactory> gatewayFilterFactories = Arrays.asList(
+				new RemoveResponseHeaderGatewayFilterFactory(), new AddResponseHeaderGatewayFilterFactory());
+		GatewayProperties gatewayProperties = new GatewayProperties();
+		gatewayProperties.setCompiledRouteCacheEnabled(true);
+		RouteDefinition foo = new RouteDefinition();
+		foo.setId("foo");
+		foo.setUri(URI.create("https://foo.example.com"));
+		foo.setPredicates(Arrays.asList(new PredicateDefinition("Host=foo.example.com")));
+		RouteDefinition bar = new RouteDefinition();
+		bar.setId("bar");
+		bar.setUri(URI.create("https://bar.example.com"));
+		bar.setPredicates(Arrays.asList(new PredicateDefinition("Host=bar.example.com")));
+		bar.setFilters(Arrays.asList(new FilterDefinition("RemoveResponseHeader=Server")));
+		gatewayProperties.setRoutes(Arrays.asList(foo, bar));
+
+		PropertiesRouteDefinitionLocator routeDefinitionLocator = new PropertiesRouteDefinitionLocator(
+				gatewayProperties);
+		RouteDefinitionRouteLocator routeDefinitionRouteLocator = new RouteDefinitionRouteLocator(
+				routeDefinitionLocator, predicates, gatewayFilterFactories, gatewayProperties,
+				new ConfigurationService(null, () -> null, () -> null));
+
+		List<Route> first = routeDefinitionRouteLocator.getRoutes().collectList().block();
+		List<Route> unchanged = routeDefinitionRouteLocator.getRoutes().collectList().block();
+		assertThat(unchanged.get(0)).isSameAs(first.get(0));
+		assertThat(unchanged.get(1)).isSameAs(first.get(1));
+
+		bar.getFilters().get(0).getArgs().put("_genkey_0", "X-Powered-By");
+		List<Route> changed = routeDefinitionRouteLocator.getRoutes().collectList().block();
+		assertThat(changed.get(0)).isSameAs(first.get(0));
+		assertThat(changed.get(1)).isNotSameAs(first.get(1));
+
+		gatewayProperties.setDefaultFilters(Arrays.asList(new FilterDefinition("AddResponseHeader=X-Foo, Bar")));
+		List<Route> withDefaults = routeDefinitionRouteLocator.getRoutes().collectList().block();
+		assertThat(withDefaults.get(0)).isNotSameAs(first.get(0));
+		assertThat(withDefaults.get(0).getFilters()).hasSize(1);
+	}
+
+	@Test
+	public void parallelCompilationKeepsDefinitionOrder() {
+		List<RoutePredicateFactory> predicates = Arrays.asList(new HostRoutePredicateFactory());
+		List<GatewayFilterFactory> gatewayFilterFactories = Arrays.asList(
+				new RemoveResponseHeaderGatewayFilterFactory(), new AddResponseHeaderGatewayFilterFactory(),
+				new TestOrderedGatewayFilterFactory());
+		GatewayProperties gatewayProperties = new GatewayProperties();
+		gatewayProperties.setRouteCompilationParallelism(4);
+		gatewayProperties.setFailOnRouteDefinitionError(false);
+		List<RouteDefinition> definitions = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			RouteDefinition definition = new RouteDefinition();
+			definition.setId("route" + i);
+			definition.setUri(URI.create("https://foo.example.com"));
+			definition.setPredicates(Arrays.asList(new PredicateDefinition("Host=" + i + ".example.com")));
+			definition.setFilters(Arrays.asList(new FilterDefinition("AddResponseHeader=X-Route, " + i)));
+			definitions.add(definition);
+		}
+		definitions.addAll(containsInvalidRoutes());
+		gatewayProperties.setRoutes(definitions);
+
+		PropertiesRouteDefinitionLocator routeDefinitionLocator = new PropertiesRouteDefinitionLocator(
+				gatewayProperties);
+		RouteDefinitionRouteLocator routeDefinitionRouteLocator = new RouteDefinitionRouteLocator(
+				routeDefinitionLocator, predicates, gatewayFilterFactories, gatewayProperties,
+				new ConfigurationService(null, () -> null, () -> null));
+
+		List<String> ids = routeDefinitionRouteLocator.getRoutes().map(Route::getId).collectList().block();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			expected.add("route" + i);
+		}
+		expected.add("foo");
+		assertThat(ids).containsExactlyElementsOf(expected);
+		routeDefinitionRouteLocator.destroy();
+	}
+
+	@Test
+	public void defaultFiltersWithoutRouteIdAreShared() {
+		List<RoutePredicateFactory> predicates = Arrays.asList(new HostRoutePredicateFactory());
+		List<GatewayFilterFactory> gatewayFilterFactories = Arrays.asList(new RetryGatewayFilterFactory(),
+				new AddResponseHeaderGatewayFilterFactory());
+		GatewayProperties gatewayProperties = new GatewayProperties();
+		gatewayProperties.setDefaultFilters(
+				Arrays.asList(new FilterDefinition("AddResponseHeader=X-Foo, Bar"), new FilterDefinition("Retry")));
+		RouteDefinition foo = new RouteDefinition();
+		foo.setId("foo");
+		foo.setUri(URI.create("https://foo.example.com"));
+		foo.setPredicates(Arrays.asList(new PredicateDefinition("Host=foo.example.com")));
+		RouteDefinition bar = new RouteDefinition();
+		bar.setId("bar");
+		bar.setUri(URI.create("https://bar.example.com"));
+		bar.setPredicates(Arrays.asList(new PredicateDefinition("Host=bar.example.com")));
+		gatewayProperties.setRoutes(Arrays.asList(foo, bar));
+
+		PropertiesRouteDefinitionLocator routeDefinitionLocator = new PropertiesRouteDefinitionLocator(
+				gatewayProperties);
+		RouteDefinitionRouteLocator routeDefinitionRouteLocator = new RouteDefinitionRouteLocator(
+				routeDefinitionLocator, predicates, gatewayFilterFactories, gatewayProperties,
+				new ConfigurationService(null, () -> null, () -> null));
+
+		List<Route> routes = routeDefinitionRouteLocator.getRoutes().collectList().block();
+		assertThat(routes).hasSize(2);
+		GatewayFilter fooHeader = findFilter(routes.get(0), "AddResponseHeader");
+		GatewayFilter barHeader = findFilter(routes.get(1), "AddResponseHeader");
+		assertThat(fooHeader).isSameAs(barHeader);
+		GatewayFilter fooRetry = findFilter(routes.get(0), "Retry");
+		GatewayFilter barRetry = findFilter(routes.get(1), "Retry");
+		assertThat(fooRetry).isNotSameAs(barRetry);
+		assertThat(fooRetry.toString()).contains("routeId = 'foo'");
+		assertThat(barRetry.toString()).contains("routeId = 'bar'");
+	}
+
+	@Test
+	public void identicalRouteFiltersAndPredicatesAreSharedWhenEnabled() {
+		List<Route> routes = loadIdenticalRoutes(true);
+
+		assertThat(routes).hasSize(2);
+		assertThat(findFilter(routes.get(0), "AddResponseHeader"))
+			.isSameAs(findFilter(routes.get(1), "AddResponseHeader"));
+		GatewayFilter fooRetry = findFilter(routes.get(0), "Retry");
+		GatewayFilter barRetry = findFilter(routes.get(1), "Retry");
+		assertThat(fooRetry).isNotSameAs(barRetry);
+		assertThat(fooRetry.toString()).contains("routeId = 'foo'");
+		assertThat(barRetry.toString()).contains("routeId = 'bar'");
+	}
+
+	@Test
+	public void identicalRouteFiltersAreNotSharedByDefault() {
+		List<Route> routes = loadIdenticalRoutes(false);
+
+		assertThat(routes).hasSize(2);
+		assertThat(findFilter(routes.get(0), "AddResponseHeader"))
+			.isNotSameAs(findFilter(routes.get(1), "AddResponseHeader"));
+	}
+
+	private List<Route> loadIdenticalRoutes(boolean routeComponentSharingEnabled) {
+		List<RoutePredicateFactory> predicates = Arrays.asList(new HostRoutePredicateFactory());
+		List<GatewayFilterFactory> gatewayFilterFactories = Arrays.asList(new RetryGatewayFilterFactory(),
+				new AddResponseHeaderGatewayFilterFactory());
+		GatewayProperties gatewayProperties = new GatewayProperties();
+		gatewayProperties.setRouteComponentSharingEnabled(routeComponentSharingEnabled);
+		RouteDefinition foo = new RouteDefinition();
+		foo.setId("foo");
+		foo.setUri(URI.create("https://foo.example.com"));
+		foo.setPredicates(Arrays.asList(new PredicateDefinition("Host=**.example.com")));
+		foo.setFilters(Arrays.asList(new FilterDefinition("AddResponseHeader=X-Foo, Bar"),
+				new FilterDefinition("Retry")));
+		RouteDefinition bar = new RouteDefinition();
+		bar.setId("bar");
+		bar.setUri(URI.create("https://bar.example.com"));
+		bar.setPredicates(Arrays.asList(new PredicateDefinition("Host=**.example.com")));
+		bar.setFilters(Arrays.asList(new FilterDefinition("AddResponseHeader=X-Foo, Bar"),
+				new FilterDefinition("Retry")));
+		gatewayProperties.setRoutes(Arrays.asList(foo, bar));
+
+		RouteDefinitionRouteLocator routeDefinitionRouteLocator = new RouteDefinitionRouteLocator(
+				new PropertiesRouteDefinitionLocator(gatewayProperties), predicates, gatewayFilterFactories,
+				gatewayProperties, new ConfigurationService(null, () -> null, () -> null));
+
+		return routeDefinitionRouteLocator.getRoutes().collectList().block();
+	}
+
+	private GatewayFilter findFilter(Route route, String name) {
+		return route.getFilters()
+			.stream()
+			.filter(filter -> getFilterClassName(filter).contains(name))
+			.findFirst()
+			.orElseThrow();
+	}
+
 	private List<RouteDefinition> containsInvalidRoutes() {
 		RouteDefinition foo = new RouteDefinition();
 		foo.setId("foo");
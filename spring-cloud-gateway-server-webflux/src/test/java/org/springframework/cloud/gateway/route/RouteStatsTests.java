@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.route;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class RouteStatsTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	public void histogramBucketsCoverValues() {
+		for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456, DecayingHistogram.MAX_VALUE }) {
+			int index = DecayingHistogram.index(value);
+			assertThat(DecayingHistogram.upperBound(index)).as("upper bound of %d", value)
+				.isGreaterThanOrEqualTo(value);
+			if (index > 0) {
+				assertThat(DecayingHistogram.upperBound(index - 1)).as("previous bound of %d", value)
+					.isLessThan(value);
+			}
+		}
+	}
+
+	@Test
+	public void histogramUpperBoundsAreWithinErrorBound() {
+		for (long value = 1; value < DecayingHistogram.MAX_VALUE; value = value * 3 + 1) {
+			long upperBound = DecayingHistogram.upperBound(DecayingHistogram.index(value));
+			assertThat((double) (upperBound - value)).as("error of %d", value).isLessThan(value * 0.125);
+		}
+		assertThat(DecayingHistogram.index(Long.MAX_VALUE)).isEqualTo(DecayingHistogram.BUCKETS - 1);
+		assertThat(DecayingHistogram.BUCKETS).isEqualTo(224);
+	}
+
+	@Test
+	public void histogramPercentilesDecay() {
+		DecayingHistogram histogram = new DecayingHistogram(60 * SECOND, 0);
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(SECOND, i * 1_000L);
+		}
+
+		assertThat((double) histogram.percentile(SECOND, 0.5)).isCloseTo(50_000, within(6_250d));
+		assertThat((double) histogram.percentile(SECOND, 0.99)).isCloseTo(99_000, within(12_375d));
+		// still visible in the previous generation
+		assertThat(histogram.percentile(70 * SECOND, 0.5)).isPositive();
+		// gone after two windows
+		assertThat(histogram.percentile(130 * SECOND, 0.5)).isEqualTo(-1);
+	}
+
+	@Test
+	public void snapshotReportsLastCompleteWindow() {
+		RouteStats stats = new RouteStats("route", 0);
+		for (int i = 0; i < 20; i++) {
+			stats.requestStarted(SECOND);
+			stats.addBytesIn(100);
+			stats.recordLatency(SECOND, 5_000_000);
+			stats.addBytesOut(1000);
+			stats.requestCompleted(SECOND, i % 4 == 0);
+		}
+		stats.requestStarted(2 * SECOND);
+
+		RouteStats.Snapshot current = stats.snapshot(2 * SECOND);
+		assertThat(current.requestsPerSecond()).isZero();
+		assertThat(current.inFlight()).isEqualTo(1);
+		assertThat(current.requests()).isEqualTo(21);
+		assertThat(current.bytesIn()).isEqualTo(2000);
+		assertThat(current.bytesOut()).isEqualTo(20_000);
+
+		RouteStats.Snapshot next = stats.snapshot(RouteStats.RATE_WINDOW.toNanos() + SECOND);
+		assertThat(next.requestsPerSecond()).isEqualTo(2.1);
+		assertThat(next.errorRatio()).isCloseTo(5 / 21d, within(0.001));
+		assertThat(next.latencyP50Millis()).isCloseTo(5, within(0.625));
+	}
+
+	@Test
+	public void removedRoutesAreDropped() {
+		RouteStatsRegistry registry = new RouteStatsRegistry();
+		registry.getOrCreate("kept");
+		registry.getOrCreate("removed");
+
+		registry.onApplicationEvent(new RefreshRoutesResultEvent(this, Set.of(), Set.of("removed")));
+
+		assertThat(registry.getAll()).extracting(RouteStats::getRouteId).containsExactly("kept");
+	}
+
+}
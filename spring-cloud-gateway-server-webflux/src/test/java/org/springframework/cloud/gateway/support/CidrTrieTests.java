@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.netty.handler.ipfilter.IpFilterRuleType;
+import io.netty.handler.ipfilter.IpSubnetFilterRule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CidrTrieTests {
+
+	@Test
+	void matchesIpv4Prefixes() throws Exception {
+		CidrTrie trie = CidrTrie.of(List.of("10.0.0.0/8", "192.168.1.0/24", "172.16.5.4"));
+
+		assertThat(trie.contains(InetAddress.getByName("10.1.2.3"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("192.168.1.255"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("192.168.2.1"))).isFalse();
+		assertThat(trie.contains(InetAddress.getByName("172.16.5.4"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("172.16.5.5"))).isFalse();
+		assertThat(trie.contains(InetAddress.getByName("11.0.0.1"))).isFalse();
+	}
+
+	@Test
+	void matchesIpv6Prefixes() throws Exception {
+		CidrTrie trie = CidrTrie.of(List.of("2001:db8::/32", "::1"));
+
+		assertThat(trie.contains(InetAddress.getByName("2001:db8:cafe::17"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("2001:db9::1"))).isFalse();
+		assertThat(trie.contains(InetAddress.getByName("::1"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("127.0.0.1"))).isFalse();
+	}
+
+	@Test
+	void zeroLengthPrefixMatchesFamily() throws Exception {
+		CidrTrie trie = CidrTrie.of(List.of("0.0.0.0/0"));
+
+		assertThat(trie.contains(InetAddress.getByName("255.255.255.255"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("::1"))).isFalse();
+	}
+
+	@Test
+	void shorterPrefixCoversLongerOnes() throws Exception {
+		CidrTrie trie = CidrTrie.of(List.of("10.1.2.0/24", "10.0.0.0/8", "10.1.0.0/16"));
+
+		assertThat(trie.contains(InetAddress.getByName("10.200.0.1"))).isTrue();
+		assertThat(trie.contains(InetAddress.getByName("10.1.2.3"))).isTrue();
+	}
+
+	@Test
+	void matchesHeaderLiterals() {
+		CidrTrie trie = CidrTrie.of(List.of("10.0.0.0/8", "2001:db8::/32"));
+
+		assertThat(trie.contains("10.0.0.1")).isTrue();
+		assertThat(trie.contains("10.0.0.1:8080")).isTrue();
+		assertThat(trie.contains("\"[2001:db8:cafe::17]:4711\"")).isTrue();
+		assertThat(trie.contains("[2001:db8::1]")).isTrue();
+		assertThat(trie.contains("2001:db8::1")).isTrue();
+		assertThat(trie.contains("11.0.0.1")).isFalse();
+		assertThat(trie.contains("10.0.0")).isFalse();
+		assertThat(trie.contains("10.0.0.256")).isFalse();
+		assertThat(trie.contains("unknown")).isFalse();
+		assertThat(trie.contains("_hidden")).isFalse();
+		assertThat(trie.contains("")).isFalse();
+	}
+
+	@Test
+	void matchesLikeIpSubnetFilterRule() throws Exception {
+		Random random = new Random(42);
+		List<String> cidrs = new ArrayList<>();
+		List<IpSubnetFilterRule> rules = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			String address = random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "."
+					+ random.nextInt(256);
+			int prefix = 8 + random.nextInt(25);
+			cidrs.add(address + "/" + prefix);
+			rules.add(new IpSubnetFilterRule(address, prefix, IpFilterRuleType.ACCEPT));
+		}
+		CidrTrie trie = CidrTrie.of(cidrs);
+
+		for (int i = 0; i < 10_000; i++) {
+			byte[] bytes = new byte[4];
+			random.nextBytes(bytes);
+			InetAddress address = InetAddress.getByAddress(bytes);
+			boolean expected = rules.stream()
+				.anyMatch(rule -> rule.matches(new InetSocketAddress(address, 0)));
+			assertThat(trie.contains(address)).as(address.toString()).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void rejectsInvalidCidrs() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CidrTrie.of(List.of("10.0.0.0/33")));
+		assertThatIllegalArgumentException().isThrownBy(() -> CidrTrie.of(List.of("10.0.0.0/x")));
+		assertThatIllegalArgumentException().isThrownBy(() -> CidrTrie.of(List.of("2001:db8::/129")));
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledTemplateTests {
+
+	private static final Map<String, String> VARIABLES = Map.of("segment", "foo bar", "id", "42", "empty", "",
+			"unicode", "café/ü?x", "a", "brace", "}", "closing");
+
+	private static final List<String> TEMPLATES = List.of("/{segment}", "/api/{segment}/items/{id}", "{id}",
+			"X-{id}-{segment}", "/a//b/{id}", "{id:[0-9]{2}}/x", "/{id}:{segment}", "{}}", "{a}}", "/{/x}/{id}",
+			"{id", "}{id}{", "/x{empty}/", "/{unicode}", "/files/a%20b/{id}", "{id}{id}");
+
+	@Test
+	void expandMatchesUriComponentsBuilder() {
+		for (String template : TEMPLATES) {
+			String expected = UriComponentsBuilder.fromPath(template).build().expand(VARIABLES).getPath();
+			assertThat(CompiledTemplate.compile(template).expand(VARIABLES)).as(template).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void encodedPathMatchesUriTemplate() {
+		for (String template : TEMPLATES) {
+			CompiledTemplate compiled = CompiledTemplate.compileEncodedPath(template);
+			if (compiled != null) {
+				String expected = new UriTemplate(template).expand(VARIABLES).getRawPath();
+				assertThat(compiled.expand(VARIABLES)).as(template).isEqualTo(expected);
+			}
+		}
+		assertThat(CompiledTemplate.compileEncodedPath("//host/{id}")).isNull();
+		assertThat(CompiledTemplate.compileEncodedPath("/{id}?q={id}")).isNull();
+		assertThat(CompiledTemplate.compileEncodedPath("{id}")).isNull();
+	}
+
+	@Test
+	void templatesWithoutVariablesAreConstant() {
+		CompiledTemplate literal = CompiledTemplate.compile("/a//b");
+		assertThat(literal.isConstant()).isTrue();
+		assertThat(literal.expand(null)).isEqualTo("/a//b");
+
+		CompiledTemplate unmatched = CompiledTemplate.compile("{/a}");
+		assertThat(unmatched.isConstant()).isTrue();
+		assertThat(unmatched.expand(null)).isEqualTo("{/a}");
+
+		assertThat(CompiledTemplate.compile("/{id}").isConstant()).isFalse();
+	}
+
+	@Test
+	void missingVariableThrows() {
+		assertThatThrownBy(() -> CompiledTemplate.compile("/{missing}").expand(VARIABLES))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Map has no value for 'missing'");
+		assertThatThrownBy(() -> CompiledTemplate.compile("/{id}").expand(null))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
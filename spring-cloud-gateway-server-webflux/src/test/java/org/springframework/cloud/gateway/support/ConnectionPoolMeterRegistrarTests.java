@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.InetSocketAddress;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConnectionPoolMeterRegistrarTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final ConnectionPoolMeterRegistrar registrar = new ConnectionPoolMeterRegistrar(registry);
+
+	private final InetSocketAddress remoteAddress = InetSocketAddress.createUnresolved("example.org", 443);
+
+	@Test
+	public void registersReactorNettyPoolGauges() {
+		ConnectionPoolMetrics metrics = mock(ConnectionPoolMetrics.class);
+		when(metrics.allocatedSize()).thenReturn(5);
+		when(metrics.acquiredSize()).thenReturn(3);
+		when(metrics.idleSize()).thenReturn(2);
+		when(metrics.pendingAcquireSize()).thenReturn(7);
+		when(metrics.maxAllocatedSize()).thenReturn(500);
+		when(metrics.maxPendingAcquireSize()).thenReturn(1000);
+
+		registrar.registerMetrics("proxy", "pool-1", remoteAddress, metrics);
+
+		assertThat(gauge("total.connections").value()).isEqualTo(5);
+		assertThat(gauge("active.connections").value()).isEqualTo(3);
+		assertThat(gauge("idle.connections").value()).isEqualTo(2);
+		assertThat(gauge("pending.connections").value()).isEqualTo(7);
+		assertThat(gauge("max.connections").value()).isEqualTo(500);
+		assertThat(gauge("max.pending.connections").value()).isEqualTo(1000);
+		assertThat(gauge("total.connections").getId().getTag("name")).isEqualTo("proxy");
+		assertThat(gauge("total.connections").getId().getTag("remote.address")).isEqualTo("example.org:443");
+	}
+
+	@Test
+	public void deRegisterRemovesGauges() {
+		registrar.registerMetrics("proxy", "pool-1", remoteAddress, mock(ConnectionPoolMetrics.class));
+		registrar.registerMetrics("proxy", "pool-2", remoteAddress, mock(ConnectionPoolMetrics.class));
+
+		registrar.deRegisterMetrics("proxy", "pool-1", remoteAddress);
+
+		assertThat(registry.find("reactor.netty.connection.provider.total.connections").gauges()).hasSize(1);
+		assertThat(registry.find("reactor.netty.connection.provider.total.connections").tag("id", "pool-1").gauge())
+			.isNull();
+	}
+
+	private Gauge gauge(String name) {
+		return registry.get("reactor.netty.connection.provider." + name).tag("id", "pool-1").gauge();
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineTests {
+
+	@Test
+	public void parsesGrpcTimeout() {
+		assertThat(Deadline.parseGrpcTimeout("250m")).isEqualTo(Duration.ofMillis(250));
+		assertThat(Deadline.parseGrpcTimeout("3S")).isEqualTo(Duration.ofSeconds(3));
+		assertThat(Deadline.parseGrpcTimeout("2M")).isEqualTo(Duration.ofMinutes(2));
+		assertThat(Deadline.parseGrpcTimeout("1H")).isEqualTo(Duration.ofHours(1));
+		assertThat(Deadline.parseGrpcTimeout("10u")).isEqualTo(Duration.ofNanos(10_000));
+		assertThat(Deadline.parseGrpcTimeout("99999999n")).isEqualTo(Duration.ofNanos(99_999_999));
+		assertThat(Deadline.parseGrpcTimeout(null)).isNull();
+		assertThat(Deadline.parseGrpcTimeout("m")).isNull();
+		assertThat(Deadline.parseGrpcTimeout("12x")).isNull();
+		assertThat(Deadline.parseGrpcTimeout("-1S")).isNull();
+		assertThat(Deadline.parseGrpcTimeout("123456789S")).isNull();
+	}
+
+	@Test
+	public void formatsGrpcTimeoutWithinEightDigits() {
+		String timeout = Deadline.after(Duration.ofSeconds(30)).toGrpcTimeout();
+
+		assertThat(timeout).endsWith("u").hasSizeLessThanOrEqualTo(9);
+		assertThat(Deadline.parseGrpcTimeout(timeout)).isBetween(Duration.ofSeconds(29), Duration.ofSeconds(30));
+		assertThat(Deadline.after(Duration.ofMinutes(-1)).toGrpcTimeout()).isEqualTo("0n");
+	}
+
+	@Test
+	public void tightenNeverExtendsDeadline() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		Deadline first = Deadline.tighten(exchange, Deadline.after(Duration.ofSeconds(1)));
+
+		assertThat(Deadline.tighten(exchange, Deadline.after(Duration.ofSeconds(10)))).isSameAs(first);
+		Deadline tighter = Deadline.tighten(exchange, Deadline.after(Duration.ofMillis(10)));
+		assertThat(tighter).isNotSameAs(first);
+		assertThat(Deadline.get(exchange)).isSameAs(tighter);
+		assertThat(Deadline.isExpired(exchange)).isFalse();
+
+		Deadline.tighten(exchange, Deadline.after(Duration.ofMillis(-1)));
+		assertThat(Deadline.isExpired(exchange)).isTrue();
+		assertThat(Deadline.get(exchange).remaining()).isEqualTo(Duration.ZERO);
+	}
+
+	@Test
+	public void budgetsTooLongForNanosAreCapped() {
+		Duration grpcTimeout = Deadline.parseGrpcTimeout("99999999H");
+		assertThat(grpcTimeout).isEqualTo(Duration.ofHours(99_999_999));
+
+		for (Duration budget : new Duration[] { grpcTimeout, Duration.ofMillis(Long.MAX_VALUE) }) {
+			Deadline deadline = Deadline.after(budget);
+			assertThat(deadline.isExpired()).isFalse();
+			assertThat(deadline.remaining()).isGreaterThan(Duration.ofDays(70 * 365));
+			assertThat(deadline.toGrpcTimeout()).endsWith("M").hasSizeLessThanOrEqualTo(9);
+		}
+		assertThat(Deadline.after(Duration.ofMillis(Long.MIN_VALUE)).isExpired()).isTrue();
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		Deadline.tighten(exchange, Deadline.after(Duration.ofMillis(Long.MAX_VALUE)));
+		Deadline tighter = Deadline.tighten(exchange, Deadline.after(Duration.ofSeconds(1)));
+		assertThat(Deadline.get(exchange)).isSameAs(tighter);
+	}
+
+}
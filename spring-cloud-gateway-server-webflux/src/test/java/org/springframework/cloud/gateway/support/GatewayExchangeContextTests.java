@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.getRequestTarget;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.removeAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setRequestTarget;
+
+public class GatewayExchangeContextTests {
+
+	@Test
+	public void gatewayAttributesAreKeptInContext() {
+		MockServerWebExchange original = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		ServerWebExchange exchange = GatewayExchangeContext.decorate(original);
+		Route route = Route.async().id("route").uri("http://localhost").predicate(e -> true).build();
+
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost/get"));
+		exchange.getAttributes().put("custom", "value");
+
+		GatewayExchangeContext context = GatewayExchangeContext.get(exchange);
+		assertThat(context).isNotNull();
+		assertThat(context.getRoute()).isSameAs(route);
+		assertThat(context.getRequestUrl()).isEqualTo(URI.create("http://localhost/get"));
+		assertThat((Route) exchange.getAttribute(GATEWAY_ROUTE_ATTR)).isSameAs(route);
+		assertThat(original.getAttributes()).doesNotContainKey(GATEWAY_ROUTE_ATTR).containsEntry("custom", "value");
+		assertThat(exchange.getAttributes()).containsKeys(GATEWAY_ROUTE_ATTR, GATEWAY_REQUEST_URL_ATTR, "custom");
+		assertThat(exchange.getAttributes()).hasSize(original.getAttributes().size() + 2);
+	}
+
+	@Test
+	public void mutatedExchangeSharesContext() {
+		ServerWebExchange exchange = GatewayExchangeContext
+			.decorate(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()));
+		ServerWebExchange mutated = exchange.mutate().request(r -> r.path("/other")).build();
+
+		setAlreadyRouted(mutated);
+		addOriginalRequestUrl(mutated, URI.create("http://localhost/"));
+
+		assertThat(isAlreadyRouted(exchange)).isTrue();
+		Set<URI> urls = exchange.getRequiredAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+		assertThat(urls).containsExactly(URI.create("http://localhost/"));
+		assertThat(GatewayExchangeContext.decorate(mutated)).isSameAs(mutated);
+
+		removeAlreadyRouted(exchange);
+		assertThat(isAlreadyRouted(mutated)).isFalse();
+	}
+
+	@Test
+	public void removingThroughIteratorClearsField() {
+		ServerWebExchange exchange = GatewayExchangeContext
+			.decorate(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()));
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost/get"));
+
+		exchange.getAttributes().entrySet().removeIf(entry -> entry.getKey().equals(GATEWAY_REQUEST_URL_ATTR));
+
+		assertThat(exchange.getAttributes()).doesNotContainKey(GATEWAY_REQUEST_URL_ATTR);
+		assertThat(GatewayExchangeContext.get(exchange).getRequestUrl()).isNull();
+	}
+
+	@Test
+	public void exportCopiesFieldsToOriginalAttributes() {
+		MockServerWebExchange original = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		ServerWebExchange exchange = GatewayExchangeContext.decorate(original);
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost/get"));
+
+		GatewayExchangeContext.get(exchange).exportAttributes();
+
+		Map<String, Object> attributes = original.getAttributes();
+		assertThat(attributes).containsEntry(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost/get"));
+	}
+
+	@Test
+	public void undecoratedExchangeHasNoContext() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+
+		setAlreadyRouted(exchange);
+
+		assertThat(GatewayExchangeContext.get(exchange)).isNull();
+		assertThat(isAlreadyRouted(exchange)).isTrue();
+	}
+
+	@Test
+	public void requestTargetIsReadAsUri() {
+		ServerWebExchange exchange = GatewayExchangeContext
+			.decorate(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()));
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://service/api/get?a=b"));
+
+		RequestTarget target = getRequestTarget(exchange);
+		assertThat(target).isNotNull();
+		setRequestTarget(exchange, target.scheme("http").host("10.0.0.1").port(8080));
+
+		assertThat(getRequestTarget(exchange)).isSameAs(target);
+		assertThat(exchange.getAttributes()).containsKey(GATEWAY_REQUEST_URL_ATTR);
+		assertThat(exchange.<URI>getAttribute(GATEWAY_REQUEST_URL_ATTR))
+			.isEqualTo(URI.create("http://10.0.0.1:8080/api/get?a=b"));
+	}
+
+	@Test
+	public void requestTargetIsKeptWithoutContext() {
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://service/api/get?a=b"));
+
+		RequestTarget target = getRequestTarget(exchange);
+		assertThat(target).isNotNull();
+		setRequestTarget(exchange, target.scheme("http").host("10.0.0.1").port(8080));
+
+		assertThat(getRequestTarget(exchange)).isSameAs(target);
+		assertThat(exchange.<URI>getAttribute(GATEWAY_REQUEST_URL_ATTR))
+			.isEqualTo(URI.create("http://10.0.0.1:8080/api/get?a=b"));
+
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://other/path"));
+
+		RequestTarget replaced = getRequestTarget(exchange);
+		assertThat(replaced).isNotSameAs(target);
+		assertThat(replaced.toUri()).isEqualTo(URI.create("http://other/path"));
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.AntPathMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostPatternTrieTests {
+
+	private static final List<String> PATTERNS = List.of("www.example.org", "{tenant}.api.example.com",
+			"**.example.org", "*.example.net", "{sub}.{domain}.io", "api.**", "localhost:8080");
+
+	private static final List<String> HOSTS = List.of("www.example.org", "example.org", "a.b.example.org",
+			"acme.api.example.com", "api.example.com", "x.acme.api.example.com", "www.example.net",
+			"example.net", "a.b.example.net", "foo.bar.io", "bar.io", "api", "api.v1.internal", "localhost:8080",
+			"localhost", "WWW.example.org");
+
+	private final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+	@Test
+	public void matchesLikeAntPathMatcher() {
+		for (String pattern : PATTERNS) {
+			HostPatternTrie<String> trie = new HostPatternTrie<>();
+			assertThat(trie.add(pattern, pattern)).isTrue();
+			for (String host : HOSTS) {
+				HostPatternTrie.Match<String> match = trie.findFirst(host);
+				boolean expected = pathMatcher.match(pattern, host);
+				assertThat(match != null).as("%s matches %s", pattern, host).isEqualTo(expected);
+				if (match != null) {
+					assertThat(match.getVariables())
+						.containsExactlyEntriesOf(pathMatcher.extractUriTemplateVariables(pattern, host));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void findFirstReturnsFirstAddedPattern() {
+		HostPatternTrie<Integer> trie = new HostPatternTrie<>();
+		trie.add("**.example.org", 1);
+		trie.add("{sub}.example.org", 2);
+		trie.add("www.example.org", 3);
+
+		assertThat(trie.findFirst("www.example.org").getValue()).isEqualTo(1);
+		assertThat(trie.findFirst("other.org")).isNull();
+	}
+
+	@Test
+	public void findAllReturnsEveryMatchingValue() {
+		HostPatternTrie<Integer> trie = new HostPatternTrie<>();
+		trie.add("**.example.org", 1);
+		trie.add("{sub}.example.org", 2);
+		trie.add("www.example.com", 3);
+		List<Integer> values = new ArrayList<>();
+
+		assertThat(trie.findAll("www.example.org", values::add)).isTrue();
+		assertThat(values).containsOnly(1, 2);
+		assertThat(trie.findAll("www..example.org", values::add)).isFalse();
+	}
+
+	@Test
+	public void rejectsUnsupportedPatterns() {
+		HostPatternTrie<String> trie = new HostPatternTrie<>();
+
+		assertThat(trie.add("api-*.example.org", "")).isFalse();
+		assertThat(trie.add("{sub:[a-z]+}.example.org", "")).isFalse();
+		assertThat(trie.add("ww?.example.org", "")).isFalse();
+		assertThat(trie.add(".example.org", "")).isFalse();
+		assertThat(trie.isEmpty()).isTrue();
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegexpMatcherTests {
+
+	private static final List<String> REGEXPS = List.of("chip", "^chip$", "ch\\.p", "chip.*", "^chip.*$", ".*chip",
+			".*chip.*", ".*", "chip|chop", "(chip|chop)", "(?:chip|chop|)", "a\\|b", "chip\\$", "ch.p", "ch\\d+",
+			"(?i)chip", "chip\\.*", "[a-c]hip", "chip|ch(o)p");
+
+	private static final List<String> VALUES = List.of("", "chip", "chop", "ch.p", "chap", "chips", "chip\n",
+			"\nchip", "xchipx", "x\nchipx", "chip x", "CHIP", "a|b", "chip$", "ch12", "chip...", "bhip");
+
+	@Test
+	void matchesLikeStringMatches() {
+		for (String regexp : REGEXPS) {
+			RegexpMatcher matcher = RegexpMatcher.compile(regexp);
+			for (String value : VALUES) {
+				assertThat(matcher.test(value)).as("%s matches %s", regexp, value).isEqualTo(value.matches(regexp));
+			}
+		}
+	}
+
+	@Test
+	void simpleExpressionsAreRegexFree() {
+		assertThat(RegexpMatcher.compile("chip").isRegexFree()).isTrue();
+		assertThat(RegexpMatcher.compile("^ch\\.p$").isRegexFree()).isTrue();
+		assertThat(RegexpMatcher.compile("chip.*").isRegexFree()).isTrue();
+		assertThat(RegexpMatcher.compile(".*chip").isRegexFree()).isTrue();
+		assertThat(RegexpMatcher.compile(".*chip.*").isRegexFree()).isTrue();
+		assertThat(RegexpMatcher.compile("(chip|chop)").isRegexFree()).isTrue();
+		assertThat(RegexpMatcher.compile("ch.p").isRegexFree()).isFalse();
+		assertThat(RegexpMatcher.compile("ch\\d+").isRegexFree()).isFalse();
+		assertThat(RegexpMatcher.compile("(?i)chip").isRegexFree()).isFalse();
+		assertThat(RegexpMatcher.compile("chip|ch(o)p").isRegexFree()).isFalse();
+	}
+
+	@Test
+	void toStringIsRegexp() {
+		assertThat(RegexpMatcher.compile("chip.*")).hasToString("chip.*");
+	}
+
+}
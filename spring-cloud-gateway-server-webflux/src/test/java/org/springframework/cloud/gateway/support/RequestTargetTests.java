@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.containsEncodedParts;
+
+class RequestTargetTests {
+
+	private static final List<String> URIS = List.of("http://localhost:8080/api/users/42",
+			"http://localhost/api/users?page=1&size=20", "http://localhost", "http://localhost/",
+			"http://localhost/a%20b?q=a%20b", "http://localhost/a%2", "http://localhost/a//b",
+			"http://localhost/a?b=1&a=2&b=3", "http://localhost/a?a&&b", "http://localhost/a?=x",
+			"http://localhost/a?", "http://localhost/a?a=b=c&d=", "http://user@localhost/a", "http://localhost/a#f",
+			"http://[::1]:8080/a?x", "http://localhost/café");
+
+	@Test
+	void verbatimTargetsMatchUriComponentsBuilder() {
+		for (String value : URIS) {
+			URI uri = URI.create(value);
+			RequestTarget target = RequestTarget.from(uri);
+			if (target.isRebuiltVerbatim()) {
+				URI expected = UriComponentsBuilder.fromUri(uri)
+					.scheme("https")
+					.host("backend")
+					.port(8443)
+					.build(containsEncodedParts(uri))
+					.toUri();
+				target.scheme("https").host("backend").port(8443);
+				assertThat(target.toUri()).as(value).isEqualTo(expected);
+				assertThat(target.toASCIIString()).as(value).isEqualTo(expected.toASCIIString());
+			}
+		}
+	}
+
+	@Test
+	void builderNormalizationsAreNotVerbatim() {
+		assertThat(RequestTarget.from(URI.create("http://localhost/a%2")).isRebuiltVerbatim()).isFalse();
+		assertThat(RequestTarget.from(URI.create("http://localhost/a//b")).isRebuiltVerbatim()).isFalse();
+		assertThat(RequestTarget.from(URI.create("http://localhost/a?b=1&a=2&b=3")).isRebuiltVerbatim()).isFalse();
+		assertThat(RequestTarget.from(URI.create("http://localhost/a?a&&b")).isRebuiltVerbatim()).isFalse();
+		assertThat(RequestTarget.from(URI.create("http://localhost/a?")).isRebuiltVerbatim()).isFalse();
+		assertThat(RequestTarget.from(URI.create("http://localhost/a?page=1&size=2")).isRebuiltVerbatim())
+			.isTrue();
+		assertThat(RequestTarget.from(URI.create("http://localhost/a%20b")).isRebuiltVerbatim()).isTrue();
+	}
+
+	@Test
+	void stripPrefixMatchesTokenizedPath() {
+		List<String> paths = List.of("", "/", "/a", "/a/", "/a/b", "/a/b/", "/a//b/c", "//a/b//", "/a/b/c/d");
+		for (String path : paths) {
+			for (int parts = 0; parts <= 4; parts++) {
+				assertThat(RequestTarget.stripPrefix(path, parts)).as("%s - %d", path, parts)
+					.isEqualTo(tokenizedStripPrefix(path, parts));
+			}
+		}
+	}
+
+	@Test
+	void toRequestExposesTargetLazily() {
+		ServerHttpRequest request = MockServerHttpRequest.get("http://localhost:8080/service/api/get?a=b").build();
+		RequestTarget target = RequestTarget.from(request).stripPrefix(1);
+
+		ServerHttpRequest stripped = target.toRequest(request);
+		target.rawPath("/changed");
+
+		assertThat(stripped.getURI()).isEqualTo(URI.create("http://localhost:8080/api/get?a=b"));
+		assertThat(stripped.getPath().value()).isEqualTo("/api/get");
+		assertThat(stripped.getQueryParams().getFirst("a")).isEqualTo("b");
+		assertThat(RequestTarget.from(stripped).getRawPath()).isEqualTo("/api/get");
+	}
+
+	private static String tokenizedStripPrefix(String path, int parts) {
+		String[] originalParts = StringUtils.tokenizeToStringArray(path, "/");
+		StringBuilder newPath = new StringBuilder("/");
+		for (int i = 0; i < originalParts.length; i++) {
+			if (i >= parts) {
+				if (newPath.length() > 1) {
+					newPath.append('/');
+				}
+				newPath.append(originalParts[i]);
+			}
+		}
+		if (newPath.length() > 1 && path.endsWith("/")) {
+			newPath.append('/');
+		}
+		return newPath.toString();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class RetryBudgetTests {
+
+	@Test
+	public void withdrawDeniesOnceExhausted() {
+		RetryBudget budget = new RetryBudget("test", 2, 0.5);
+
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+		assertThat(budget.getRetries()).isEqualTo(2);
+		assertThat(budget.getExhausted()).isEqualTo(1);
+		assertThat(budget.getTokens()).isZero();
+	}
+
+	@Test
+	public void depositsRatioUpToCapacity() {
+		RetryBudget budget = new RetryBudget("test", 2, 0.5);
+		budget.tryWithdraw();
+		budget.tryWithdraw();
+
+		budget.deposit();
+		assertThat(budget.getTokens()).isEqualTo(0.5);
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		budget.deposit();
+		assertThat(budget.tryWithdraw()).isTrue();
+
+		for (int i = 0; i < 10; i++) {
+			budget.deposit();
+		}
+		assertThat(budget.getTokens()).isEqualTo(2);
+	}
+
+	@Test
+	public void rejectsInvalidSettings() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new RetryBudget("test", 0, 0.5));
+		assertThatIllegalArgumentException().isThrownBy(() -> new RetryBudget("test", 1, 0));
+		assertThatIllegalArgumentException().isThrownBy(() -> new RetryBudget("test", 1, 1.5));
+	}
+
+	@Test
+	public void registrySharesBudgetsByName() {
+		RetryBudgetRegistry registry = new RetryBudgetRegistry();
+		List<RetryBudget> notified = new ArrayList<>();
+		RetryBudget first = registry.getOrCreate("users", 10, 0.2);
+		registry.addListener(notified::add);
+
+		assertThat(registry.getOrCreate("users", 10, 0.2)).isSameAs(first);
+		RetryBudget second = registry.getOrCreate("orders", 10, 0.2);
+
+		assertThat(registry.getAll()).containsExactlyInAnyOrder(first, second);
+		assertThat(notified).containsExactly(first, second);
+	}
+
+	@Test
+	public void registryReplacesBudgetRegisteredWithDifferentSettings() {
+		RetryBudgetRegistry registry = new RetryBudgetRegistry();
+		List<RetryBudget> notified = new ArrayList<>();
+		registry.addListener(notified::add);
+		RetryBudget first = registry.getOrCreate("users", 10, 0.2);
+		first.tryWithdraw();
+
+		RetryBudget replaced = registry.getOrCreate("users", 5, 0.5);
+
+		assertThat(replaced).isNotSameAs(first);
+		assertThat(replaced.getCapacity()).isEqualTo(5);
+		assertThat(replaced.getRatio()).isEqualTo(0.5);
+		assertThat(replaced.getTokens()).isEqualTo(5);
+		assertThat(registry.get("users")).isSameAs(replaced);
+		assertThat(registry.getOrCreate("users", 5, 0.5)).isSameAs(replaced);
+		assertThat(notified).containsExactly(first, replaced);
+	}
+
+	@Test
+	public void metricsReportReplacedBudget() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RetryBudgetRegistry registry = new RetryBudgetRegistry();
+		new RetryBudgetMetrics(meterRegistry, registry, "spring.cloud.gateway");
+		registry.getOrCreate("users", 10, 0.2);
+
+		registry.getOrCreate("users", 5, 0.5);
+
+		assertThat(meterRegistry.find("spring.cloud.gateway.retry.budget.tokens").gauges()).hasSize(1);
+		assertThat(meterRegistry.get("spring.cloud.gateway.retry.budget.tokens").tag("budget", "users").gauge().value())
+			.isEqualTo(5);
+	}
+
+}
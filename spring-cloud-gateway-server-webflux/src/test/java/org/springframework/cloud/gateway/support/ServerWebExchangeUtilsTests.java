@@ -17,11 +17,14 @@
 package org.springframework.cloud.gateway.support;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.assertj.core.api.Assertions;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
@@ -30,6 +33,8 @@ import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.reactive.DispatcherHandler;
@@ -125,6 +130,26 @@ public class ServerWebExchangeUtilsTests {
 		}));
 	}
 
+	@Test
+	public void nonStandardStatusIsSetThroughResponseDecorators() {
+		List<HttpStatusCode> statusCodes = new ArrayList<>();
+		MockServerWebExchange original = mockExchange(Map.of());
+		ServerWebExchange exchange = original.mutate()
+			.response(new ServerHttpResponseDecorator(original.getResponse()) {
+				@Override
+				public boolean setStatusCode(@Nullable HttpStatusCode status) {
+					statusCodes.add(status);
+					return super.setStatusCode(status);
+				}
+			})
+			.build();
+
+		assertThat(ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatusHolder.parse("432"))).isTrue();
+
+		assertThat(statusCodes).containsExactly(HttpStatusCode.valueOf(432));
+		assertThat(original.getResponse().getStatusCode()).isEqualTo(HttpStatusCode.valueOf(432));
+	}
+
 	private MockServerWebExchange mockExchange(Map<String, String> vars) {
 		return mockExchange(HttpMethod.GET, vars);
 	}
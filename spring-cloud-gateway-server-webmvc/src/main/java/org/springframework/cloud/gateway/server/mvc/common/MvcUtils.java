@@ -34,6 +34,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import org.apache.commons.logging.Log;
@@ -63,6 +64,11 @@ public abstract class MvcUtils {
 
 	private static final Log log = LogFactory.getLog(MvcUtils.class);
 
+	/**
+	 * Cached parsed request cookies key.
+	 */
+	public static final String CACHED_COOKIES_ATTR = qualify("cachedCookies");
+
 	/**
 	 * Cached raw request body key.
 	 */
@@ -199,6 +205,32 @@ public abstract class MvcUtils {
 		return webApplicationContext;
 	}
 
+	/**
+	 * Returns the request cookies by name. Unlike {@link ServerRequest#cookies()}, which
+	 * builds a new map on every call, the map is built once per request and reused as
+	 * long as the servlet request returns the same cookies.
+	 * @param request the current request
+	 * @return an unmodifiable map of cookies by name
+	 */
+	public static MultiValueMap<String, Cookie> getCookies(ServerRequest request) {
+		HttpServletRequest servletRequest = request.servletRequest();
+		Cookie[] cookies = servletRequest.getCookies();
+		if (cookies == null || cookies.length == 0) {
+			return CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>());
+		}
+		if (servletRequest.getAttribute(CACHED_COOKIES_ATTR) instanceof CachedCookies cached
+				&& cached.source() == cookies) {
+			return cached.cookies();
+		}
+		MultiValueMap<String, Cookie> map = new LinkedMultiValueMap<>(cookies.length);
+		for (Cookie cookie : cookies) {
+			map.add(cookie.getName(), cookie);
+		}
+		MultiValueMap<String, Cookie> unmodifiable = CollectionUtils.unmodifiableMultiValueMap(map);
+		servletRequest.setAttribute(CACHED_COOKIES_ATTR, new CachedCookies(cookies, unmodifiable));
+		return unmodifiable;
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <T> @Nullable T getAttribute(ServerRequest request, String key) {
 		if (request.attributes().containsKey(key)) {
@@ -381,4 +413,8 @@ public abstract class MvcUtils {
 
 	}
 
+	private record CachedCookies(Cookie[] source, MultiValueMap<String, Cookie> cookies) {
+
+	}
+
 }
@@ -25,6 +25,7 @@ import io.github.bucket4j.BucketConfiguration;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
 import org.springframework.cloud.gateway.server.mvc.config.GatewayMvcProperties;
 import org.springframework.cloud.gateway.server.mvc.config.RouteProperties;
@@ -100,6 +101,12 @@ public class FilterAutoConfiguration {
 			return new RetryFilterFunctions.FilterSupplier();
 		}
 
+		@Bean
+		@ConditionalOnMissingBean
+		public RetryBudgetRegistry retryBudgetRegistry() {
+			return new RetryBudgetRegistry();
+		}
+
 	}
 
 	@Configuration(proxyBeanMethods = false)
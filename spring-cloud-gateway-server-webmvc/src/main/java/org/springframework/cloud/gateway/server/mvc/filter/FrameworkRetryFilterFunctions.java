@@ -60,8 +60,10 @@ public abstract class FrameworkRetryFilterFunctions {
 	public static HandlerFilterFunction<ServerResponse, ServerResponse> frameworkRetry(
 			RetryFilterFunctions.RetryConfig config) {
 		validate(config);
+		RetryFilterFunctions.RetryBudgetResolver budgetResolver = new RetryFilterFunctions.RetryBudgetResolver(config);
 		return (request, next) -> {
-			CompositeRetryPolicy compositeRetryPolicy = new CompositeRetryPolicy(config);
+			budgetResolver.resolve(request);
+			CompositeRetryPolicy compositeRetryPolicy = new CompositeRetryPolicy(config, budgetResolver);
 
 			RetryTemplate retryTemplate = new RetryTemplate();
 			retryTemplate.setRetryPolicy(compositeRetryPolicy);
@@ -78,6 +80,7 @@ public abstract class FrameworkRetryFilterFunctions {
 					// use this to transfer information for HTTP status retry logic
 					throw new RetryFilterFunctions.RetryException(request, serverResponse);
 				}
+				budgetResolver.depositIfSuccessful(serverResponse);
 				return serverResponse;
 			});
 		};
@@ -128,8 +131,12 @@ public abstract class FrameworkRetryFilterFunctions {
 
 		private final BackOff backOff;
 
-		CompositeRetryPolicy(RetryFilterFunctions.RetryConfig config) {
+		private final RetryFilterFunctions.RetryBudgetResolver budgetResolver;
+
+		CompositeRetryPolicy(RetryFilterFunctions.RetryConfig config,
+				RetryFilterFunctions.RetryBudgetResolver budgetResolver) {
 			this.config = config;
+			this.budgetResolver = budgetResolver;
 			this.backOff = config.getBackoff() != null ? createBackOff(config.getBackoff())
 					: RetryPolicy.withDefaults().getBackOff();
 		}
@@ -176,8 +183,9 @@ public abstract class FrameworkRetryFilterFunctions {
 			}
 
 			// If we should retry based on exception/status, increment counter
-			// The check above ensures we won't exceed max attempts
-			if (shouldRetry) {
+			// The check above ensures we won't exceed max attempts. A retry also needs
+			// a token from the retry budget, if one is configured
+			if (shouldRetry && budgetResolver.tryWithdraw()) {
 				attemptCount++;
 				return true;
 			}
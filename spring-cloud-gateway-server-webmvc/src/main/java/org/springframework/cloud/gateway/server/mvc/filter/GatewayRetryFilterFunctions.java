@@ -76,21 +76,28 @@ public abstract class GatewayRetryFilterFunctions {
 		compositeRetryPolicy
 			.setPolicies(Arrays.asList(simpleRetryPolicy, new HttpRetryPolicy(config)).toArray(new RetryPolicy[0]));
 		retryTemplateBuilder = configureBackoff(retryTemplateBuilder, config);
-		RetryTemplate retryTemplate = retryTemplateBuilder.customPolicy(compositeRetryPolicy).build();
-		return (request, next) -> retryTemplate.execute(context -> {
-			if (config.isCacheBody()) {
-				MvcUtils.getOrCacheBody(request);
-			}
-			reset(request);
-			ServerResponse serverResponse = next.handle(request);
-
-			if (isRetryableStatusCode(serverResponse.statusCode(), config)
-					&& isRetryableMethod(request.method(), config)) {
-				// use this to transfer information to HttpStatusRetryPolicy
-				throw new RetryException(request, serverResponse);
-			}
-			return serverResponse;
-		});
+		RetryFilterFunctions.RetryBudgetResolver budgetResolver = new RetryFilterFunctions.RetryBudgetResolver(config);
+		RetryPolicy retryPolicy = (config.getBudget() != null)
+				? new BudgetRetryPolicy(compositeRetryPolicy, budgetResolver) : compositeRetryPolicy;
+		RetryTemplate retryTemplate = retryTemplateBuilder.customPolicy(retryPolicy).build();
+		return (request, next) -> {
+			budgetResolver.resolve(request);
+			return retryTemplate.execute(context -> {
+				if (config.isCacheBody()) {
+					MvcUtils.getOrCacheBody(request);
+				}
+				reset(request);
+				ServerResponse serverResponse = next.handle(request);
+
+				if (isRetryableStatusCode(serverResponse.statusCode(), config)
+						&& isRetryableMethod(request.method(), config)) {
+					// use this to transfer information to HttpStatusRetryPolicy
+					throw new RetryException(request, serverResponse);
+				}
+				budgetResolver.depositIfSuccessful(serverResponse);
+				return serverResponse;
+			});
+		};
 	}
 
 	private static void reset(ServerRequest request) throws IOException {
@@ -146,4 +153,59 @@ public abstract class GatewayRetryFilterFunctions {
 
 	}
 
+	/**
+	 * Denies retries once the retry budget is exhausted. {@link RetryTemplate} asks
+	 * {@link #canRetry(RetryContext)} before the first attempt and more than once per
+	 * retry, so a token is only withdrawn once for every failed attempt.
+	 */
+	private static class BudgetRetryPolicy implements RetryPolicy {
+
+		private static final String WITHDRAWN_ATTR = BudgetRetryPolicy.class.getName() + ".withdrawn";
+
+		private static final String ALLOWED_ATTR = BudgetRetryPolicy.class.getName() + ".allowed";
+
+		private final RetryPolicy delegate;
+
+		private final RetryFilterFunctions.RetryBudgetResolver budgetResolver;
+
+		BudgetRetryPolicy(RetryPolicy delegate, RetryFilterFunctions.RetryBudgetResolver budgetResolver) {
+			this.delegate = delegate;
+			this.budgetResolver = budgetResolver;
+		}
+
+		@Override
+		public boolean canRetry(RetryContext context) {
+			if (!this.delegate.canRetry(context)) {
+				return false;
+			}
+			int retryCount = context.getRetryCount();
+			if (retryCount == 0) {
+				return true;
+			}
+			if (Integer.valueOf(retryCount).equals(context.getAttribute(WITHDRAWN_ATTR))) {
+				return Boolean.TRUE.equals(context.getAttribute(ALLOWED_ATTR));
+			}
+			boolean allowed = this.budgetResolver.tryWithdraw();
+			context.setAttribute(WITHDRAWN_ATTR, retryCount);
+			context.setAttribute(ALLOWED_ATTR, allowed);
+			return allowed;
+		}
+
+		@Override
+		public RetryContext open(RetryContext parent) {
+			return this.delegate.open(parent);
+		}
+
+		@Override
+		public void close(RetryContext context) {
+			this.delegate.close(context);
+		}
+
+		@Override
+		public void registerThrowable(RetryContext context, Throwable throwable) {
+			this.delegate.registerThrowable(context, throwable);
+		}
+
+	}
+
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.server.mvc.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free token bucket limiting retries to a ratio of successful requests. Every
+ * successful request deposits {@code ratio} tokens, up to {@code capacity}, and every
+ * retry withdraws one token. Once the bucket is empty retries are denied, so a failing
+ * upstream sees at most {@code capacity} retries plus {@code ratio} retries per
+ * successful request rather than a multiple of its load.
+ */
+public final class RetryBudget {
+
+	// tokens are kept in thousandths so fractional deposits need no floating point
+	private static final long SCALE = 1000;
+
+	private final String name;
+
+	private final long capacity;
+
+	private final double ratio;
+
+	private final long deposit;
+
+	private final AtomicLong balance;
+
+	private final LongAdder retries = new LongAdder();
+
+	private final LongAdder exhausted = new LongAdder();
+
+	public RetryBudget(String name, int capacity, double ratio) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		Assert.isTrue(ratio > 0 && ratio <= 1, "ratio must be between 0 (exclusive) and 1");
+		this.name = name;
+		this.capacity = capacity * SCALE;
+		this.ratio = ratio;
+		this.deposit = Math.max(1, Math.round(ratio * SCALE));
+		this.balance = new AtomicLong(this.capacity);
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return the maximum number of tokens
+	 */
+	public int getCapacity() {
+		return (int) (this.capacity / SCALE);
+	}
+
+	/**
+	 * @return the tokens deposited by every successful request
+	 */
+	public double getRatio() {
+		return this.ratio;
+	}
+
+	boolean hasSettings(int capacity, double ratio) {
+		return getCapacity() == capacity && Double.compare(this.ratio, ratio) == 0;
+	}
+
+	/**
+	 * Records a successful request.
+	 */
+	public void deposit() {
+		long current = this.balance.get();
+		while (current < this.capacity) {
+			long next = Math.min(this.capacity, current + this.deposit);
+			if (this.balance.compareAndSet(current, next)) {
+				return;
+			}
+			current = this.balance.get();
+		}
+	}
+
+	/**
+	 * @return whether a retry may be attempted, in which case a token was withdrawn
+	 */
+	public boolean tryWithdraw() {
+		long current = this.balance.get();
+		while (current >= SCALE) {
+			if (this.balance.compareAndSet(current, current - SCALE)) {
+				this.retries.increment();
+				return true;
+			}
+			current = this.balance.get();
+		}
+		this.exhausted.increment();
+		return false;
+	}
+
+	/**
+	 * @return the tokens left in the bucket
+	 */
+	public double getTokens() {
+		return (double) this.balance.get() / SCALE;
+	}
+
+	/**
+	 * @return the number of retries allowed so far
+	 */
+	public long getRetries() {
+		return this.retries.sum();
+	}
+
+	/**
+	 * @return the number of retries denied so far because the budget was exhausted
+	 */
+	public long getExhausted() {
+		return this.exhausted.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "RetryBudget{name='" + this.name + "', tokens=" + getTokens() + '}';
+	}
+
+}
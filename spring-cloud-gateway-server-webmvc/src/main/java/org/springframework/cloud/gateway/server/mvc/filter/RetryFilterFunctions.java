@@ -31,6 +31,7 @@ import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.cloud.gateway.server.mvc.common.Configurable;
+import org.springframework.cloud.gateway.server.mvc.common.MvcUtils;
 import org.springframework.cloud.gateway.server.mvc.common.Shortcut;
 import org.springframework.core.NestedRuntimeException;
 import org.springframework.core.log.LogMessage;
@@ -117,6 +118,8 @@ public abstract class RetryFilterFunctions {
 
 		@Nullable private BackoffConfig backoff;
 
+		@Nullable private BudgetConfig budget;
+
 		public int getRetries() {
 			return retries;
 		}
@@ -191,6 +194,122 @@ public abstract class RetryFilterFunctions {
 			return this;
 		}
 
+		@Nullable public BudgetConfig getBudget() {
+			return budget;
+		}
+
+		public RetryConfig setBudget(BudgetConfig budget) {
+			this.budget = budget;
+			return this;
+		}
+
+		public RetryConfig setBudget(int capacity, double ratio) {
+			this.budget = new BudgetConfig(capacity, ratio);
+			return this;
+		}
+
+	}
+
+	public static class BudgetConfig {
+
+		@Nullable private String name;
+
+		private int capacity = 10;
+
+		private double ratio = 0.2;
+
+		public BudgetConfig() {
+		}
+
+		public BudgetConfig(int capacity, double ratio) {
+			this.capacity = capacity;
+			this.ratio = ratio;
+		}
+
+		public void validate() {
+			Assert.isTrue(this.capacity > 0, "budget capacity must be greater than 0");
+			Assert.isTrue(this.ratio > 0 && this.ratio <= 1, "budget ratio must be between 0 (exclusive) and 1");
+		}
+
+		/**
+		 * @return the name of the budget, routes with the same name share a budget. The
+		 * route id is used if not set.
+		 */
+		@Nullable public String getName() {
+			return name;
+		}
+
+		public BudgetConfig setName(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public BudgetConfig setCapacity(int capacity) {
+			this.capacity = capacity;
+			return this;
+		}
+
+		public double getRatio() {
+			return ratio;
+		}
+
+		public BudgetConfig setRatio(double ratio) {
+			this.ratio = ratio;
+			return this;
+		}
+
+	}
+
+	/**
+	 * Resolves the {@link RetryBudget} of a retry filter from the
+	 * {@link RetryBudgetRegistry} bean. A filter belongs to a single route, so the budget
+	 * is looked up once, on the first request, when the route id is known.
+	 */
+	static final class RetryBudgetResolver {
+
+		@Nullable private final BudgetConfig config;
+
+		@Nullable private volatile RetryBudget budget;
+
+		RetryBudgetResolver(RetryConfig config) {
+			this.config = config.getBudget();
+			if (this.config != null) {
+				this.config.validate();
+			}
+		}
+
+		@Nullable RetryBudget resolve(ServerRequest request) {
+			RetryBudget budget = this.budget;
+			if (budget != null || this.config == null) {
+				return budget;
+			}
+			String name = (this.config.getName() != null) ? this.config.getName()
+					: MvcUtils.getAttribute(request, MvcUtils.GATEWAY_ROUTE_ID_ATTR);
+			if (name == null) {
+				return null;
+			}
+			RetryBudgetRegistry registry = MvcUtils.getApplicationContext(request).getBean(RetryBudgetRegistry.class);
+			budget = registry.getOrCreate(name, this.config.getCapacity(), this.config.getRatio());
+			this.budget = budget;
+			return budget;
+		}
+
+		boolean tryWithdraw() {
+			RetryBudget budget = this.budget;
+			return budget == null || budget.tryWithdraw();
+		}
+
+		void depositIfSuccessful(ServerResponse response) {
+			RetryBudget budget = this.budget;
+			if (budget != null && !response.statusCode().is5xxServerError()) {
+				budget.deposit();
+			}
+		}
+
 	}
 
 	public static class BackoffConfig {
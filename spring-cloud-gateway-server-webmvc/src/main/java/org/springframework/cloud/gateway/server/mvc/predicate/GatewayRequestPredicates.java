@@ -27,7 +27,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
 import jakarta.servlet.http.Cookie;
 import org.apache.commons.logging.Log;
@@ -37,6 +36,7 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.cloud.gateway.server.mvc.common.ArgumentSupplier;
 import org.springframework.cloud.gateway.server.mvc.common.DefaultArgumentSuppliedEvent;
 import org.springframework.cloud.gateway.server.mvc.common.MvcUtils;
+import org.springframework.cloud.gateway.server.mvc.common.RegexpMatcher;
 import org.springframework.cloud.gateway.server.mvc.common.Shortcut;
 import org.springframework.cloud.gateway.server.mvc.common.Shortcut.Type;
 import org.springframework.cloud.gateway.server.mvc.common.WeightConfig;
@@ -216,7 +216,8 @@ public abstract class GatewayRequestPredicates {
 		if (!StringUtils.hasText(regexp)) {
 			return request -> request.param(param).isPresent();
 		}
-		return request -> request.param(param).stream().anyMatch(value -> value.matches(regexp));
+		RegexpMatcher matcher = RegexpMatcher.compile(regexp);
+		return request -> request.param(param).filter(matcher).isPresent();
 	}
 
 	public static <T> RequestPredicate readBody(Class<T> inClass, Predicate<T> predicate) {
@@ -267,11 +268,11 @@ public abstract class GatewayRequestPredicates {
 
 		private final String name;
 
-		private final @Nullable Pattern pattern;
+		private final @Nullable RegexpMatcher matcher;
 
 		CookieRequestPredicate(String name, @Nullable String regexp) {
 			this.name = name;
-			this.pattern = (StringUtils.hasText(regexp)) ? Pattern.compile(regexp) : null;
+			this.matcher = (StringUtils.hasText(regexp)) ? RegexpMatcher.compile(regexp) : null;
 		}
 
 		@Override
@@ -279,15 +280,15 @@ public abstract class GatewayRequestPredicates {
 			if (CorsUtils.isPreFlightRequest(request.servletRequest())) {
 				return true;
 			}
-			List<Cookie> cookies = request.cookies().get(name);
+			List<Cookie> cookies = MvcUtils.getCookies(request).get(name);
 			if (ObjectUtils.isEmpty(cookies)) {
 				return false;
 			}
 			// values is now guaranteed to not be empty
-			if (pattern != null) {
+			if (matcher != null) {
 				// check if a header value matches
 				for (Cookie cookie : cookies) {
-					if (pattern.asMatchPredicate().test(cookie.getValue())) {
+					if (matcher.test(cookie.getValue())) {
 						return true;
 					}
 				}
@@ -300,8 +301,8 @@ public abstract class GatewayRequestPredicates {
 
 		@Override
 		public void accept(RequestPredicates.Visitor visitor) {
-			if (pattern != null) {
-				visitor.header(name, pattern.pattern());
+			if (matcher != null) {
+				visitor.header(name, matcher.getRegexp());
 			}
 			else {
 				visitor.header(name, "");
@@ -310,7 +311,7 @@ public abstract class GatewayRequestPredicates {
 
 		@Override
 		public String toString() {
-			return String.format("Cookie: %s regexp=%s", name, pattern);
+			return String.format("Cookie: %s regexp=%s", name, matcher);
 		}
 
 	}
@@ -319,11 +320,11 @@ public abstract class GatewayRequestPredicates {
 
 		private final String header;
 
-		private final @Nullable Pattern pattern;
+		private final @Nullable RegexpMatcher matcher;
 
 		HeaderRequestPredicate(String header, @Nullable String regexp) {
 			this.header = header;
-			this.pattern = (StringUtils.hasText(regexp)) ? Pattern.compile(regexp) : null;
+			this.matcher = (StringUtils.hasText(regexp)) ? RegexpMatcher.compile(regexp) : null;
 		}
 
 		@Override
@@ -336,10 +337,10 @@ public abstract class GatewayRequestPredicates {
 				return false;
 			}
 			// values is now guaranteed to not be empty
-			if (pattern != null) {
+			if (matcher != null) {
 				// check if a header value matches
 				for (String value : values) {
-					if (pattern.asMatchPredicate().test(value)) {
+					if (matcher.test(value)) {
 						return true;
 					}
 				}
@@ -352,8 +353,8 @@ public abstract class GatewayRequestPredicates {
 
 		@Override
 		public void accept(RequestPredicates.Visitor visitor) {
-			if (pattern != null) {
-				visitor.header(header, pattern.pattern());
+			if (matcher != null) {
+				visitor.header(header, matcher.getRegexp());
 			}
 			else {
 				visitor.header(header, "");
@@ -362,7 +363,7 @@ public abstract class GatewayRequestPredicates {
 
 		@Override
 		public String toString() {
-			return String.format("Header: %s regexp=%s", header, pattern);
+			return String.format("Header: %s regexp=%s", header, matcher);
 		}
 
 	}
@@ -18,10 +18,12 @@ package org.springframework.cloud.gateway.server.mvc.common;
 
 import java.util.Collections;
 
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.servlet.function.ServerRequest;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -62,4 +64,39 @@ class MvcUtilsTests {
 		assertThat(MvcUtils.stripContextPath(request, "/path")).isEqualTo("/path");
 	}
 
+	@Test
+	void getCookiesIsBuiltOncePerRequest() {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.setCookies(new Cookie("chocolate", "chip"), new Cookie("chocolate", "raisin"),
+				new Cookie("oatmeal", "plain"));
+		ServerRequest request = ServerRequest.create(servletRequest, Collections.emptyList());
+
+		MultiValueMap<String, Cookie> cookies = MvcUtils.getCookies(request);
+
+		assertThat(cookies.get("chocolate")).extracting(Cookie::getValue).containsExactly("chip", "raisin");
+		assertThat(cookies.getFirst("oatmeal").getValue()).isEqualTo("plain");
+		assertThat(MvcUtils.getCookies(request)).isSameAs(cookies);
+		assertThat(MvcUtils.getCookies(ServerRequest.create(servletRequest, Collections.emptyList())))
+			.isSameAs(cookies);
+	}
+
+	@Test
+	void getCookiesIsRebuiltWhenCookiesChange() {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.setCookies(new Cookie("chocolate", "chip"));
+		ServerRequest request = ServerRequest.create(servletRequest, Collections.emptyList());
+		MultiValueMap<String, Cookie> cookies = MvcUtils.getCookies(request);
+
+		servletRequest.setCookies(new Cookie("oatmeal", "plain"));
+
+		assertThat(MvcUtils.getCookies(request)).isNotSameAs(cookies).containsOnlyKeys("oatmeal");
+	}
+
+	@Test
+	void getCookiesIsEmptyWithoutCookies() {
+		ServerRequest request = ServerRequest.create(new MockHttpServletRequest(), Collections.emptyList());
+
+		assertThat(MvcUtils.getCookies(request)).isEmpty();
+	}
+
 }
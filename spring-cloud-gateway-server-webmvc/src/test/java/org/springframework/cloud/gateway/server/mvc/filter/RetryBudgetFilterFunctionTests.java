@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.server.mvc.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cloud.gateway.server.mvc.config.GatewayMvcProperties;
+import org.springframework.cloud.gateway.server.mvc.test.HttpbinTestcontainers;
+import org.springframework.cloud.gateway.server.mvc.test.LocalServerPortUriResolver;
+import org.springframework.cloud.gateway.server.mvc.test.PermitAllSecurityConfiguration;
+import org.springframework.cloud.gateway.server.mvc.test.TestLoadBalancerConfig;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.client.RestTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.server.mvc.filter.FilterFunctions.prefixPath;
+import static org.springframework.cloud.gateway.server.mvc.handler.GatewayRouterFunctions.route;
+import static org.springframework.cloud.gateway.server.mvc.handler.HandlerFunctions.http;
+
+@SpringBootTest(properties = { GatewayMvcProperties.PREFIX + ".function.enabled=false" },
+		webEnvironment = WebEnvironment.RANDOM_PORT)
+@ContextConfiguration(initializers = HttpbinTestcontainers.class)
+public class RetryBudgetFilterFunctionTests {
+
+	@Autowired
+	RestTestClient restClient;
+
+	@Autowired
+	RetryBudgetRegistry registry;
+
+	@Autowired
+	TestConfiguration.RetryBudgetController controller;
+
+	@Test
+	public void gatewayRetryStopsOnceBudgetIsExhausted() {
+		assertRetriesStopOnceBudgetIsExhausted("/gatewayretry", "gateway");
+	}
+
+	@Test
+	public void frameworkRetryStopsOnceBudgetIsExhausted() {
+		assertRetriesStopOnceBudgetIsExhausted("/frameworkretry", "framework");
+	}
+
+	@Test
+	public void successfulRequestsRefillBudget() {
+		restClient.get().uri("/refillretry?key=refill1&count=10").exchange().expectStatus().is5xxServerError();
+		assertThat(controller.getCount("refill1").get()).isEqualTo(3);
+
+		// every successful request deposits half a token
+		restClient.get().uri("/refillretry?key=success1&count=0").exchange().expectStatus().isOk();
+		restClient.get().uri("/refillretry?key=success2&count=0").exchange().expectStatus().isOk();
+
+		restClient.get().uri("/refillretry?key=refill2&count=10").exchange().expectStatus().is5xxServerError();
+		assertThat(controller.getCount("refill2").get()).isEqualTo(2);
+	}
+
+	private void assertRetriesStopOnceBudgetIsExhausted(String path, String budgetName) {
+		// the first failures use up the single token of the budget
+		restClient.get().uri(path + "?key=" + budgetName + "1&count=10").exchange().expectStatus().is5xxServerError();
+		assertThat(controller.getCount(budgetName + "1").get()).isEqualTo(2);
+
+		restClient.get().uri(path + "?key=" + budgetName + "2&count=10").exchange().expectStatus().is5xxServerError();
+		assertThat(controller.getCount(budgetName + "2").get()).isEqualTo(1);
+
+		RetryBudget budget = registry.get(budgetName);
+		assertThat(budget).isNotNull();
+		assertThat(budget.getRetries()).isEqualTo(1);
+		assertThat(budget.getExhausted()).isEqualTo(2);
+	}
+
+	@SpringBootConfiguration
+	@EnableAutoConfiguration
+	@LoadBalancerClient(name = "httpbin", configuration = TestLoadBalancerConfig.Httpbin.class)
+	@Import(PermitAllSecurityConfiguration.class)
+	protected static class TestConfiguration {
+
+		@Bean
+		public RouterFunction<ServerResponse> gatewayRouterFunctionsGatewayRetryBudget() {
+			// @formatter:off
+			return route("testgatewayretrybudget")
+					.GET("/gatewayretry", http())
+					.before(new LocalServerPortUriResolver())
+					.filter(GatewayRetryFilterFunctions.retry(config -> config.setRetries(3)
+							.setBudget(new RetryFilterFunctions.BudgetConfig(1, 0.5).setName("gateway"))))
+					.filter(prefixPath("/do"))
+					.build();
+			// @formatter:on
+		}
+
+		@Bean
+		public RouterFunction<ServerResponse> gatewayRouterFunctionsFrameworkRetryBudget() {
+			// @formatter:off
+			return route("testframeworkretrybudget")
+					.GET("/frameworkretry", http())
+					.before(new LocalServerPortUriResolver())
+					.filter(FrameworkRetryFilterFunctions.frameworkRetry(config -> config.setRetries(3)
+							.setBudget(new RetryFilterFunctions.BudgetConfig(1, 0.5).setName("framework"))))
+					.filter(prefixPath("/do"))
+					.build();
+			// @formatter:on
+		}
+
+		@Bean
+		public RouterFunction<ServerResponse> gatewayRouterFunctionsRefillRetryBudget() {
+			// @formatter:off
+			return route("testrefillretrybudget")
+					.GET("/refillretry", http())
+					.before(new LocalServerPortUriResolver())
+					.filter(GatewayRetryFilterFunctions.retry(config -> config.setRetries(3)
+							.setBudget(new RetryFilterFunctions.BudgetConfig(2, 0.5).setName("refill"))))
+					.filter(prefixPath("/do"))
+					.build();
+			// @formatter:on
+		}
+
+		@RestController
+		protected static class RetryBudgetController {
+
+			ConcurrentHashMap<String, AtomicInteger> map = new ConcurrentHashMap<>();
+
+			@GetMapping({ "/do/gatewayretry", "/do/frameworkretry", "/do/refillretry" })
+			public ResponseEntity<String> retry(@RequestParam("key") String key,
+					@RequestParam(name = "count", defaultValue = "3") int count) {
+				int i = getCount(key).incrementAndGet();
+				if (i < count) {
+					return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("temporarily broken");
+				}
+				return ResponseEntity.ok(String.valueOf(i));
+			}
+
+			AtomicInteger getCount(String key) {
+				return map.computeIfAbsent(key, s -> new AtomicInteger());
+			}
+
+		}
+
+	}
+
+}
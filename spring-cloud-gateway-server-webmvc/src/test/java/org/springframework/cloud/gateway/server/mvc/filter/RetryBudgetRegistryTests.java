@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gateway.server.mvc.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryBudgetRegistryTests {
+
+	@Test
+	public void sharesBudgetsByName() {
+		RetryBudgetRegistry registry = new RetryBudgetRegistry();
+		RetryBudget first = registry.getOrCreate("users", 10, 0.2);
+
+		assertThat(registry.getOrCreate("users", 10, 0.2)).isSameAs(first);
+		RetryBudget second = registry.getOrCreate("orders", 10, 0.2);
+
+		assertThat(registry.get("users")).isSameAs(first);
+		assertThat(registry.getAll()).containsExactlyInAnyOrder(first, second);
+	}
+
+	@Test
+	public void replacesBudgetRegisteredWithDifferentSettings() {
+		RetryBudgetRegistry registry = new RetryBudgetRegistry();
+		RetryBudget first = registry.getOrCreate("users", 10, 0.2);
+		first.tryWithdraw();
+
+		RetryBudget replaced = registry.getOrCreate("users", 5, 0.5);
+
+		assertThat(replaced).isNotSameAs(first);
+		assertThat(replaced.getCapacity()).isEqualTo(5);
+		assertThat(replaced.getRatio()).isEqualTo(0.5);
+		assertThat(replaced.getTokens()).isEqualTo(5);
+		assertThat(registry.getAll()).containsExactly(replaced);
+	}
+
+	@Test
+	public void registriesDoNotShareBudgets() {
+		RetryBudget budget = new RetryBudgetRegistry().getOrCreate("users", 10, 0.2);
+
+		assertThat(new RetryBudgetRegistry().getOrCreate("users", 10, 0.2)).isNotSameAs(budget);
+	}
+
+}
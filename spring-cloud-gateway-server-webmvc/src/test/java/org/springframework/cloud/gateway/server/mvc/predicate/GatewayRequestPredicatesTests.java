@@ -18,10 +18,12 @@ package org.springframework.cloud.gateway.server.mvc.predicate;
 
 import java.util.Collections;
 
+import jakarta.servlet.http.Cookie;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.RequestPredicate;
 import org.springframework.web.servlet.function.ServerRequest;
 
 public class GatewayRequestPredicatesTests {
@@ -34,4 +36,65 @@ public class GatewayRequestPredicatesTests {
 		Assertions.assertThat(result).isFalse();
 	}
 
+	@Test
+	void headerPredicateMatchesAnyValue() {
+		RequestPredicate predicate = GatewayRequestPredicates.header("X-Version", "v1.*");
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.addHeader("X-Version", "v2");
+		servletRequest.addHeader("X-Version", "v1.3");
+
+		Assertions.assertThat(predicate.test(request(servletRequest))).isTrue();
+		Assertions.assertThat(predicate.test(request(new MockHttpServletRequest()))).isFalse();
+	}
+
+	@Test
+	void headerPredicateMatchesWholeValue() {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.addHeader("X-Version", "xv1");
+
+		Assertions.assertThat(GatewayRequestPredicates.header("X-Version", "v1.*").test(request(servletRequest)))
+			.isFalse();
+		Assertions.assertThat(GatewayRequestPredicates.header("X-Version", "\\w+\\d").test(request(servletRequest)))
+			.isTrue();
+	}
+
+	@Test
+	void queryPredicateMatchesRegexp() {
+		RequestPredicate predicate = GatewayRequestPredicates.query("color", "(green|blue)");
+
+		Assertions.assertThat(predicate.test(request(queryRequest("green")))).isTrue();
+		Assertions.assertThat(predicate.test(request(queryRequest("greenish")))).isFalse();
+		Assertions.assertThat(predicate.test(request(new MockHttpServletRequest()))).isFalse();
+		Assertions.assertThat(GatewayRequestPredicates.query("color", "gr.en").test(request(queryRequest("gr\nen"))))
+			.isFalse();
+	}
+
+	@Test
+	void cookiePredicateMatchesAnyCookieValue() {
+		RequestPredicate predicate = GatewayRequestPredicates.cookie("chocolate", "ch.p");
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.setCookies(new Cookie("chocolate", "raisin"), new Cookie("chocolate", "chip"));
+
+		Assertions.assertThat(predicate.test(request(servletRequest))).isTrue();
+		Assertions.assertThat(GatewayRequestPredicates.cookie("chocolate", "chip.+").test(request(servletRequest)))
+			.isFalse();
+		Assertions.assertThat(GatewayRequestPredicates.cookie("oatmeal").test(request(servletRequest))).isFalse();
+	}
+
+	@Test
+	void predicatesExposeRegexp() {
+		Assertions.assertThat(GatewayRequestPredicates.header("X-Version", "v1.*").toString()).contains("v1.*");
+		Assertions.assertThat(GatewayRequestPredicates.cookie("chocolate", "ch.p").toString()).contains("ch.p");
+	}
+
+	private static MockHttpServletRequest queryRequest(String color) {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.addParameter("color", color);
+		return servletRequest;
+	}
+
+	private static ServerRequest request(MockHttpServletRequest servletRequest) {
+		return ServerRequest.create(servletRequest, Collections.emptyList());
+	}
+
 }